@@ -15,6 +15,9 @@ import static org.ff4j.utils.MappingUtil.toMap;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.lang.model.type.NullType;
 
@@ -39,6 +42,10 @@ import org.springframework.stereotype.Service;
  * At runtime check presence of annotation @{Flip}, then evaluate if the related feature id is enabled.
  * If the feature is enabled, the implementation is route to the correct implementation. 
  * 
+ * Reflection (annotation, flipping strategy, context parameter, alter target) is resolved at first
+ * invocation of a method on a target class and kept in a {@link FlipDispatch}. As several beans can share
+ * the same class, the name of the invoked bean is resolved once per instance to check if it is the alter bean.
+ * 
  * @author Cedrick LUNVEN (@clunven)
  */
 @Component("ff.advisor")
@@ -54,46 +61,132 @@ public class FeatureAdvisor implements MethodInterceptor {
     /** Injection of current FF4J bean. */
     @Autowired
     private FF4j ff4j;
+    
+    /** Dispatch by method and target class. */
+    private final ConcurrentMap < DispatchKey, FlipDispatch > dispatchCache = new ConcurrentHashMap<DispatchKey, FlipDispatch>();
 
     /** {@inheritDoc} */
     @Override
     public Object invoke(final MethodInvocation mi) throws Throwable {
-        Flip ff4jAnnotation = getFF4jAnnotation(mi);
+        FlipDispatch dispatch = getDispatch(mi);
         
         // Method is annotated
-        if (ff4jAnnotation != null) {
-        	
-        	String alterBean    = ff4jAnnotation.alterBean();
-        	Class<?> alterClazz = ff4jAnnotation.alterClazz();
-        	boolean isFeatureToggled = check(ff4jAnnotation, mi);
-        	
-        	// Would like to skip if feature is Disable
-        	if (!Util.hasLength(alterBean) && !Util.isValidClass(alterClazz) && !isFeatureToggled) {
-        		return null;
-        	}
-        	
-        	// Feature is 'ON'
-        	if (isFeatureToggled) {
-	            // Do we use the alter bean defined in the annotation ?
-	            if (Util.hasLength(alterBean)
-	                    // Bean name exist
-	                    & appCtx.containsBean(alterBean)   
-	                    // Bean name is not the same as current
-	                    & !alterBean.equals(getExecutedBeanName(mi))) {
-	                return invokeAlterBean(mi, alterBean);
-	            }
-	            
-	            // Or else do we use the alter class defined in the annotation ?
-	            if (Util.isValidClass(alterClazz) 
-	                    // Alter class is not the same as current
-	                    & (alterClazz != getExecutedClass(mi))) {
-	                return invokeAlterClazz(mi, ff4jAnnotation);
-	            }
-        	}
+        if (dispatch.getAnnotation() != null) {
+            
+            // Feature is 'ON'
+            if (check(dispatch, mi)) {
+                // Do we use the alter bean defined in the annotation (and not the current one) ?
+                if (dispatch.getAlterBeanName() != null 
+                        && !dispatch.getAlterBeanName().equals(getExecutedBeanName(dispatch, mi))) {
+                    return invokeAlterBean(mi, dispatch);
+                }
+                // Or else do we use the alter class defined in the annotation ?
+                if (dispatch.getAlterClazz() != null) {
+                    return invokeAlterClazz(mi, dispatch);
+                }
+            } else if (dispatch.isSkippedWhenDisabled()) {
+                // Would like to skip if feature is Disable
+                return null;
+            }
         }
         // No feature toggle (no annotation nor feature OFF)
         return mi.proceed();
     }
+    
+    /**
+     * Retrieve dispatch of current invocation, built at first call.
+     *
+     * @param mi
+     *      current method invocation
+     * @return
+     *      dispatch for method and target class
+     */
+    protected FlipDispatch getDispatch(MethodInvocation mi) {
+        Object target = mi.getThis();
+        DispatchKey key = new DispatchKey(mi.getMethod(), (target == null) ? null : target.getClass());
+        FlipDispatch dispatch = dispatchCache.get(key);
+        if (dispatch == null) {
+            dispatch = buildDispatch(mi);
+            FlipDispatch existing = dispatchCache.putIfAbsent(key, dispatch);
+            if (existing != null) {
+                dispatch = existing;
+            }
+        }
+        return dispatch;
+    }
+    
+    /**
+     * Resolve annotation, strategy, context parameter and alter target of invocation.
+     *
+     * @param mi
+     *      current method invocation
+     * @return
+     *      dispatch for method and target class
+     */
+    protected FlipDispatch buildDispatch(MethodInvocation mi) {
+        Flip ff = getFF4jAnnotation(mi);
+        if (ff == null) {
+            return new FlipDispatch(null, null, -1, null, null);
+        }
+        // Strategy overriding the one of the feature
+        FlippingStrategy strategy = null;
+        if (ff.flippingStrategy() != NullType.class) {
+            strategy = instanceFlippingStrategy(ff.name(), ff.flippingStrategy().getName(), toMap(ff.flippingInitParams()));
+        }
+        // First parameter (not argument!) that is an instance of FlippingExecutionContext
+        int contextIndex = -1;
+        if (ContextLocation.PARAMETER == ff.contextLocation()) {
+            Class<?>[] parameterTypes = mi.getMethod().getParameterTypes();
+            for (int p = 0; p < parameterTypes.length && contextIndex < 0; p++) {
+                if (FlippingExecutionContext.class.isAssignableFrom(parameterTypes[p])) {
+                    contextIndex = p;
+                }
+            }
+        }
+        // Bean name exist, compared with current bean at each call
+        String alterBeanName = null;
+        if (Util.hasLength(ff.alterBean()) && appCtx.containsBean(ff.alterBean())) {
+            alterBeanName = ff.alterBean();
+        }
+        // Alter class is not the same as current
+        Class<?> alterClazz = null;
+        if (Util.isValidClass(ff.alterClazz()) && ff.alterClazz() != getExecutedClass(mi)) {
+            alterClazz = ff.alterClazz();
+        }
+        return new FlipDispatch(ff, strategy, contextIndex, alterBeanName, alterClazz);
+    }
+    
+    /**
+     * Evaluate feature with resolved strategy and context.
+     *
+     * @param dispatch
+     *      dispatch of current method
+     * @param mi
+     *      current method invocation
+     * @return
+     *      if feature is toggled
+     */
+    protected boolean check(FlipDispatch dispatch, MethodInvocation mi) {
+        FlippingExecutionContext context = null;
+        switch (dispatch.getAnnotation().contextLocation()) {
+            case FF4J:
+                context = getFf4j().getCurrentContext();
+            break;
+            case PARAMETER:
+                if (dispatch.getContextParameterIndex() >= 0) {
+                    context = FlippingExecutionContext.class.cast(mi.getArguments()[dispatch.getContextParameterIndex()]);
+                }
+            break;
+            case NONE:
+            default:
+            break;
+        }
+        String featureId = dispatch.getAnnotation().name();
+        if (dispatch.getFlippingStrategy() != null) {
+            return getFf4j().checkOveridingStrategy(featureId, dispatch.getFlippingStrategy(), context);
+        }
+        return getFf4j().check(featureId, context);
+    }
    
     /**
      * Call if Flipped based on different parameters of the annotation
@@ -188,6 +281,26 @@ public class FeatureAdvisor implements MethodInterceptor {
         return executedClass;
     }
 
+    /**
+     * Find bean name related to current method invocation, resolved once per invoked instance.
+     *
+     * @param dispatch
+     *      dispatch of current method
+     * @param mi
+     *      current method invocation
+     * @return
+     *      bean name related to this method
+     */
+    protected String getExecutedBeanName(FlipDispatch dispatch, MethodInvocation mi) {
+        Object target = mi.getThis();
+        String beanName = dispatch.getExecutedBeanName(target);
+        if (beanName == null) {
+            beanName = getExecutedBeanName(mi);
+            dispatch.putExecutedBeanName(target, beanName);
+        }
+        return beanName;
+    }
+    
     /**
      * Find bean name related to current method invocation.
      * @param pMInvoc
@@ -211,6 +324,7 @@ public class FeatureAdvisor implements MethodInterceptor {
         }
         
         // There is no annotation on the bean, still be declared in applicationContext.xml
+        String firstMatchingBeanName = null;
         try {
             // Use BeanDefinition names to loop on each bean and fetch target if proxified
             for(String beanName :  appCtx.getBeanDefinitionNames()) {
@@ -218,13 +332,20 @@ public class FeatureAdvisor implements MethodInterceptor {
                 if (AopUtils.isJdkDynamicProxy(bean)) {
                    bean = ((Advised) bean).getTargetSource().getTarget();
                 }
-                if (bean != null && bean.getClass().isAssignableFrom(targetClass)) {
+                // Same class may be declared as several beans, the invoked instance wins
+                if (bean != null && bean == mi.getThis()) {
                     return beanName;
                 }
+                if (bean != null && firstMatchingBeanName == null && bean.getClass().isAssignableFrom(targetClass)) {
+                    firstMatchingBeanName = beanName;
+                }
             }
         } catch (Exception e) {
             throw new RuntimeException("ff4j-aop: Cannot read bheind proxy target", e);
         }
+        if (firstMatchingBeanName != null) {
+            return firstMatchingBeanName;
+        }
         throw new IllegalArgumentException("ff4j-aop: Feature bean must be annotated as a Service or a Component");
     }
     
@@ -302,6 +423,113 @@ public class FeatureAdvisor implements MethodInterceptor {
         }
     }
 
+    /**
+     * Invoke alter bean resolved at first call (singleton) or at each call (other scopes).
+     *
+     * @param mi
+     *      current method invocation
+     * @param dispatch
+     *      dispatch of current method
+     * @return
+     *      return of invocation
+     * @throws Throwable
+     *      erros occured
+     */
+    protected Object invokeAlterBean(final MethodInvocation mi, FlipDispatch dispatch) throws Throwable {
+        Method method = mi.getMethod();
+        try {
+            LOGGER.debug("FeatureFlipping on method:{} class:{}", method.getName(), method.getDeclaringClass().getName());
+            Object alterBean = dispatch.getAlterTarget();
+            if (alterBean == null) {
+                alterBean = appCtx.getBean(dispatch.getAlterBeanName(), method.getDeclaringClass());
+                if (appCtx.isSingleton(dispatch.getAlterBeanName())) {
+                    dispatch.setAlterTarget(alterBean);
+                }
+            }
+            return method.invoke(alterBean, mi.getArguments());
+        } catch (InvocationTargetException invocationTargetException) {
+            if(!ff4j.isAlterBeanThrowInvocationTargetException() && invocationTargetException.getCause() != null) {
+                throw invocationTargetException.getCause();
+            }
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + method.getName() + " on bean " + dispatch.getAlterBeanName(), invocationTargetException);
+        } catch (Exception exception) {
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke method " + method.getName() + " on bean " + dispatch.getAlterBeanName(), exception);
+        }
+    }
+    
+    /**
+     * Invoke alter class, bean of the context kept when singleton.
+     *
+     * @param mi
+     *      method invocation
+     * @param dispatch
+     *      dispatch of current method
+     * @return
+     *      object returned by the alter class
+     * @throws Throwable
+     *      error during invocation
+     */
+    protected Object invokeAlterClazz(final MethodInvocation mi, FlipDispatch dispatch) throws Throwable {
+        Method method = mi.getMethod();
+        try {
+            Object alterBean = dispatch.getAlterTarget();
+            if (alterBean == null) {
+                alterBean = findAlterClazzBean(dispatch, method.getDeclaringClass());
+            }
+            if (alterBean == null) {
+                // Otherwise instanciate manually
+                alterBean = dispatch.getAlterClazz().newInstance();
+            }
+            return method.invoke(alterBean, mi.getArguments());
+        } catch (IllegalAccessException e) {
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " + method.getDeclaringClass()
+                    + " please check visibility", e);
+        } catch (InvocationTargetException invocationTargetException) {
+            if(!ff4j.isAlterBeanThrowInvocationTargetException() && invocationTargetException.getCause() != null) {
+                throw invocationTargetException.getCause();
+            }
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " + method.getDeclaringClass()
+                    + " please check signatures", invocationTargetException);
+        } catch (Exception exception) {
+            throw makeIllegalArgumentException("ff4j-aop: Cannot invoke " + method.getName() + " on alterbean " + method.getDeclaringClass()
+                    + " please check signatures", exception);
+        }
+    }
+    
+    /**
+     * Spring context may have a bean of expected type and priority of get instance.
+     *
+     * @param dispatch
+     *      dispatch of current method
+     * @param declaringClass
+     *      class declaring the invoked method
+     * @return
+     *      bean of the alter class if found, null otherwise
+     * @throws Exception
+     *      cannot read target of proxy
+     */
+    private Object findAlterClazzBean(FlipDispatch dispatch, Class<?> declaringClass) throws Exception {
+        for (Map.Entry<String, ?> entry : appCtx.getBeansOfType(declaringClass).entrySet()) {
+            Object bean = entry.getValue();
+            // Correct bean implementing the same class, or proxy of existing class
+            if (AopUtils.isJdkDynamicProxy(bean) &&  ((Advised) bean).getTargetSource().getTarget().getClass().equals(dispatch.getAlterClazz()) ||
+                AopProxyUtils.ultimateTargetClass(bean).equals(dispatch.getAlterClazz())) {
+                if (appCtx.isSingleton(entry.getKey())) {
+                    dispatch.setAlterTarget(bean);
+                }
+                return bean;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Clear dispatch resolved for methods (context refreshed).
+     */
+    public void clearDispatchCache() {
+        dispatchCache.clear();
+    }
+
     /**
      * Getter accessor for attribute 'ff4j'.
      * 
@@ -320,4 +548,44 @@ public class FeatureAdvisor implements MethodInterceptor {
         this.ff4j = ff4j;
     }
 
-}
\ No newline at end of file
+    /**
+     * Key of dispatch cache : same method may be invoked on different implementations.
+     */
+    private static final class DispatchKey {
+        
+        /** Invoked method. */
+        private final Method method;
+        
+        /** Class of target (proxy or bean). */
+        private final Class<?> targetClass;
+        
+        /** Computed once. */
+        private final int hash;
+        
+        private DispatchKey(Method method, Class<?> targetClass) {
+            this.method      = method;
+            this.targetClass = targetClass;
+            this.hash        = 31 * method.hashCode() + ((targetClass == null) ? 0 : targetClass.hashCode());
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DispatchKey)) {
+                return false;
+            }
+            DispatchKey other = (DispatchKey) obj;
+            return method.equals(other.method) && targetClass == other.targetClass;
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
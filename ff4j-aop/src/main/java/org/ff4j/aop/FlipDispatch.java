@@ -0,0 +1,233 @@
+package org.ff4j.aop;
+
+/*
+ * #%L
+ * ff4j-aop
+ * %%
+ * Copyright (C) 2013 - 2015 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.ff4j.core.FlippingStrategy;
+import org.ff4j.utils.Util;
+
+/**
+ * Resolution of {@link Flip} for a method on a target class, computed once by {@link FeatureAdvisor}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FlipDispatch {
+    
+    /** Annotation of method, interface or class (null if not flipped). */
+    private final Flip annotation;
+    
+    /** Strategy overriding the strategy of the feature (optional). */
+    private final FlippingStrategy flippingStrategy;
+    
+    /** Index of {@link org.ff4j.core.FlippingExecutionContext} parameter, -1 if none. */
+    private final int contextParameterIndex;
+    
+    /** Alter bean to invoke when feature is enabled (optional). */
+    private final String alterBeanName;
+    
+    /** Alter class to invoke when feature is enabled (optional). */
+    private final Class<?> alterClazz;
+    
+    /** No alter bean nor alter class. */
+    private final boolean skippedWhenDisabled;
+    
+    /** Resolved alter bean or alter class instance, kept for singletons only. */
+    private volatile Object alterTarget;
+    
+    /** Bean name of each invoked instance (several beans can share the class), instances are weakly held. */
+    private final ConcurrentMap < TargetKey, String > executedBeanNames = new ConcurrentHashMap<TargetKey, String>();
+    
+    /** Collected instances, removed from 'executedBeanNames'. */
+    private final ReferenceQueue < Object > collectedTargets = new ReferenceQueue<Object>();
+    
+    /**
+     * Constructor with resolved values.
+     *
+     * @param annotation
+     *      annotation of method
+     * @param flippingStrategy
+     *      overriding strategy
+     * @param contextParameterIndex
+     *      index of context parameter
+     * @param alterBeanName
+     *      alter bean name
+     * @param alterClazz
+     *      alter class
+     */
+    FlipDispatch(Flip annotation, FlippingStrategy flippingStrategy, int contextParameterIndex, String alterBeanName, Class<?> alterClazz) {
+        this.annotation            = annotation;
+        this.flippingStrategy      = flippingStrategy;
+        this.contextParameterIndex = contextParameterIndex;
+        this.alterBeanName         = alterBeanName;
+        this.alterClazz            = alterClazz;
+        this.skippedWhenDisabled   = (annotation != null) 
+                && !Util.hasLength(annotation.alterBean()) 
+                && !Util.isValidClass(annotation.alterClazz());
+    }
+    
+    /**
+     * Without alter bean nor alter class, invocation is skipped when feature is disabled.
+     *
+     * @return
+     *      if method returns null when feature is disabled
+     */
+    public boolean isSkippedWhenDisabled() {
+        return skippedWhenDisabled;
+    }
+
+    /**
+     * Getter accessor for attribute 'annotation'.
+     *
+     * @return
+     *       current value of 'annotation'
+     */
+    public Flip getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * Getter accessor for attribute 'flippingStrategy'.
+     *
+     * @return
+     *       current value of 'flippingStrategy'
+     */
+    public FlippingStrategy getFlippingStrategy() {
+        return flippingStrategy;
+    }
+
+    /**
+     * Getter accessor for attribute 'contextParameterIndex'.
+     *
+     * @return
+     *       current value of 'contextParameterIndex'
+     */
+    public int getContextParameterIndex() {
+        return contextParameterIndex;
+    }
+
+    /**
+     * Getter accessor for attribute 'alterBeanName'.
+     *
+     * @return
+     *       current value of 'alterBeanName'
+     */
+    public String getAlterBeanName() {
+        return alterBeanName;
+    }
+
+    /**
+     * Getter accessor for attribute 'alterClazz'.
+     *
+     * @return
+     *       current value of 'alterClazz'
+     */
+    public Class<?> getAlterClazz() {
+        return alterClazz;
+    }
+
+    /**
+     * Getter accessor for attribute 'alterTarget'.
+     *
+     * @return
+     *       current value of 'alterTarget'
+     */
+    public Object getAlterTarget() {
+        return alterTarget;
+    }
+
+    /**
+     * Setter accessor for attribute 'alterTarget'.
+     * 
+     * @param alterTarget
+     *       new value for 'alterTarget '
+     */
+    void setAlterTarget(Object alterTarget) {
+        this.alterTarget = alterTarget;
+    }
+    
+    /**
+     * Bean name resolved for an invoked instance.
+     *
+     * @param target
+     *      invoked instance
+     * @return
+     *      bean name or null if not resolved yet
+     */
+    public String getExecutedBeanName(Object target) {
+        return executedBeanNames.get(new TargetKey(target, null));
+    }
+    
+    /**
+     * Keep bean name resolved for an invoked instance.
+     *
+     * @param target
+     *      invoked instance
+     * @param beanName
+     *      bean name of instance
+     */
+    void putExecutedBeanName(Object target, String beanName) {
+        Reference<?> collected = collectedTargets.poll();
+        while (collected != null) {
+            executedBeanNames.remove(collected);
+            collected = collectedTargets.poll();
+        }
+        executedBeanNames.put(new TargetKey(target, collectedTargets), beanName);
+    }
+    
+    /**
+     * Weak reference compared on instance identity, beans may override equals().
+     */
+    private static final class TargetKey extends WeakReference<Object> {
+        
+        /** Identity hash of instance, kept once collected. */
+        private final int hash;
+        
+        private TargetKey(Object target, ReferenceQueue<Object> queue) {
+            super(target, queue);
+            this.hash = System.identityHashCode(target);
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TargetKey)) {
+                return false;
+            }
+            Object target = get();
+            return target != null && target == ((TargetKey) obj).get();
+        }
+    }
+    
+}
@@ -78,6 +78,16 @@ public class FeatureAdvisorTest {
         Assert.assertTrue("Service did not flipped", greeting.sayHello("CLU").startsWith("Bonjour"));
     }
 
+    @Test
+    public void testAnnotatedFlippingAfterDispatchIsCached() {
+        for (int i = 0; i < 3; i++) {
+            ff4j.disable("language-french");
+            Assert.assertTrue(greeting.sayHello("CLU").startsWith("Hello"));
+            ff4j.enable("language-french");
+            Assert.assertTrue("Service did not flipped", greeting.sayHello("CLU").startsWith("Bonjour"));
+        }
+    }
+
     @Test
     @Ignore
     public void testAnnotatedFlippingwithalterClazz() {
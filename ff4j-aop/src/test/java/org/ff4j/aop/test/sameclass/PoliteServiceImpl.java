@@ -0,0 +1,46 @@
+package org.ff4j.aop.test.sameclass;
+
+/*
+ * #%L
+ * ff4j-aop
+ * %%
+ * Copyright (C) 2013 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Same class declared as several beans, each with its own greeting.
+ */
+public class PoliteServiceImpl implements PoliteService {
+
+    /** Greeting of this bean. */
+    private String greeting;
+    
+    /** {@inheritDoc} */
+    @Override
+    public String greet(String name) {
+        return greeting + " " + name;
+    }
+
+    /**
+     * Setter accessor for attribute 'greeting'.
+     * @param greeting
+     *      new value for 'greeting '
+     */
+    public void setGreeting(String greeting) {
+        this.greeting = greeting;
+    }
+
+}
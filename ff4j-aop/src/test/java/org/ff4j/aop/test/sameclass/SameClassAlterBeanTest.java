@@ -0,0 +1,82 @@
+package org.ff4j.aop.test.sameclass;
+
+/*
+ * #%L
+ * ff4j-aop
+ * %%
+ * Copyright (C) 2013 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.FF4j;
+import org.ff4j.aop.FeatureAdvisor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Alter bean of the same class as the invoked bean.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-same-class.xml")
+public class SameClassAlterBeanTest {
+
+    @Autowired
+    private FF4j ff4j;
+    
+    @Autowired
+    private FeatureAdvisor advisor;
+
+    @Autowired
+    @Qualifier("polite.casual")
+    private PoliteService casual;
+    
+    @Autowired
+    @Qualifier("polite.formal")
+    private PoliteService formal;
+    
+    @Before
+    public void setUp() {
+        advisor.clearDispatchCache();
+        ff4j.enable("polite-formal");
+    }
+    
+    @Test
+    public void testAlterBeanInvokedFirst() {
+        // Alter bean invoked first does not disable delegation of the other bean
+        Assert.assertEquals("Good morning CLU", formal.greet("CLU"));
+        Assert.assertEquals("Good morning CLU", casual.greet("CLU"));
+    }
+    
+    @Test
+    public void testOtherBeanInvokedFirst() {
+        // Other bean invoked first does not make the alter bean call itself
+        Assert.assertEquals("Good morning CLU", casual.greet("CLU"));
+        Assert.assertEquals("Good morning CLU", formal.greet("CLU"));
+    }
+    
+    @Test
+    public void testFeatureDisabled() {
+        ff4j.disable("polite-formal");
+        Assert.assertEquals("Hi CLU", casual.greet("CLU"));
+        Assert.assertEquals("Good morning CLU", formal.greet("CLU"));
+    }
+
+}
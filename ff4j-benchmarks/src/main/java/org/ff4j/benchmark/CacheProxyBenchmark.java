@@ -0,0 +1,94 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.cache.ConcurrentCacheManager;
+import org.ff4j.cache.FF4JCacheManager;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read through {@link FF4jCacheProxy} when the feature is in cache (hit) or not (miss).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheProxyBenchmark {
+    
+    /** Feature used for the test. */
+    private static final String FEATURE = "f1";
+    
+    /** Cache implementation. */
+    @Param({"InMemory", "InMemoryConcurrent"})
+    private String cacheManager;
+    
+    /** Proxy. */
+    private FF4jCacheProxy proxy;
+    
+    /** Cache behind the proxy. */
+    private FF4JCacheManager cache;
+    
+    /**
+     * Initialize proxy with in-memory stores.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryFeatureStore featureStore = new InMemoryFeatureStore();
+        featureStore.create(new Feature(FEATURE, true));
+        cache = "InMemory".equals(cacheManager) ? new InMemoryCacheManager() : new ConcurrentCacheManager();
+        proxy = new FF4jCacheProxy(featureStore, new InMemoryPropertyStore(), cache);
+        proxy.read(FEATURE);
+    }
+    
+    @Benchmark
+    public Feature readHit() {
+        return proxy.read(FEATURE);
+    }
+    
+    @Benchmark
+    public Feature readMiss() {
+        cache.evictFeature(FEATURE);
+        return proxy.read(FEATURE);
+    }
+    
+}
@@ -0,0 +1,116 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.security.AbstractAuthorizationManager;
+import org.ff4j.utils.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link FF4j#check(String)} without strategy : plain, with audit, with security.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FF4jCheckBenchmark {
+    
+    /** Feature used for the test. */
+    private static final String FEATURE = "f1";
+    
+    /** Options enabled on FF4j. */
+    @Param({"plain", "audit", "security"})
+    private String mode;
+    
+    /** Current instance. */
+    private FF4j ff4j;
+    
+    /** Empty execution context. */
+    private FlippingExecutionContext context;
+    
+    /**
+     * Initialize FF4j with a single enabled feature.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ff4j = new FF4j();
+        Feature feature = new Feature(FEATURE, true);
+        if ("security".equals(mode)) {
+            feature.setPermissions(Util.set("USER"));
+            ff4j.setAuthorizationsManager(new AbstractAuthorizationManager() {
+                private final Set<String> permissions = Util.set("USER", "ADMIN");
+                public Set<String> getCurrentUserPermissions() {
+                    return permissions;
+                }
+                public Set<String> listAllPermissions() {
+                    return permissions;
+                }
+                public String getCurrentUserName() {
+                    return "benchmark";
+                }
+            });
+        }
+        ff4j.createFeature(feature);
+        ff4j.audit("audit".equals(mode));
+        context = new FlippingExecutionContext();
+    }
+    
+    /**
+     * Release publisher threads.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ff4j.stop();
+    }
+    
+    @Benchmark
+    public boolean check() {
+        return ff4j.check(FEATURE);
+    }
+    
+    @Benchmark
+    public boolean checkWithContext() {
+        return ff4j.check(FEATURE, context);
+    }
+    
+}
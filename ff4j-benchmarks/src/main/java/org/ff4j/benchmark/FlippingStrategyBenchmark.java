@@ -0,0 +1,144 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.core.FlippingStrategy;
+import org.ff4j.strategy.BlackListStrategy;
+import org.ff4j.strategy.ClientFilterStrategy;
+import org.ff4j.strategy.DarkLaunchStrategy;
+import org.ff4j.strategy.PonderationStrategy;
+import org.ff4j.strategy.ServerFilterStrategy;
+import org.ff4j.strategy.StickyPonderationStrategy;
+import org.ff4j.strategy.WhiteListStrategy;
+import org.ff4j.strategy.el.ExpressionFlipStrategy;
+import org.ff4j.strategy.time.OfficeHourStrategy;
+import org.ff4j.strategy.time.ReleaseDateFlipStrategy;
+import org.ff4j.utils.IOUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link FF4j#check(String, FlippingExecutionContext)} for each built-in {@link FlippingStrategy}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlippingStrategyBenchmark {
+    
+    /** Feature used for the test. */
+    private static final String FEATURE = "f1";
+    
+    /** Client used in context. */
+    private static final String CLIENT = "client1";
+    
+    /** Tested strategy. */
+    @Param({"none", "blackList", "whiteList", "clientFilter", "serverFilter", "darkLaunch", 
+            "ponderation", "stickyPonderation", "expression", "officeHour", "releaseDate"})
+    private String strategy;
+    
+    /** Current instance. */
+    private FF4j ff4j;
+    
+    /** Execution context with client host name. */
+    private FlippingExecutionContext context;
+    
+    /**
+     * Initialize FF4j with the tested strategy.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ff4j = new FF4j();
+        ff4j.createFeature(new Feature("A", true));
+        ff4j.createFeature(new Feature("B", false));
+        ff4j.createFeature(new Feature("C", true));
+        Feature feature = new Feature(FEATURE, true);
+        feature.setFlippingStrategy(createStrategy());
+        ff4j.createFeature(feature);
+        context = new FlippingExecutionContext();
+        context.putString(ClientFilterStrategy.CLIENT_HOSTNAME, CLIENT);
+    }
+    
+    /**
+     * Build strategy from parameter.
+     *
+     * @return
+     *      target strategy
+     */
+    private FlippingStrategy createStrategy() {
+        if ("blackList".equals(strategy)) {
+            return new BlackListStrategy("client2,client3");
+        } else if ("whiteList".equals(strategy)) {
+            return new WhiteListStrategy("client2," + CLIENT);
+        } else if ("clientFilter".equals(strategy)) {
+            return new ClientFilterStrategy("client2," + CLIENT);
+        } else if ("serverFilter".equals(strategy)) {
+            return new ServerFilterStrategy("server1," + IOUtil.resolveHostName());
+        } else if ("darkLaunch".equals(strategy)) {
+            return new DarkLaunchStrategy(0.5);
+        } else if ("ponderation".equals(strategy)) {
+            return new PonderationStrategy(0.5);
+        } else if ("stickyPonderation".equals(strategy)) {
+            return new StickyPonderationStrategy(0.5, ClientFilterStrategy.CLIENT_HOSTNAME);
+        } else if ("expression".equals(strategy)) {
+            return new ExpressionFlipStrategy(FEATURE, "A & B | !C | A");
+        } else if ("officeHour".equals(strategy)) {
+            OfficeHourStrategy officeHour = new OfficeHourStrategy();
+            Map<String, String> params = new HashMap<String, String>();
+            for (String day : new String[] {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"}) {
+                params.put(day, "00:00-12:00,12:00-23:59");
+            }
+            officeHour.init(FEATURE, params);
+            return officeHour;
+        } else if ("releaseDate".equals(strategy)) {
+            return new ReleaseDateFlipStrategy(new Date(0));
+        }
+        return null;
+    }
+    
+    @Benchmark
+    public boolean check() {
+        return ff4j.check(FEATURE, context);
+    }
+    
+}
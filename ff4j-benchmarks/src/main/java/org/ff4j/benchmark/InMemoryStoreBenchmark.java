@@ -0,0 +1,112 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.core.Feature;
+import org.ff4j.property.Property;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention on in-memory stores : concurrent readers alone, then readers with a writer.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryStoreBenchmark {
+    
+    /** Feature used for the test. */
+    private static final String FEATURE = "f1";
+    
+    /** Property used for the test. */
+    private static final String PROPERTY = "p1";
+    
+    /** Feature store. */
+    private InMemoryFeatureStore featureStore;
+    
+    /** Property store. */
+    private InMemoryPropertyStore propertyStore;
+    
+    /**
+     * Initialize stores.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        featureStore = new InMemoryFeatureStore();
+        for (int i = 0; i < 100; i++) {
+            Feature f = new Feature("f" + i, true);
+            f.setGroup("g" + (i % 10));
+            featureStore.create(f);
+        }
+        propertyStore = new InMemoryPropertyStore();
+        propertyStore.createProperty(new PropertyString(PROPERTY, "value"));
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Feature readFeature() {
+        return featureStore.read(FEATURE);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Property<?> readProperty() {
+        return propertyStore.readProperty(PROPERTY);
+    }
+    
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Feature readWhileWriting() {
+        return featureStore.read(FEATURE);
+    }
+    
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void toggle() {
+        featureStore.disable(FEATURE);
+        featureStore.enable(FEATURE);
+    }
+    
+}
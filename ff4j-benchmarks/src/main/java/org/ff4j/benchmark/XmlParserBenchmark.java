@@ -0,0 +1,101 @@
+package org.ff4j.benchmark;
+
+/*
+ * #%L
+ * ff4j-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.conf.XmlConfig;
+import org.ff4j.conf.XmlParser;
+import org.ff4j.core.Feature;
+import org.ff4j.property.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of XML configuration files depending on their number of features.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlParserBenchmark {
+    
+    /** Number of features in file. */
+    @Param({"1000", "10000", "100000"})
+    private int featureCount;
+    
+    /** Parser. */
+    private XmlParser parser;
+    
+    /** Content of generated file. */
+    private byte[] xml;
+    
+    /**
+     * Generate XML file in memory.
+     *
+     * @throws IOException
+     *      error during export
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        parser = new XmlParser();
+        Map<String, Feature> features = new LinkedHashMap<String, Feature>();
+        for (int i = 0; i < featureCount; i++) {
+            Feature f = new Feature("feature_" + i, i % 2 == 0, "description " + i, "group_" + (i % 100));
+            features.put(f.getUid(), f);
+        }
+        InputStream in = parser.exportAll(features, new HashMap<String, Property<?>>());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        xml = out.toByteArray();
+    }
+    
+    @Benchmark
+    public XmlConfig parse() {
+        return parser.parseConfigurationFile(new ByteArrayInputStream(xml));
+    }
+    
+}
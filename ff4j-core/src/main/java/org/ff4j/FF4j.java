@@ -26,30 +26,46 @@ import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.ff4j.audit.Event;
 import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.audit.proxy.FeatureStoreAuditProxy;
 import org.ff4j.audit.proxy.PropertyStoreAuditProxy;
 import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.ff4j.cache.CacheInvalidationListener;
 import org.ff4j.cache.FF4JCacheManager;
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.conf.XmlConfig;
 import org.ff4j.conf.XmlParser;
 import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureCheckResult;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
 import org.ff4j.core.FlippingStrategy;
 import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.InvalidPropertyTypeException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
+import org.ff4j.property.PropertyHandle;
 import org.ff4j.property.store.InMemoryPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.security.AuthorizationsManager;
 import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.utils.Util;
 
 /**
  * Principal class stands as public api to work with FF4J.
@@ -94,6 +110,33 @@ public class FF4j {
     /** Storage to persist properties within {@link PropertyStore}. */
     private PropertyStore pStore = new InMemoryPropertyStore();
     
+    /** Typed handles on properties, refreshed when properties change. */
+    private final ConcurrentMap < String, PropertyHandle<?> > propertyHandles = new ConcurrentHashMap<String, PropertyHandle<?>>();
+    
+    /** Refresh property handles when the cache proxy is updated (other nodes, poller). */
+    private final CacheInvalidationListener propertyHandlesRefresher = new CacheInvalidationListener() {
+        
+        /** Unique identifier. */
+        private final String listenerId = UUID.randomUUID().toString();
+        
+        /** {@inheritDoc} */
+        public String getListenerId() {
+            return listenerId;
+        }
+        
+        /** {@inheritDoc} */
+        public void onFeatureInvalidated(String featureUid) {}
+        
+        /** {@inheritDoc} */
+        public void onPropertyInvalidated(String propertyName) {
+            if (propertyName == null) {
+                refreshPropertyHandles();
+            } else {
+                refreshPropertyHandle(propertyName);
+            }
+        }
+    };
+    
     /** Do not through {@link FeatureNotFoundException} exception and but feature is required. */
     private boolean autocreate = false;
    
@@ -195,6 +238,99 @@ public class FF4j {
         return flipped;
     }
     
+    /**
+     * Evaluate several features at once without execution context.
+     * 
+     * @param featureIDs
+     *            features unique identifiers
+     * @return statuses of the features
+     */
+    public FeatureCheckResult checkAll(Collection<String> featureIDs) {
+        return checkAll(featureIDs, null);
+    }
+
+    /**
+     * Evaluate several features at once : features are read with a single call to the store and audit events
+     * are published together.
+     * 
+     * @param featureIDs
+     *            features unique identifiers
+     * @param executionContext
+     *            current execution context
+     * @return statuses of the features
+     */
+    public FeatureCheckResult checkAll(Collection<String> featureIDs, FlippingExecutionContext executionContext) {
+        Util.assertParamHasNotNull(featureIDs, "featureIDs");
+        List<String> uids = new ArrayList<String>(new LinkedHashSet<String>(featureIDs));
+        Map<String, Feature> features = readFeatures(uids);
+        
+        // Permissions of current user are resolved once
+        Set<String> userRoles = null;
+        BitSet statuses = new BitSet(uids.size());
+        for (int idx = 0; idx < uids.size(); idx++) {
+            String uid = uids.get(idx);
+            Feature fp = features.get(uid);
+            boolean flipped = fp.isEnable();
+            if (flipped && getAuthorizationsManager() != null && !fp.getPermissions().isEmpty()) {
+                if (userRoles == null) {
+                    userRoles = getAuthorizationsManager().getCurrentUserPermissions();
+                }
+                flipped = !Collections.disjoint(userRoles, fp.getPermissions());
+            }
+            if (flipped && fp.getFlippingStrategy() != null) {
+                flipped = fp.getFlippingStrategy().evaluate(uid, getFeatureStore(), executionContext);
+            }
+            statuses.set(idx, flipped);
+        }
+        
+        // Update current context
+        currentExecutionContext.set(executionContext);
+        
+        FeatureCheckResult result = new FeatureCheckResult(uids, statuses);
+        publishChecks(result);
+        return result;
+    }
+    
+    /**
+     * Read features required by {@link #checkAll(Collection, FlippingExecutionContext)}.
+     *
+     * @param uids
+     *      features unique identifiers
+     * @return
+     *      features indexed by uid
+     */
+    private Map<String, Feature> readFeatures(List<String> uids) {
+        Map<String, Feature> features = getFeatureStore().readMany(uids);
+        if (features.size() < uids.size()) {
+            features = new HashMap<String, Feature>(features);
+            for (String uid : uids) {
+                if (!features.containsKey(uid)) {
+                    features.put(uid, getFeature(uid));
+                }
+            }
+        }
+        return features;
+    }
+    
+    /**
+     * Send check events to audit in a single batch if expected.
+     *
+     * @param result
+     *      statuses of features
+     */
+    private void publishChecks(FeatureCheckResult result) {
+        if (isEnableAudit() && result.size() > 0) {
+            List<Event> events = new ArrayList<Event>(result.size());
+            for (String uid : result.getFeatureNames()) {
+                events.add(new EventBuilder(this)
+                        .feature(uid)
+                        .action(result.isEnable(uid) ? ACTION_CHECK_OK : ACTION_CHECK_OFF)
+                        .build());
+            }
+            getEventPublisher().publish(events);
+        }
+    }
+    
     /**
      * Send target event to audit if expected.
      *
@@ -351,6 +487,7 @@ public class FF4j {
      */
     public FF4j createProperty(Property<?> prop) {
         getPropertiesStore().createProperty(prop);
+        refreshPropertyHandle(prop.getName());
         return this;
     }
     
@@ -422,15 +559,14 @@ public class FF4j {
      * @return target feature.
      */
     public Feature getFeature(String featureID) {
-        Feature fp = null;
-        try {
-            fp = getFeatureStore().read(featureID);
-        } catch (FeatureNotFoundException fnfe) {
+        // Unknown features do not raise exception in stores
+        Feature fp = getFeatureStore().readIfExists(featureID);
+        if (fp == null) {
             if (this.autocreate) {
                 fp = new Feature(featureID, false);
                 getFeatureStore().create(fp);
             } else {
-                throw fnfe;
+                throw new FeatureNotFoundException(featureID);
             }
         }
         return fp;
@@ -458,6 +594,123 @@ public class FF4j {
        return getProperty(propertyName).asString();
     }
     
+    /**
+     * Handle on a property read as int, value is kept parsed and refreshed on changes.
+     *
+     * @param propertyName
+     *      property name
+     * @return
+     *      shared handle
+     */
+    public PropertyHandle < Integer > intProperty(String propertyName) {
+        return propertyHandle(PropertyHandle.ofInt(propertyName));
+    }
+    
+    /**
+     * Handle on a property read as long, value is kept parsed and refreshed on changes.
+     *
+     * @param propertyName
+     *      property name
+     * @return
+     *      shared handle
+     */
+    public PropertyHandle < Long > longProperty(String propertyName) {
+        return propertyHandle(PropertyHandle.ofLong(propertyName));
+    }
+    
+    /**
+     * Handle on a property read as double, value is kept parsed and refreshed on changes.
+     *
+     * @param propertyName
+     *      property name
+     * @return
+     *      shared handle
+     */
+    public PropertyHandle < Double > doubleProperty(String propertyName) {
+        return propertyHandle(PropertyHandle.ofDouble(propertyName));
+    }
+    
+    /**
+     * Handle on a property read as boolean, value is kept parsed and refreshed on changes.
+     *
+     * @param propertyName
+     *      property name
+     * @return
+     *      shared handle
+     */
+    public PropertyHandle < Boolean > booleanProperty(String propertyName) {
+        return propertyHandle(PropertyHandle.ofBoolean(propertyName));
+    }
+    
+    /**
+     * Handle on a property read as String, value is kept refreshed on changes.
+     *
+     * @param propertyName
+     *      property name
+     * @return
+     *      shared handle
+     */
+    public PropertyHandle < String > stringProperty(String propertyName) {
+        return propertyHandle(PropertyHandle.ofString(propertyName));
+    }
+    
+    /**
+     * Register a handle on a property, if a handle already exists for this name it is returned.
+     *
+     * @param handle
+     *      handle to register
+     * @return
+     *      shared handle loaded with current value
+     */
+    @SuppressWarnings("unchecked")
+    public < T > PropertyHandle < T > propertyHandle(PropertyHandle < T > handle) {
+        Util.assertNotNull(handle);
+        String propertyName = handle.getName();
+        PropertyHandle<?> existing = propertyHandles.get(propertyName);
+        if (existing == null) {
+            // Fail if property does not exist or cannot be parsed
+            handle.refresh(getProperty(propertyName));
+            existing = propertyHandles.putIfAbsent(propertyName, handle);
+            if (existing == null) {
+                // Property may have changed before registration
+                refreshPropertyHandle(propertyName);
+                return handle;
+            }
+        }
+        if (!existing.getType().equals(handle.getType())) {
+            throw new IllegalArgumentException("Property '" + propertyName + "' is already handled as " + existing.getType().getSimpleName());
+        }
+        return (PropertyHandle<T>) existing;
+    }
+    
+    /**
+     * Reload handle of a property from store (if any).
+     *
+     * @param propertyName
+     *      property name
+     */
+    public void refreshPropertyHandle(String propertyName) {
+        PropertyHandle<?> handle = propertyHandles.get(propertyName);
+        if (handle != null) {
+            try {
+                handle.refresh(getProperty(propertyName));
+            } catch (PropertyNotFoundException pnfe) {
+                // Property has been deleted, keep last known value
+            } catch (InvalidPropertyTypeException ipte) {
+                // Value cannot be parsed, keep last valid value
+            }
+        }
+    }
+    
+    /**
+     * Reload all property handles from store, to be invoked if properties are updated outside of ff4j.
+     */
+    public void refreshPropertyHandles() {
+        for (String propertyName : propertyHandles.keySet()) {
+            refreshPropertyHandle(propertyName);
+        }
+    }
+    
     /**
      * Help to import features.
      * 
@@ -487,6 +740,7 @@ public class FF4j {
         if (properties != null) {
             for (Property<?> property : properties) {
                 getPropertiesStore().createProperty(property);
+                refreshPropertyHandle(property.getName());
             }
         }
         return this;
@@ -567,6 +821,7 @@ public class FF4j {
      */
     public FF4j deleteProperty(String propertyName) {
         getPropertiesStore().deleteProperty(propertyName);
+        refreshPropertyHandle(propertyName);
         return this;
     }
     
@@ -857,7 +1112,16 @@ public class FF4j {
      * 		new value for 'pStore '
      */
     public void setPropertiesStore(PropertyStore pStore) {
+        FF4jCacheProxy previous = getCacheProxy(this.pStore);
+        if (previous != null) {
+            previous.removeRefreshListener(propertyHandlesRefresher);
+        }
         this.pStore = pStore;
+        FF4jCacheProxy current = getCacheProxy(pStore);
+        if (current != null) {
+            current.addRefreshListener(propertyHandlesRefresher);
+        }
+        refreshPropertyHandles();
     }
     
     /**
@@ -937,6 +1201,24 @@ public class FF4j {
         return getConcretePropertyStore(getPropertiesStore());
     }
     
+    /**
+     * Fetch cache proxy wrapping properties if any.
+     *
+     * @param ps
+     *      current property store
+     * @return
+     *      cache proxy or null
+     */
+    private FF4jCacheProxy getCacheProxy(PropertyStore ps) {
+        if (ps instanceof PropertyStoreAuditProxy) {
+            return getCacheProxy(((PropertyStoreAuditProxy) ps).getTarget());
+        }
+        if (ps instanceof FF4jCacheProxy) {
+            return (FF4jCacheProxy) ps;
+        }
+        return null;
+    }
+    
     /**
      * try to fetch CacheProxy (cannot handled proxy CGLIB, ASM or any bytecode manipulation).
      *
@@ -20,12 +20,14 @@ package org.ff4j.audit;
  * #L%
  */
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
+import org.ff4j.security.AbstractAuthorizationManager;
 import org.ff4j.utils.IOUtil;
 
 /**
@@ -56,6 +58,12 @@ public class Event implements Serializable, Comparable < Event > {
     /** Current user. */
     private String user;
     
+    /** Resolve current user when first read, see {@link #deferUser(AbstractAuthorizationManager, Object)}. */
+    private transient AbstractAuthorizationManager userResolver;
+    
+    /** Reference to current user captured when event has been built. */
+    private transient Object userReference;
+    
     /** feature or property name. */
     private String name;
     
@@ -76,8 +84,8 @@ public class Event implements Serializable, Comparable < Event > {
      * 
      */
     public Event() {
-        uuid        = UUID.randomUUID().toString();
         timestamp   = System.currentTimeMillis();
+        uuid        = EventIdGenerator.nextId(timestamp);
         hostName    = IOUtil.resolveHostName();
     }
     
@@ -108,7 +116,7 @@ public class Event implements Serializable, Comparable < Event > {
         sb.append(", \"timestamp\":" + timestamp);
         keyAsString(sb, "hostName", hostName);
         keyAsString(sb, "source",   source);
-        keyAsString(sb, "user",   user);
+        keyAsString(sb, "user",   getUser());
         keyAsString(sb, "name",   name);
         keyAsString(sb, "type",   type);
         keyAsString(sb, "action", action);
@@ -244,6 +252,9 @@ public class Event implements Serializable, Comparable < Event > {
      *       current value of 'user'
      */
     public String getUser() {
+        if (userResolver != null) {
+            resolveUser();
+        }
         return user;
     }
 
@@ -252,8 +263,48 @@ public class Event implements Serializable, Comparable < Event > {
      * @param user
      * 		new value for 'user '
      */
-    public void setUser(String user) {
+    public synchronized void setUser(String user) {
         this.user = user;
+        this.userResolver  = null;
+        this.userReference = null;
+    }
+    
+    /**
+     * Keep a reference to current user, captured on the calling thread, the name is resolved when first read
+     * (usually when the event is stored, outside of the calling thread).
+     *
+     * @param resolver
+     *      authorization manager which captured the reference
+     * @param reference
+     *      reference to current user
+     */
+    synchronized void deferUser(AbstractAuthorizationManager resolver, Object reference) {
+        this.userResolver  = resolver;
+        this.userReference = reference;
+    }
+    
+    /**
+     * Resolve user name from captured reference, once.
+     */
+    private synchronized void resolveUser() {
+        if (userResolver != null) {
+            user = userResolver.getUserName(userReference);
+            userResolver  = null;
+            userReference = null;
+        }
+    }
+    
+    /**
+     * User is resolved before serialization as the reference is not serializable.
+     *
+     * @param out
+     *      target stream
+     * @throws IOException
+     *      error during serialization
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getUser();
+        out.defaultWriteObject();
     }
 
     /**
@@ -382,9 +433,12 @@ public class Event implements Serializable, Comparable < Event > {
     /** {@inheritDoc} */
     @Override
     public int compareTo(Event evt) {
-        int myTime = new Long(this.getTimestamp() - evt.getTimestamp()).intValue();
+        // Compare without casting the difference to int (overflow after 24 days)
+        if (this.getTimestamp() != evt.getTimestamp()) {
+            return (this.getTimestamp() < evt.getTimestamp()) ? -1 : 1;
+        }
         // Not equals even if same timestamp (of course...)
-        return (myTime != 0) ? myTime : evt.getUuid().compareTo(getUuid());
+        return evt.getUuid().compareTo(getUuid());
     }
 
 }
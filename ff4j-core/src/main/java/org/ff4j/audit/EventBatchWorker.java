@@ -0,0 +1,336 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ff4j.audit.repository.EventRepository;
+
+/**
+ * Drainer reading {@link Event} from a bounded buffer and saving them by batches into {@link EventRepository}.
+ *
+ * Producers never wait: when the buffer is full the event is dropped or sampled depending on
+ * the {@link EventOverflowPolicy}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventBatchWorker implements Runnable {
+
+    /** Default size of buffer. */
+    public static final int DEFAULT_BUFFER_CAPACITY = 8192;
+
+    /** Default number of events sent to repository at once. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /** Default delay between two flushes (ms). */
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000L;
+
+    /** Default sampling rate when buffer is full (1 event kept every 100). */
+    public static final int DEFAULT_SAMPLE_RATE = 100;
+
+    /** Bounded ring buffer. */
+    private final BlockingQueue<Event> buffer;
+
+    /** Repository to save events. */
+    private volatile EventRepository repository;
+
+    /** Maximum number of events in a batch. */
+    private final int batchSize;
+
+    /** Maximum delay before sending a partial batch (ms). */
+    private final long flushInterval;
+
+    /** Policy when buffer is full. */
+    private final EventOverflowPolicy overflowPolicy;
+
+    /** Keep one event out of 'sampleRate' when buffer is full (SAMPLE policy). */
+    private final int sampleRate;
+
+    /** Number of events rejected or lost. */
+    private final AtomicLong droppedCount = new AtomicLong(0);
+
+    /** Number of events saved into repository. */
+    private final AtomicLong flushedCount = new AtomicLong(0);
+
+    /** Number of events received while buffer was full. */
+    private final AtomicLong overflowCount = new AtomicLong(0);
+
+    /** Flag to stop the drainer. */
+    private volatile boolean running = true;
+
+    /**
+     * Worker with default settings.
+     *
+     * @param repo
+     *      repository to store events
+     */
+    public EventBatchWorker(EventRepository repo) {
+        this(repo, DEFAULT_BUFFER_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, EventOverflowPolicy.DROP);
+    }
+
+    /**
+     * Worker constructor.
+     *
+     * @param repo
+     *      repository to store events
+     * @param bufferCapacity
+     *      maximum number of events waiting to be saved
+     * @param batchSize
+     *      maximum number of events saved at once
+     * @param flushInterval
+     *      maximum delay in milliseconds before a partial batch is saved
+     * @param policy
+     *      behaviour when buffer is full
+     */
+    public EventBatchWorker(EventRepository repo, int bufferCapacity, int batchSize, long flushInterval, EventOverflowPolicy policy) {
+        this(repo, bufferCapacity, batchSize, flushInterval, policy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Worker constructor.
+     *
+     * @param repo
+     *      repository to store events
+     * @param bufferCapacity
+     *      maximum number of events waiting to be saved
+     * @param batchSize
+     *      maximum number of events saved at once
+     * @param flushInterval
+     *      maximum delay in milliseconds before a partial batch is saved
+     * @param policy
+     *      behaviour when buffer is full
+     * @param sampleRate
+     *      with {@link EventOverflowPolicy#SAMPLE} keep one event out of 'sampleRate'
+     */
+    public EventBatchWorker(EventRepository repo, int bufferCapacity, int batchSize, long flushInterval, EventOverflowPolicy policy, int sampleRate) {
+        if (repo == null) {
+            throw new IllegalArgumentException("EventRepository cannot be null");
+        }
+        if (bufferCapacity < 1 || batchSize < 1 || flushInterval < 1 || sampleRate < 1) {
+            throw new IllegalArgumentException("Capacity, batch size, flush interval and sample rate must be positive");
+        }
+        this.buffer         = new ArrayBlockingQueue<Event>(bufferCapacity);
+        this.repository     = repo;
+        this.batchSize      = batchSize;
+        this.flushInterval  = flushInterval;
+        this.overflowPolicy = (policy == null) ? EventOverflowPolicy.DROP : policy;
+        this.sampleRate     = sampleRate;
+    }
+
+    /**
+     * Add event to buffer without blocking.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      if the event has been buffered
+     */
+    public boolean offer(Event evt) {
+        if (evt == null) {
+            return false;
+        }
+        if (!running) {
+            // Stopped, event will never be saved
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        if (buffer.offer(evt)) {
+            // Stopped meanwhile, drainer may have left before reading it
+            if (!running && buffer.remove(evt)) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            return true;
+        }
+        // Buffer is full
+        long overflow = overflowCount.incrementAndGet();
+        if (EventOverflowPolicy.SAMPLE == overflowPolicy && (overflow % sampleRate == 0)) {
+            // Evict oldest to keep a sample of the recent traffic
+            buffer.poll();
+            droppedCount.incrementAndGet();
+            if (buffer.offer(evt)) {
+                return true;
+            }
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void run() {
+        List<Event> batch = new ArrayList<Event>(batchSize);
+        long nextFlush = System.currentTimeMillis() + flushInterval;
+        while (running) {
+            try {
+                long wait = Math.max(1, nextFlush - System.currentTimeMillis());
+                Event evt = buffer.poll(wait, TimeUnit.MILLISECONDS);
+                if (evt != null) {
+                    batch.add(evt);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+                long now = System.currentTimeMillis();
+                if (batch.size() >= batchSize || now >= nextFlush) {
+                    flush(batch);
+                    nextFlush = now + flushInterval;
+                }
+            } catch (InterruptedException ie) {
+                running = false;
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Save what remains before leaving
+        flush(batch);
+        while (!buffer.isEmpty()) {
+            buffer.drainTo(batch, batchSize);
+            flush(batch);
+        }
+    }
+
+    /**
+     * Send current batch to repository and clear it.
+     *
+     * @param batch
+     *      current batch
+     */
+    private void flush(List<Event> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (repository.saveEvents(batch)) {
+                flushedCount.addAndGet(batch.size());
+            } else {
+                droppedCount.addAndGet(batch.size());
+            }
+        } catch (RuntimeException re) {
+            // Do not propagate error, it's monitoring (aside business logic)
+            droppedCount.addAndGet(batch.size());
+        }
+        batch.clear();
+    }
+
+    /**
+     * Stop accepting events, remaining events will be saved by the drainer before it ends.
+     */
+    public void stop() {
+        this.running = false;
+    }
+
+    /**
+     * Getter accessor for attribute 'running'.
+     *
+     * @return
+     *       current value of 'running'
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Number of events waiting in the buffer.
+     *
+     * @return
+     *      current size of buffer
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Number of events rejected because of a full buffer or a repository error.
+     *
+     * @return
+     *       current value of 'droppedCount'
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Number of events saved into the repository.
+     *
+     * @return
+     *       current value of 'flushedCount'
+     */
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    /**
+     * Getter accessor for attribute 'repository'.
+     *
+     * @return
+     *       current value of 'repository'
+     */
+    public EventRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Setter accessor for attribute 'repository', next batches are saved into this repository.
+     *
+     * @param repository
+     *      new value for 'repository '
+     */
+    public void setRepository(EventRepository repository) {
+        if (repository == null) {
+            throw new IllegalArgumentException("EventRepository cannot be null");
+        }
+        this.repository = repository;
+    }
+
+    /**
+     * Getter accessor for attribute 'batchSize'.
+     *
+     * @return
+     *       current value of 'batchSize'
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Getter accessor for attribute 'flushInterval'.
+     *
+     * @return
+     *       current value of 'flushInterval'
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Getter accessor for attribute 'overflowPolicy'.
+     *
+     * @return
+     *       current value of 'overflowPolicy'
+     */
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+}
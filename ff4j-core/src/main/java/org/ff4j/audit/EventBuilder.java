@@ -21,6 +21,8 @@ package org.ff4j.audit;
  */
 
 import org.ff4j.FF4j;
+import org.ff4j.security.AbstractAuthorizationManager;
+import org.ff4j.security.AuthorizationsManager;
 
 import static org.ff4j.audit.EventConstants.*;
 
@@ -29,6 +31,9 @@ public class EventBuilder {
     /** API Configuration. */
     private Event event;
     
+    /** Capture current user when event is built (if user not provided). */
+    private AuthorizationsManager authorizationsManager;
+    
     /**
      * Default constructor.
      */
@@ -47,10 +52,8 @@ public class EventBuilder {
         // Source can be WEB, SSH, JAVA etc
         this.event.setSource(ff4j.getSource());
         
-        // Retrieved looged user from AuthorizationManager
-        if (ff4j.getAuthorizationsManager() != null) {
-            event.setUser(ff4j.getAuthorizationsManager().getCurrentUserName());
-        }
+        // Logged user retrieved from AuthorizationManager at build time
+        this.authorizationsManager = ff4j.getAuthorizationsManager();
     }
     
     public EventBuilder feature(String uid) {
@@ -96,7 +99,21 @@ public class EventBuilder {
         return this;
     }
     
+    public EventBuilder user(String user) {
+        event.setUser(user);
+        return this;
+    }
+    
     public Event build() {
+        if (event.getUser() == null && authorizationsManager != null) {
+            if (authorizationsManager instanceof AbstractAuthorizationManager) {
+                // Only capture a reference in caller thread, name is resolved when the event is stored
+                AbstractAuthorizationManager am = (AbstractAuthorizationManager) authorizationsManager;
+                event.deferUser(am, am.getCurrentUserReference());
+            } else {
+                event.setUser(authorizationsManager.getCurrentUserName());
+            }
+        }
         return event;
     }
 
@@ -0,0 +1,42 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Receive {@link Event} one by one when streaming a query over the {@link org.ff4j.audit.repository.EventRepository}.
+ *
+ * Results are not loaded in memory, events are provided ordered by timestamp when the store allows it.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface EventCallback {
+
+    /**
+     * Process current event.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      true to read next event, false to stop the iteration
+     */
+    boolean onEvent(Event evt);
+
+}
@@ -0,0 +1,99 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generate identifiers for {@link Event}.
+ * 
+ * By default identifiers are time-ordered and built without lock : a random node identifier is drawn once and
+ * a single counter is moved forward with compare-and-set. Layout, rendered with the usual UUID format, is :
+ * <ul>
+ * <li>most significant bits : creation time in milliseconds (48 bits) followed by a sequence (16 bits)
+ * <li>least significant bits : random node of the JVM (64 bits)
+ * </ul>
+ * Call {@link #setTimeOrdered(boolean)} with false to go back to {@link UUID#randomUUID()}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class EventIdGenerator {
+    
+    /** Random node, drawn once. */
+    private static final long NODE = new SecureRandom().nextLong();
+    
+    /** Last value of most significant bits (time and sequence). */
+    private static final AtomicLong LAST = new AtomicLong();
+    
+    /** Enable time-ordered identifiers. */
+    private static volatile boolean timeOrdered = true;
+    
+    /**
+     * Hide constructor.
+     */
+    private EventIdGenerator() {
+    }
+    
+    /**
+     * Generate a new identifier.
+     *
+     * @param timestamp
+     *      creation time of the event
+     * @return
+     *      event identifier
+     */
+    public static String nextId(long timestamp) {
+        if (!timeOrdered) {
+            return UUID.randomUUID().toString();
+        }
+        long candidate = timestamp << 16;
+        while (true) {
+            long last = LAST.get();
+            // Same or older millisecond : increment sequence, borrowing next millisecond when exhausted
+            long next = (candidate > last) ? candidate : last + 1;
+            if (LAST.compareAndSet(last, next)) {
+                return new UUID(next, NODE).toString();
+            }
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'timeOrdered'.
+     *
+     * @return
+     *       current value of 'timeOrdered'
+     */
+    public static boolean isTimeOrdered() {
+        return timeOrdered;
+    }
+
+    /**
+     * Setter accessor for attribute 'timeOrdered'.
+     * @param timeOrdered
+     *      new value for 'timeOrdered '
+     */
+    public static void setTimeOrdered(boolean timeOrdered) {
+        EventIdGenerator.timeOrdered = timeOrdered;
+    }
+    
+}
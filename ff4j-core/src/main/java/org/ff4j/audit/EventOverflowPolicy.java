@@ -0,0 +1,35 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Behaviour of the {@link EventBatchWorker} when its buffer is full.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public enum EventOverflowPolicy {
+
+    /** New events are discarded until the drainer frees some room. */
+    DROP,
+
+    /** One overflowing event out of 'sampleRate' replaces the oldest buffered event, others are discarded. */
+    SAMPLE;
+}
@@ -20,6 +20,7 @@ package org.ff4j.audit;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
@@ -60,6 +61,12 @@ public class EventPublisher {
     /** flag to shiutdown executor on failure. */
     private final boolean shutdownExecutor;
 
+    /** Drainer used in asynchronous mode (null when publishing is synchronous). */
+    private EventBatchWorker batchWorker;
+
+    /** Thread running the drainer. */
+    private Thread batchThread;
+
     /**
      * Default constructor.
      */
@@ -118,6 +125,43 @@ public class EventPublisher {
         this.shutdownExecutor = false;
     }
 
+    /**
+     * Asynchronous publisher, events are buffered and saved by batches without blocking callers.
+     *
+     * @param er
+     *      the event repository to use
+     * @param bufferCapacity
+     *      maximum number of events waiting to be saved
+     * @param batchSize
+     *      maximum number of events saved at once
+     * @param flushInterval
+     *      maximum delay in milliseconds before a partial batch is saved
+     * @param policy
+     *      behaviour when buffer is full
+     */
+    public EventPublisher(EventRepository er, int bufferCapacity, int batchSize, long flushInterval, EventOverflowPolicy policy) {
+        this(new EventBatchWorker(er, bufferCapacity, batchSize, flushInterval, policy));
+    }
+
+    /**
+     * Asynchronous publisher, events are buffered and saved by batches without blocking callers.
+     *
+     * @param worker
+     *      drainer holding the buffer and the event repository
+     */
+    public EventPublisher(EventBatchWorker worker) {
+        if (worker == null) {
+            throw new IllegalArgumentException("EventBatchWorker cannot be null");
+        }
+        this.repository       = worker.getRepository();
+        this.submitTimeout    = timeout;
+        this.shutdownExecutor = false;
+        this.batchWorker      = worker;
+        this.batchThread      = new PublisherThreadFactory().newThread(worker);
+        this.batchThread.setDaemon(true);
+        this.batchThread.start();
+    }
+
     /**
      * Publish event to repository
      * 
@@ -125,6 +169,11 @@ public class EventPublisher {
      *            event.
      */
     public void publish(Event e) {
+        if (isAsynchronous()) {
+            // Fire and forget, counters are updated by the worker
+            batchWorker.offer(e);
+            return;
+        }
         try {
             EventWorker ew = new EventWorker(e, repository);
             final Future<Boolean> check = executor.submit(ew);
@@ -136,16 +185,90 @@ public class EventPublisher {
         }
     }
 
+    /**
+     * Publish several events with a single hand-off to the repository.
+     * 
+     * @param events
+     *            events to save
+     */
+    public void publish(Collection < Event > events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        if (isAsynchronous()) {
+            for (Event e : events) {
+                batchWorker.offer(e);
+            }
+            return;
+        }
+        try {
+            EventWorker ew = new EventWorker(events, repository);
+            final Future<Boolean> check = executor.submit(ew);
+            check.get(submitTimeout, TimeUnit.MILLISECONDS);
+        } catch (Exception e1) {
+            // Do not propagate error, it's monitoring (aside business logic)
+        }
+    }
+
     /**
      * Stops the event publisher. If we started an executor service, it will
      * be shutdown here.
      */
     public void stop() {
+        if (isAsynchronous()) {
+            batchWorker.stop();
+            try {
+                // Let the drainer save remaining events
+                batchThread.join(timeout);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
         if (this.shutdownExecutor) {
             this.executor.shutdownNow();
         }
     }
 
+    /**
+     * Events are buffered and saved by batches.
+     *
+     * @return
+     *      if publication does not wait for repository
+     */
+    public boolean isAsynchronous() {
+        return batchWorker != null;
+    }
+
+    /**
+     * Number of events not saved (buffer full or repository errors), asynchronous mode only.
+     *
+     * @return
+     *      number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return isAsynchronous() ? batchWorker.getDroppedCount() : 0;
+    }
+
+    /**
+     * Number of events saved into repository, asynchronous mode only.
+     *
+     * @return
+     *      number of flushed events
+     */
+    public long getFlushedEventCount() {
+        return isAsynchronous() ? batchWorker.getFlushedCount() : 0;
+    }
+
+    /**
+     * Getter accessor for attribute 'batchWorker'.
+     *
+     * @return
+     *       current value of 'batchWorker'
+     */
+    public EventBatchWorker getBatchWorker() {
+        return batchWorker;
+    }
+
     /**
      * Setter accessor for attribute 'repository'.
      * 
@@ -154,6 +277,9 @@ public class EventPublisher {
      */
     public void setRepository(EventRepository repository) {
         this.repository = repository;
+        if (batchWorker != null) {
+            batchWorker.setRepository(repository);
+        }
     }
 
     /**
@@ -82,6 +82,52 @@ public class EventQueryDefinition implements Serializable {
 		this.to = to;
 	}
 	
+	/**
+	 * Request a page of results.
+	 *
+	 * @param pageNumber
+	 *         page number starting at 0
+	 * @param pageSize
+	 *         number of events in a page
+	 * @return
+	 *         current query
+	 */
+	public EventQueryDefinition page(int pageNumber, int pageSize) {
+	    if (pageNumber < 0 || pageSize < 1) {
+	        throw new IllegalArgumentException("Page number must be positive and page size greater than 0");
+	    }
+	    this.pageable   = true;
+	    this.pagenumber = pageNumber;
+	    this.pagesize   = pageSize;
+	    return this;
+	}
+	
+	/**
+	 * Number of events to skip before the requested page.
+	 *
+	 * @return
+	 *         offset, 0 if the query is not pageable
+	 */
+	public long getOffset() {
+	    if (pageable && pagesize > 0) {
+	        return (long) pagenumber * pagesize;
+	    }
+	    return 0;
+	}
+	
+	/**
+	 * Maximum number of events expected, page size if pageable or 'maxresult' if defined.
+	 *
+	 * @return
+	 *         limit, -1 if there is no limit
+	 */
+	public int getLimit() {
+	    if (pageable && pagesize > 0) {
+	        return pagesize;
+	    }
+	    return (maxresult > 0) ? maxresult : -1;
+	}
+	
 	public EventQueryDefinition addFilterName(String name) {
 	    this.namesFilter.add(name);
 	    return this;
@@ -24,10 +24,12 @@ import java.util.TreeSet;
 
 /**
  * Proposal of data structure to store a set of events.
+ * 
+ * As an {@link EventCallback} it collects streamed events until capacity is reached.
  *
  * @author Cedrick LUNVEN (@clunven)
  */
-public class EventSeries extends TreeSet< Event > {
+public class EventSeries extends TreeSet< Event > implements EventCallback {
     
     /** Serial */
     private static final long serialVersionUID = 7093204704994389688L;
@@ -49,13 +51,17 @@ public class EventSeries extends TreeSet< Event > {
      * Compute average iteself.
      *
      * @return
+     *      average duration, 0 if there is no event
      */
     public double getAverageDuration() {
+        if (isEmpty()) {
+            return 0;
+        }
         long totalDuration = 0;
         for(Event evt : this) {
             totalDuration+= evt.getDuration();
         }
-        return totalDuration / size();
+        return (double) totalDuration / size();
     }
 
     /**
@@ -72,10 +78,37 @@ public class EventSeries extends TreeSet< Event > {
     /** {@inheritDoc} */
     @Override
     public boolean add(final Event e) {
-        if (capacity > 0 && size() >= capacity) {
+        if (isFull()) {
             return false;
         }
         return super.add(e);
     }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean onEvent(Event evt) {
+        add(evt);
+        return !isFull();
+    }
+    
+    /**
+     * Check if capacity has been reached.
+     *
+     * @return
+     *      if no more event can be added
+     */
+    public boolean isFull() {
+        return capacity > 0 && size() >= capacity;
+    }
+
+    /**
+     * Getter accessor for attribute 'capacity'.
+     *
+     * @return
+     *       current value of 'capacity'
+     */
+    public long getCapacity() {
+        return capacity;
+    }
 
 }
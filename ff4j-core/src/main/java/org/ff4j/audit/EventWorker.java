@@ -20,6 +20,7 @@ package org.ff4j.audit;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.concurrent.Callable;
 
 import org.ff4j.audit.repository.EventRepository;
@@ -34,6 +35,9 @@ public class EventWorker implements Callable<Boolean> {
     /** Target event to insert. */
     private Event event = null;
     
+    /** Target events to insert at once. */
+    private Collection < Event > events = null;
+    
     /** current thread name if relevant. */
     private String name = null;
 
@@ -62,13 +66,29 @@ public class EventWorker implements Callable<Boolean> {
         }
     }
 
+    /**
+     * Worker constructor for a batch of events.
+     * 
+     * @param events
+     *            events to save at once
+     * @param repo
+     *            event repository to store events
+     */
+    public EventWorker(Collection < Event > events, EventRepository repo) {
+        this.events = events;
+        this.eventRepository = repo;
+        if (events != null) {
+            this.name = System.currentTimeMillis() + "-batch-" + events.size();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Boolean call() throws Exception {
         boolean ok = false;
         int retryCount = 0;
         while (!ok && retryCount < MAX_RETRY) {
-            ok = eventRepository.saveEvent(event);
+            ok = (events != null) ? eventRepository.saveEvents(events) : eventRepository.saveEvent(event);
             if (!ok) {
                 retryCount++;
                 Thread.sleep(RETRY_DELAY);
@@ -0,0 +1,101 @@
+package org.ff4j.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Apply pagination of {@link EventQueryDefinition} on a stream of events when the repository
+ * cannot skip events natively.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class PagedEventCallback implements EventCallback {
+
+    /** Target callback. */
+    private final EventCallback target;
+
+    /** Number of events to skip. */
+    private final long offset;
+
+    /** Maximum number of events to provide, -1 is infinite. */
+    private final long limit;
+
+    /** Events skipped. */
+    private long skipped = 0;
+
+    /** Events provided to target. */
+    private long count = 0;
+
+    /**
+     * Constructor from the query.
+     *
+     * @param target
+     *      target callback
+     * @param query
+     *      current query
+     */
+    public PagedEventCallback(EventCallback target, EventQueryDefinition query) {
+        this(target, query.getOffset(), query.getLimit());
+    }
+
+    /**
+     * Constructor with bounds.
+     *
+     * @param target
+     *      target callback
+     * @param offset
+     *      number of events to skip
+     * @param limit
+     *      maximum number of events to provide, -1 is infinite
+     */
+    public PagedEventCallback(EventCallback target, long offset, long limit) {
+        if (target == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        this.target = target;
+        this.offset = offset;
+        this.limit  = limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean onEvent(Event evt) {
+        if (skipped < offset) {
+            skipped++;
+            return true;
+        }
+        if (limit > 0 && count >= limit) {
+            return false;
+        }
+        count++;
+        return target.onEvent(evt) && (limit <= 0 || count < limit);
+    }
+
+    /**
+     * Getter accessor for attribute 'count'.
+     *
+     * @return
+     *       current value of 'count'
+     */
+    public long getCount() {
+        return count;
+    }
+
+}
@@ -40,6 +40,7 @@ import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.store.StoreChanges;
 
 /**
  * Proxy to publish operation to audit.
@@ -213,6 +214,30 @@ public class FeatureStoreAuditProxy implements FeatureStore {
         return target.read(uid);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String featureUid) {
+        return target.readIfExists(featureUid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> uids) {
+        return target.readMany(uids);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getFeaturesRevision() {
+        return target.getFeaturesRevision();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StoreChanges<Feature> featureChangesSince(long revision) {
+        return target.featureChangesSince(revision);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
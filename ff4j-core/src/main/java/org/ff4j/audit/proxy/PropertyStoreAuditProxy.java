@@ -38,6 +38,7 @@ import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.StoreChanges;
 
 /**
  * Implementation of audit on top of store.
@@ -126,6 +127,16 @@ public class PropertyStoreAuditProxy implements PropertyStore {
         return target.readAllProperties();
     }
 
+    /** {@inheritDoc} */
+    public long getPropertiesRevision() {
+        return target.getPropertiesRevision();
+    }
+
+    /** {@inheritDoc} */
+    public StoreChanges<Property<?>> propertyChangesSince(long revision) {
+        return target.propertyChangesSince(revision);
+    }
+
     /** {@inheritDoc} */
     public Set<String> listPropertyNames() {
         return target.listPropertyNames();
@@ -25,6 +25,7 @@ import static org.ff4j.audit.EventConstants.TITLE_BARCHAR_HIT;
 import static org.ff4j.audit.EventConstants.TITLE_PIE_HITCOUNT;
 
 import java.text.SimpleDateFormat;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -35,8 +36,11 @@ import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.PagedEventCallback;
 import org.ff4j.audit.chart.BarChart;
 import org.ff4j.audit.chart.PieChart;
 import org.ff4j.audit.chart.Serie;
@@ -52,6 +56,69 @@ public abstract class AbstractEventRepository implements EventRepository {
     /** Create key. */
     protected static final SimpleDateFormat KDF = new SimpleDateFormat("yyyyMMdd");
     
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection < Event > events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        boolean saved = true;
+        for (Event evt : events) {
+            saved &= saveEvent(evt);
+        }
+        return saved;
+    }
+    
+    /**
+     * Default implementation reads the full result, repositories should override with a cursor.
+     * 
+     * {@inheritDoc} 
+     */
+    @Override
+    public void streamFeatureUsageEvents(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
+        stream(searchFeatureUsageEvents(query), new PagedEventCallback(callback, query));
+    }
+    
+    /**
+     * Default implementation reads the full result, repositories should override with a cursor.
+     * 
+     * {@inheritDoc} 
+     */
+    @Override
+    public void streamAuditTrail(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
+        stream(getAuditTrail(query), new PagedEventCallback(callback, query));
+    }
+    
+    /**
+     * Provide events to callback until it stops.
+     *
+     * @param events
+     *      events ordered by timestamp
+     * @param callback
+     *      target callback
+     */
+    protected void stream(Iterable < Event > events, EventCallback callback) {
+        for (Event evt : events) {
+            if (!callback.onEvent(evt)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Create the series collecting the result of a query, limited to the expected page or 'maxresult'.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      empty series
+     */
+    protected EventSeries createEventSeries(EventQueryDefinition query) {
+        return (query.getLimit() > 0) ? new EventSeries(query.getLimit()) : new EventSeries();
+    }
+    
     /** {@inheritDoc} */
     @Override
     public PieChart getFeatureUsagePieChart(EventQueryDefinition q) {
@@ -0,0 +1,461 @@
+package org.ff4j.audit.repository;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.Serie;
+import org.ff4j.audit.chart.TimeSeriesChart;
+
+/**
+ * Events of a time slot (one hour) stored as columns of primitive arrays.
+ * 
+ * Strings are encoded with the {@link EventDictionary} of the repository and identifiers (UUID) as 2 longs, 
+ * an event takes about 60 bytes. Events which cannot be rebuilt from columns (custom keys, value, 
+ * identifier not formatted as UUID) are also kept as objects.
+ * 
+ * Writes are synchronized, reads are lock-free : a row is visible once the size has been published.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+final class EventChunk {
+    
+    /** Dimensions available for hit counts. */
+    enum Dimension { NAME, SOURCE, HOST, USER }
+    
+    /** Initial number of rows. */
+    private static final int INITIAL_CAPACITY = 64;
+    
+    /**
+     * Columns, replaced by bigger arrays when the chunk grows.
+     */
+    private static final class Columns {
+        
+        private final long[] timestamps;
+        private final long[] durations;
+        private final long[] uuidHigh;
+        private final long[] uuidLow;
+        private final int[]  names;
+        private final int[]  types;
+        private final int[]  actions;
+        private final int[]  hosts;
+        private final int[]  sources;
+        private final int[]  users;
+        private final boolean[] removed;
+        
+        private Columns(int capacity) {
+            this(new long[capacity], new long[capacity], new long[capacity], new long[capacity], 
+                 new int[capacity], new int[capacity], new int[capacity], new int[capacity], 
+                 new int[capacity], new int[capacity], new boolean[capacity]);
+        }
+        
+        private Columns(long[] timestamps, long[] durations, long[] uuidHigh, long[] uuidLow, int[] names, int[] types,
+                int[] actions, int[] hosts, int[] sources, int[] users, boolean[] removed) {
+            this.timestamps = timestamps;
+            this.durations  = durations;
+            this.uuidHigh   = uuidHigh;
+            this.uuidLow    = uuidLow;
+            this.names      = names;
+            this.types      = types;
+            this.actions    = actions;
+            this.hosts      = hosts;
+            this.sources    = sources;
+            this.users      = users;
+            this.removed    = removed;
+        }
+        
+        private Columns copyOf(int capacity) {
+            return new Columns(Arrays.copyOf(timestamps, capacity), Arrays.copyOf(durations, capacity),
+                    Arrays.copyOf(uuidHigh, capacity), Arrays.copyOf(uuidLow, capacity),
+                    Arrays.copyOf(names, capacity), Arrays.copyOf(types, capacity),
+                    Arrays.copyOf(actions, capacity), Arrays.copyOf(hosts, capacity),
+                    Arrays.copyOf(sources, capacity), Arrays.copyOf(users, capacity),
+                    Arrays.copyOf(removed, capacity));
+        }
+    }
+    
+    /** Start of the slot. */
+    private final long start;
+    
+    /** Maximum number of rows, unlimited if not positive. */
+    private final int maxSize;
+    
+    /** Current columns. */
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+    
+    /** Number of rows written (published after the row). */
+    private volatile int size = 0;
+    
+    /** Number of rows not removed. */
+    private volatile int liveCount = 0;
+    
+    /** Chunk is no longer in the repository, writes are rejected. */
+    private volatile boolean sealed = false;
+    
+    /** Events which cannot be rebuilt from columns (by row). */
+    private final Map < Integer, Event > originals = new ConcurrentHashMap<Integer, Event>();
+    
+    /**
+     * Constructor with slot.
+     *
+     * @param start
+     *      start of the slot
+     * @param maxSize
+     *      maximum number of events
+     */
+    EventChunk(long start, int maxSize) {
+        this.start   = start;
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * Add an event.
+     *
+     * @param evt
+     *      current event
+     * @param dict
+     *      dictionary of the repository
+     * @return
+     *      false if the chunk is full or sealed
+     */
+    synchronized boolean append(Event evt, EventDictionary dict) {
+        int row = size;
+        if (sealed || (maxSize > 0 && row >= maxSize)) {
+            return false;
+        }
+        Columns cols = columns;
+        if (row == cols.timestamps.length) {
+            int capacity = row * 2;
+            cols = cols.copyOf((maxSize > 0) ? Math.min(capacity, maxSize) : capacity);
+            columns = cols;
+        }
+        cols.timestamps[row] = evt.getTimestamp();
+        cols.durations[row]  = evt.getDuration();
+        cols.names[row]      = dict.encode(evt.getName());
+        cols.types[row]      = dict.encode(evt.getType());
+        cols.actions[row]    = dict.encode(evt.getAction());
+        cols.hosts[row]      = dict.encode(evt.getHostName());
+        cols.sources[row]    = dict.encode(evt.getSource());
+        cols.users[row]      = dict.encode(evt.getUser());
+        UUID uuid = toUUID(evt.getUuid());
+        if (uuid != null) {
+            cols.uuidHigh[row] = uuid.getMostSignificantBits();
+            cols.uuidLow[row]  = uuid.getLeastSignificantBits();
+        }
+        if (uuid == null || evt.getValue() != null || (evt.getCustomKeys() != null && !evt.getCustomKeys().isEmpty())) {
+            originals.put(row, evt);
+        }
+        liveCount++;
+        // Publish the row
+        size = row + 1;
+        return true;
+    }
+    
+    /**
+     * Reject any new write, chunk is removed from the repository.
+     */
+    synchronized void seal() {
+        sealed = true;
+    }
+    
+    /**
+     * Reject any new write if all rows have been removed.
+     *
+     * @return
+     *      if the chunk is empty and sealed
+     */
+    synchronized boolean sealIfEmpty() {
+        if (liveCount == 0) {
+            sealed = true;
+        }
+        return sealed;
+    }
+    
+    /**
+     * Remove rows.
+     *
+     * @param rows
+     *      rows to remove
+     */
+    synchronized void remove(int[] rows) {
+        Columns cols = columns;
+        for (int row : rows) {
+            if (!cols.removed[row]) {
+                cols.removed[row] = true;
+                originals.remove(row);
+                liveCount--;
+            }
+        }
+    }
+    
+    /**
+     * Rows matching the query ordered by timestamp.
+     *
+     * @param query
+     *      current query
+     * @param dict
+     *      dictionary of the repository
+     * @return
+     *      matching rows
+     */
+    int[] select(EventQueryDefinition query, EventDictionary dict) {
+        int rowCount = size;
+        final Columns cols = columns;
+        long from = query.getFrom();
+        long to   = query.getTo();
+        int[] rows = new int[rowCount];
+        int found = 0;
+        boolean sorted = true;
+        for (int row = 0; row < rowCount; row++) {
+            if (matches(cols, row, from, to, query, dict)) {
+                sorted &= (found == 0) || cols.timestamps[rows[found - 1]] <= cols.timestamps[row];
+                rows[found++] = row;
+            }
+        }
+        rows = Arrays.copyOf(rows, found);
+        if (!sorted) {
+            // Events received out of order
+            Integer[] boxed = new Integer[found];
+            for (int i = 0; i < found; i++) {
+                boxed[i] = rows[i];
+            }
+            Arrays.sort(boxed, new Comparator<Integer>() {
+                public int compare(Integer r1, Integer r2) {
+                    long t1 = cols.timestamps[r1];
+                    long t2 = cols.timestamps[r2];
+                    return (t1 < t2) ? -1 : ((t1 == t2) ? 0 : 1);
+                }
+            });
+            for (int i = 0; i < found; i++) {
+                rows[i] = boxed[i];
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Count matching rows by value of a dimension.
+     *
+     * @param dimension
+     *      counted dimension
+     * @param query
+     *      current query
+     * @param dict
+     *      dictionary of the repository
+     * @param counts
+     *      counts by identifier shifted by one (index 0 counts null values)
+     * @return
+     *      counts, array is replaced if too small
+     */
+    int[] count(Dimension dimension, EventQueryDefinition query, EventDictionary dict, int[] counts) {
+        int rowCount = size;
+        Columns cols = columns;
+        long from = query.getFrom();
+        long to   = query.getTo();
+        int[] column = getColumn(cols, dimension);
+        int[] result = counts;
+        for (int row = 0; row < rowCount; row++) {
+            if (matches(cols, row, from, to, query, dict)) {
+                int idx = column[row] + 1;
+                if (idx >= result.length) {
+                    result = Arrays.copyOf(result, Math.max(idx + 1, dict.size() + 1));
+                }
+                result[idx]++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Count matching rows in the slots of the chart (one serie per name).
+     *
+     * @param tsc
+     *      target chart
+     * @param query
+     *      current query
+     * @param dict
+     *      dictionary of the repository
+     * @param labelWidth
+     *      rows with the same timestamp divided by this width share the same slot label
+     * @param labels
+     *      cache of slot labels
+     */
+    void fillHistory(TimeSeriesChart tsc, EventQueryDefinition query, EventDictionary dict, long labelWidth, Map < Long, String > labels) {
+        int rowCount = size;
+        Columns cols = columns;
+        long from = query.getFrom();
+        long to   = query.getTo();
+        for (int row = 0; row < rowCount; row++) {
+            if (matches(cols, row, from, to, query, dict)) {
+                long labelKey = cols.timestamps[row] - (cols.timestamps[row] % labelWidth);
+                String slotName = labels.get(labelKey);
+                if (slotName == null) {
+                    slotName = tsc.getSdf().format(new Date(labelKey));
+                    labels.put(labelKey, slotName);
+                }
+                String name = dict.decode(cols.names[row]);
+                if (!tsc.getSeries().containsKey(name)) {
+                    tsc.createNewSerie(name);
+                }
+                Serie < Map<String , MutableHitCount > > serie = tsc.getSeries().get(name);
+                MutableHitCount hits = serie.getValue().get(slotName);
+                if (hits != null) {
+                    hits.inc();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Search an event by its identifier.
+     *
+     * @param uuid
+     *      event identifier
+     * @param dict
+     *      dictionary of the repository
+     * @return
+     *      event if found, null otherwise
+     */
+    Event find(String uuid, EventDictionary dict) {
+        for (Event evt : originals.values()) {
+            if (evt.getUuid() != null && evt.getUuid().equalsIgnoreCase(uuid)) {
+                return evt;
+            }
+        }
+        UUID target = toUUID(uuid);
+        if (target == null) {
+            return null;
+        }
+        int rowCount = size;
+        Columns cols = columns;
+        for (int row = 0; row < rowCount; row++) {
+            if (!cols.removed[row] 
+                    && cols.uuidHigh[row] == target.getMostSignificantBits() 
+                    && cols.uuidLow[row] == target.getLeastSignificantBits()
+                    && !originals.containsKey(row)) {
+                return decode(row, dict);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Rebuild event.
+     *
+     * @param row
+     *      current row
+     * @param dict
+     *      dictionary of the repository
+     * @return
+     *      event
+     */
+    Event decode(int row, EventDictionary dict) {
+        Event original = originals.get(row);
+        if (original != null) {
+            return original;
+        }
+        Columns cols = columns;
+        Event evt = new Event();
+        evt.setUuid(new UUID(cols.uuidHigh[row], cols.uuidLow[row]).toString());
+        evt.setTimestamp(cols.timestamps[row]);
+        evt.setDuration(cols.durations[row]);
+        evt.setName(dict.decode(cols.names[row]));
+        evt.setType(dict.decode(cols.types[row]));
+        evt.setAction(dict.decode(cols.actions[row]));
+        evt.setHostName(dict.decode(cols.hosts[row]));
+        evt.setSource(dict.decode(cols.sources[row]));
+        evt.setUser(dict.decode(cols.users[row]));
+        return evt;
+    }
+    
+    /**
+     * Check row against the query.
+     */
+    private boolean matches(Columns cols, int row, long from, long to, EventQueryDefinition query, EventDictionary dict) {
+        return !cols.removed[row]
+                && cols.timestamps[row] >= from
+                && cols.timestamps[row] <= to
+                && query.matchName(dict.decode(cols.names[row]))
+                && query.matchAction(dict.decode(cols.actions[row]))
+                && query.matchSource(dict.decode(cols.sources[row]))
+                && query.matchHost(dict.decode(cols.hosts[row]));
+    }
+    
+    /**
+     * Column of a dimension.
+     */
+    private static int[] getColumn(Columns cols, Dimension dimension) {
+        switch (dimension) {
+            case SOURCE:
+                return cols.sources;
+            case HOST:
+                return cols.hosts;
+            case USER:
+                return cols.users;
+            default:
+                return cols.names;
+        }
+    }
+    
+    /**
+     * Parse identifier if it is a UUID which can be formatted back to the same value.
+     */
+    private static UUID toUUID(String uuid) {
+        if (uuid == null || uuid.length() != 36) {
+            return null;
+        }
+        try {
+            UUID value = UUID.fromString(uuid);
+            return value.toString().equals(uuid) ? value : null;
+        } catch (IllegalArgumentException iae) {
+            return null;
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'start'.
+     *
+     * @return
+     *       current value of 'start'
+     */
+    long getStart() {
+        return start;
+    }
+    
+    /**
+     * Getter accessor for attribute 'sealed'.
+     *
+     * @return
+     *       current value of 'sealed'
+     */
+    boolean isSealed() {
+        return sealed;
+    }
+    
+}
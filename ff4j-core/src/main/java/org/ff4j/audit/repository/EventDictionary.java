@@ -0,0 +1,100 @@
+package org.ff4j.audit.repository;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dictionary encoding of the repeated strings of events (names, hosts, sources...) as int identifiers.
+ * 
+ * Identifiers are never removed, values are expected to have a low cardinality.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+final class EventDictionary {
+    
+    /** Identifier of null values. */
+    static final int NULL_ID = -1;
+    
+    /** Value to identifier. */
+    private final ConcurrentMap < String, Integer > ids = new ConcurrentHashMap<String, Integer>();
+    
+    /** Identifier to value, replaced when growing. */
+    private volatile String[] values = new String[64];
+    
+    /** Number of values (guarded by this). */
+    private int size = 0;
+    
+    /**
+     * Identifier of value, created if needed.
+     *
+     * @param value
+     *      current value
+     * @return
+     *      identifier, {@link #NULL_ID} for null
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(value);
+            if (id == null) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size] = value;
+                id = size++;
+                ids.put(value, id);
+            }
+        }
+        return id;
+    }
+    
+    /**
+     * Value of identifier.
+     *
+     * @param id
+     *      identifier
+     * @return
+     *      value, null for {@link #NULL_ID}
+     */
+    String decode(int id) {
+        return (id == NULL_ID) ? null : values[id];
+    }
+    
+    /**
+     * Number of values.
+     *
+     * @return
+     *      current size
+     */
+    int size() {
+        return ids.size();
+    }
+    
+}
@@ -21,10 +21,12 @@ package org.ff4j.audit.repository;
  */
 
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
@@ -48,6 +50,16 @@ public interface EventRepository {
      */
     boolean saveEvent(Event e);
     
+    /**
+     * Save a batch of events into store synchronously, implementations should use
+     * native bulk operations when available.
+     *
+     * @param events
+     *            target events to store
+     * @return if all events have been saved
+     */
+    boolean saveEvents(Collection < Event > events);
+    
     /**
      * Retrieve an event by its unique identifer.
      *
@@ -130,6 +142,17 @@ public interface EventRepository {
      */
     EventSeries searchFeatureUsageEvents(EventQueryDefinition query);
     
+    /**
+     * Stream feature usage events without loading them in memory (ordered by timestamp when the store allows it),
+     * pagination of the query (pageable, pagenumber, pagesize) is applied.
+     *
+     * @param query
+     *      current query
+     * @param callback
+     *      receive events one by one, can stop iteration
+     */
+    void streamFeatureUsageEvents(EventQueryDefinition query, EventCallback callback);
+    
     /**
      * Purge feature usage.
      *
@@ -251,6 +274,17 @@ public interface EventRepository {
      */
     EventSeries getAuditTrail(EventQueryDefinition query);
     
+    /**
+     * Stream audit trail without loading it in memory (ordered by timestamp when the store allows it),
+     * pagination of the query (pageable, pagenumber, pagesize) is applied.
+     *
+     * @param query
+     *      current query
+     * @param callback
+     *      receive events one by one, can stop iteration
+     */
+    void streamAuditTrail(EventQueryDefinition query, EventCallback callback);
+    
     /**
      * Purge audit trail.
      *
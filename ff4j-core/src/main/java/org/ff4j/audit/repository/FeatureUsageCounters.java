@@ -0,0 +1,504 @@
+package org.ff4j.audit.repository;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.Serie;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.utils.Util;
+
+/**
+ * Pre-aggregated hit counters for feature usage, used by {@link InMemoryEventRepository} in counting mode.
+ * 
+ * Instead of keeping each event, a striped counter ({@link LongAdder}) is incremented per minute, hour and day
+ * buckets. Counters are indexed by feature, source and host (filters of {@link EventQueryDefinition} are honored)
+ * and by feature and user (only names filter applies to users).
+ * 
+ * Minute and hour buckets are purged after a retention period, day buckets are kept. A query is served with
+ * the coarsest buckets fitting in the interval, bounds are rounded to the minute. Beyond retention, bounds are
+ * rounded to the enclosing hour (or day) bucket, hits of the whole bucket are then counted.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FeatureUsageCounters {
+    
+    /** One minute in milliseconds. */
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    
+    /** One hour in milliseconds. */
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    
+    /** One day in milliseconds. */
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    
+    /** Default retention for minute buckets. */
+    public static final long DEFAULT_MINUTES_RETENTION = DAY;
+    
+    /** Default retention for hour buckets. */
+    public static final long DEFAULT_HOURS_RETENTION = 31 * DAY;
+    
+    /** Key used when user is not provided. */
+    private static final String ANONYMOUS = "anonymous";
+    
+    /** Counters per minute. */
+    private final ConcurrentSkipListMap < Long, Bucket > minutes = new ConcurrentSkipListMap<Long, Bucket>();
+    
+    /** Counters per hour. */
+    private final ConcurrentSkipListMap < Long, Bucket > hours = new ConcurrentSkipListMap<Long, Bucket>();
+    
+    /** Counters per day. */
+    private final ConcurrentSkipListMap < Long, Bucket > days = new ConcurrentSkipListMap<Long, Bucket>();
+    
+    /** Retention of minute buckets (ms). */
+    private final long minutesRetention;
+    
+    /** Retention of hour buckets (ms). */
+    private final long hoursRetention;
+    
+    /** Days are computed in this time zone (as keys of the raw in memory storage). */
+    private final TimeZone timeZone;
+    
+    /**
+     * Counters of a time slot.
+     */
+    private static final class Bucket {
+        
+        /** feature -> source -> host -> count. */
+        private final ConcurrentMap < String, ConcurrentMap < String, ConcurrentMap < String, LongAdder >>> usages =
+                new ConcurrentHashMap<String, ConcurrentMap<String, ConcurrentMap<String, LongAdder>>>();
+        
+        /** feature -> user -> count. */
+        private final ConcurrentMap < String, ConcurrentMap < String, LongAdder >> users = 
+                new ConcurrentHashMap<String, ConcurrentMap<String, LongAdder>>();
+        
+        /**
+         * Increment counters.
+         */
+        private void inc(String feature, String source, String host, String user) {
+            getCounter(getMap(getMap(usages, feature), source), host).increment();
+            getCounter(getMap(users, feature), user).increment();
+        }
+    }
+    
+    /**
+     * Default constructor.
+     */
+    public FeatureUsageCounters() {
+        this(DEFAULT_MINUTES_RETENTION, DEFAULT_HOURS_RETENTION);
+    }
+    
+    /**
+     * Constructor with retention.
+     *
+     * @param minutesRetention
+     *      how long minute buckets are kept (ms)
+     * @param hoursRetention
+     *      how long hour buckets are kept (ms)
+     */
+    public FeatureUsageCounters(long minutesRetention, long hoursRetention) {
+        this(minutesRetention, hoursRetention, TimeZone.getDefault());
+    }
+    
+    /**
+     * Constructor with retention and time zone.
+     *
+     * @param minutesRetention
+     *      how long minute buckets are kept (ms)
+     * @param hoursRetention
+     *      how long hour buckets are kept (ms)
+     * @param timeZone
+     *      time zone used to split days
+     */
+    public FeatureUsageCounters(long minutesRetention, long hoursRetention, TimeZone timeZone) {
+        this.minutesRetention = minutesRetention;
+        this.hoursRetention   = hoursRetention;
+        this.timeZone         = timeZone;
+    }
+    
+    /**
+     * Count a feature usage.
+     *
+     * @param evt
+     *      current event
+     */
+    public void inc(Event evt) {
+        long time     = evt.getTimestamp();
+        String name   = nonNull(evt.getName());
+        String source = nonNull(evt.getSource());
+        String host   = nonNull(evt.getHostName());
+        String user   = Util.hasLength(evt.getUser()) ? evt.getUser() : ANONYMOUS;
+        getBucket(minutes, floor(time, MINUTE), minutesRetention).inc(name, source, host, user);
+        getBucket(hours,   floor(time, HOUR),   hoursRetention).inc(name, source, host, user);
+        getBucket(days,    floor(time, DAY),    0).inc(name, source, host, user);
+    }
+    
+    /**
+     * Hit count per feature.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      hit count per feature
+     */
+    public Map < String, MutableHitCount > getFeatureUsageHitCount(EventQueryDefinition query) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        for (Bucket bucket : coveringBuckets(query.getFrom(), query.getTo())) {
+            for (Map.Entry<String, ConcurrentMap<String, ConcurrentMap<String, LongAdder>>> feature : bucket.usages.entrySet()) {
+                if (query.matchName(feature.getKey())) {
+                    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> source : feature.getValue().entrySet()) {
+                        if (query.matchSource(source.getKey())) {
+                            for (Map.Entry<String, LongAdder> host : source.getValue().entrySet()) {
+                                if (query.matchHost(host.getKey())) {
+                                    addHits(hitRatio, feature.getKey(), host.getValue());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return hitRatio;
+    }
+    
+    /**
+     * Hit count per source.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      hit count per source
+     */
+    public Map < String, MutableHitCount > getSourceHitCount(EventQueryDefinition query) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        for (Bucket bucket : coveringBuckets(query.getFrom(), query.getTo())) {
+            for (Map.Entry<String, ConcurrentMap<String, ConcurrentMap<String, LongAdder>>> feature : bucket.usages.entrySet()) {
+                if (query.matchName(feature.getKey())) {
+                    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> source : feature.getValue().entrySet()) {
+                        if (query.matchSource(source.getKey())) {
+                            for (Map.Entry<String, LongAdder> host : source.getValue().entrySet()) {
+                                if (query.matchHost(host.getKey())) {
+                                    addHits(hitRatio, source.getKey(), host.getValue());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return hitRatio;
+    }
+    
+    /**
+     * Hit count per host.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      hit count per host
+     */
+    public Map < String, MutableHitCount > getHostHitCount(EventQueryDefinition query) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        for (Bucket bucket : coveringBuckets(query.getFrom(), query.getTo())) {
+            for (Map.Entry<String, ConcurrentMap<String, ConcurrentMap<String, LongAdder>>> feature : bucket.usages.entrySet()) {
+                if (query.matchName(feature.getKey())) {
+                    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> source : feature.getValue().entrySet()) {
+                        if (query.matchSource(source.getKey())) {
+                            for (Map.Entry<String, LongAdder> host : source.getValue().entrySet()) {
+                                if (query.matchHost(host.getKey())) {
+                                    addHits(hitRatio, host.getKey(), host.getValue());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return hitRatio;
+    }
+    
+    /**
+     * Hit count per user (only names filter is applied).
+     *
+     * @param query
+     *      current query
+     * @return
+     *      hit count per user
+     */
+    public Map < String, MutableHitCount > getUserHitCount(EventQueryDefinition query) {
+        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
+        for (Bucket bucket : coveringBuckets(query.getFrom(), query.getTo())) {
+            for (Map.Entry<String, ConcurrentMap<String, LongAdder>> feature : bucket.users.entrySet()) {
+                if (query.matchName(feature.getKey())) {
+                    for (Map.Entry<String, LongAdder> user : feature.getValue().entrySet()) {
+                        addHits(hitRatio, user.getKey(), user.getValue());
+                    }
+                }
+            }
+        }
+        return hitRatio;
+    }
+    
+    /**
+     * Populate time series with counters.
+     *
+     * @param tsc
+     *      time series initialized with slots
+     * @param query
+     *      current query
+     * @param units
+     *      width of slots
+     */
+    public void fillFeatureUsageHistory(TimeSeriesChart tsc, EventQueryDefinition query, TimeUnit units) {
+        NavigableMap<Long, Bucket> source;
+        long width;
+        switch (units) {
+            case DAYS:
+                source = days;
+                width  = DAY;
+            break;
+            case HOURS:
+                source = hours;
+                width  = HOUR;
+            break;
+            default:
+                source = minutes;
+                width  = MINUTE;
+            break;
+        }
+        for (Map.Entry<Long, Bucket> bucket : source.subMap(floor(query.getFrom(), width), true, query.getTo(), true).entrySet()) {
+            String slotName = tsc.getSdf().format(new Date(bucket.getKey()));
+            Map<String, MutableHitCount> hits = new TreeMap<String, MutableHitCount>();
+            for (Map.Entry<String, ConcurrentMap<String, ConcurrentMap<String, LongAdder>>> feature : bucket.getValue().usages.entrySet()) {
+                if (query.matchName(feature.getKey())) {
+                    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> src : feature.getValue().entrySet()) {
+                        if (query.matchSource(src.getKey())) {
+                            for (Map.Entry<String, LongAdder> host : src.getValue().entrySet()) {
+                                if (query.matchHost(host.getKey())) {
+                                    addHits(hits, feature.getKey(), host.getValue());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            for (Map.Entry<String, MutableHitCount> hit : hits.entrySet()) {
+                if (!tsc.getSeries().containsKey(hit.getKey())) {
+                    tsc.createNewSerie(hit.getKey());
+                }
+                Serie < Map<String , MutableHitCount > > serie = tsc.getSeries().get(hit.getKey());
+                if (serie.getValue().containsKey(slotName)) {
+                    serie.getValue().get(slotName).incBy(hit.getValue().get());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Remove buckets overlapping the interval (counters cannot be split).
+     *
+     * @param from
+     *      lower bound (inclusive)
+     * @param to
+     *      upper bound (inclusive)
+     */
+    public void purge(long from, long to) {
+        minutes.subMap(floor(from, MINUTE), true, to, true).clear();
+        hours.subMap(floor(from, HOUR), true, to, true).clear();
+        days.subMap(floor(from, DAY), true, to, true).clear();
+    }
+    
+    /**
+     * Remove all counters.
+     */
+    public void clear() {
+        minutes.clear();
+        hours.clear();
+        days.clear();
+    }
+    
+    /**
+     * Select the coarsest buckets covering the interval, bounds are rounded to the minute, or to the enclosing
+     * hour and day when finer buckets have been purged.
+     *
+     * @param from
+     *      lower bound (inclusive)
+     * @param to
+     *      upper bound (inclusive)
+     * @return
+     *      buckets to sum
+     */
+    private List < Bucket > coveringBuckets(long from, long to) {
+        List<Bucket> result = new ArrayList<Bucket>();
+        long end = to + 1;
+        long time = floor(from, MINUTE);
+        long minutesHorizon = horizon(minutes, minutesRetention);
+        long hoursHorizon   = horizon(hours, hoursRetention);
+        while (time < end) {
+            NavigableMap<Long, Bucket> source;
+            long next;
+            if (floor(time, DAY) == time && floor(time + DAY + HOUR, DAY) <= end) {
+                // next day start handles 23h/25h days
+                source = days;
+                next   = floor(time + DAY + HOUR, DAY);
+            } else if (floor(time, HOUR) == time && time + HOUR <= end) {
+                source = hours;
+                next   = time + HOUR;
+            } else {
+                source = minutes;
+                next   = time + MINUTE;
+            }
+            long start = time;
+            if (source == minutes && start < minutesHorizon) {
+                // minute buckets purged, use the enclosing hour
+                source = hours;
+                start  = floor(time, HOUR);
+                next   = start + HOUR;
+            }
+            if (source == hours && start < hoursHorizon) {
+                // hour buckets purged, use the enclosing day
+                source = days;
+                start  = floor(time, DAY);
+                next   = floor(start + DAY + HOUR, DAY);
+            }
+            Bucket bucket = source.get(start);
+            if (bucket != null) {
+                result.add(bucket);
+            }
+            time = next;
+        }
+        return result;
+    }
+    
+    /**
+     * Oldest start of bucket still kept, older buckets have been purged.
+     *
+     * @param buckets
+     *      buckets of a granularity
+     * @param retention
+     *      retention of the granularity
+     * @return
+     *      first time available
+     */
+    private long horizon(NavigableMap < Long, Bucket > buckets, long retention) {
+        if (retention <= 0 || buckets.isEmpty()) {
+            return Long.MIN_VALUE;
+        }
+        return buckets.lastKey() - retention;
+    }
+    
+    /**
+     * Start of the slot containing time.
+     *
+     * @param time
+     *      current time
+     * @param width
+     *      slot width
+     * @return
+     *      start of slot
+     */
+    private long floor(long time, long width) {
+        long offset = timeZone.getOffset(time);
+        long local  = time + offset;
+        long start  = local - (((local % width) + width) % width);
+        return start - offset;
+    }
+    
+    /**
+     * Retrieve or create bucket, purging old buckets when a new one is created.
+     */
+    private Bucket getBucket(ConcurrentSkipListMap < Long, Bucket > buckets, long start, long retention) {
+        Bucket bucket = buckets.get(start);
+        if (bucket == null) {
+            Bucket newBucket = new Bucket();
+            bucket = buckets.putIfAbsent(start, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+                if (retention > 0) {
+                    buckets.headMap(start - retention).clear();
+                }
+            }
+        }
+        return bucket;
+    }
+    
+    /**
+     * Retrieve or create sub map.
+     */
+    private static < V > ConcurrentMap < String, V > getMap(ConcurrentMap < String, ConcurrentMap < String, V >> map, String key) {
+        ConcurrentMap<String, V> value = map.get(key);
+        if (value == null) {
+            ConcurrentMap<String, V> newValue = new ConcurrentHashMap<String, V>();
+            value = map.putIfAbsent(key, newValue);
+            if (value == null) {
+                value = newValue;
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Retrieve or create counter.
+     */
+    private static LongAdder getCounter(ConcurrentMap < String, LongAdder > map, String key) {
+        LongAdder value = map.get(key);
+        if (value == null) {
+            LongAdder newValue = new LongAdder();
+            value = map.putIfAbsent(key, newValue);
+            if (value == null) {
+                value = newValue;
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Add counter to result.
+     */
+    private static void addHits(Map < String, MutableHitCount > hitRatio, String key, LongAdder counter) {
+        if (!hitRatio.containsKey(key)) {
+            hitRatio.put(key, new MutableHitCount());
+        }
+        hitRatio.get(key).incBy((int) counter.sum());
+    }
+    
+    /**
+     * Maps do not accept null keys.
+     */
+    private static String nonNull(String value) {
+        return (value == null) ? "" : value;
+    }
+    
+}
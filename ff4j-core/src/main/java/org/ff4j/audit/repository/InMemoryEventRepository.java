@@ -21,28 +21,40 @@ package org.ff4j.audit.repository;
  */
 
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.PagedEventCallback;
 import org.ff4j.audit.chart.Serie;
 import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.audit.repository.EventChunk.Dimension;
 import org.ff4j.utils.Util;
 
 /**
  * Implementation of in memory {@link EventRepository} with limited events.
  * 
+ * Check events are stored by hour in {@link EventChunk} (columns of primitive arrays, strings encoded
+ * in a dictionary), aggregations scan the columns and chunks older than the retention are dropped at once. 
+ * The capacity is the maximum number of events per hour and per action. Audit trail events are kept
+ * as objects.
+ * 
+ * In counting mode (constructor with {@link FeatureUsageCounters}) feature usage events are not kept, only
+ * aggregated counters are updated : hit counts and charts are still available but not raw check events.
+ * 
  * @author Cedrick Lunven (@clunven)
  */
 public class InMemoryEventRepository extends AbstractEventRepository {
@@ -50,17 +62,29 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     /** default retention. */
     private static final int DEFAULT_QUEUE_CAPACITY = 100000;
 
+    /** Time slot of a chunk. */
+    private static final long CHUNK_DURATION = TimeUnit.HOURS.toMillis(1);
+    
     /** current capacity. */
     private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    
+    /** Retention of check events (ms), unlimited if not positive. */
+    private long retention = 0;
+    
+    /** Strings of check events. */
+    private final EventDictionary dictionary = new EventDictionary();
 
-    /** Event <YYYYMMDD> / <featureUID> -> <Event> list (only action CHECK_ON) */
-    private Map<String, Map<String, EventSeries>> featureUsageEvents = new ConcurrentHashMap<String, Map<String, EventSeries>>();
+    /** Event <start of hour> -> chunk (only action CHECK_ON) */
+    private final ConcurrentSkipListMap<Long, EventChunk> featureUsageEvents = new ConcurrentSkipListMap<Long, EventChunk>();
 
-    /** Event <YYYYMMDD> -> <featureUID> -> <Event> list (only action CHECK_OFF) */
-    private Map<String, Map<String, EventSeries>> checkOffEvents = new ConcurrentHashMap<String, Map<String, EventSeries>>();
+    /** Event <start of hour> -> chunk (only action CHECK_OFF) */
+    private final ConcurrentSkipListMap<Long, EventChunk> checkOffEvents = new ConcurrentSkipListMap<Long, EventChunk>();
 
     /** Event <YYYYMMDD> -> Event related to user action in console (not featureUsage, not check OFF). */
     private Map<String, EventSeries> auditTrailEvents = new ConcurrentHashMap<String, EventSeries>();
+    
+    /** Pre-aggregated counters replacing check events in counting mode (null otherwise). */
+    private FeatureUsageCounters counters = null;
 
     /**
      * Default constructor with default capacity to 100.000
@@ -79,6 +103,30 @@ public class InMemoryEventRepository extends AbstractEventRepository {
         this.queueCapacity = queueCapacity;
     }
     
+    /**
+     * Constructor to tune capacity and retention.
+     * 
+     * @param queueCapacity
+     *            maximum number of check events per hour
+     * @param retention
+     *            check events older than retention (ms) are removed, unlimited if not positive
+     */
+    public InMemoryEventRepository(int queueCapacity, long retention) {
+        this.queueCapacity = queueCapacity;
+        this.retention     = retention;
+    }
+    
+    /**
+     * Counting mode : check events are aggregated into counters and not stored.
+     * 
+     * @param counters
+     *            counters for feature usage
+     */
+    public InMemoryEventRepository(FeatureUsageCounters counters) {
+        this(DEFAULT_QUEUE_CAPACITY);
+        this.counters = counters;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public void createSchema() {
@@ -90,6 +138,14 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     @Override
     public boolean saveEvent(Event e) {
         Util.assertEvent(e);
+        if (isCountingMode() && (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction()) 
+                || EventConstants.ACTION_CHECK_OFF.equalsIgnoreCase(e.getAction()))) {
+            // Only usages are counted, check OFF are not read by the hit count APIs
+            if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction())) {
+                counters.inc(e);
+            }
+            return true;
+        }
         if (EventConstants.ACTION_CHECK_OK.equalsIgnoreCase(e.getAction())) {
             return saveEvent(e, featureUsageEvents);
         } else if (EventConstants.ACTION_CHECK_OFF.equalsIgnoreCase(e.getAction())) {
@@ -105,56 +161,73 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
-        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
-        for (Event event : searchFeatureUsageEvents(query)) {
-            if (!hitRatio.containsKey(event.getName())) {
-                hitRatio.put(event.getName(), new MutableHitCount());
-             }
-             hitRatio.get(event.getName()).inc();
+        if (isCountingMode()) {
+            return counters.getFeatureUsageHitCount(query);
         }
-        return hitRatio;
+        return getHitCount(query, Dimension.NAME);
     }
     
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getSourceHitCount(EventQueryDefinition query) {
-        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
-        for (Event event : searchFeatureUsageEvents(query)) {
-            if (!hitRatio.containsKey(event.getSource())) {
-                hitRatio.put(event.getSource(), new MutableHitCount());
-             }
-             hitRatio.get(event.getSource()).inc();
+        if (isCountingMode()) {
+            return counters.getSourceHitCount(query);
         }
-        return hitRatio;
+        return getHitCount(query, Dimension.SOURCE);
     }
     
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getHostHitCount(EventQueryDefinition query) {
-        Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
-        for (Event event : searchFeatureUsageEvents(query)) {
-            if (!hitRatio.containsKey(event.getHostName())) {
-                hitRatio.put(event.getHostName(), new MutableHitCount());
-             }
-             hitRatio.get(event.getHostName()).inc();
+        if (isCountingMode()) {
+            return counters.getHostHitCount(query);
         }
-        return hitRatio;
+        return getHitCount(query, Dimension.HOST);
     }
     
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getUserHitCount(EventQueryDefinition query) {
+        if (isCountingMode()) {
+            return counters.getUserHitCount(query);
+        }
+        return getHitCount(query, Dimension.USER);
+    }
+    
+    /**
+     * Count feature usage events by value of a dimension, scanning chunks of the period.
+     *
+     * @param query
+     *      current query
+     * @param dimension
+     *      counted dimension
+     * @return
+     *      hit counts by value
+     */
+    private Map<String, MutableHitCount> getHitCount(EventQueryDefinition query, Dimension dimension) {
+        int[] counts = new int[dictionary.size() + 1];
+        for (EventChunk chunk : getChunks(featureUsageEvents, query.getFrom(), query.getTo())) {
+            counts = chunk.count(dimension, query, dictionary, counts);
+        }
         Map<String, MutableHitCount> hitRatio = new TreeMap<String, MutableHitCount>();
-        for (Event event : searchFeatureUsageEvents(query)) {
-            String user = Util.hasLength(event.getUser()) ? event.getUser() : "anonymous";
-            if (!hitRatio.containsKey(user)) {
-                hitRatio.put(user, new MutableHitCount());
-             }
-             hitRatio.get(user).inc();
+        for (int idx = 0; idx < counts.length; idx++) {
+            if (counts[idx] > 0) {
+                String key = dictionary.decode(idx - 1);
+                if (Dimension.USER == dimension && !Util.hasLength(key)) {
+                    key = "anonymous";
+                }
+                if (key != null) {
+                    MutableHitCount hitCount = hitRatio.get(key);
+                    if (hitCount == null) {
+                        hitCount = new MutableHitCount();
+                        hitRatio.put(key, hitCount);
+                    }
+                    hitCount.incBy(counts[idx]);
+                }
+            }
         }
         return hitRatio;
     }
-    
 
     /**
      * Save event to target (based on ACTION).
@@ -162,62 +235,96 @@ public class InMemoryEventRepository extends AbstractEventRepository {
      * @param e
      *            current event
      * @param target
-     *            target list
+     *            target chunks
      * @return if the evetn is stored
      */
-    private boolean saveEvent(Event e, Map<String, Map<String, EventSeries>> target) {
-        String key = getKeyDate(e.getTimestamp());
-        String uid = e.getName();
-        if (!target.containsKey(key)) {
-            target.put(key, new ConcurrentHashMap<String, EventSeries>());
+    private boolean saveEvent(Event e, ConcurrentSkipListMap<Long, EventChunk> target) {
+        long start = e.getTimestamp() - (e.getTimestamp() % CHUNK_DURATION);
+        while (true) {
+            EventChunk chunk = target.get(start);
+            if (chunk == null) {
+                EventChunk newChunk = new EventChunk(start, queueCapacity);
+                chunk = target.putIfAbsent(start, newChunk);
+                if (chunk == null) {
+                    chunk = newChunk;
+                    expireChunks(target, start);
+                }
+            }
+            if (chunk.append(e, dictionary)) {
+                return true;
+            }
+            if (!chunk.isSealed()) {
+                // Chunk is full
+                return false;
+            }
+            // Chunk has been removed meanwhile, retry with a new one
+            target.remove(start, chunk);
         }
-        if (!target.get(key).containsKey(uid)) {
-            target.get(key).put(uid, new EventSeries(this.queueCapacity));
+    }
+    
+    /**
+     * Remove chunks older than retention.
+     *
+     * @param target
+     *      target chunks
+     * @param start
+     *      start of the newest chunk
+     */
+    private void expireChunks(ConcurrentSkipListMap<Long, EventChunk> target, long start) {
+        if (retention > 0) {
+            Map<Long, EventChunk> expired = target.headMap(start - retention);
+            for (EventChunk chunk : expired.values()) {
+                chunk.seal();
+            }
+            expired.clear();
         }
-        return target.get(key).get(uid).add(e);
     }
     
-   
+    /**
+     * Chunks with events in the period.
+     *
+     * @param source
+     *      target chunks
+     * @param from
+     *      lower bound
+     * @param to
+     *      upper bound
+     * @return
+     *      chunks sorted by time
+     */
+    private Iterable<EventChunk> getChunks(ConcurrentSkipListMap<Long, EventChunk> source, long from, long to) {
+        if (from > to) {
+            return new ArrayList<EventChunk>();
+        }
+        return source.subMap(from - (from % CHUNK_DURATION), true, to, true).values();
+    }
     
     /** {@inheritDoc} */
     @Override
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
         TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-        
-        for (String currentDay : getCandidateDays(query.getFrom(), query.getTo())) {
-            // There are some event this day
-            if (featureUsageEvents.containsKey(currentDay)) {
-                for (Map.Entry<String, EventSeries> entry : featureUsageEvents.get(currentDay).entrySet()) {
-                    String currentFeatureName = entry.getKey();
-                    // Filter feature names if required
-                    Set < String > filteredFeatures = query.getNamesFilter();
-                    if (filteredFeatures == null || filteredFeatures.isEmpty() || filteredFeatures.contains(currentFeatureName)) {
-                        // Loop over events
-                        for (Event evt : entry.getValue()) {
-                            // Between bounds (keydate not enough)
-                            if (isEventInInterval(evt, query.getFrom(), query.getTo())) {
-                                // Create new serie if new feature Name
-                                if (!tsc.getSeries().containsKey((currentFeatureName))) {
-                                    tsc.createNewSerie(currentFeatureName);
-                                }
-                                // Match FeatureName
-                                Serie < Map<String , MutableHitCount > > serie = tsc.getSeries().get(currentFeatureName);
-                                // Match SlotName
-                                String slotName = tsc.getSdf().format(new Date(evt.getTimestamp()));
-                                // Should be always 'true' as the tsc.getsdf().format() will get a slotName.
-                                if (serie.getValue().containsKey(slotName)) {
-                                    // Fast Increment
-                                    serie.getValue().get(slotName).inc();
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        if (isCountingMode()) {
+            counters.fillFeatureUsageHistory(tsc, query, units);
+            return recolor(tsc);
+        }
+        // Events of the same second (minute) share the same slot label
+        long labelWidth = (units.compareTo(TimeUnit.MINUTES) < 0) ? TimeUnit.SECONDS.toMillis(1) : TimeUnit.MINUTES.toMillis(1);
+        Map<Long, String> labels = new HashMap<Long, String>();
+        for (EventChunk chunk : getChunks(featureUsageEvents, query.getFrom(), query.getTo())) {
+            chunk.fillHistory(tsc, query, dictionary, labelWidth, labels);
         }
-        
-        // Recolor series
+        return recolor(tsc);
+    }
+    
+    /**
+     * Apply gradient of colors on series.
+     *
+     * @param tsc
+     *            current time series
+     * @return the time series
+     */
+    private TimeSeriesChart recolor(TimeSeriesChart tsc) {
         List < String > colors = Util.generateHSVGradient("ee1100", "442299", tsc.getSeries().size());
         int idxColor = 0;
         for (Map.Entry<String, Serie<Map<String, MutableHitCount>>> serie : tsc.getSeries().entrySet()) {
@@ -230,19 +337,27 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition q) {
-        EventSeries resultSeries = new EventSeries(10000);
+        EventSeries resultSeries = createEventSeries(q);
+        streamAuditTrail(q, resultSeries);
+        return resultSeries;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamAuditTrail(EventQueryDefinition q, EventCallback callback) {
+        Util.assertNotNull(q, callback);
+        PagedEventCallback pagedCallback = new PagedEventCallback(callback, q);
+        // Days are sorted and each series is sorted by timestamp
         for (String currentDay : getCandidateDays(q.getFrom(), q.getTo())) {
-            if (auditTrailEvents.containsKey(currentDay)) {
-                Iterator<Event> iterEvents = auditTrailEvents.get(currentDay).iterator();
-                while (iterEvents.hasNext()) {
-                    Event evt = iterEvents.next();
-                    if (q.match(evt)) {
-                        resultSeries.add(evt);
+            EventSeries dayEvents = auditTrailEvents.get(currentDay);
+            if (dayEvents != null) {
+                for (Event evt : dayEvents) {
+                    if (q.match(evt) && !pagedCallback.onEvent(evt)) {
+                        return;
                     }
                 }
             }
         }
-        return resultSeries;
     }
     
     /** {@inheritDoc} */
@@ -267,36 +382,15 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public void purgeFeatureUsage(EventQueryDefinition q) {
-        Set<String> candidateDates = getCandidateDays(q.getFrom(), q.getTo());
-        for (String currentDay : candidateDates) {
-            if (featureUsageEvents.containsKey(currentDay)) {
-                Map<String, EventSeries> currentDayEvents = featureUsageEvents.get(currentDay);
-                for (String currentFeature : currentDayEvents.keySet()) {
-                    Iterator<Event> iterEvents = currentDayEvents.get(currentFeature).iterator();
-                    while (iterEvents.hasNext()) {
-                        Event evt = iterEvents.next();
-                        if (q.match(evt)) {
-                            removeEventIfPresent(currentDayEvents.get(currentFeature), evt);
-                        }
-                        if (currentDayEvents.get(currentFeature).isEmpty()){
-                            currentDayEvents.remove(currentFeature);
-                        }
-                    }
-                }
-                // Remove list if empty
-                if (currentDayEvents.isEmpty()) {
-                    featureUsageEvents.remove(currentDay);
-                }
-            }
+        if (isCountingMode()) {
+            counters.purge(q.getFrom(), q.getTo());
+            return;
         }
-    }
-    
-    private void removeEventIfPresent(EventSeries es, Event evt) {
-        Iterator < Event > iterEvt = es.iterator();
-        while(iterEvt.hasNext()) {
-            Event currentEvent = iterEvt.next();
-            if (currentEvent.getUuid().equalsIgnoreCase(evt.getUuid())) {
-                es.remove(currentEvent);
+        for (EventChunk chunk : getChunks(featureUsageEvents, q.getFrom(), q.getTo())) {
+            chunk.remove(chunk.select(q, dictionary));
+            // Remove chunk if empty
+            if (chunk.sealIfEmpty()) {
+                featureUsageEvents.remove(chunk.getStart(), chunk);
             }
         }
     }
@@ -304,110 +398,94 @@ public class InMemoryEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
-        EventSeries es = new EventSeries(1000000);
-        // Dates are the keys of the storage map, compute list of keys and loop over them
-        for (String currentDay : getCandidateDays(query.getFrom(), query.getTo())) {
-            // There are some events with the current date
-            if (featureUsageEvents.containsKey(currentDay)) {
-               Map<String, EventSeries> currentDayEvents = featureUsageEvents.get(currentDay);
-               for (String currentFeature : currentDayEvents.keySet()) {
-                    // query can have filters for names, here we limite the number of map to scan
-                    if (query.matchName(currentFeature)) {
-                        Iterator<Event> iterEvents = currentDayEvents.get(currentFeature).iterator();
-                        while (iterEvents.hasNext()) {
-                            Event evt = iterEvents.next();
-                            // use other filter (host, action, timestamp....)
-                            if (query.match(evt)) {
-                                es.add(evt);
-                            }
-                        }
-                    }
+        EventSeries es = createEventSeries(query);
+        streamFeatureUsageEvents(query, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamFeatureUsageEvents(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
+        forEachFeatureUsageEvent(query, new PagedEventCallback(callback, query));
+    }
+    
+    /**
+     * Loop over feature usage events hour after hour.
+     *
+     * @param query
+     *      current query
+     * @param callback
+     *      target callback
+     */
+    private void forEachFeatureUsageEvent(EventQueryDefinition query, EventCallback callback) {
+        // Counting mode does not keep raw events
+        if (isCountingMode()) {
+            return;
+        }
+        // Chunks are sorted by time, rows of a chunk are sorted by timestamp
+        for (EventChunk chunk : getChunks(featureUsageEvents, query.getFrom(), query.getTo())) {
+            for (int row : chunk.select(query, dictionary)) {
+                if (!callback.onEvent(chunk.decode(row, dictionary))) {
+                    return;
                 }
             }
         }
-        return es;
     }
     
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
+        Util.assertNotNull(uuid);
         // Limited Search by key
         if (timestamp != null) {
             String targetDate = KDF.format(new Date(timestamp.longValue()));
-            return searchEventById(uuid, targetDate);
-            
-        } else {
-            // Full search
-            Set < String > searchedDate = new HashSet<String>();
-            for(String currentDate : auditTrailEvents.keySet()) {
-                if (!searchedDate.contains(currentDate)) {
-                    Event evt = searchEventById(uuid, currentDate);
-                    if (evt != null) {
-                        return evt;
-                    }
-                }
-                searchedDate.add(currentDate);
-            }
-            for(String currentDate : featureUsageEvents.keySet()) {
-                if (!searchedDate.contains(currentDate)) {
-                    Event evt = searchEventById(uuid, currentDate);
-                    if (evt != null) {
-                        return evt;
-                    }
+            Event evt = getFromEventSeries(auditTrailEvents.get(targetDate), uuid);
+            if (evt == null) {
+                // Chunks of the same day
+                long from = timestamp.longValue() - TimeUnit.DAYS.toMillis(1);
+                long to   = timestamp.longValue() + TimeUnit.DAYS.toMillis(1);
+                evt = searchEventById(uuid, getChunks(featureUsageEvents, from, to), targetDate);
+                if (evt == null) {
+                    evt = searchEventById(uuid, getChunks(checkOffEvents, from, to), targetDate);
                 }
-                searchedDate.add(currentDate);
             }
-            for(String currentDate : checkOffEvents.keySet()) {
-                if (!searchedDate.contains(currentDate)) {
-                    Event evt = searchEventById(uuid, currentDate);
-                    if (evt != null) {
-                        return evt;
-                    }
-                }
-                searchedDate.add(currentDate);
+            return evt;
+        }
+        // Full search
+        for (EventSeries es : auditTrailEvents.values()) {
+            Event evt = getFromEventSeries(es, uuid);
+            if (evt != null) {
+                return evt;
             }
         }
-        return null;
+        Event evt = searchEventById(uuid, featureUsageEvents.values(), null);
+        if (evt == null) {
+            evt = searchEventById(uuid, checkOffEvents.values(), null);
+        }
+        return evt;
     }
     
     /**
-     * Given a date fetch in all the list to find the Event.
+     * Search event in chunks.
      *
      * @param uuid
      *      current event unique identifier
+     * @param chunks
+     *      candidate chunks
      * @param targetDate
-     *      target date
+     *      expected date of event, any if null
      * @return
      *      event if found
      */
-    private Event searchEventById(String uuid, String targetDate) {
-        Util.assertNotNull(targetDate, uuid);
-        // Audit
-        Event evt = getFromEventSeries(auditTrailEvents.get(targetDate), uuid);
-        if (evt != null) { 
-            return evt;
-        }
-        // FeatureUsage
-        Map < String, EventSeries > maOfFeaturesIsages= featureUsageEvents.get(targetDate);
-        if (maOfFeaturesIsages != null ) {
-            for (EventSeries es : maOfFeaturesIsages.values()) {
-                evt = getFromEventSeries(es, uuid);
-                if (evt != null) { 
-                    return evt;
-                }
+    private Event searchEventById(String uuid, Iterable<EventChunk> chunks, String targetDate) {
+        for (EventChunk chunk : chunks) {
+            Event evt = chunk.find(uuid, dictionary);
+            if (evt != null && (targetDate == null || targetDate.equals(getKeyDate(evt.getTimestamp())))) {
+                return evt;
             }
         }
-        // CheckOff
-        Map < String, EventSeries > maOfChecKoff = checkOffEvents.get(targetDate);
-        if (maOfChecKoff != null) {
-            for (EventSeries es : maOfChecKoff.values()) {
-                evt = getFromEventSeries(es, uuid);
-                if (evt != null) { 
-                    return evt;
-                }
-             }
-        }
-        return evt;
+        return null;
     }
     
     /**
@@ -432,6 +510,24 @@ public class InMemoryEventRepository extends AbstractEventRepository {
         return null;
     }
 
-    
+    /**
+     * Check if events are aggregated into counters.
+     *
+     * @return
+     *      if counting mode is enabled
+     */
+    public boolean isCountingMode() {
+        return counters != null;
+    }
+
+    /**
+     * Getter accessor for attribute 'counters'.
+     *
+     * @return
+     *       current value of 'counters'
+     */
+    public FeatureUsageCounters getCounters() {
+        return counters;
+    }
    
 }
@@ -27,17 +27,21 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.PagedEventCallback;
 import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.exception.AuditAccessException;
 import org.ff4j.exception.FeatureAccessException;
@@ -65,6 +69,9 @@ public class JdbcEventRepository extends AbstractEventRepository {
     /** Query builder. */
     private JdbcQueryBuilder queryBuilder;
     
+    /** Number of rows fetched at once by the cursor. */
+    private static final int FETCH_SIZE = 500;
+    
     /** Mapper to read from SQL result. */
     private static final JdbcEventMapper EVENT_MAPPER = new JdbcEventMapper();
 
@@ -89,68 +96,47 @@ public class JdbcEventRepository extends AbstractEventRepository {
     }
     
     /** {@inheritDoc} */
-    // FIXME Stop dynamic query !
     @Override
     public boolean saveEvent(Event evt) {
         Util.assertEvent(evt);
-        
+        return saveEvents(Collections.singletonList(evt));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection < Event > events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
         Connection        sqlConn = null;
         PreparedStatement stmt = null;
         try {
             // Get collection from Pool
             sqlConn = dataSource.getConnection();
            
-            // Open TX Bloc
+            // Open TX Bloc, one commit for the whole batch
             sqlConn.setAutoCommit(false);
-            int idx = 9;
-            Map < Integer, String > statementParams = new HashMap<Integer, String>();
             
-            StringBuilder sb = new StringBuilder("INSERT INTO " + getQueryBuilder().getTableNameAudit() + 
-            		"(EVT_UUID,EVT_TIME,EVT_TYPE,EVT_NAME,EVT_ACTION,EVT_HOSTNAME,EVT_SOURCE,EVT_DURATION");
-            if (Util.hasLength(evt.getUser())) {
-                sb.append(", EVT_USER");
-                statementParams.put(idx, evt.getUser());
-                idx++;
-            }
-            if (Util.hasLength(evt.getValue())) {
-                sb.append(", EVT_VALUE");
-                statementParams.put(idx, evt.getValue());
-                idx++;
-            }
-            if (!evt.getCustomKeys().isEmpty()) {
-                sb.append(", EVT_KEYS");
-                statementParams.put(idx, MappingUtil.fromMap(evt.getCustomKeys()));
-                idx++;
-            }
-            
-            sb.append(") VALUES (?");
-            for(int offset = 1; offset < idx-1;offset++) {
-                sb.append(",?");
-            }
-            sb.append(")");
-            
-            stmt = sqlConn.prepareStatement(sb.toString());
-            stmt.setString(1, evt.getUuid());
-            stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
-            stmt.setString(3, evt.getType());
-            stmt.setString(4, evt.getName());
-            stmt.setString(5, evt.getAction());
-            stmt.setString(6, evt.getHostName());
-            stmt.setString(7, evt.getSource());
-            stmt.setLong(8, evt.getDuration());
-            for (int id = 9;id < idx;id++) {
-                stmt.setString(id, statementParams.get(id));
+            // Same statement for every event, unused columns are set to NULL
+            stmt = sqlConn.prepareStatement(getQueryBuilder().sqlSaveAudit());
+            for (Event evt : events) {
+                Util.assertEvent(evt);
+                bindEvent(stmt, evt);
+                stmt.addBatch();
             }
             
             // Execute Query
-            stmt.executeUpdate();
+            stmt.executeBatch();
             
             // Commit TX
             sqlConn.commit();
 
         } catch(Exception exc) {
             rollback(sqlConn);
-            throw new AuditAccessException("Cannot insert event into DB (" + exc.getClass() + ") "+ exc.getCause(), exc);
+            throw new AuditAccessException("Cannot insert events into DB (" + exc.getClass() + ") "+ exc.getCause(), exc);
         } finally {
            closeStatement(stmt);
            closeConnection(sqlConn);
@@ -158,6 +144,42 @@ public class JdbcEventRepository extends AbstractEventRepository {
         return true;
     }
     
+    /**
+     * Populate insert statement with event attributes.
+     *
+     * @param stmt
+     *      statement built with {@link JdbcQueryBuilder#sqlSaveAudit()}
+     * @param evt
+     *      current event
+     * @throws SQLException
+     *      error when binding parameters
+     */
+    private void bindEvent(PreparedStatement stmt, Event evt) throws SQLException {
+        stmt.setString(1, evt.getUuid());
+        stmt.setTimestamp(2, new java.sql.Timestamp(evt.getTimestamp()));
+        stmt.setString(3, evt.getType());
+        stmt.setString(4, evt.getName());
+        stmt.setString(5, evt.getAction());
+        stmt.setString(6, evt.getHostName());
+        stmt.setString(7, evt.getSource());
+        stmt.setLong(8, evt.getDuration());
+        if (Util.hasLength(evt.getUser())) {
+            stmt.setString(9, evt.getUser());
+        } else {
+            stmt.setNull(9, Types.VARCHAR);
+        }
+        if (Util.hasLength(evt.getValue())) {
+            stmt.setString(10, evt.getValue());
+        } else {
+            stmt.setNull(10, Types.VARCHAR);
+        }
+        if (evt.getCustomKeys() != null && !evt.getCustomKeys().isEmpty()) {
+            stmt.setString(11, MappingUtil.fromMap(evt.getCustomKeys()));
+        } else {
+            stmt.setNull(11, Types.VARCHAR);
+        }
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
@@ -230,20 +252,43 @@ public class JdbcEventRepository extends AbstractEventRepository {
         }
     }
     
-    /** {@inheritDoc} */
-    private EventSeries searchEvents(String sqlQuery, long from, long to) {
+    /**
+     * Read events with a cursor and provide them to the callback, rows are not kept in memory.
+     *
+     * @param sqlQuery
+     *      query ordered by time
+     * @param from
+     *      lower bound
+     * @param to
+     *      upper bound
+     * @param offset
+     *      number of rows to skip
+     * @param limit
+     *      maximum number of rows to read, -1 is infinite
+     * @param callback
+     *      target callback
+     */
+    private void streamEvents(String sqlQuery, long from, long to, long offset, int limit, EventCallback callback) {
         Connection          sqlConn = null;
         PreparedStatement   ps = null;
         ResultSet           rs = null;
-        EventSeries         es = new EventSeries();
         try {
             sqlConn = getDataSource().getConnection();
-            ps = sqlConn.prepareStatement(sqlQuery);
+            // Rows before the page are skipped by the database, not read and dropped
+            String pagedQuery = getQueryBuilder().getPagedQuery(sqlQuery, offset, limit);
+            ps = sqlConn.prepareStatement(pagedQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            if (limit > 0) {
+                ps.setMaxRows(limit);
+            }
             ps.setTimestamp(1, new Timestamp(from));
             ps.setTimestamp(2, new Timestamp(to));
             rs = ps.executeQuery();
+            PagedEventCallback pagedCallback = new PagedEventCallback(callback, 0, limit);
             while (rs.next()) {
-                es.add(EVENT_MAPPER.mapEvent(rs));
+                if (!pagedCallback.onEvent(EVENT_MAPPER.mapEvent(rs))) {
+                    break;
+                }
             }
         } catch (SQLException sqlEX) {
             throw new IllegalStateException("CANNOT_READ_AUDITTABLE", sqlEX);
@@ -252,7 +297,6 @@ public class JdbcEventRepository extends AbstractEventRepository {
             closeStatement(ps);
             closeConnection(sqlConn);
         }
-        return es;
     }
     
     /** {@inheritDoc} */
@@ -284,13 +328,33 @@ public class JdbcEventRepository extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition qDef) {
-        return searchEvents(getQueryBuilder().getSelectAuditTrailQuery(qDef), qDef.getFrom(), qDef.getTo());
+        EventSeries es = createEventSeries(qDef);
+        streamAuditTrail(qDef, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamAuditTrail(EventQueryDefinition qDef, EventCallback callback) {
+        Util.assertNotNull(qDef, callback);
+        streamEvents(getQueryBuilder().getSelectAuditTrailQuery(qDef), 
+                qDef.getFrom(), qDef.getTo(), qDef.getOffset(), qDef.getLimit(), callback);
     }
 
     /** {@inheritDoc} */
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition qDef) {
-        return searchEvents(getQueryBuilder().getSelectFeatureUsageQuery(qDef), qDef.getFrom(), qDef.getTo());
+        EventSeries es = createEventSeries(qDef);
+        streamFeatureUsageEvents(qDef, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamFeatureUsageEvents(EventQueryDefinition qDef, EventCallback callback) {
+        Util.assertNotNull(qDef, callback);
+        streamEvents(getQueryBuilder().getSelectFeatureUsageQuery(qDef), 
+                qDef.getFrom(), qDef.getTo(), qDef.getOffset(), qDef.getLimit(), callback);
     }
         
     /** {@inheritDoc} */
@@ -321,13 +385,14 @@ public class JdbcEventRepository extends AbstractEventRepository {
     @Override
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
-        TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-        // Search All events
-        Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
-        // Dispatch events into time slots
-        while (iterEvent.hasNext()) {
-            tsc.addEvent(iterEvent.next());
-        }
+        final TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        // Dispatch all events into time slots while reading them
+        streamEvents(getQueryBuilder().getSelectFeatureUsageQuery(query), query.getFrom(), query.getTo(), 0, -1, new EventCallback() {
+            public boolean onEvent(Event evt) {
+                tsc.addEvent(evt);
+                return true;
+            }
+        });
         return tsc;
     }
    
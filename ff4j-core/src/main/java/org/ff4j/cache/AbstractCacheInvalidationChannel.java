@@ -0,0 +1,161 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Superclass for invalidation channels : keep listeners and encode invalidations as text messages
+ * ('F' or 'P', source identifier and name separated by '|', no name means every entry).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public abstract class AbstractCacheInvalidationChannel implements CacheInvalidationChannel {
+    
+    /** Message type for features. */
+    public static final char TYPE_FEATURE = 'F';
+    
+    /** Message type for properties. */
+    public static final char TYPE_PROPERTY = 'P';
+    
+    /** Separator in messages. */
+    public static final char SEPARATOR = '|';
+    
+    /** Local listeners. */
+    private final List < CacheInvalidationListener > listeners = new CopyOnWriteArrayList<CacheInvalidationListener>();
+    
+    /**
+     * Send encoded message to every node (including the current one).
+     *
+     * @param message
+     *      encoded invalidation
+     */
+    protected abstract void sendMessage(String message);
+    
+    /** {@inheritDoc} */
+    @Override
+    public void publishFeatureInvalidation(String sourceId, String featureUid) {
+        sendMessage(encode(TYPE_FEATURE, sourceId, featureUid));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void publishPropertyInvalidation(String sourceId, String propertyName) {
+        sendMessage(encode(TYPE_PROPERTY, sourceId, propertyName));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("ff4j-core: Cannot subscribe null listener");
+        }
+        listeners.add(listener);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void unsubscribe(CacheInvalidationListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+    
+    /**
+     * Decode a received message and notify local listeners (except the publisher).
+     *
+     * @param message
+     *      encoded invalidation
+     */
+    protected void onMessage(String message) {
+        if (message == null || message.length() < 3) {
+            return;
+        }
+        char type  = message.charAt(0);
+        int idx    = message.indexOf(SEPARATOR, 2);
+        if (idx < 0) {
+            return;
+        }
+        String sourceId = message.substring(2, idx);
+        String name     = message.substring(idx + 1);
+        if (name.isEmpty()) {
+            name = null;
+        }
+        for (CacheInvalidationListener listener : listeners) {
+            if (!sourceId.equals(listener.getListenerId())) {
+                if (TYPE_FEATURE == type) {
+                    listener.onFeatureInvalidated(name);
+                } else if (TYPE_PROPERTY == type) {
+                    listener.onPropertyInvalidated(name);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Notify local listeners that every entry must be invalidated, when messages may have been missed
+     * (e.g. connection to the broker lost).
+     */
+    protected void notifyFullInvalidation() {
+        for (CacheInvalidationListener listener : listeners) {
+            listener.onFeatureInvalidated(null);
+            listener.onPropertyInvalidated(null);
+        }
+    }
+    
+    /**
+     * Encode invalidation as text.
+     *
+     * @param type
+     *      feature or property
+     * @param sourceId
+     *      publisher
+     * @param name
+     *      feature or property name (can be null)
+     * @return
+     *      message
+     */
+    protected String encode(char type, String sourceId, String name) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(type).append(SEPARATOR);
+        sb.append(sourceId == null ? "" : sourceId).append(SEPARATOR);
+        if (name != null) {
+            sb.append(name);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Getter accessor for attribute 'listeners'.
+     *
+     * @return
+     *       current value of 'listeners'
+     */
+    public List<CacheInvalidationListener> getListeners() {
+        return listeners;
+    }
+    
+}
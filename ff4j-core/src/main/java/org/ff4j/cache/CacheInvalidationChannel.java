@@ -0,0 +1,72 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Channel to broadcast cache invalidations between nodes sharing the same store : when a node updates a feature
+ * or a property the other nodes evict (or refresh) only this entry.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface CacheInvalidationChannel {
+    
+    /**
+     * Notify that a feature changed.
+     *
+     * @param sourceId
+     *      identifier of the publishing listener
+     * @param featureUid
+     *      feature identifier, null for every feature
+     */
+    void publishFeatureInvalidation(String sourceId, String featureUid);
+    
+    /**
+     * Notify that a property changed.
+     *
+     * @param sourceId
+     *      identifier of the publishing listener
+     * @param propertyName
+     *      property name, null for every property
+     */
+    void publishPropertyInvalidation(String sourceId, String propertyName);
+    
+    /**
+     * Register a listener.
+     *
+     * @param listener
+     *      current listener
+     */
+    void subscribe(CacheInvalidationListener listener);
+    
+    /**
+     * Remove a listener.
+     *
+     * @param listener
+     *      current listener
+     */
+    void unsubscribe(CacheInvalidationListener listener);
+    
+    /**
+     * Release resources (connections, threads).
+     */
+    void close();
+    
+}
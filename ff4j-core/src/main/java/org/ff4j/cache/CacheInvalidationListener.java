@@ -0,0 +1,54 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Receive invalidations published by other nodes through a {@link CacheInvalidationChannel}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface CacheInvalidationListener {
+    
+    /**
+     * Unique identifier of the listener, invalidations it published itself are not sent back.
+     *
+     * @return
+     *      listener identifier
+     */
+    String getListenerId();
+    
+    /**
+     * A feature has been changed (or all of them when uid is null).
+     *
+     * @param featureUid
+     *      feature identifier, null for every feature
+     */
+    void onFeatureInvalidated(String featureUid);
+    
+    /**
+     * A property has been changed (or all of them when name is null).
+     *
+     * @param propertyName
+     *      property name, null for every property
+     */
+    void onPropertyInvalidated(String propertyName);
+    
+}
@@ -0,0 +1,99 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock with a coarse resolution : time is refreshed by a daemon thread and reading it is a volatile read.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CoarseCacheClock implements CacheClock {
+    
+    /** Default resolution (ms). */
+    public static final long DEFAULT_RESOLUTION = 10L;
+    
+    /** Shared instance. */
+    private static CoarseCacheClock instance;
+    
+    /** Last captured time. */
+    private volatile long now = System.currentTimeMillis();
+    
+    /** Scheduler refreshing time. */
+    private ScheduledExecutorService ticker;
+    
+    /**
+     * Clock with target resolution.
+     *
+     * @param resolution
+     *      delay between two refreshes of time in milliseconds
+     */
+    public CoarseCacheClock(long resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("Resolution must be positive");
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "FF4j_CoarseCacheClock");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        ticker.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                now = System.currentTimeMillis();
+            }
+        }, resolution, resolution, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Shared clock with default resolution.
+     *
+     * @return
+     *      shared clock
+     */
+    public static synchronized CoarseCacheClock getInstance() {
+        if (instance == null) {
+            instance = new CoarseCacheClock(DEFAULT_RESOLUTION);
+        }
+        return instance;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+    
+    /**
+     * Stop refreshing time.
+     */
+    public void stop() {
+        ticker.shutdown();
+    }
+
+}
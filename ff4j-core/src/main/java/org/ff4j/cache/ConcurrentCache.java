@@ -0,0 +1,390 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache with time-to-live per entry and least-recently-used eviction.
+ * 
+ * Reads never lock : entries are kept in a {@link ConcurrentHashMap} and only record their last access time.
+ * When the size exceeds the limit, one writer removes expired entries and then the least recently used
+ * ones until 10% of capacity is free, other writers do not wait for it.
+ *
+ * @author Cedrick Lunven (@clunven)
+ *
+ * @param <V>
+ *      type of cached values
+ */
+public class ConcurrentCache < V > {
+    
+    /** Default maximum number of entries. */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    
+    /** Time-to-live in seconds, as {@link InMemoryCacheEntry}. */
+    public static final long DEFAULT_TTL = InMemoryCacheEntry.DEFAULT_TTL;
+    
+    /** Entries. */
+    private final ConcurrentMap<String, Entry<V>> entries;
+    
+    /** Maximum number of entries. */
+    private final int maxSize;
+    
+    /** Time-to-live in seconds for entries without explicit value. */
+    private final long defaultTimeToLive;
+    
+    /** Source of time. */
+    private final CacheClock clock;
+    
+    /** Only one thread evicts at a time. */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    
+    /** Counters. */
+    private final AtomicLong hitCount = new AtomicLong(0);
+    
+    /** Counters. */
+    private final AtomicLong missCount = new AtomicLong(0);
+    
+    /** Counters. */
+    private final AtomicLong evictionCount = new AtomicLong(0);
+    
+    /**
+     * Cache with default settings.
+     */
+    public ConcurrentCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL, CoarseCacheClock.getInstance());
+    }
+    
+    /**
+     * Parameterized constructor.
+     *
+     * @param maxSize
+     *      maximum number of entries
+     * @param defaultTimeToLive
+     *      time-to-live in seconds
+     * @param clock
+     *      source of time
+     */
+    public ConcurrentCache(int maxSize, long defaultTimeToLive, CacheClock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("ff4j-core: Cache maximum size must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("ff4j-core: Cache clock is required");
+        }
+        this.maxSize           = maxSize;
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.clock             = clock;
+        this.entries           = new ConcurrentHashMap<String, Entry<V>>(Math.min(maxSize, 1024));
+    }
+    
+    /**
+     * Read value from cache.
+     *
+     * @param key
+     *      current key
+     * @return
+     *      value if present and not expired, null otherwise
+     */
+    public V get(String key) {
+        Entry<V> entry = (key == null) ? null : entries.get(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        long now = clock.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            if (entries.remove(key, entry)) {
+                evictionCount.incrementAndGet();
+            }
+            missCount.incrementAndGet();
+            return null;
+        }
+        entry.lastAccess = now;
+        hitCount.incrementAndGet();
+        return entry.value;
+    }
+    
+    /**
+     * Add value to cache with default time-to-live.
+     *
+     * @param key
+     *      current key
+     * @param value
+     *      current value
+     */
+    public void put(String key, V value) {
+        put(key, value, defaultTimeToLive);
+    }
+    
+    /**
+     * Add value to cache.
+     *
+     * @param key
+     *      current key
+     * @param value
+     *      current value
+     * @param timeToLive
+     *      time-to-live in seconds
+     */
+    public void put(String key, V value, long timeToLive) {
+        long now = clock.currentTimeMillis();
+        entries.put(key, new Entry<V>(value, now, now + InMemoryCacheEntry.TO_MILLIS * timeToLive));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+    
+    /**
+     * Remove value from cache.
+     *
+     * @param key
+     *      current key
+     */
+    public void remove(String key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+    
+    /**
+     * Remove every entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+    
+    /**
+     * Keys of cache (expired entries not yet evicted included).
+     *
+     * @return
+     *      set of keys
+     */
+    public Set<String> keySet() {
+        return entries.keySet();
+    }
+    
+    /**
+     * Current number of entries.
+     *
+     * @return
+     *      number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Remove expired entries, then least recently used entries until size is back under limit.
+     */
+    private void evict() {
+        // Another thread is already evicting
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (entries.size() <= maxSize) {
+                return;
+            }
+            long now = clock.currentTimeMillis();
+            List < EvictionCandidate > candidates = new ArrayList<EvictionCandidate>(entries.size());
+            for (Map.Entry<String, Entry<V>> current : entries.entrySet()) {
+                if (current.getValue().isExpired(now)) {
+                    removeEntry(current.getKey(), current.getValue());
+                } else {
+                    // Access time is captured as it can change during sort
+                    candidates.add(new EvictionCandidate(current.getKey(), current.getValue()));
+                }
+            }
+            int target = maxSize - Math.max(1, maxSize / 10);
+            if (entries.size() > target) {
+                Collections.sort(candidates);
+                for (int idx = 0; idx < candidates.size() && entries.size() > target; idx++) {
+                    removeEntry(candidates.get(idx).key, candidates.get(idx).entry);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Remove entry if not replaced in the meantime.
+     *
+     * @param key
+     *      current key
+     * @param entry
+     *      entry to remove
+     */
+    private void removeEntry(String key, Entry<V> entry) {
+        if (entries.remove(key, entry)) {
+            evictionCount.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Getter accessor for attribute 'hitCount'.
+     *
+     * @return
+     *       current value of 'hitCount'
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * Getter accessor for attribute 'missCount'.
+     *
+     * @return
+     *       current value of 'missCount'
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * Number of entries removed because of size limit or time-to-live.
+     *
+     * @return
+     *       current value of 'evictionCount'
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+    
+    /**
+     * Getter accessor for attribute 'maxSize'.
+     *
+     * @return
+     *       current value of 'maxSize'
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * Access to native map.
+     *
+     * @return
+     *      entries as a map
+     */
+    public ConcurrentMap<String, Entry<V>> getEntries() {
+        return entries;
+    }
+    
+    /**
+     * Entry and its last access time when eviction started.
+     */
+    private final class EvictionCandidate implements Comparable<EvictionCandidate> {
+        
+        /** Key. */
+        private final String key;
+        
+        /** Entry. */
+        private final Entry<V> entry;
+        
+        /** Last access. */
+        private final long lastAccess;
+        
+        /**
+         * Capture entry.
+         */
+        private EvictionCandidate(String key, Entry<V> entry) {
+            this.key        = key;
+            this.entry      = entry;
+            this.lastAccess = entry.getLastAccess();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int compareTo(EvictionCandidate other) {
+            return (lastAccess < other.lastAccess) ? -1 : ((lastAccess == other.lastAccess) ? 0 : 1);
+        }
+    }
+    
+    /**
+     * Cached value with its expiration date and last access.
+     *
+     * @param <V>
+     *      type of value
+     */
+    public static final class Entry < V > {
+        
+        /** Cached value. */
+        private final V value;
+        
+        /** Expiration time (ms). */
+        private final long expirationTime;
+        
+        /** Last read (ms), plain volatile write on read path. */
+        private volatile long lastAccess;
+        
+        /**
+         * Create entry.
+         */
+        private Entry(V value, long insertionTime, long expirationTime) {
+            this.value          = value;
+            this.lastAccess     = insertionTime;
+            this.expirationTime = expirationTime;
+        }
+        
+        /**
+         * Check expiration.
+         *
+         * @param now
+         *      current time
+         * @return
+         *      if expired
+         */
+        public boolean isExpired(long now) {
+            return now >= expirationTime;
+        }
+        
+        /**
+         * Getter accessor for attribute 'value'.
+         *
+         * @return
+         *       current value of 'value'
+         */
+        public V getValue() {
+            return value;
+        }
+        
+        /**
+         * Getter accessor for attribute 'lastAccess'.
+         *
+         * @return
+         *       current value of 'lastAccess'
+         */
+        public long getLastAccess() {
+            return lastAccess;
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Set;
+
+import org.ff4j.core.Feature;
+import org.ff4j.property.Property;
+
+/**
+ * Thread-safe in memory cache : bounded size, least-recently-used eviction and time-to-live per entry.
+ * 
+ * Unlike {@link InMemoryCacheManager} entries are not weak references and stay until their time-to-live is reached
+ * or the cache is full. Same warning applies for clusters : each node got its own memory.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ConcurrentCacheManager implements FF4JCacheManager {
+    
+    /** Cached features. */
+    private final ConcurrentCache<Feature> featuresCache;
+    
+    /** Cached properties. */
+    private final ConcurrentCache<Property<?>> propertiesCache;
+    
+    /**
+     * Default constructor, 10.000 entries for features and properties, 1 hour time-to-live.
+     */
+    public ConcurrentCacheManager() {
+        this(ConcurrentCache.DEFAULT_MAX_SIZE, ConcurrentCache.DEFAULT_TTL);
+    }
+    
+    /**
+     * Parameterized constructor.
+     *
+     * @param maxSize
+     *      maximum number of features (and properties) in cache
+     * @param timeToLive
+     *      default time-to-live in seconds
+     */
+    public ConcurrentCacheManager(int maxSize, long timeToLive) {
+        this(maxSize, timeToLive, CoarseCacheClock.getInstance());
+    }
+    
+    /**
+     * Parameterized constructor.
+     *
+     * @param maxSize
+     *      maximum number of features (and properties) in cache
+     * @param timeToLive
+     *      default time-to-live in seconds
+     * @param clock
+     *      source of time for expiration
+     */
+    public ConcurrentCacheManager(int maxSize, long timeToLive, CacheClock clock) {
+        this.featuresCache   = new ConcurrentCache<Feature>(maxSize, timeToLive, clock);
+        this.propertiesCache = new ConcurrentCache<Property<?>>(maxSize, timeToLive, clock);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String getCacheProviderName() {
+        return "InMemoryConcurrent";
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void clearFeatures() {
+        featuresCache.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearProperties() {
+        propertiesCache.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictFeature(String featureId) {
+        featuresCache.remove(featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictProperty(String propertyName) {
+        propertiesCache.remove(propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putFeature(Feature feat) {
+        assertFeature(feat);
+        featuresCache.put(feat.getUid(), feat);
+    }
+    
+    /**
+     * Add feature to cache with a dedicated time-to-live.
+     *
+     * @param feat
+     *      target feature
+     * @param timeToLive
+     *      time-to-live in seconds
+     */
+    public void putFeature(Feature feat, long timeToLive) {
+        assertFeature(feat);
+        featuresCache.put(feat.getUid(), feat, timeToLive);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putProperty(Property<?> prop) {
+        assertProperty(prop);
+        propertiesCache.put(prop.getName(), prop);
+    }
+    
+    /**
+     * Add property to cache with a dedicated time-to-live.
+     *
+     * @param prop
+     *      target property
+     * @param timeToLive
+     *      time-to-live in seconds
+     */
+    public void putProperty(Property<?> prop, long timeToLive) {
+        assertProperty(prop);
+        propertiesCache.put(prop.getName(), prop, timeToLive);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Feature getFeature(String featureId) {
+        return featuresCache.get(featureId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Property<?> getProperty(String propertyName) {
+        return propertiesCache.get(propertyName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> listCachedFeatureNames() {
+        return featuresCache.keySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<String> listCachedPropertyNames() {
+        return propertiesCache.keySet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getFeatureNativeCache() {
+        return featuresCache;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getPropertyNativeCache() {
+        return propertiesCache;
+    }
+    
+    /**
+     * Number of reads served by cache (features and properties).
+     *
+     * @return
+     *      hit count
+     */
+    public long getHitCount() {
+        return featuresCache.getHitCount() + propertiesCache.getHitCount();
+    }
+    
+    /**
+     * Number of reads not served by cache (features and properties).
+     *
+     * @return
+     *      miss count
+     */
+    public long getMissCount() {
+        return featuresCache.getMissCount() + propertiesCache.getMissCount();
+    }
+    
+    /**
+     * Number of entries removed because of size or time-to-live (features and properties).
+     *
+     * @return
+     *      eviction count
+     */
+    public long getEvictionCount() {
+        return featuresCache.getEvictionCount() + propertiesCache.getEvictionCount();
+    }
+    
+    /**
+     * Validate feature before insertion.
+     *
+     * @param feat
+     *      current feature
+     */
+    private void assertFeature(Feature feat) {
+        if (feat == null) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert null feature into cache");
+        }
+        if (feat.getUid() == null || feat.getUid().isEmpty()) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert feature with null identifier into cache");
+        }
+    }
+    
+    /**
+     * Validate property before insertion.
+     *
+     * @param prop
+     *      current property
+     */
+    private void assertProperty(Property<?> prop) {
+        if (prop == null) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert null property into cache");
+        }
+        if (prop.getName() == null || prop.getName().isEmpty()) {
+            throw new IllegalArgumentException("ff4j-core: Cannot insert property with null identifier into cache");
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'featuresCache'.
+     *
+     * @return
+     *       current value of 'featuresCache'
+     */
+    public ConcurrentCache<Feature> getFeaturesCache() {
+        return featuresCache;
+    }
+
+    /**
+     * Getter accessor for attribute 'propertiesCache'.
+     *
+     * @return
+     *       current value of 'propertiesCache'
+     */
+    public ConcurrentCache<Property<?>> getPropertiesCache() {
+        return propertiesCache;
+    }
+
+}
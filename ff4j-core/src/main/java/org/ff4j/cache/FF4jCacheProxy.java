@@ -13,13 +13,22 @@ import java.util.Collection;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.StoreChanges;
+import org.ff4j.utils.Util;
 
 /**
  * Access to {@link FeatureStore} could generate some overhead and decrease performances. This is the reason why cache is provided
@@ -32,6 +41,12 @@ import org.ff4j.property.store.PropertyStore;
  */
 public class FF4jCacheProxy implements FeatureStore, PropertyStore {
 
+    /** Default maximum number of unknown features remembered. */
+    public static final int DEFAULT_NEGATIVE_CACHE_SIZE = 1000;
+    
+    /** Default time to live (seconds) of unknown features. */
+    public static final long DEFAULT_NEGATIVE_CACHE_TTL = 5L;
+
     /** Target feature store to be proxified to cache features. */
     private FeatureStore targetFeatureStore;
 
@@ -43,6 +58,91 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     
     /** Daemon to fetch data from target store to cache on a fixed delay basis. */
     private Store2CachePollingScheduler store2CachePoller = null;
+    
+    /** Features not found in target store, avoid reaching it for each check of an unknown feature (null to disable). */
+    private volatile ConcurrentCache < Boolean > negativeCache = 
+            new ConcurrentCache<Boolean>(DEFAULT_NEGATIVE_CACHE_SIZE, DEFAULT_NEGATIVE_CACHE_TTL, CoarseCacheClock.getInstance());
+    
+    /** Broadcast modifications to other nodes (optional). */
+    private CacheInvalidationChannel invalidationChannel = null;
+    
+    /** When notified, reload entry from target store instead of evicting it. */
+    private boolean refreshOnInvalidation = false;
+    
+    /** Local components notified when cached items are refreshed (property handles...). */
+    private final List < CacheInvalidationListener > refreshListeners = new CopyOnWriteArrayList<CacheInvalidationListener>();
+    
+    /** Forward refresh of cache, from other nodes or poller, to local listeners. */
+    private final CacheInvalidationListener refreshDispatcher = new CacheInvalidationListener() {
+        
+        /** Unique identifier. */
+        private final String listenerId = UUID.randomUUID().toString();
+        
+        /** {@inheritDoc} */
+        public String getListenerId() {
+            return listenerId;
+        }
+        
+        /** {@inheritDoc} */
+        public void onFeatureInvalidated(String featureUid) {
+            // Feature may have been created
+            forgetMissingFeature(featureUid);
+            for (CacheInvalidationListener listener : refreshListeners) {
+                listener.onFeatureInvalidated(featureUid);
+            }
+        }
+        
+        /** {@inheritDoc} */
+        public void onPropertyInvalidated(String propertyName) {
+            for (CacheInvalidationListener listener : refreshListeners) {
+                listener.onPropertyInvalidated(propertyName);
+            }
+        }
+    };
+    
+    /** Receive modifications from other nodes. */
+    private final CacheInvalidationListener invalidationListener = new CacheInvalidationListener() {
+        
+        /** Unique identifier. */
+        private final String listenerId = UUID.randomUUID().toString();
+        
+        /** {@inheritDoc} */
+        public String getListenerId() {
+            return listenerId;
+        }
+        
+        /** {@inheritDoc} */
+        public void onFeatureInvalidated(String featureUid) {
+            if (featureUid == null) {
+                getCacheManager().clearFeatures();
+            } else if (refreshOnInvalidation) {
+                try {
+                    getCacheManager().putFeature(getTargetFeatureStore().read(featureUid));
+                } catch (FeatureNotFoundException fnfe) {
+                    getCacheManager().evictFeature(featureUid);
+                }
+            } else {
+                getCacheManager().evictFeature(featureUid);
+            }
+            refreshDispatcher.onFeatureInvalidated(featureUid);
+        }
+        
+        /** {@inheritDoc} */
+        public void onPropertyInvalidated(String propertyName) {
+            if (propertyName == null) {
+                getCacheManager().clearProperties();
+            } else if (refreshOnInvalidation) {
+                try {
+                    getCacheManager().putProperty(getTargetPropertyStore().readProperty(propertyName));
+                } catch (PropertyNotFoundException pnfe) {
+                    getCacheManager().evictProperty(propertyName);
+                }
+            } else {
+                getCacheManager().evictProperty(propertyName);
+            }
+            refreshDispatcher.onPropertyInvalidated(propertyName);
+        }
+    };
 
     /**
      * Allow Ioc and defeine default constructor.
@@ -62,6 +162,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         this.targetFeatureStore  = fStore;
         this.targetPropertyStore = pStore;
         this.store2CachePoller   = new Store2CachePollingScheduler(fStore, pStore, cache);
+        this.store2CachePoller.setRefreshListener(refreshDispatcher);
     }
     
     /**
@@ -90,7 +191,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Reach target
         getTargetFeatureStore().enable(featureId);
         // Modification => flush cache
-        getCacheManager().evictFeature(featureId);
+        evictFeature(featureId);
     }
 
     /** {@inheritDoc} */
@@ -99,7 +200,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Reach target
         getTargetFeatureStore().disable(featureId);
         // Cache Operations : As modification, flush cache for this
-        getCacheManager().evictFeature(featureId);
+        evictFeature(featureId);
     }
 
     /** {@inheritDoc} */
@@ -107,7 +208,14 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public boolean exist(String featureId) {
         // not in cache but maybe created from last access
         if (getCacheManager().getFeature(featureId) == null) {
-            return getTargetFeatureStore().exist(featureId);
+            if (isMissingFeature(featureId)) {
+                return false;
+            }
+            boolean exist = getTargetFeatureStore().exist(featureId);
+            if (!exist) {
+                recordMissingFeature(featureId);
+            }
+            return exist;
         }
         return true;
     }
@@ -125,21 +233,82 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void create(Feature fp) {
         getTargetFeatureStore().create(fp);
+        forgetMissingFeature(fp.getUid());
         getCacheManager().putFeature(fp);
+        publishFeatureInvalidation(fp.getUid());
     }
 
     /** {@inheritDoc} */
     @Override
     public Feature read(String featureUid) {
+        Feature fp = readIfExists(featureUid);
+        if (null == fp) {
+            throw new FeatureNotFoundException(featureUid);
+        }
+        return fp;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String featureUid) {
         Feature fp = getCacheManager().getFeature(featureUid);
         // not in cache but may has been created from now
-        if (null == fp) {
-            fp = getTargetFeatureStore().read(featureUid);
-            getCacheManager().putFeature(fp);
+        if (null == fp && !isMissingFeature(featureUid)) {
+            fp = getTargetFeatureStore().readIfExists(featureUid);
+            if (null == fp) {
+                recordMissingFeature(featureUid);
+            } else {
+                getCacheManager().putFeature(fp);
+            }
         }
         return fp;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        Map<String, Feature> features = new LinkedHashMap<String, Feature>();
+        List<String> missing = new ArrayList<String>();
+        for (String uid : featureUids) {
+            Feature fp = getCacheManager().getFeature(uid);
+            if (fp != null) {
+                features.put(uid, fp);
+            } else if (!isMissingFeature(uid)) {
+                missing.add(uid);
+                features.put(uid, null);
+            }
+        }
+        // Single call to target store for all features not in cache
+        if (!missing.isEmpty()) {
+            Map<String, Feature> loaded = getTargetFeatureStore().readMany(missing);
+            for (String uid : missing) {
+                Feature fp = loaded.get(uid);
+                if (fp == null) {
+                    recordMissingFeature(uid);
+                    features.remove(uid);
+                } else {
+                    getCacheManager().putFeature(fp);
+                    features.put(uid, fp);
+                }
+            }
+        }
+        return features;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getFeaturesRevision() {
+        return getTargetFeatureStore().getFeaturesRevision();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StoreChanges<Feature> featureChangesSince(long revision) {
+        // Changes are read from the source of truth
+        return getTargetFeatureStore().featureChangesSince(revision);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -160,28 +329,28 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Access target store
         getTargetFeatureStore().delete(featureId);
         // even is not present, evict won't failed
-        getCacheManager().evictFeature(featureId);
+        evictFeature(featureId);
     }
 
     /** {@inheritDoc} */
     @Override
     public void update(Feature fp) {
         getTargetFeatureStore().update(fp);
-        getCacheManager().evictFeature(fp.getUid());
+        evictFeature(fp.getUid());
     }
 
     /** {@inheritDoc} */
     @Override
     public void grantRoleOnFeature(String featureId, String roleName) {
         getTargetFeatureStore().grantRoleOnFeature(featureId, roleName);
-        getCacheManager().evictFeature(featureId);
+        evictFeature(featureId);
     }
 
     /** {@inheritDoc} */
     @Override
     public void removeRoleFromFeature(String featureId, String roleName) {
         getTargetFeatureStore().removeRoleFromFeature(featureId, roleName);
-        getCacheManager().evictFeature(featureId);
+        evictFeature(featureId);
     }
 
     /** {@inheritDoc} */
@@ -189,7 +358,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void enableGroup(String groupName) {
         getTargetFeatureStore().enableGroup(groupName);
         // Cannot know wich feature to work with (exceptional event) : flush cache
-        getCacheManager().clearFeatures();
+        clearFeatures();
     }
 
     /** {@inheritDoc} */
@@ -197,7 +366,7 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public void disableGroup(String groupName) {
         getTargetFeatureStore().disableGroup(groupName);
         // Cannot know wich feature to work with (exceptional event) : flush cache
-        getCacheManager().clearFeatures();
+        clearFeatures();
     }
 
     /** {@inheritDoc} */
@@ -218,14 +387,121 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void addToGroup(String featureId, String groupName) {
         getTargetFeatureStore().addToGroup(featureId, groupName);
-        getCacheManager().evictFeature(featureId);
+        evictFeature(featureId);
     }
 
     /** {@inheritDoc} */
     @Override
     public void removeFromGroup(String featureId, String groupName) {
         getTargetFeatureStore().removeFromGroup(featureId, groupName);
+        evictFeature(featureId);
+    }
+
+    /**
+     * Evict feature from local cache and notify other nodes.
+     *
+     * @param featureId
+     *      feature identifier
+     */
+    private void evictFeature(String featureId) {
+        forgetMissingFeature(featureId);
         getCacheManager().evictFeature(featureId);
+        publishFeatureInvalidation(featureId);
+    }
+    
+    /**
+     * Evict property from local cache and notify other nodes.
+     *
+     * @param propertyName
+     *      property name
+     */
+    private void evictProperty(String propertyName) {
+        getCacheManager().evictProperty(propertyName);
+        publishPropertyInvalidation(propertyName);
+    }
+    
+    /**
+     * Clear features in local cache and notify other nodes.
+     */
+    private void clearFeatures() {
+        forgetMissingFeature(null);
+        getCacheManager().clearFeatures();
+        publishFeatureInvalidation(null);
+    }
+    
+    /**
+     * Clear properties in local cache and notify other nodes.
+     */
+    private void clearProperties() {
+        getCacheManager().clearProperties();
+        publishPropertyInvalidation(null);
+    }
+    
+    /**
+     * Check if feature has been recently not found in target store.
+     *
+     * @param featureId
+     *      feature identifier
+     * @return
+     *      if target store should not be reached
+     */
+    private boolean isMissingFeature(String featureId) {
+        ConcurrentCache < Boolean > missing = negativeCache;
+        return missing != null && missing.get(featureId) != null;
+    }
+    
+    /**
+     * Remember feature has not been found in target store.
+     *
+     * @param featureId
+     *      feature identifier
+     */
+    private void recordMissingFeature(String featureId) {
+        ConcurrentCache < Boolean > missing = negativeCache;
+        if (missing != null && featureId != null) {
+            missing.put(featureId, Boolean.TRUE);
+        }
+    }
+    
+    /**
+     * Feature may exist now, target store must be reached again.
+     *
+     * @param featureId
+     *      feature identifier, null for all
+     */
+    private void forgetMissingFeature(String featureId) {
+        ConcurrentCache < Boolean > missing = negativeCache;
+        if (missing != null) {
+            if (featureId == null) {
+                missing.clear();
+            } else {
+                missing.remove(featureId);
+            }
+        }
+    }
+    
+    /**
+     * Notify other nodes if a channel is defined.
+     *
+     * @param featureId
+     *      feature identifier, null for all
+     */
+    private void publishFeatureInvalidation(String featureId) {
+        if (invalidationChannel != null) {
+            invalidationChannel.publishFeatureInvalidation(invalidationListener.getListenerId(), featureId);
+        }
+    }
+    
+    /**
+     * Notify other nodes if a channel is defined.
+     *
+     * @param propertyName
+     *      property name, null for all
+     */
+    private void publishPropertyInvalidation(String propertyName) {
+        if (invalidationChannel != null) {
+            invalidationChannel.publishPropertyInvalidation(invalidationListener.getListenerId(), propertyName);
+        }
     }
 
     /**
@@ -301,6 +577,19 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         return getTargetPropertyStore().readAllProperties();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public long getPropertiesRevision() {
+        return getTargetPropertyStore().getPropertiesRevision();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StoreChanges<Property<?>> propertyChangesSince(long revision) {
+        // Changes are read from the source of truth
+        return getTargetPropertyStore().propertyChangesSince(revision);
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean existProperty(String propertyName) {
@@ -316,6 +605,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     public <T> void createProperty(Property<T> property) {
         getTargetPropertyStore().createProperty(property);
         getCacheManager().putProperty(property);
+        publishPropertyInvalidation(property.getName());
+        refreshDispatcher.onPropertyInvalidated(property.getName());
     }
 
     /** {@inheritDoc} */
@@ -352,9 +643,10 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Update value in target store
         getTargetPropertyStore().updateProperty(fp);
         // Remove from cache old value
-        getCacheManager().evictProperty(fp.getName());
+        evictProperty(fp.getName());
         // Add new value in the cache
         getCacheManager().putProperty(fp);
+        refreshDispatcher.onPropertyInvalidated(fp.getName());
     }
 
     /** {@inheritDoc} */
@@ -363,9 +655,10 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Update the property
         getTargetPropertyStore().updateProperty(propertyValue);
         // Update the cache accordirly
-        getCacheManager().evictProperty(propertyValue.getName());
+        evictProperty(propertyValue.getName());
         // Update the property in cache
         getCacheManager().putProperty(propertyValue);
+        refreshDispatcher.onPropertyInvalidated(propertyValue.getName());
     }
 
     /** {@inheritDoc} */
@@ -374,7 +667,8 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
         // Access target store
         getTargetPropertyStore().deleteProperty(name);
         // even is not present, evict name failed
-        getCacheManager().evictProperty(name);
+        evictProperty(name);
+        refreshDispatcher.onPropertyInvalidated(name);
     }
 
     /** {@inheritDoc} */
@@ -393,23 +687,25 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
     @Override
     public void clear() {
         // Cache Operations : As modification, flush cache for this
-        getCacheManager().clearProperties();
+        clearProperties();
         getTargetPropertyStore().clear();
 
         // Cache Operations : As modification, flush cache for this
-        getCacheManager().clearFeatures();
+        clearFeatures();
         getTargetFeatureStore().clear();
+        refreshDispatcher.onPropertyInvalidated(null);
     }
     
     /** {@inheritDoc} */
     public void importProperties(Collection<Property<?>> properties) {
-        getCacheManager().clearProperties();
+        clearProperties();
         getTargetPropertyStore().importProperties(properties);
+        refreshDispatcher.onPropertyInvalidated(null);
     }
 
     /** {@inheritDoc} */
     public void importFeatures(Collection<Feature> features) {
-        getCacheManager().clearFeatures();
+        clearFeatures();
         getTargetFeatureStore().importFeatures(features);
     }
 
@@ -450,5 +746,96 @@ public class FF4jCacheProxy implements FeatureStore, PropertyStore {
      */
     public void setStore2CachePoller(Store2CachePollingScheduler store2CachePoller) {
         this.store2CachePoller = store2CachePoller;
-    }    
+        if (store2CachePoller != null) {
+            store2CachePoller.setRefreshListener(refreshDispatcher);
+        }
+    }
+    
+    /**
+     * Register a local listener notified when items are refreshed in cache : local modifications, 
+     * invalidations received from other nodes or changes fetched by the poller.
+     *
+     * @param listener
+     *      local listener
+     */
+    public void addRefreshListener(CacheInvalidationListener listener) {
+        Util.assertNotNull(listener);
+        refreshListeners.add(listener);
+    }
+    
+    /**
+     * Unregister a local listener.
+     *
+     * @param listener
+     *      local listener
+     */
+    public void removeRefreshListener(CacheInvalidationListener listener) {
+        refreshListeners.remove(listener);
+    }
+
+    /**
+     * Getter accessor for attribute 'invalidationChannel'.
+     *
+     * @return
+     *       current value of 'invalidationChannel'
+     */
+    public CacheInvalidationChannel getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    /**
+     * Subscribe to channel to receive modifications of other nodes and publish local modifications.
+     * 
+     * @param invalidationChannel
+     *      new value for 'invalidationChannel ' (null to disable)
+     */
+    public void setInvalidationChannel(CacheInvalidationChannel invalidationChannel) {
+        if (this.invalidationChannel != null) {
+            this.invalidationChannel.unsubscribe(invalidationListener);
+        }
+        this.invalidationChannel = invalidationChannel;
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(invalidationListener);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'refreshOnInvalidation'.
+     *
+     * @return
+     *       current value of 'refreshOnInvalidation'
+     */
+    public boolean isRefreshOnInvalidation() {
+        return refreshOnInvalidation;
+    }
+
+    /**
+     * Setter accessor for attribute 'refreshOnInvalidation'.
+     * 
+     * @param refreshOnInvalidation
+     *      new value for 'refreshOnInvalidation '
+     */
+    public void setRefreshOnInvalidation(boolean refreshOnInvalidation) {
+        this.refreshOnInvalidation = refreshOnInvalidation;
+    }
+
+    /**
+     * Getter accessor for attribute 'negativeCache'.
+     *
+     * @return
+     *       current value of 'negativeCache'
+     */
+    public ConcurrentCache<Boolean> getNegativeCache() {
+        return negativeCache;
+    }
+
+    /**
+     * Setter accessor for attribute 'negativeCache'.
+     * 
+     * @param negativeCache
+     *      new value for 'negativeCache ' (null to disable)
+     */
+    public void setNegativeCache(ConcurrentCache<Boolean> negativeCache) {
+        this.negativeCache = negativeCache;
+    }
 }
@@ -88,6 +88,16 @@ public class Store2CachePollingScheduler implements Serializable{
         executor.scheduleWithFixedDelay(worker, initialDelay, pollingDelay, TimeUnit.MILLISECONDS);
     }
     
+    /**
+     * Listener notified for each item refreshed by the worker.
+     *
+     * @param listener
+     *      listener (null to disable)
+     */
+    public void setRefreshListener(CacheInvalidationListener listener) {
+        worker.setRefreshListener(listener);
+    }
+    
     /** Stop Polling. */
     public void stop() {
         if (executor != null) {
@@ -1,7 +1,10 @@
 package org.ff4j.cache;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /*
  * #%L
@@ -25,11 +28,18 @@ import java.util.Map;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.core.FlippingStrategy;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.StoreChanges;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Working thread to poll and fetch data from store and copy to local cache.
+ * 
+ * Only items changed since previous poll are fetched when the store tracks its revisions. Otherwise the whole
+ * content is compared with the one of previous poll (without reading the cache) and only changed items are reloaded.
  *
  * @author Cedrick LUNVEN (@clunven)
  */
@@ -37,6 +47,9 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
 
     /** Serial. */
     private static final long serialVersionUID = 8252550757489651166L;
+    
+    /** Logger for the class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(Store2CachePollingWorker.class);
 
     /** feature store. */
     private FeatureStore sourceFeatureStore;
@@ -47,6 +60,21 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
     /** Target feature store to be proxified to cache features. */
     private FF4JCacheManager cacheManager;
     
+    /** Revision of feature store at last poll. */
+    private long featuresRevision = StoreChanges.NO_REVISION;
+    
+    /** Revision of property store at last poll. */
+    private long propertiesRevision = StoreChanges.NO_REVISION;
+    
+    /** Features as fetched from store at previous poll. */
+    private final Map < String, Feature > polledFeatures = new HashMap<String, Feature>();
+    
+    /** Properties as fetched from store at previous poll. */
+    private final Map < String, Property<?> > polledProperties = new HashMap<String, Property<?>>();
+    
+    /** Notified for each item refreshed in cache (optional). */
+    private transient CacheInvalidationListener refreshListener;
+    
     /**
      * Parameterized constructor.
      *
@@ -69,31 +97,223 @@ public class Store2CachePollingWorker implements Runnable, Serializable {
         try {
             
             if (sourceFeatureStore != null) {
-                // Access the store, if failed an error is raised and cache is not cleared.
-                Map < String, Feature > mapOfFeatures = sourceFeatureStore.readAll();
-                // Clear cache
-                cacheManager.clearFeatures();
-                // Fill Cache
-                for (Feature f : mapOfFeatures.values()) {
-                    cacheManager.putFeature(f);
+                // Access the store, if failed an error is raised and cache is not updated.
+                StoreChanges < Feature > changes = sourceFeatureStore.featureChangesSince(featuresRevision);
+                if (changes.isSnapshot()) {
+                    refreshFeatures(changes.getUpdated());
+                } else {
+                    // Only items changed since last poll
+                    for (Feature f : changes.getCreated().values()) {
+                        cacheManager.putFeature(f);
+                        polledFeatures.put(f.getUid(), f);
+                        notifyFeature(f.getUid());
+                    }
+                    for (Feature f : changes.getUpdated().values()) {
+                        cacheManager.putFeature(f);
+                        polledFeatures.put(f.getUid(), f);
+                        notifyFeature(f.getUid());
+                    }
+                    for (String deleted : changes.getDeleted()) {
+                        cacheManager.evictFeature(deleted);
+                        polledFeatures.remove(deleted);
+                        notifyFeature(deleted);
+                    }
                 }
+                featuresRevision = changes.getRevision();
             }
             
             if (sourcePropertyStore != null) {
-                // Access the store, if failed an error is raised and cache is not cleared.
-                Map < String, Property<?> > mapOfProperties = sourcePropertyStore.readAllProperties();
-                // Clear cache
-                cacheManager.clearProperties();
-                // Fill Cache
-                for (Property<?> p : mapOfProperties.values()) {
-                    cacheManager.putProperty(p);
+                // Access the store, if failed an error is raised and cache is not updated.
+                StoreChanges < Property<?> > changes = sourcePropertyStore.propertyChangesSince(propertiesRevision);
+                if (changes.isSnapshot()) {
+                    refreshProperties(changes.getUpdated());
+                } else {
+                    // Only items changed since last poll
+                    for (Property<?> p : changes.getCreated().values()) {
+                        cacheManager.putProperty(p);
+                        polledProperties.put(p.getName(), p);
+                        notifyProperty(p.getName());
+                    }
+                    for (Property<?> p : changes.getUpdated().values()) {
+                        cacheManager.putProperty(p);
+                        polledProperties.put(p.getName(), p);
+                        notifyProperty(p.getName());
+                    }
+                    for (String deleted : changes.getDeleted()) {
+                        cacheManager.evictProperty(deleted);
+                        polledProperties.remove(deleted);
+                        notifyProperty(deleted);
+                    }
                 }
+                propertiesRevision = changes.getRevision();
             }
             
         } catch (Exception ex) {
-            // Work in background (worker) failed 'silently'
-            ex.printStackTrace();
+            // Work in background (worker) failed, next poll will try again
+            LOGGER.error("Cannot refresh cache from stores", ex);
+        }
+    }
+    
+    /**
+     * Align cache with the whole content of the feature store.
+     *
+     * @param mapOfFeatures
+     *      all features of store
+     */
+    private void refreshFeatures(Map < String, Feature > mapOfFeatures) {
+        // Remove deleted features
+        Set < String > cachedNames = new HashSet<String>(cacheManager.listCachedFeatureNames());
+        for (String cachedName : cachedNames) {
+            if (!mapOfFeatures.containsKey(cachedName)) {
+                cacheManager.evictFeature(cachedName);
+                notifyFeature(cachedName);
+            }
+        }
+        polledFeatures.keySet().retainAll(mapOfFeatures.keySet());
+        // Only reload features that changed since previous poll (or not in cache anymore)
+        for (Feature f : mapOfFeatures.values()) {
+            Feature previous = polledFeatures.put(f.getUid(), f);
+            if (!cachedNames.contains(f.getUid()) || previous == null || !isSameFeature(previous, f)) {
+                cacheManager.putFeature(f);
+                notifyFeature(f.getUid());
+            }
+        }
+    }
+    
+    /**
+     * Align cache with the whole content of the property store.
+     *
+     * @param mapOfProperties
+     *      all properties of store
+     */
+    private void refreshProperties(Map < String, Property<?> > mapOfProperties) {
+        // Remove deleted properties
+        Set < String > cachedNames = new HashSet<String>(cacheManager.listCachedPropertyNames());
+        for (String cachedName : cachedNames) {
+            if (!mapOfProperties.containsKey(cachedName)) {
+                cacheManager.evictProperty(cachedName);
+                notifyProperty(cachedName);
+            }
+        }
+        polledProperties.keySet().retainAll(mapOfProperties.keySet());
+        // Only reload properties that changed since previous poll (or not in cache anymore)
+        for (Property<?> p : mapOfProperties.values()) {
+            Property<?> previous = polledProperties.put(p.getName(), p);
+            if (!cachedNames.contains(p.getName()) || previous == null || !isSameProperty(previous, p)) {
+                cacheManager.putProperty(p);
+                notifyProperty(p.getName());
+            }
+        }
+    }
+    
+    /**
+     * Compare two versions of a feature field by field.
+     *
+     * @param previous
+     *      feature fetched at previous poll
+     * @param current
+     *      feature fetched now
+     * @return
+     *      if nothing changed
+     */
+    private boolean isSameFeature(Feature previous, Feature current) {
+        if (previous.isEnable() != current.isEnable()
+                || !isSame(previous.getDescription(), current.getDescription())
+                || !isSame(previous.getGroup(), current.getGroup())
+                || !isSame(previous.getPermissions(), current.getPermissions())) {
+            return false;
+        }
+        FlippingStrategy ps = previous.getFlippingStrategy();
+        FlippingStrategy cs = current.getFlippingStrategy();
+        if (ps == null || cs == null) {
+            if (ps != cs) {
+                return false;
+            }
+        } else if (ps.getClass() != cs.getClass() || !isSame(ps.getInitParams(), cs.getInitParams())) {
+            return false;
         }
+        Map < String, Property<?> > pp = previous.getCustomProperties();
+        Map < String, Property<?> > cp = current.getCustomProperties();
+        if (pp == null || cp == null) {
+            return (pp == null || pp.isEmpty()) && (cp == null || cp.isEmpty());
+        }
+        if (!pp.keySet().equals(cp.keySet())) {
+            return false;
+        }
+        for (Map.Entry < String, Property<?> > entry : pp.entrySet()) {
+            if (!isSameProperty(entry.getValue(), cp.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Compare two versions of a property field by field.
+     *
+     * @param previous
+     *      property fetched at previous poll
+     * @param current
+     *      property fetched now
+     * @return
+     *      if nothing changed
+     */
+    private boolean isSameProperty(Property<?> previous, Property<?> current) {
+        if (previous == null || current == null) {
+            return previous == current;
+        }
+        return previous.getClass() == current.getClass()
+                && isSame(previous.asString(), current.asString())
+                && isSame(previous.getDescription(), current.getDescription())
+                && isSame(previous.getFixedValues(), current.getFixedValues());
+    }
+    
+    /**
+     * Null-safe equality.
+     *
+     * @param a
+     *      first value
+     * @param b
+     *      second value
+     * @return
+     *      if values are equal
+     */
+    private static boolean isSame(Object a, Object b) {
+        return (a == null) ? b == null : a.equals(b);
+    }
+    
+    /**
+     * Notify listener that a feature has been refreshed.
+     *
+     * @param featureUid
+     *      feature identifier
+     */
+    private void notifyFeature(String featureUid) {
+        if (refreshListener != null) {
+            refreshListener.onFeatureInvalidated(featureUid);
+        }
+    }
+    
+    /**
+     * Notify listener that a property has been refreshed.
+     *
+     * @param propertyName
+     *      property name
+     */
+    private void notifyProperty(String propertyName) {
+        if (refreshListener != null) {
+            refreshListener.onPropertyInvalidated(propertyName);
+        }
+    }
+
+    /**
+     * Setter accessor for attribute 'refreshListener'.
+     *
+     * @param refreshListener
+     *      new value for 'refreshListener '
+     */
+    public void setRefreshListener(CacheInvalidationListener refreshListener) {
+        this.refreshListener = refreshListener;
     }
 
 }
@@ -0,0 +1,168 @@
+package org.ff4j.core;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable result of {@link org.ff4j.FF4j#checkAll(java.util.Collection, FlippingExecutionContext)} : statuses of
+ * the checked features are held in a {@link BitSet} following the order of the feature names.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class FeatureCheckResult implements Serializable {
+    
+    /** serial. */
+    private static final long serialVersionUID = -1386302787916862467L;
+
+    /** Checked features in order. */
+    private final List<String> featureNames;
+    
+    /** Position of each feature in the bitset. */
+    private final Map<String, Integer> positions;
+    
+    /** Bit is set if the related feature is flipped. */
+    private final BitSet statuses;
+    
+    /**
+     * Constructor with statuses.
+     *
+     * @param featureNames
+     *      checked features, without duplicates
+     * @param statuses
+     *      bit at index 'i' is set when feature 'i' is flipped
+     */
+    public FeatureCheckResult(List<String> featureNames, BitSet statuses) {
+        if (featureNames == null || statuses == null) {
+            throw new IllegalArgumentException("ff4j-core: feature names and statuses are required");
+        }
+        this.featureNames = Collections.unmodifiableList(new ArrayList<String>(featureNames));
+        this.statuses     = (BitSet) statuses.clone();
+        this.positions    = new HashMap<String, Integer>(featureNames.size() * 2);
+        for (int i = 0; i < featureNames.size(); i++) {
+            if (positions.put(featureNames.get(i), i) != null) {
+                throw new IllegalArgumentException("ff4j-core: feature '" + featureNames.get(i) + "' is listed twice");
+            }
+        }
+    }
+    
+    /**
+     * Status of a checked feature.
+     *
+     * @param featureName
+     *      feature unique identifier
+     * @return
+     *      if the feature is flipped
+     */
+    public boolean isEnable(String featureName) {
+        Integer position = positions.get(featureName);
+        if (position == null) {
+            throw new IllegalArgumentException("ff4j-core: feature '" + featureName + "' has not been checked");
+        }
+        return statuses.get(position);
+    }
+    
+    /**
+     * Test if the feature is part of the result.
+     *
+     * @param featureName
+     *      feature unique identifier
+     * @return
+     *      if the feature has been checked
+     */
+    public boolean contains(String featureName) {
+        return positions.containsKey(featureName);
+    }
+    
+    /**
+     * Number of checked features.
+     *
+     * @return
+     *      number of features
+     */
+    public int size() {
+        return featureNames.size();
+    }
+    
+    /**
+     * Getter accessor for attribute 'featureNames'.
+     *
+     * @return
+     *       current value of 'featureNames'
+     */
+    public List<String> getFeatureNames() {
+        return featureNames;
+    }
+    
+    /**
+     * Names of flipped features.
+     *
+     * @return
+     *      flipped features in order
+     */
+    public Set<String> getEnabledFeatures() {
+        Set<String> enabled = new LinkedHashSet<String>();
+        for (int i = statuses.nextSetBit(0); i >= 0; i = statuses.nextSetBit(i + 1)) {
+            enabled.add(featureNames.get(i));
+        }
+        return enabled;
+    }
+    
+    /**
+     * Copy of statuses, bit at index 'i' relates to 'getFeatureNames().get(i)'.
+     *
+     * @return
+     *      statuses as bitset
+     */
+    public BitSet toBitSet() {
+        return (BitSet) statuses.clone();
+    }
+    
+    /**
+     * Statuses as a map.
+     *
+     * @return
+     *      flipped status for each feature in order
+     */
+    public Map<String, Boolean> toMap() {
+        Map<String, Boolean> map = new LinkedHashMap<String, Boolean>();
+        for (int i = 0; i < featureNames.size(); i++) {
+            map.put(featureNames.get(i), statuses.get(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+    
+}
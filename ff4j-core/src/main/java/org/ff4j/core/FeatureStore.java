@@ -25,6 +25,8 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
+import org.ff4j.store.StoreChanges;
+
 /**
  * Repository to persist {@link Feature}(s)
  * 
@@ -71,6 +73,18 @@ public interface FeatureStore {
      */
     Feature read(String featureUid);
 
+    /**
+     * Read feature without raising {@link org.ff4j.exception.FeatureNotFoundException} if it does not exist.
+     * Stores should use their native lookup, the default implementation relies on {@link #readMany(Collection)}
+     * which, without a native version, calls {@link #read(String)} and catches the exception.
+     * 
+     * @param featureUid
+     *            unique feature identifier
+     * @return target feature or null if not found
+     * @since 1.7.2
+     */
+    Feature readIfExists(String featureUid);
+
     /**
      * Access to all features to get information.
      * 
@@ -78,6 +92,15 @@ public interface FeatureStore {
      */
     Map<String, Feature> readAll();
 
+    /**
+     * Read several features at once (single round trip when the store allows it), unknown identifiers are ignored.
+     * @param featureUids
+     *            unique feature identifiers
+     * @return features found indexed by their identifier
+     * @since 1.7.2
+     */
+    Map<String, Feature> readMany(Collection<String> featureUids);
+
     /**
      * Remove fliPoint from store.
      * 
@@ -181,6 +204,27 @@ public interface FeatureStore {
      */
     void importFeatures(Collection < Feature > features);
     
+    /**
+     * Current revision of the store, incremented by each modification.
+     *
+     * @return
+     *      current revision or {@link StoreChanges#NO_REVISION} if the store does not track changes
+     * @since 1.7.2
+     */
+    long getFeaturesRevision();
+    
+    /**
+     * Features created, updated and deleted after target revision. When the store does not track changes
+     * or cannot tell what changed since this revision, the result is a snapshot of the whole store.
+     *
+     * @param revision
+     *      last revision known by caller
+     * @return
+     *      changes since target revision
+     * @since 1.7.2
+     */
+    StoreChanges < Feature > featureChangesSince(long revision);
+    
     /**
      * Initialize the target database schema by creating expected structures.
      * 
@@ -0,0 +1,250 @@
+package org.ff4j.property;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2015 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.ff4j.exception.InvalidPropertyTypeException;
+import org.ff4j.utils.Util;
+
+/**
+ * Typed view on a property keeping its value already parsed.
+ *
+ * Reading the value with {@link #get()} does not reach the store : the handle is refreshed when the property
+ * is modified through {@link org.ff4j.FF4j}, invalidated or polled by the cache proxy. If the property is
+ * deleted the handle keeps the last known value.
+ *
+ * @param <T>
+ *      type of value
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public abstract class PropertyHandle < T > {
+
+    /** Property name. */
+    private final String name;
+
+    /** Expected type. */
+    private final Class < T > type;
+
+    /** Current value. */
+    private volatile T value;
+
+    /** Registered callbacks. */
+    private final List < PropertyHandleListener < T > > listeners = new CopyOnWriteArrayList<PropertyHandleListener<T>>();
+
+    /**
+     * Constructor with name and type.
+     *
+     * @param name
+     *      property name
+     * @param type
+     *      expected type
+     */
+    protected PropertyHandle(String name, Class < T > type) {
+        Util.assertHasLength(name);
+        Util.assertNotNull(type);
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Parse value of the property.
+     *
+     * @param property
+     *      current property
+     * @return
+     *      typed value
+     */
+    protected abstract T convert(Property < ? > property);
+
+    /**
+     * Handle on a property read as int.
+     *
+     * @param name
+     *      property name
+     * @return
+     *      handle (not loaded)
+     */
+    public static PropertyHandle < Integer > ofInt(String name) {
+        return new PropertyHandle<Integer>(name, Integer.class) {
+            protected Integer convert(Property<?> property) {
+                return property.asInt();
+            }
+        };
+    }
+
+    /**
+     * Handle on a property read as long.
+     *
+     * @param name
+     *      property name
+     * @return
+     *      handle (not loaded)
+     */
+    public static PropertyHandle < Long > ofLong(String name) {
+        return new PropertyHandle<Long>(name, Long.class) {
+            protected Long convert(Property<?> property) {
+                return Long.parseLong(property.asString());
+            }
+        };
+    }
+
+    /**
+     * Handle on a property read as double.
+     *
+     * @param name
+     *      property name
+     * @return
+     *      handle (not loaded)
+     */
+    public static PropertyHandle < Double > ofDouble(String name) {
+        return new PropertyHandle<Double>(name, Double.class) {
+            protected Double convert(Property<?> property) {
+                return property.asDouble();
+            }
+        };
+    }
+
+    /**
+     * Handle on a property read as boolean.
+     *
+     * @param name
+     *      property name
+     * @return
+     *      handle (not loaded)
+     */
+    public static PropertyHandle < Boolean > ofBoolean(String name) {
+        return new PropertyHandle<Boolean>(name, Boolean.class) {
+            protected Boolean convert(Property<?> property) {
+                return property.asBoolean();
+            }
+        };
+    }
+
+    /**
+     * Handle on a property read as String.
+     *
+     * @param name
+     *      property name
+     * @return
+     *      handle (not loaded)
+     */
+    public static PropertyHandle < String > ofString(String name) {
+        return new PropertyHandle<String>(name, String.class) {
+            protected String convert(Property<?> property) {
+                return property.asString();
+            }
+        };
+    }
+
+    /**
+     * Current value of the property, without any access to the store.
+     *
+     * @return
+     *      current value
+     */
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Parse property and notify listeners if the value changed.
+     *
+     * @param property
+     *      property read in store
+     * @return
+     *      if the value changed
+     */
+    public synchronized boolean refresh(Property < ? > property) {
+        Util.assertNotNull(property);
+        if (!name.equals(property.getName())) {
+            throw new IllegalArgumentException("Property '" + property.getName() + "' cannot refresh handle '" + name + "'");
+        }
+        T newValue;
+        try {
+            newValue = convert(property);
+        } catch (RuntimeException re) {
+            throw new InvalidPropertyTypeException("Cannot read property '" + name + "' as " + type.getSimpleName(), re);
+        }
+        T oldValue = value;
+        if (newValue == null ? oldValue == null : newValue.equals(oldValue)) {
+            return false;
+        }
+        value = newValue;
+        for (PropertyHandleListener<T> listener : listeners) {
+            listener.onPropertyChange(name, oldValue, newValue);
+        }
+        return true;
+    }
+
+    /**
+     * Register a callback invoked when value changes.
+     *
+     * @param listener
+     *      callback
+     * @return
+     *      current handle
+     */
+    public PropertyHandle < T > addListener(PropertyHandleListener < T > listener) {
+        Util.assertNotNull(listener);
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Unregister a callback.
+     *
+     * @param listener
+     *      callback
+     */
+    public void removeListener(PropertyHandleListener < T > listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Getter accessor for attribute 'name'.
+     *
+     * @return
+     *       current value of 'name'
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter accessor for attribute 'type'.
+     *
+     * @return
+     *       current value of 'type'
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return name + "=" + value;
+    }
+
+}
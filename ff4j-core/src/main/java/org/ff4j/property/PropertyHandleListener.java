@@ -0,0 +1,45 @@
+package org.ff4j.property;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2015 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Callback invoked when the value held by a {@link PropertyHandle} changes.
+ *
+ * @param <T>
+ *      type of value
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface PropertyHandleListener < T > {
+
+    /**
+     * Value of the property has changed.
+     *
+     * @param propertyName
+     *      property name
+     * @param oldValue
+     *      previous value
+     * @param newValue
+     *      new value
+     */
+    void onPropertyChange(String propertyName, T oldValue, T newValue);
+
+}
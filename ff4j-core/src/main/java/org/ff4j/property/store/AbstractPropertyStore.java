@@ -2,6 +2,8 @@ package org.ff4j.property.store;
 
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -10,6 +12,8 @@ import org.ff4j.conf.XmlParser;
 import org.ff4j.exception.PropertyAlreadyExistException;
 import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
+import org.ff4j.store.RevisionLog;
+import org.ff4j.store.StoreChanges;
 import org.ff4j.utils.Util;
 
 /*
@@ -39,6 +43,9 @@ import org.ff4j.utils.Util;
  */
 public abstract class AbstractPropertyStore implements PropertyStore {
     
+    /** Log of changes, null when the store does not track its revision. */
+    private RevisionLog revisionLog;
+    
     /**
      * Initialize store from XML Configuration File.
      *
@@ -178,7 +185,94 @@ public abstract class AbstractPropertyStore implements PropertyStore {
         }
     }
     
+    /** {@inheritDoc} */
     /** {@inheritDoc} */
+    @Override
+    public long getPropertiesRevision() {
+        RevisionLog log = getRevisionLog();
+        return (log == null) ? StoreChanges.NO_REVISION : log.getRevision();
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public StoreChanges<Property<?>> propertyChangesSince(long revision) {
+        RevisionLog log = getRevisionLog();
+        StoreChanges < Property<?> > changes = (log == null) ? 
+                new StoreChanges<Property<?>>(revision, StoreChanges.NO_REVISION, true) : 
+                log.<Property<?>>changesSince(revision);
+        if (changes.isSnapshot()) {
+            return changes.fill(readAllProperties());
+        }
+        Map < String, Property<?> > values = new HashMap<String, Property<?>>();
+        for (String name : changes.getChangedUids()) {
+            try {
+                values.put(name, readProperty(name));
+            } catch(PropertyNotFoundException pnf) {
+                // Deleted since change has been logged
+            }
+        }
+        return changes.fill(values);
+    }
+    
+    /**
+     * Log creation of properties if store tracks its revision.
+     *
+     * @param names
+     *      created properties
+     */
+    protected void logCreate(Collection < String > names) {
+        RevisionLog log = getRevisionLog();
+        if (log != null) {
+            log.logCreate(names);
+        }
+    }
+    
+    /**
+     * Log creation of a property if store tracks its revision.
+     *
+     * @param name
+     *      created property
+     */
+    protected void logCreate(String name) {
+        logCreate(Collections.singleton(name));
+    }
+    
+    /**
+     * Log update of a property if store tracks its revision.
+     *
+     * @param name
+     *      updated property
+     */
+    protected void logUpdate(String name) {
+        RevisionLog log = getRevisionLog();
+        if (log != null) {
+            log.logUpdate(Collections.singleton(name));
+        }
+    }
+    
+    /**
+     * Log deletion of properties if store tracks its revision.
+     *
+     * @param names
+     *      deleted properties
+     */
+    protected void logDelete(Collection < String > names) {
+        RevisionLog log = getRevisionLog();
+        if (log != null) {
+            log.logDelete(names);
+        }
+    }
+    
+    /**
+     * Log deletion of a property if store tracks its revision.
+     *
+     * @param name
+     *      deleted property
+     */
+    protected void logDelete(String name) {
+        logDelete(Collections.singleton(name));
+    }
+    
     @Override
     public void createSchema() {
         /* 
@@ -189,4 +283,24 @@ public abstract class AbstractPropertyStore implements PropertyStore {
         return;
     }
     
+    /**
+     * Getter accessor for attribute 'revisionLog'.
+     *
+     * @return
+     *       current value of 'revisionLog'
+     */
+    public RevisionLog getRevisionLog() {
+        return revisionLog;
+    }
+
+    /**
+     * Setter accessor for attribute 'revisionLog'.
+     * 
+     * @param revisionLog
+     *      new value for 'revisionLog '
+     */
+    public void setRevisionLog(RevisionLog revisionLog) {
+        this.revisionLog = revisionLog;
+    }
+    
 }
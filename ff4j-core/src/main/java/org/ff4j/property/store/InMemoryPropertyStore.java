@@ -21,12 +21,14 @@ package org.ff4j.property.store;
  */
 
 import java.io.InputStream;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 import org.ff4j.conf.XmlParser;
 import org.ff4j.property.Property;
+import org.ff4j.store.InMemoryRevisionLog;
 import org.ff4j.utils.Util;
 
 /**
@@ -46,6 +48,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
      * Default Constructor 
      */
     public InMemoryPropertyStore() {
+        setRevisionLog(new InMemoryRevisionLog());
     }
     
     /**
@@ -59,6 +62,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
             throw new IllegalArgumentException(
                     "fileName is required, cannot be null nor empty : the file must exist in classpath");
         }
+        setRevisionLog(new InMemoryRevisionLog());
         loadConfFile(fileName);
     }
     
@@ -69,6 +73,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
      *            fileName present in classPath or on fileSystem.
      */
     public InMemoryPropertyStore(InputStream xmlIN) {
+        this();
         loadConf(xmlIN);
     }
     
@@ -78,7 +83,8 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
      * @param maps
      */
     public InMemoryPropertyStore(Map<String, Property<?>> maps) {
-        this.properties = maps;
+        this();
+        replaceProperties(maps);
     }
     
     /**
@@ -102,7 +108,24 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
         if (xmlIN == null) {
             throw new IllegalArgumentException("Cannot parse stream with properties");
         }
-        this.properties = new XmlParser().parseConfigurationFile(xmlIN).getProperties();
+        replaceProperties(new XmlParser().parseConfigurationFile(xmlIN).getProperties());
+    }
+    
+    /**
+     * Replace all properties and log changes.
+     *
+     * @param newProperties
+     *      new content of the store
+     */
+    private void replaceProperties(Map<String, Property<?>> newProperties) {
+        Set<String> previous = (properties == null) ? null : new HashSet<String>(properties.keySet());
+        this.properties = newProperties;
+        if (previous != null) {
+            logDelete(previous);
+        }
+        if (newProperties != null) {
+            logCreate(newProperties.keySet());
+        }
     }
     
     /** {@inheritDoc} */
@@ -120,6 +143,16 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
         assertPropertyNotExist(value.getName());
         // Create
         properties.put(value.getName(), value);
+        logCreate(value.getName());
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public <T> void updateProperty(Property<T> prop) {
+        assertPropertyNotNull(prop);
+        assertPropertyExist(prop.getName());
+        properties.put(prop.getName(), prop);
+        logUpdate(prop.getName());
     }
 
     /** {@inheritDoc} */
@@ -135,6 +168,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
         assertPropertyExist(name);
         // Delete
         properties.remove(name);
+        logDelete(name);
     }
     
     /** {@inheritDoc} */
@@ -150,7 +184,9 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
     @Override
     public void clear() {
         if (properties != null) {
+            Set<String> previous = new HashSet<String>(properties.keySet());
             properties.clear();
+            logDelete(previous);
         }
     }
     
@@ -166,7 +202,7 @@ public class InMemoryPropertyStore extends AbstractPropertyStore {
      * 		new value for 'properties '
      */
     public void setProperties(Map<String, Property<?>> properties) {
-        this.properties = properties;
+        replaceProperties(properties);
     }
     
     /**
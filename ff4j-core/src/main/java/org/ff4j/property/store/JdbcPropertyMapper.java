@@ -49,10 +49,24 @@ public class JdbcPropertyMapper {
      * @throws SQLException
      */
     public Property<?> map(ResultSet rs) throws SQLException {
+        return map(rs, COL_PROPERTY_DESCRIPTION);
+    }
+    
+    /**
+     * Convert a JDBC Result to Property when the description column is renamed (joined queries).
+     * @param rs
+     *      current line resultset
+     * @param descriptionColumn
+     *      label of the description column
+     * @return
+     *      target property
+     * @throws SQLException
+     */
+    public Property<?> map(ResultSet rs, String descriptionColumn) throws SQLException {
         String propertyName  = rs.getString(COL_PROPERTY_ID);
         String propertyValue = rs.getString(COL_PROPERTY_VALUE);
         String propertyType  = rs.getString(COL_PROPERTY_TYPE);
-        String description   = rs.getString(COL_PROPERTY_DESCRIPTION);
+        String description   = rs.getString(descriptionColumn);
         String fixedValues   = rs.getString(COL_PROPERTY_FIXED);
         Set < String > value = null;
         if (fixedValues != null) {
@@ -43,6 +43,8 @@ import org.ff4j.exception.PropertyAlreadyExistException;
 import org.ff4j.exception.PropertyNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.store.JdbcQueryBuilder;
+import org.ff4j.store.JdbcRevisionLog;
+import org.ff4j.store.RevisionLog;
 import org.ff4j.utils.Util;
 
 /**
@@ -94,6 +96,9 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
         if (!isTableExist(ds, qb.getTableNameProperties())) {
             executeUpdate(ds, qb.sqlCreateTableProperties());
         }
+        // Track changes
+        new JdbcRevisionLog(ds, qb, JdbcRevisionLog.STORE_PROPERTIES).createSchema();
+        setRevisionLog(null);
     }
      
     /** {@inheritDoc} */
@@ -139,6 +144,7 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
                 ps.setString(5, null);
             }
             ps.executeUpdate();
+            logCreate(ap.getName());
         } catch (SQLException sqlEX) {
             throw new PropertyAccessException("Cannot update properties database, SQL ERROR", sqlEX);
         } finally {
@@ -186,6 +192,7 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
             ab.fromString(newValue);
             ps = buildStatement(sqlConn, getQueryBuilder().updateProperty(), newValue, name);
             ps.executeUpdate();
+            logUpdate(name);
         } catch (SQLException sqlEX) {
             throw new PropertyAccessException("Cannot update property database, SQL ERROR", sqlEX);
         } finally {
@@ -215,6 +222,7 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
             }
             ps = buildStatement(sqlConn, getQueryBuilder().deleteProperty(), name);
             ps.executeUpdate();
+            logDelete(name);
         } catch (SQLException sqlEX) {
             throw new PropertyAccessException("Cannot delete property database, SQL ERROR", sqlEX);
         } finally {
@@ -275,10 +283,15 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
     public void clear() {
         PreparedStatement ps = null;
         Connection   sqlConn = null;
+        // Properties to be logged as deleted
+        Set<String> names = isTrackingChanges() ? listPropertyNames() : null;
         try {
             sqlConn = getDataSource().getConnection();
             ps = buildStatement(sqlConn, getQueryBuilder().deleteAllProperties());
             ps.executeUpdate();
+            if (names != null) {
+                logDelete(names);
+            }
         } catch (SQLException sqlEX) {
             throw new PropertyAccessException("Cannot clear properties table, SQL ERROR", sqlEX);
         } finally {
@@ -304,6 +317,32 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
      */
     public void setDataSource(DataSource dataSource) {
         this.dataSource = dataSource;
+        setRevisionLog(null);
+    }
+    
+    /**
+     * Changes are tracked in database when tables REVISIONS and CHANGES exist.
+     *
+     * @return
+     *      revision log for this store
+     */
+    @Override
+    public RevisionLog getRevisionLog() {
+        if (super.getRevisionLog() == null && dataSource != null) {
+            setRevisionLog(new JdbcRevisionLog(dataSource, getQueryBuilder(), JdbcRevisionLog.STORE_PROPERTIES));
+        }
+        return super.getRevisionLog();
+    }
+    
+    /**
+     * Avoid reading properties to be logged when changes are not tracked.
+     *
+     * @return
+     *      if changes are logged
+     */
+    private boolean isTrackingChanges() {
+        RevisionLog log = getRevisionLog();
+        return log != null && (!(log instanceof JdbcRevisionLog) || ((JdbcRevisionLog) log).isEnabled());
     }
     
 	/**
@@ -321,6 +360,7 @@ public class JdbcPropertyStore extends AbstractPropertyStore {
 	 */
 	public void setQueryBuilder(JdbcQueryBuilder queryBuilder) {
 		this.queryBuilder = queryBuilder;
+		setRevisionLog(null);
 	}
     
 }
@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.ff4j.property.Property;
+import org.ff4j.store.StoreChanges;
 
 /*
  * #%L
@@ -136,6 +137,27 @@ public interface PropertyStore {
      */
     void importProperties(Collection<Property<?>> properties);
     
+    /**
+     * Current revision of the store, incremented by each modification.
+     *
+     * @return
+     *      current revision or {@link StoreChanges#NO_REVISION} if the store does not track changes
+     * @since 1.7.2
+     */
+    long getPropertiesRevision();
+    
+    /**
+     * Properties created, updated and deleted after target revision. When the store does not track changes
+     * or cannot tell what changed since this revision, the result is a snapshot of the whole store.
+     *
+     * @param revision
+     *      last revision known by caller
+     * @return
+     *      changes since target revision
+     * @since 1.7.2
+     */
+    StoreChanges < Property<?> > propertyChangesSince(long revision);
+    
     /**
      * Initialize target database with expected schema if needed.
      */
@@ -28,6 +28,30 @@ import java.util.Set;
  * @author Cedrick Lunven (@clunven)
  */
 public abstract class AbstractAuthorizationManager implements AuthorizationsManager {
+    
+    /**
+     * Capture, on the calling thread, what is required to resolve current user name later (security contexts are
+     * usually bound to the thread). It should be cheap, default is the user name itself.
+     *
+     * @return
+     *      reference to current user
+     */
+    public Object getCurrentUserReference() {
+        return getCurrentUserName();
+    }
+    
+    /**
+     * Resolve user name from a reference returned by {@link #getCurrentUserReference()}, can be invoked from
+     * another thread.
+     *
+     * @param reference
+     *      reference to user
+     * @return
+     *      user name
+     */
+    public String getUserName(Object reference) {
+        return (String) reference;
+    }
 
     /** {@inheritDoc} */
     @Override
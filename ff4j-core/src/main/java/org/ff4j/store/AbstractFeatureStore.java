@@ -22,8 +22,10 @@ package org.ff4j.store;
 
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,6 +46,9 @@ import org.ff4j.utils.Util;
  */
 public abstract class AbstractFeatureStore implements FeatureStore {
 
+    /** Log of changes, null when the store does not track its revision. */
+    private RevisionLog revisionLog;
+
     /**
      * Initialize store from XML Configuration File.
      *
@@ -112,6 +117,32 @@ public abstract class AbstractFeatureStore implements FeatureStore {
         update(f);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String featureUid) {
+        Util.assertParamHasLength(featureUid, "featureUid");
+        // Stores able to fetch several keys at once do not raise exception for unknown features
+        return readMany(Collections.singletonList(featureUid)).get(featureUid);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        // Default is one read per feature, stores able to fetch several keys at once override it
+        Map < String, Feature > features = new LinkedHashMap< String, Feature >();
+        for (String uid : featureUids) {
+            if (!features.containsKey(uid)) {
+                try {
+                    features.put(uid, read(uid));
+                } catch (FeatureNotFoundException fnfe) {
+                    // Unknown features are ignored
+                }
+            }
+        }
+        return features;
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readGroup(String groupName) {
@@ -201,6 +232,23 @@ public abstract class AbstractFeatureStore implements FeatureStore {
         return groups;
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public long getFeaturesRevision() {
+        RevisionLog log = getRevisionLog();
+        return (log == null) ? StoreChanges.NO_REVISION : log.getRevision();
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public StoreChanges<Feature> featureChangesSince(long revision) {
+        RevisionLog log = getRevisionLog();
+        StoreChanges < Feature > changes = (log == null) ? 
+                new StoreChanges<Feature>(revision, StoreChanges.NO_REVISION, true) : 
+                log.<Feature>changesSince(revision);
+        return changes.fill(changes.isSnapshot() ? readAll() : readMany(changes.getChangedUids()));
+    }
+    
     /** {@inheritDoc} */
     @Override
     public void createSchema() {
@@ -266,6 +314,75 @@ public abstract class AbstractFeatureStore implements FeatureStore {
         return toJson();
     }
     
+    /**
+     * Log creation of features if store tracks its revision.
+     *
+     * @param uids
+     *      created features
+     */
+    protected void logCreate(Collection < String > uids) {
+        RevisionLog log = getRevisionLog();
+        if (log != null) {
+            log.logCreate(uids);
+        }
+    }
+    
+    /**
+     * Log creation of a feature if store tracks its revision.
+     *
+     * @param uid
+     *      created feature
+     */
+    protected void logCreate(String uid) {
+        logCreate(Collections.singleton(uid));
+    }
+    
+    /**
+     * Log update of features if store tracks its revision.
+     *
+     * @param uids
+     *      updated features
+     */
+    protected void logUpdate(Collection < String > uids) {
+        RevisionLog log = getRevisionLog();
+        if (log != null) {
+            log.logUpdate(uids);
+        }
+    }
+    
+    /**
+     * Log update of a feature if store tracks its revision.
+     *
+     * @param uid
+     *      updated feature
+     */
+    protected void logUpdate(String uid) {
+        logUpdate(Collections.singleton(uid));
+    }
+    
+    /**
+     * Log deletion of features if store tracks its revision.
+     *
+     * @param uids
+     *      deleted features
+     */
+    protected void logDelete(Collection < String > uids) {
+        RevisionLog log = getRevisionLog();
+        if (log != null) {
+            log.logDelete(uids);
+        }
+    }
+    
+    /**
+     * Log deletion of a feature if store tracks its revision.
+     *
+     * @param uid
+     *      deleted feature
+     */
+    protected void logDelete(String uid) {
+        logDelete(Collections.singleton(uid));
+    }
+    
     /**
      * Validate feature uid.
      *
@@ -317,4 +434,24 @@ public abstract class AbstractFeatureStore implements FeatureStore {
         }
     } 
     
+    /**
+     * Getter accessor for attribute 'revisionLog'.
+     *
+     * @return
+     *       current value of 'revisionLog'
+     */
+    public RevisionLog getRevisionLog() {
+        return revisionLog;
+    }
+
+    /**
+     * Setter accessor for attribute 'revisionLog'.
+     * 
+     * @param revisionLog
+     *      new value for 'revisionLog '
+     */
+    public void setRevisionLog(RevisionLog revisionLog) {
+        this.revisionLog = revisionLog;
+    }
+    
 }
@@ -14,19 +14,31 @@ import static org.ff4j.utils.Util.assertHasLength;
  */
 
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.ff4j.conf.XmlParser;
 import org.ff4j.core.Feature;
+import org.ff4j.exception.FeatureAlreadyExistException;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.GroupNotFoundException;
+import org.ff4j.utils.Util;
 
 /**
  * Storing states of feature inmemory with initial values. Could be used mostly for testing purpose.
  * 
+ * Readers never lock : features are held in a concurrent map, groups in an index maintained at each write and
+ * {@link #readAll()} or {@link #readGroup(String)} return immutable snapshots published after each write. Writers
+ * are serialized and never modify a published feature : they save a modified copy.
+ * 
  * @author Cedrick Lunven (@clunven)
  */
 public class InMemoryFeatureStore extends AbstractFeatureStore {
@@ -35,13 +47,24 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
     private String fileName = null;
 
     /** InMemory Feature Map */
-    private Map<String, Feature> featuresMap = new LinkedHashMap<String, Feature>();
+    private final ConcurrentMap<String, Feature> featuresMap = new ConcurrentHashMap<String, Feature>();
+
+    /** Group structure for features, each value is an immutable snapshot of the group. */
+    private final ConcurrentMap<String, Map<String, Feature>> featureGroups = new ConcurrentHashMap<String, Map<String, Feature>>();
+
+    /** Immutable snapshot of all features, in insertion order. */
+    private volatile Map<String, Feature> featuresSnapshot = Collections.emptyMap();
 
-    /** Group structure for features. */
-    private Map<String, Set<String>> featureGroups = new HashMap<String, Set<String>>();
+    /** Group under which each feature is indexed (guarded by 'writeLock'). */
+    private final Map<String, String> indexedGroups = new HashMap<String, String>();
+
+    /** Serialize updates. */
+    private final Object writeLock = new Object();
 
     /** Default constructor. */
-    public InMemoryFeatureStore() {}
+    public InMemoryFeatureStore() {
+        setRevisionLog(new InMemoryRevisionLog());
+    }
 
     /**
      * Constructor with configuration fileName.
@@ -54,6 +77,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
             throw new IllegalArgumentException(
                     "fileName is required, cannot be null nor empty : the file must exist in classpath");
         }
+        setRevisionLog(new InMemoryRevisionLog());
         createSchema();
         loadConfFile(fileName);
     }
@@ -65,6 +89,7 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
      *            fileName present in classPath or on fileSystem.
      */
     public InMemoryFeatureStore(InputStream xmlIN) {
+        this();
         createSchema();
         loadConf(xmlIN);
     }
@@ -75,9 +100,9 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
      * @param maps
      */
     public InMemoryFeatureStore(Map<String, Feature> maps) {
+        this();
         createSchema();
-        this.featuresMap = maps;
-        buildGroupsFromFeatures();
+        replaceFeatures(maps);
     }
 
     /**
@@ -101,78 +126,185 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
         if (xmlIN == null) {
             throw new IllegalArgumentException("Cannot parse feature stream");
         }
-        this.featuresMap = new XmlParser().parseConfigurationFile(xmlIN).getFeatures();
-        buildGroupsFromFeatures();
+        replaceFeatures(new XmlParser().parseConfigurationFile(xmlIN).getFeatures());
+    }
+
+    /**
+     * Substitute the whole content of the store.
+     * 
+     * @param features
+     *            new features
+     */
+    private void replaceFeatures(Map<String, Feature> features) {
+        synchronized (writeLock) {
+            Set<String> previous = featuresSnapshot.keySet();
+            clearAll();
+            applyChanges(new LinkedHashMap<String, Feature>(features));
+            logDelete(previous);
+            logCreate(features.keySet());
+        }
     }
 
     /**
-     * Group is an attribute of the feature and the group structure is rebuild from it.
+     * Unique update point : maintain primary map, group index and snapshots. Must be called with 'writeLock' held.
+     * 
+     * @param changes
+     *            features to save, a null value means the feature is deleted
      */
-    private void buildGroupsFromFeatures() {
-        // Reinit if required
-        featureGroups = new HashMap<String, Set<String>>();
-        for (Entry<String, Feature> item : featuresMap.entrySet()) {
-            String currentGroup = item.getValue().getGroup();
-            if (!featureGroups.containsKey(currentGroup)) {
-                // Create Group of not exist
-                featureGroups.put(currentGroup, new HashSet<String>());
+    private void applyChanges(Map<String, Feature> changes) {
+        Map<String, Feature> all = new LinkedHashMap<String, Feature>(featuresSnapshot);
+        Map<String, Map<String, Feature>> touchedGroups = new HashMap<String, Map<String, Feature>>();
+        for (Entry<String, Feature> change : changes.entrySet()) {
+            String uid = change.getKey();
+            Feature feature = change.getValue();
+            // Leave previous group
+            String previousGroup = indexedGroups.remove(uid);
+            if (previousGroup != null) {
+                getTouchedGroup(touchedGroups, previousGroup).remove(uid);
+            }
+            if (feature == null) {
+                featuresMap.remove(uid);
+                all.remove(uid);
+            } else {
+                featuresMap.put(uid, feature);
+                all.put(uid, feature);
+                String group = feature.getGroup();
+                if (group != null && !group.isEmpty()) {
+                    indexedGroups.put(uid, group);
+                    getTouchedGroup(touchedGroups, group).put(uid, feature);
+                }
+            }
+        }
+        // Publish new snapshots
+        featuresSnapshot = Collections.unmodifiableMap(all);
+        for (Entry<String, Map<String, Feature>> group : touchedGroups.entrySet()) {
+            if (group.getValue().isEmpty()) {
+                featureGroups.remove(group.getKey());
+            } else {
+                featureGroups.put(group.getKey(), Collections.unmodifiableMap(group.getValue()));
             }
-            featureGroups.get(currentGroup).add(item.getKey());
         }
     }
 
     /**
-     * Unique update point to force group construction.
+     * Working copy of a group during an update.
      * 
+     * @param touchedGroups
+     *            groups updated by current write
+     * @param groupName
+     *            target group
+     * @return
+     *            mutable copy of the group
+     */
+    private Map<String, Feature> getTouchedGroup(Map<String, Map<String, Feature>> touchedGroups, String groupName) {
+        Map<String, Feature> group = touchedGroups.get(groupName);
+        if (group == null) {
+            Map<String, Feature> current = featureGroups.get(groupName);
+            group = (current == null) ? new LinkedHashMap<String, Feature>() : new LinkedHashMap<String, Feature>(current);
+            touchedGroups.put(groupName, group);
+        }
+        return group;
+    }
+
+    /**
+     * Save a single feature.
+     * 
+     * @param uid
+     *            feature identifier
      * @param fp
-     *            Target feature to update
+     *            feature to save, null to delete
+     */
+    private void applyChange(String uid, Feature fp) {
+        Map<String, Feature> changes = new HashMap<String, Feature>();
+        changes.put(uid, fp);
+        applyChanges(changes);
+    }
+
+    /**
+     * Copy of a feature to be modified before being published, strategy and custom properties are shared
+     * as they are not modified by the store.
+     * 
+     * @param feature
+     *            published feature
+     * @return
+     *            copy of the feature
+     */
+    private Feature copyOf(Feature feature) {
+        Feature copy = new Feature(feature.getUid(), feature.isEnable(), feature.getDescription(), feature.getGroup(),
+                feature.getPermissions(), feature.getFlippingStrategy());
+        copy.setCustomProperties(feature.getCustomProperties());
+        return copy;
+    }
+
+    /**
+     * Empty the store. Must be called with 'writeLock' held.
      */
-    private void updateFeature(Feature fp) {
-        featuresMap.put(fp.getUid(), fp);
-        buildGroupsFromFeatures();
+    private void clearAll() {
+        featuresMap.clear();
+        featureGroups.clear();
+        indexedGroups.clear();
+        featuresSnapshot = Collections.emptyMap();
     }
 
     /** {@inheritDoc} */    
     public void create(Feature fp) {
         assertFeatureNotNull(fp);
-        assertFeatureNotExist(fp.getUid());
-        updateFeature(fp);
+        assertHasLength(fp.getUid());
+        synchronized (writeLock) {
+            if (featuresMap.containsKey(fp.getUid())) {
+                throw new FeatureAlreadyExistException(fp.getUid());
+            }
+            applyChange(fp.getUid(), fp);
+            logCreate(fp.getUid());
+        }
     }
 
     /** {@inheritDoc} */    
     public void update(Feature fp) {
         assertFeatureNotNull(fp);
-        Feature fpExist = read(fp.getUid());
-        // Checking new roles
-        Set<String> toBeAdded = new HashSet<String>();
-        toBeAdded.addAll(fp.getPermissions());
-        toBeAdded.removeAll(fpExist.getPermissions());
-        for (String addee : toBeAdded) {
-            // Will fail if invalid userrole
-            grantRoleOnFeature(fpExist.getUid(), addee);
+        synchronized (writeLock) {
+            Feature fpExist = read(fp.getUid());
+            // Checking new roles, will fail if invalid userrole
+            for (String addee : fp.getPermissions()) {
+                if (!fpExist.getPermissions().contains(addee)) {
+                    assertHasLength(addee);
+                }
+            }
+            applyChange(fp.getUid(), fp);
+            logUpdate(fp.getUid());
         }
-        updateFeature(fp);
     }
 
     /** {@inheritDoc} */
     public void delete(String uid) {
-        assertFeatureExist(uid);
-        featuresMap.remove(uid);
-        buildGroupsFromFeatures();
+        assertHasLength(uid);
+        synchronized (writeLock) {
+            assertFeatureExist(uid);
+            applyChange(uid, null);
+            logDelete(uid);
+        }
     }
 
     /** {@inheritDoc} */
     public void grantRoleOnFeature(String uid, String roleName) {
-        assertFeatureExist(uid);
         assertHasLength(roleName);
-        featuresMap.get(uid).getPermissions().add(roleName);
+        synchronized (writeLock) {
+            Feature feature = copyOf(read(uid));
+            feature.getPermissions().add(roleName);
+            applyChange(uid, feature);
+            logUpdate(uid);
+        }
     }
 
     /** {@inheritDoc} */
     public void removeRoleFromFeature(String uid, String roleName) {
-        assertFeatureExist(uid);
         assertHasLength(roleName);
-        featuresMap.get(uid).getPermissions().remove(roleName);
+        synchronized (writeLock) {
+            Feature feature = copyOf(read(uid));
+            feature.getPermissions().remove(roleName);
+            applyChange(uid, feature);
+            logUpdate(uid);
+        }
     }
 
     /** {@inheritDoc} */
@@ -183,22 +315,63 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
 
     /** {@inheritDoc} */
     public void enable(String uid) {
-        assertFeatureExist(uid);
-        featuresMap.get(uid).enable();
+        setEnable(uid, true);
     }
 
     /** {@inheritDoc} */    
     public void disable(String uid) {
-        assertFeatureExist(uid);
-        featuresMap.get(uid).disable();
+        setEnable(uid, false);
+    }
+
+    /**
+     * Publish a copy of the feature with the new status.
+     * 
+     * @param uid
+     *            feature identifier
+     * @param enable
+     *            new status
+     */
+    private void setEnable(String uid, boolean enable) {
+        synchronized (writeLock) {
+            Feature feature = copyOf(read(uid));
+            feature.setEnable(enable);
+            applyChange(uid, feature);
+            logUpdate(uid);
+        }
     }
 
     /** {@inheritDoc} */
     public Feature read(String uid) {
-        assertFeatureExist(uid);
+        assertHasLength(uid);
+        Feature feature = featuresMap.get(uid);
+        if (feature == null) {
+            throw new FeatureNotFoundException(uid);
+        }
+        return feature;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        assertHasLength(uid);
         return featuresMap.get(uid);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        Map<String, Feature> features = new LinkedHashMap<String, Feature>();
+        for (String uid : featureUids) {
+            assertHasLength(uid);
+            Feature feature = featuresMap.get(uid);
+            if (feature != null) {
+                features.put(uid, feature);
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     public boolean existGroup(String groupName) {
         assertHasLength(groupName);
@@ -207,68 +380,111 @@ public class InMemoryFeatureStore extends AbstractFeatureStore {
 
     /** {@inheritDoc} */
     public void enableGroup(String groupName) {
-        assertGroupExist(groupName);
-        for (String feat : featureGroups.get(groupName)) {
-            this.enable(feat);
-        }
+        setGroupEnable(groupName, true);
     }
 
     /** {@inheritDoc} */
     public void disableGroup(String groupName) {
-        assertGroupExist(groupName);
-        for (String feat : featureGroups.get(groupName)) {
-            this.disable(feat);
+        setGroupEnable(groupName, false);
+    }
+
+    /**
+     * Publish a copy of each feature of the group with the new status, in a single snapshot.
+     * 
+     * @param groupName
+     *            target group
+     * @param enable
+     *            new status
+     */
+    private void setGroupEnable(String groupName, boolean enable) {
+        synchronized (writeLock) {
+            Map<String, Feature> changes = new LinkedHashMap<String, Feature>();
+            for (Feature feat : readGroup(groupName).values()) {
+                Feature copy = copyOf(feat);
+                copy.setEnable(enable);
+                changes.put(copy.getUid(), copy);
+            }
+            applyChanges(changes);
+            logUpdate(changes.keySet());
         }
     }
 
     /** {@inheritDoc} */
     public Map<String, Feature> readGroup(String groupName) {
-        assertGroupExist(groupName);
-        // Retrieve feature per feature (in-memory, no overhead)
-        Map<String, Feature> features = new HashMap<String, Feature>();
-        for (String feat : featureGroups.get(groupName)) {
-            features.put(feat, this.read(feat));
+        assertHasLength(groupName);
+        Map<String, Feature> group = featureGroups.get(groupName);
+        if (group == null) {
+            throw new GroupNotFoundException(groupName);
         }
-        return features;
+        return group;
     }
 
     /** {@inheritDoc} */
     public Set<String> readAllGroups() {
-        Set<String> groups = new HashSet<String>();
-        groups.addAll(featureGroups.keySet());
-        groups.remove(null);
-        groups.remove("");
-        return groups;
+        return new HashSet<String>(featureGroups.keySet());
     }
 
     /** {@inheritDoc} */
     public void addToGroup(String uid, String groupName) {
         assertHasLength(uid);
-        assertHasLength(groupName);        
-        Feature feat = read(uid);
-        feat.setGroup(groupName);
-        update(feat);
+        assertHasLength(groupName);
+        synchronized (writeLock) {
+            Feature feat = copyOf(read(uid));
+            feat.setGroup(groupName);
+            applyChange(uid, feat);
+            logUpdate(uid);
+        }
     }
 
     /** {@inheritDoc} */
     public void removeFromGroup(String uid, String groupName) {
-        assertFeatureExist(uid);
-        assertGroupExist(groupName);
-        Feature feat = read(uid);
-        feat.setGroup("");
-        update(feat);
+        assertHasLength(groupName);
+        synchronized (writeLock) {
+            assertGroupExist(groupName);
+            Feature feat = copyOf(read(uid));
+            feat.setGroup("");
+            applyChange(uid, feat);
+            logUpdate(uid);
+        }
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public void importFeatures(Collection<Feature> features) {
+        if (features != null) {
+            // Single snapshot for the whole import
+            Map<String, Feature> changes = new LinkedHashMap<String, Feature>();
+            for (Feature feature : features) {
+                assertFeatureNotNull(feature);
+                assertHasLength(feature.getUid());
+                changes.put(feature.getUid(), feature);
+            }
+            synchronized (writeLock) {
+                Set<String> existing = new HashSet<String>(changes.keySet());
+                existing.retainAll(featuresMap.keySet());
+                Set<String> created = new HashSet<String>(changes.keySet());
+                created.removeAll(existing);
+                applyChanges(changes);
+                logUpdate(existing);
+                logCreate(created);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void clear() {
-       featuresMap.clear();
+        synchronized (writeLock) {
+            Set<String> previous = featuresSnapshot.keySet();
+            clearAll();
+            logDelete(previous);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
-        return featuresMap;
+        return featuresSnapshot;
     }
 
     /** {@inheritDoc} */
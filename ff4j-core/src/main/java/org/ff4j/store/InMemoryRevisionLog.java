@@ -0,0 +1,159 @@
+package org.ff4j.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Revision log kept in memory for stores living in a single JVM.
+ * 
+ * Revisions start from the creation time of the log (in ms) and are incremented by each change: a
+ * client holding a revision issued before a restart is older than the log and gets a snapshot.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryRevisionLog implements RevisionLog, Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = -3290871467282950155L;
+
+    /** First revision of the log. */
+    private final long origin;
+
+    /** Current revision. */
+    private long revision;
+
+    /** Last change for each item. */
+    private final Map < String, Change > changes = new HashMap< String, Change >();
+
+    /** Items by revision of their last change. */
+    private final NavigableMap < Long, Collection < String > > revisions = new TreeMap< Long, Collection < String > >();
+
+    /**
+     * Last change of an item.
+     */
+    private static final class Change implements Serializable {
+
+        /** serial. */
+        private static final long serialVersionUID = 7329125045317395361L;
+
+        /** revision of the change. */
+        private final long revision;
+
+        /** revision where the item has been created. */
+        private final long createdRevision;
+
+        /** if the item has been deleted. */
+        private final boolean deleted;
+
+        /** Constructor with all attributes. */
+        private Change(long revision, long createdRevision, boolean deleted) {
+            this.revision        = revision;
+            this.createdRevision = createdRevision;
+            this.deleted         = deleted;
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    public InMemoryRevisionLog() {
+        this.origin   = System.currentTimeMillis();
+        this.revision = origin;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logCreate(Collection<String> uids) {
+        log(uids, true, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logUpdate(Collection<String> uids) {
+        log(uids, false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logDelete(Collection<String> uids) {
+        log(uids, false, true);
+    }
+
+    /**
+     * Record last change of items with a new revision.
+     */
+    private synchronized void log(Collection<String> uids, boolean create, boolean delete) {
+        if (uids == null || uids.isEmpty()) {
+            return;
+        }
+        revision++;
+        Collection < String > logged = new HashSet<String>(uids);
+        for (String uid : logged) {
+            Change previous = changes.get(uid);
+            if (previous != null) {
+                // Only the last change of each item is kept
+                Collection < String > previousUids = revisions.get(previous.revision);
+                previousUids.remove(uid);
+                if (previousUids.isEmpty()) {
+                    revisions.remove(previous.revision);
+                }
+            }
+            long createdRevision = 0;
+            if (create) {
+                createdRevision = revision;
+            } else if (previous != null) {
+                createdRevision = previous.createdRevision;
+            }
+            changes.put(uid, new Change(revision, createdRevision, delete));
+        }
+        revisions.put(revision, logged);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized < T > StoreChanges<T> changesSince(long since) {
+        if (since < origin || since > revision) {
+            return new StoreChanges<T>(since, revision, true);
+        }
+        StoreChanges<T> result = new StoreChanges<T>(since, revision, false);
+        for (Map.Entry < Long, Collection < String > > entry : revisions.tailMap(since, false).entrySet()) {
+            for (String uid : entry.getValue()) {
+                Change change = changes.get(uid);
+                result.record(uid, change.createdRevision, change.deleted);
+            }
+        }
+        return result;
+    }
+
+}
@@ -1,7 +1,9 @@
 package org.ff4j.store;
 
 import static org.ff4j.store.JdbcStoreConstants.COL_FEAT_GROUPNAME;
-import static org.ff4j.store.JdbcStoreConstants.COL_ROLE_FEATID;
+import static org.ff4j.store.JdbcStoreConstants.COL_FEAT_UID;
+import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_DESCRIPTION_ALIAS;
+import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_ID;
 import static org.ff4j.store.JdbcStoreConstants.COL_ROLE_ROLENAME;
 import static org.ff4j.utils.JdbcUtils.buildStatement;
 
@@ -37,9 +39,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -49,6 +55,8 @@ import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureAccessException;
 import org.ff4j.exception.FeatureAlreadyExistException;
+import org.ff4j.exception.FeatureNotFoundException;
+import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.JdbcPropertyMapper;
 import org.ff4j.utils.JdbcUtils;
@@ -70,6 +78,9 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public static final String CANNOT_UPDATE_FEATURES_DATABASE_SQL_ERROR =
     		"Cannot update features database, SQL ERROR";
 
+    /** Maximum number of identifiers bound in a single IN clause. */
+    public static final int MAX_IN_CLAUSE_SIZE = 500;
+
     /** Access to storage. */
     private DataSource dataSource;
 
@@ -121,6 +132,9 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
         if (!isTableExist(ds, qb.getTableNameRoles(), dbSchema)) {
             executeUpdate(ds, qb.sqlCreateTableRoles());
         }
+        // Track changes
+        new JdbcRevisionLog(ds, qb, JdbcRevisionLog.STORE_FEATURES).createSchema();
+        setRevisionLog(null);
     }
 
     /** {@inheritDoc} */
@@ -128,6 +142,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public void enable(String uid) {
     	assertFeatureExist(uid);
         update(getQueryBuilder().enableFeature(), uid);
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -135,6 +150,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public void disable(String uid) {
     	assertFeatureExist(uid);
         update(getQueryBuilder().disableFeature(), uid);
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -160,52 +176,15 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     }
 
     /** {@inheritDoc} */
-   @Override
-   public Feature read(String uid) {
-    	assertFeatureExist(uid);
-        Connection          sqlConn = null;
-        PreparedStatement   ps = null;
-        ResultSet           rs = null;
-        try {
-            sqlConn = getDataSource().getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeature());
-            ps.setString(1, uid);
-            rs = ps.executeQuery();
-            // Existence is tested before
-            rs.next();
-            Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Enrich to get roles 2nd request
-            ps = sqlConn.prepareStatement(getQueryBuilder().getRoles());
-            ps.setString(1, uid);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                f.getPermissions().add(rs.getString("ROLE_NAME"));
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Enrich with properties 3d request to get custom properties by uid
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-            ps.setString(1, uid);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-               f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
-            }
-            return f;
-        } catch (SQLException sqlEX) {
-            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
-        } finally {
-            closeResultSet(rs);
-            closeStatement(ps);
-            closeConnection(sqlConn);
+    @Override
+    public Feature read(String uid) {
+        assertHasLength(uid);
+        // Feature, roles and custom properties in a single query
+        Map<String, Feature> features = loadFeatures(getQueryBuilder().getFeatureWithRolesAndProperties(), uid);
+        if (features.isEmpty()) {
+            throw new FeatureNotFoundException(uid);
         }
+        return features.get(uid);
     }
 
     /** {@inheritDoc} */
@@ -266,6 +245,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
 
             // Commit
             sqlConn.commit();
+            logCreate(fp.getUid());
 
         } catch (SQLException sqlEX) {
             rollback(sqlConn);
@@ -323,6 +303,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
 
             // Commit
             sqlConn.commit();
+            logDelete(uid);
 
         } catch (SQLException sqlEX) {
             rollback(sqlConn);
@@ -339,6 +320,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     	assertFeatureExist(uid);
         assertHasLength(roleName);
         update(getQueryBuilder().addRoleToFeature(), uid, roleName);
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -347,58 +329,78 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     	assertFeatureExist(uid);
         assertHasLength(roleName);
         update(getQueryBuilder().deleteFeatureRole(), uid, roleName);
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
     @Override
-    public Map<String, Feature> readAll() {
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        Set<String> uids = new LinkedHashSet<String>(featureUids);
+        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
+        if (uids.isEmpty()) {
+            return mapFP;
+        }
+        for (String uid : uids) {
+            assertHasLength(uid);
+        }
+        // Bounded statements, one per chunk of identifiers
+        Map<String, Feature> found = new HashMap<String, Feature>();
+        List<String> uidList = new ArrayList<String>(uids);
+        for (int from = 0; from < uidList.size(); from += MAX_IN_CLAUSE_SIZE) {
+            List<String> chunk = uidList.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, uidList.size()));
+            found.putAll(loadFeatures(getQueryBuilder().getFeaturesWithRolesAndProperties(chunk.size()),
+                    chunk.toArray(new String[chunk.size()])));
+        }
+        // Keep order of the request
+        for (String uid : uids) {
+            if (found.containsKey(uid)) {
+                mapFP.put(uid, found.get(uid));
+            }
+        }
+        return mapFP;
+    }
+    
+    /**
+     * Load features with their roles and custom properties with a single joined query.
+     *
+     * @param query
+     *      query joining features, roles and custom properties
+     * @param params
+     *      parameters of the query
+     * @return
+     *      features in the order of the result set
+     */
+    private LinkedHashMap<String, Feature> loadFeatures(String query, String... params) {
         LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
         Connection sqlConn = null;
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
-
-        	// Returns features
-            sqlConn = dataSource.getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllFeatures());
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-                mapFP.put(f.getUid(), f);
+            sqlConn = getDataSource().getConnection();
+            ps = sqlConn.prepareStatement(query);
+            for (int i = 0; i < params.length; i++) {
+                ps.setString(i + 1, params[i]);
             }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Returns Roles
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllRoles());
             rs = ps.executeQuery();
+            // A feature spans (roles x properties) lines
             while (rs.next()) {
-                String uid = rs.getString(COL_ROLE_FEATID);
-                mapFP.get(uid).getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Read custom properties for each feature
-            for (Feature f : mapFP.values()) {
-                ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-                ps.setString(1, f.getUid());
-                rs = ps.executeQuery();
-                while (rs.next()) {
-                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
+                String uid = rs.getString(COL_FEAT_UID);
+                Feature f = mapFP.get(uid);
+                if (f == null) {
+                    f = JDBC_FEATURE_MAPPER.mapFeature(rs);
+                    mapFP.put(uid, f);
+                }
+                String role = rs.getString(COL_ROLE_ROLENAME);
+                if (role != null) {
+                    f.getPermissions().add(role);
+                }
+                String propertyName = rs.getString(COL_PROPERTY_ID);
+                if (propertyName != null && !f.getCustomProperties().containsKey(propertyName)) {
+                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs, COL_PROPERTY_DESCRIPTION_ALIAS));
                 }
-                closeResultSet(rs);
-                rs = null;
-                closeStatement(ps);
-                ps = null;
             }
-
             return mapFP;
-
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
@@ -408,6 +410,12 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readAll() {
+        return loadFeatures(getQueryBuilder().getAllFeaturesWithRolesAndProperties());
+    }
+
     /** {@inheritDoc} */
     @Override
     public Set<String> readAllGroups() {
@@ -466,7 +474,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
             toBeDeleted.addAll(fpExist.getPermissions());
             toBeDeleted.removeAll(fp.getPermissions());
             for (String roleToBeDelete : toBeDeleted) {
-                removeRoleFromFeature(fpExist.getUid(), roleToBeDelete);
+                update(getQueryBuilder().deleteFeatureRole(), fpExist.getUid(), roleToBeDelete);
             }
 
             // To be created : in second but not in first
@@ -474,7 +482,8 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
             toBeAdded.addAll(fp.getPermissions());
             toBeAdded.removeAll(fpExist.getPermissions());
             for (String addee : toBeAdded) {
-                grantRoleOnFeature(fpExist.getUid(), addee);
+                assertHasLength(addee);
+                update(getQueryBuilder().addRoleToFeature(), fpExist.getUid(), addee);
             }
 
             // REMOVE EXISTING CUSTOM PROPERTIES
@@ -490,6 +499,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
                 closeStatement(ps);
                 ps = null;
             }
+            logUpdate(fp.getUid());
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
         } finally {
@@ -503,6 +513,8 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     public void clear() {
         Connection sqlConn = null;
         PreparedStatement ps = null;
+        // Features to be logged as deleted
+        Set<String> uids = isTrackingChanges() ? readAll().keySet() : null;
         try {
 
             sqlConn = dataSource.getConnection();
@@ -521,6 +533,9 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
             ps.executeUpdate();
             closeStatement(ps);
             ps = null;
+            if (uids != null) {
+                logDelete(uids);
+            }
 
         } catch (SQLException sqlEX) {
             throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
@@ -562,6 +577,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
 
             // End TX
             sqlConn.commit();
+            logUpdate(uid);
 
         } catch (SQLException sqlEX) {
             rollback(sqlConn);
@@ -631,77 +647,33 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     @Override
     public void enableGroup(String groupName) {
     	assertGroupExist(groupName);
+        Set<String> uids = isTrackingChanges() ? readGroup(groupName).keySet() : null;
         update(getQueryBuilder().enableGroup(), groupName);
+        if (uids != null) {
+            logUpdate(uids);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void disableGroup(String groupName) {
     	assertGroupExist(groupName);
+        Set<String> uids = isTrackingChanges() ? readGroup(groupName).keySet() : null;
         update(getQueryBuilder().disableGroup(), groupName);
+        if (uids != null) {
+            logUpdate(uids);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readGroup(String groupName) {
-    	assertGroupExist(groupName);
-        LinkedHashMap<String, Feature> mapFP = new LinkedHashMap<String, Feature>();
-        Connection sqlConn = null;
-        PreparedStatement ps = null;
-        ResultSet rs = null;
-        try {
-            // Returns features
-            sqlConn = dataSource.getConnection();
-            ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureOfGroup());
-            ps.setString(1, groupName);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                Feature f = JDBC_FEATURE_MAPPER.mapFeature(rs);
-                mapFP.put(f.getUid(), f);
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Returns Roles
-            ps = sqlConn.prepareStatement(getQueryBuilder().getAllRoles());
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String uid = rs.getString(COL_ROLE_FEATID);
-                // only feature in the group must be processed
-                if (mapFP.containsKey(uid)) {
-                    mapFP.get(uid).getPermissions().add(rs.getString(COL_ROLE_ROLENAME));
-                }
-            }
-            closeResultSet(rs);
-            rs = null;
-            closeStatement(ps);
-            ps = null;
-
-            // Read custom properties for each feature
-            for (Feature f : mapFP.values()) {
-                ps = sqlConn.prepareStatement(getQueryBuilder().getFeatureProperties());
-                ps.setString(1, f.getUid());
-                rs = ps.executeQuery();
-                while (rs.next()) {
-                    f.addProperty(JDBC_PROPERTY_MAPPER.map(rs));
-                }
-                closeResultSet(rs);
-                rs = null;
-                closeStatement(ps);
-                ps = null;
-            }
-
-            return mapFP;
-
-        } catch (SQLException sqlEX) {
-            throw new FeatureAccessException(CANNOT_CHECK_FEATURE_EXISTENCE_ERROR_RELATED_TO_DATABASE, sqlEX);
-        } finally {
-            closeResultSet(rs);
-            closeStatement(ps);
-            closeConnection(sqlConn);
+        Util.assertParamHasLength(groupName, "groupName");
+        Map<String, Feature> mapFP = loadFeatures(getQueryBuilder().getFeatureOfGroupWithRolesAndProperties(), groupName);
+        if (mapFP.isEmpty()) {
+            throw new GroupNotFoundException(groupName);
         }
+        return mapFP;
     }
 
     /** {@inheritDoc} */
@@ -710,6 +682,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
     	assertFeatureExist(uid);
         assertHasLength(groupName);
         update(getQueryBuilder().addFeatureToGroup(), groupName, uid);
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -722,6 +695,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
             throw new IllegalArgumentException("'" + uid + "' is not in group '" + groupName + "'");
         }
         update(getQueryBuilder().addFeatureToGroup(), "", uid);
+        logUpdate(uid);
     }
 
     /**
@@ -770,6 +744,32 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
      */
     public void setDataSource(DataSource dataSource) {
         this.dataSource = dataSource;
+        setRevisionLog(null);
+    }
+    
+    /**
+     * Avoid reading features to be logged when changes are not tracked.
+     *
+     * @return
+     *      if changes are logged
+     */
+    private boolean isTrackingChanges() {
+        RevisionLog log = getRevisionLog();
+        return log != null && (!(log instanceof JdbcRevisionLog) || ((JdbcRevisionLog) log).isEnabled());
+    }
+    
+    /**
+     * Changes are tracked in database when tables REVISIONS and CHANGES exist.
+     *
+     * @return
+     *      revision log for this store
+     */
+    @Override
+    public RevisionLog getRevisionLog() {
+        if (super.getRevisionLog() == null && dataSource != null) {
+            setRevisionLog(new JdbcRevisionLog(dataSource, getQueryBuilder(), JdbcRevisionLog.STORE_FEATURES));
+        }
+        return super.getRevisionLog();
     }
 
 	/**
@@ -787,6 +787,7 @@ public class JdbcFeatureStore extends AbstractFeatureStore {
 	 */
 	public void setQueryBuilder(JdbcQueryBuilder queryBuilder) {
 		this.queryBuilder = queryBuilder;
+		setRevisionLog(null);
 	}
 
 }
@@ -17,6 +17,7 @@ import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TIME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_TYPE;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_UUID;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
+import static org.ff4j.store.JdbcStoreConstants.COL_PROPERTY_DESCRIPTION_ALIAS;
 
 import java.util.Collection;
 
@@ -154,6 +155,26 @@ public class JdbcQueryBuilder {
         return getTableName("PROPERTIES");
     }
     
+    /**
+     * Table name for revisions of stores.
+     *
+     * @return
+     *     Table name for revisions.
+     */
+    public String getTableNameRevisions() {
+        return getTableName("REVISIONS");
+    }
+    
+    /**
+     * Table name for last change of each feature or property.
+     *
+     * @return
+     *     Table name for changes.
+     */
+    public String getTableNameChanges() {
+        return getTableName("CHANGES");
+    }
+    
     /**
      * SQL to create Tables (won't work for all DB).
      *
@@ -255,6 +276,41 @@ public class JdbcQueryBuilder {
          return sb.toString();
     }
     
+    /**
+     * SQL to create Tables (won't work for all DB).
+     *
+     * @return
+     *      sql to create revisions table
+     */
+    public String sqlCreateTableRevisions() {
+        StringBuilder sb = new StringBuilder("CREATE TABLE ");
+        sb.append(getSchemaPattern());
+        sb.append(getTableNameRevisions());
+        sb.append("( STORE_TYPE VARCHAR(20) NOT NULL,"
+                 + " REVISION   BIGINT      NOT NULL,"
+                 + " PRIMARY KEY(STORE_TYPE))");
+        return sb.toString();
+    }
+    
+    /**
+     * SQL to create Tables (won't work for all DB).
+     *
+     * @return
+     *      sql to create changes table
+     */
+    public String sqlCreateTableChanges() {
+        StringBuilder sb = new StringBuilder("CREATE TABLE ");
+        sb.append(getSchemaPattern());
+        sb.append(getTableNameChanges());
+        sb.append("( STORE_TYPE       VARCHAR(20)  NOT NULL,"
+                 + " ITEM_UID         VARCHAR(100) NOT NULL,"
+                 + " REVISION         BIGINT       NOT NULL,"
+                 + " CREATED_REVISION BIGINT       NOT NULL,"
+                 + " DELETED          INTEGER      NOT NULL,"
+                 + " PRIMARY KEY(STORE_TYPE, ITEM_UID))");
+        return sb.toString();
+    }
+    
     
 	public String getAllFeatures() {
 		StringBuilder sb = new StringBuilder();
@@ -290,6 +346,43 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+	public String getFeatureWithRolesAndProperties() {
+		return selectFeaturesWithRolesAndProperties() + " WHERE F.FEAT_UID = ?";
+	}
+	
+	public String getAllFeaturesWithRolesAndProperties() {
+		return selectFeaturesWithRolesAndProperties();
+	}
+	
+	public String getFeatureOfGroupWithRolesAndProperties() {
+		return selectFeaturesWithRolesAndProperties() + " WHERE F.GROUPNAME = ?";
+	}
+	
+	public String getFeaturesWithRolesAndProperties(int count) {
+		return selectFeaturesWithRolesAndProperties() + " WHERE F.FEAT_UID IN " + inClause(count);
+	}
+	
+	/**
+	 * Features joined with their roles and custom properties, a feature spans several lines.
+	 *
+	 * @return the select part of the query
+	 */
+	private String selectFeaturesWithRolesAndProperties() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT F.FEAT_UID,F.ENABLE,F.DESCRIPTION,F.STRATEGY,F.EXPRESSION,F.GROUPNAME,R.ROLE_NAME,");
+		sb.append("P.PROPERTY_ID,P.CLAZZ,P.CURRENTVALUE,P.DESCRIPTION AS " + COL_PROPERTY_DESCRIPTION_ALIAS + ",P.FIXEDVALUES FROM ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameFeatures());
+		sb.append(" F LEFT OUTER JOIN ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameRoles());
+		sb.append(" R ON F.FEAT_UID = R.FEAT_UID LEFT OUTER JOIN ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameCustomProperties());
+		sb.append(" P ON F.FEAT_UID = P.FEAT_UID");
+		return sb.toString();
+	}
+	
 	public String existFeature() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SELECT COUNT(FEAT_UID) FROM ");
@@ -573,6 +666,71 @@ public class JdbcQueryBuilder {
 		return sb.toString();
 	}
 	
+    // ------- CHANGES -------------
+	
+	public String incrementRevision() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("UPDATE ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameRevisions());
+		sb.append(" SET REVISION = REVISION + 1 WHERE STORE_TYPE = ?");
+		return sb.toString();
+	}
+	
+	public String createRevision() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("INSERT INTO ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameRevisions());
+		sb.append("(STORE_TYPE, REVISION) VALUES(?, 1)");
+		return sb.toString();
+	}
+	
+	public String getRevision() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT REVISION FROM ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameRevisions());
+		sb.append(" WHERE STORE_TYPE = ?");
+		return sb.toString();
+	}
+	
+	public String updateChange() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("UPDATE ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameChanges());
+		sb.append(" SET REVISION = ?, DELETED = ? WHERE STORE_TYPE = ? AND ITEM_UID = ?");
+		return sb.toString();
+	}
+	
+	public String updateChangeCreated() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("UPDATE ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameChanges());
+		sb.append(" SET REVISION = ?, CREATED_REVISION = ?, DELETED = 0 WHERE STORE_TYPE = ? AND ITEM_UID = ?");
+		return sb.toString();
+	}
+	
+	public String createChange() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("INSERT INTO ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameChanges());
+		sb.append("(STORE_TYPE, ITEM_UID, REVISION, CREATED_REVISION, DELETED) VALUES(?, ?, ?, ?, ?)");
+		return sb.toString();
+	}
+	
+	public String getChangesSince() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SELECT ITEM_UID,CREATED_REVISION,DELETED FROM ");
+		sb.append(getSchemaPattern());
+		sb.append(getTableNameChanges());
+		sb.append(" WHERE STORE_TYPE = ? AND REVISION > ?");
+		return sb.toString();
+	}
+	
     // ------- AUDIT -------------
 	
 	public String getEventByUuidQuery() {
@@ -599,6 +757,7 @@ public class JdbcQueryBuilder {
         sb.append(getSchemaPattern());
         sb.append(getTableNameAudit());
         sb.append(buildWhereClause(eqd, true, false));
+        sb.append(" ORDER BY " + COL_EVENT_TIME + ", " + COL_EVENT_UUID);
         return sb.toString();
     }
 	
@@ -617,6 +776,33 @@ public class JdbcQueryBuilder {
         sb.append(getSchemaPattern());
         sb.append(getTableNameAudit());
         sb.append(buildWhereClause(eqd, false, true));
+        sb.append(" ORDER BY " + COL_EVENT_TIME + ", " + COL_EVENT_UUID);
+        return sb.toString();
+    }
+	
+    /**
+     * Page an ordered query at database level with SQL:2008 syntax 'OFFSET n ROWS FETCH NEXT m ROWS ONLY'
+     * (HSQLDB, H2, Derby, PostgreSQL, Oracle 12c, SQL Server 2012 and later). Override this method for
+     * databases with another syntax, like 'LIMIT m OFFSET n' for MySQL.
+     *
+     * @param sqlQuery
+     *      query with an ORDER BY clause
+     * @param offset
+     *      number of rows to skip
+     * @param limit
+     *      maximum number of rows, no limit if negative or zero
+     * @return
+     *      query returning only the expected page
+     */
+    public String getPagedQuery(String sqlQuery, long offset, int limit) {
+        if (offset <= 0 && limit <= 0) {
+            return sqlQuery;
+        }
+        StringBuilder sb = new StringBuilder(sqlQuery);
+        sb.append(" OFFSET " + Math.max(offset, 0) + " ROWS");
+        if (limit > 0) {
+            sb.append(" FETCH NEXT " + limit + " ROWS ONLY");
+        }
         return sb.toString();
     }
 	
@@ -767,4 +953,23 @@ public class JdbcQueryBuilder {
 		}
 	}
 	
+	/**
+	 * Placeholders for a SQL IN clause.
+	 *
+	 * @param count
+	 *         number of parameters
+	 * @return the clause as (?,?,...)
+	 */
+	private String inClause(int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("At least one parameter is expected in IN clause");
+		}
+		StringBuilder sb = new StringBuilder("(?");
+		for (int i = 1; i < count; i++) {
+			sb.append(",?");
+		}
+		sb.append(")");
+		return sb.toString();
+	}
+	
 }
@@ -0,0 +1,280 @@
+package org.ff4j.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.utils.JdbcUtils.closeConnection;
+import static org.ff4j.utils.JdbcUtils.closeResultSet;
+import static org.ff4j.utils.JdbcUtils.closeStatement;
+import static org.ff4j.utils.JdbcUtils.executeUpdate;
+import static org.ff4j.utils.JdbcUtils.isTableExist;
+import static org.ff4j.utils.JdbcUtils.rollback;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+
+import javax.sql.DataSource;
+
+import org.ff4j.exception.FeatureAccessException;
+import org.ff4j.utils.Util;
+
+/**
+ * Revision log shared by all nodes through the database.
+ * 
+ * The revision of each store is a counter in table REVISIONS, incremented in the same transaction as the
+ * last change of the items in table CHANGES. Writers are serialized by the counter row so revisions
+ * follow the commit order. If the tables do not exist the store does not track its changes.
+ * 
+ * Changes are logged in their own transaction, once the store has committed the modification. If the
+ * process stops or the database fails between both commits, the modification is kept but never logged :
+ * clients reading deltas will not see it until they request a snapshot (revision unknown or older than the
+ * log). In this case the store raises an error even if the modification has been applied.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class JdbcRevisionLog implements RevisionLog {
+
+    /** Store type for features. */
+    public static final String STORE_FEATURES = "FEATURES";
+
+    /** Store type for properties. */
+    public static final String STORE_PROPERTIES = "PROPERTIES";
+
+    /** Access to database. */
+    private final DataSource dataSource;
+
+    /** Query builder. */
+    private final JdbcQueryBuilder queryBuilder;
+
+    /** Store type. */
+    private final String storeType;
+
+    /** Tables are checked once, null means not checked yet. */
+    private volatile Boolean enabled;
+
+    /**
+     * Constructor with all attributes.
+     *
+     * @param dataSource
+     *      access to database
+     * @param queryBuilder
+     *      query builder
+     * @param storeType
+     *      type of store (features or properties)
+     */
+    public JdbcRevisionLog(DataSource dataSource, JdbcQueryBuilder queryBuilder, String storeType) {
+        Util.assertParamHasNotNull(dataSource, "dataSource");
+        Util.assertParamHasNotNull(queryBuilder, "queryBuilder");
+        Util.assertParamHasLength(storeType, "storeType");
+        this.dataSource   = dataSource;
+        this.queryBuilder = queryBuilder;
+        this.storeType    = storeType;
+    }
+
+    /**
+     * Create tables REVISIONS and CHANGES if they do not exist.
+     */
+    public void createSchema() {
+        String dbSchema = queryBuilder.getDbSchema();
+        if (!isTableExist(dataSource, queryBuilder.getTableNameRevisions(), dbSchema)) {
+            executeUpdate(dataSource, queryBuilder.sqlCreateTableRevisions());
+        }
+        if (!isTableExist(dataSource, queryBuilder.getTableNameChanges(), dbSchema)) {
+            executeUpdate(dataSource, queryBuilder.sqlCreateTableChanges());
+        }
+        enabled = Boolean.TRUE;
+    }
+
+    /**
+     * Tell if tables exist and changes are tracked.
+     *
+     * @return
+     *      if changes are tracked
+     */
+    public boolean isEnabled() {
+        if (enabled == null) {
+            String dbSchema = queryBuilder.getDbSchema();
+            try {
+                enabled = isTableExist(dataSource, queryBuilder.getTableNameRevisions(), dbSchema) && 
+                          isTableExist(dataSource, queryBuilder.getTableNameChanges(), dbSchema);
+            } catch (FeatureAccessException fae) {
+                // Database not reachable, the store operation will raise its own error, check again later
+                return false;
+            }
+        }
+        return enabled;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getRevision() {
+        if (!isEnabled()) {
+            return StoreChanges.NO_REVISION;
+        }
+        Connection sqlConn = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            return readRevision(sqlConn);
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException("Cannot read revision of store " + storeType, sqlEX);
+        } finally {
+            closeConnection(sqlConn);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logCreate(Collection<String> uids) {
+        log(uids, true, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logUpdate(Collection<String> uids) {
+        log(uids, false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logDelete(Collection<String> uids) {
+        log(uids, false, true);
+    }
+
+    /**
+     * Increment revision and record last change of items in a single transaction.
+     */
+    private void log(Collection<String> uids, boolean create, boolean delete) {
+        if (uids == null || uids.isEmpty() || !isEnabled()) {
+            return;
+        }
+        Connection sqlConn = null;
+        PreparedStatement ps = null;
+        Boolean previousAutoCommit = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            previousAutoCommit = sqlConn.getAutoCommit();
+            sqlConn.setAutoCommit(false);
+
+            // Lock counter row until commit
+            ps = sqlConn.prepareStatement(queryBuilder.incrementRevision());
+            ps.setString(1, storeType);
+            if (ps.executeUpdate() == 0) {
+                closeStatement(ps);
+                ps = sqlConn.prepareStatement(queryBuilder.createRevision());
+                ps.setString(1, storeType);
+                ps.executeUpdate();
+            }
+            closeStatement(ps);
+            ps = null;
+            long revision = readRevision(sqlConn);
+
+            for (String uid : uids) {
+                if (create) {
+                    ps = sqlConn.prepareStatement(queryBuilder.updateChangeCreated());
+                    ps.setLong(1, revision);
+                    ps.setLong(2, revision);
+                    ps.setString(3, storeType);
+                    ps.setString(4, uid);
+                } else {
+                    ps = sqlConn.prepareStatement(queryBuilder.updateChange());
+                    ps.setLong(1, revision);
+                    ps.setInt(2, delete ? 1 : 0);
+                    ps.setString(3, storeType);
+                    ps.setString(4, uid);
+                }
+                int updated = ps.executeUpdate();
+                closeStatement(ps);
+                ps = null;
+                if (updated == 0) {
+                    ps = sqlConn.prepareStatement(queryBuilder.createChange());
+                    ps.setString(1, storeType);
+                    ps.setString(2, uid);
+                    ps.setLong(3, revision);
+                    ps.setLong(4, create ? revision : 0);
+                    ps.setInt(5, delete ? 1 : 0);
+                    ps.executeUpdate();
+                    closeStatement(ps);
+                    ps = null;
+                }
+            }
+            sqlConn.commit();
+        } catch (SQLException sqlEX) {
+            rollback(sqlConn);
+            throw new FeatureAccessException("Cannot log changes of store " + storeType, sqlEX);
+        } finally {
+            closeStatement(ps);
+            closeConnection(sqlConn, previousAutoCommit);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> StoreChanges<T> changesSince(long since) {
+        if (!isEnabled()) {
+            return new StoreChanges<T>(since, StoreChanges.NO_REVISION, true);
+        }
+        Connection sqlConn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            sqlConn = dataSource.getConnection();
+            long revision = readRevision(sqlConn);
+            if (since < 0 || since > revision) {
+                return new StoreChanges<T>(since, revision, true);
+            }
+            StoreChanges<T> changes = new StoreChanges<T>(since, revision, false);
+            ps = sqlConn.prepareStatement(queryBuilder.getChangesSince());
+            ps.setString(1, storeType);
+            ps.setLong(2, since);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                changes.record(rs.getString("ITEM_UID"), rs.getLong("CREATED_REVISION"), rs.getInt("DELETED") == 1);
+            }
+            return changes;
+        } catch (SQLException sqlEX) {
+            throw new FeatureAccessException("Cannot read changes of store " + storeType, sqlEX);
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+            closeConnection(sqlConn);
+        }
+    }
+
+    /**
+     * Read current revision, 0 if nothing has been logged yet.
+     */
+    private long readRevision(Connection sqlConn) throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = sqlConn.prepareStatement(queryBuilder.getRevision());
+            ps.setString(1, storeType);
+            rs = ps.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        } finally {
+            closeResultSet(rs);
+            closeStatement(ps);
+        }
+    }
+
+}
@@ -250,6 +250,9 @@ public class JdbcStoreConstants {
     
     /** sql column name from table FF4J_PROPERTIES. */
     public static final String COL_PROPERTY_DESCRIPTION = "DESCRIPTION";
+    
+    /** alias of custom property description when joined with FF4J_FEATURES. */
+    public static final String COL_PROPERTY_DESCRIPTION_ALIAS = "PROPERTY_DESCRIPTION";
 
     private JdbcStoreConstants() {}
 }
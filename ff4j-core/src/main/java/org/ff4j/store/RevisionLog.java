@@ -0,0 +1,78 @@
+package org.ff4j.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+
+/**
+ * Keep track of the revision of a store and of the last change of each item, allowing
+ * clients to fetch only what changed since the revision they know.
+ *
+ * Stores log their changes once the modification has been performed.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface RevisionLog {
+
+    /**
+     * Current revision.
+     *
+     * @return
+     *      current revision
+     */
+    long getRevision();
+
+    /**
+     * Log creation of items.
+     *
+     * @param uids
+     *      created items
+     */
+    void logCreate(Collection < String > uids);
+
+    /**
+     * Log update of items.
+     *
+     * @param uids
+     *      updated items
+     */
+    void logUpdate(Collection < String > uids);
+
+    /**
+     * Log deletion of items.
+     *
+     * @param uids
+     *      deleted items
+     */
+    void logDelete(Collection < String > uids);
+
+    /**
+     * List items changed after target revision. Values are not populated, if the log cannot tell
+     * what changed since this revision a snapshot is returned.
+     *
+     * @param since
+     *      last revision known by caller
+     * @return
+     *      changes without values
+     */
+    < T > StoreChanges < T > changesSince(long since);
+
+}
@@ -0,0 +1,226 @@
+package org.ff4j.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Items created, updated and deleted in a store between two revisions.
+ * 
+ * When the store does not track its changes (or cannot tell what changed since the requested revision) 
+ * the result is a snapshot: all items are listed as updated and the caller must discard the items
+ * which are not part of it.
+ *
+ * @param <T>
+ *      type of items (features or properties)
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class StoreChanges < T > implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = 4129417063151850718L;
+
+    /** Revision of stores which do not track changes, also used by callers to request a snapshot. */
+    public static final long NO_REVISION = -1L;
+
+    /** Revision provided by the caller. */
+    private final long since;
+
+    /** Revision of the store when changes have been computed. */
+    private final long revision;
+
+    /** Content of the whole store. */
+    private final boolean snapshot;
+
+    /** Items created after 'since'. */
+    private final Map < String, T > created = new LinkedHashMap< String, T >();
+
+    /** Items updated after 'since' (all items for a snapshot). */
+    private final Map < String, T > updated = new LinkedHashMap< String, T >();
+
+    /** Items deleted after 'since'. */
+    private final Set < String > deleted = new LinkedHashSet< String >();
+
+    /**
+     * Constructor with all attributes.
+     *
+     * @param since
+     *      revision provided by the caller
+     * @param revision
+     *      current revision of the store
+     * @param snapshot
+     *      if the result will hold the whole store
+     */
+    public StoreChanges(long since, long revision, boolean snapshot) {
+        this.since    = since;
+        this.revision = revision;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Register last change of an item, values are provided later with {@link #fill(Map)}.
+     *
+     * @param uid
+     *      item identifier
+     * @param createdRevision
+     *      revision where the item has been created (0 if unknown)
+     * @param isDeleted
+     *      if last change is a deletion
+     */
+    public void record(String uid, long createdRevision, boolean isDeleted) {
+        if (snapshot) {
+            throw new IllegalStateException("Cannot record changes on a snapshot");
+        }
+        boolean createdSince = createdRevision > since;
+        if (isDeleted) {
+            // Even if created in the window, caller may hold it (e.g. the node which created it)
+            deleted.add(uid);
+        } else if (createdSince) {
+            created.put(uid, null);
+        } else {
+            updated.put(uid, null);
+        }
+    }
+
+    /**
+     * Identifiers of items to be read from the store (created or updated).
+     *
+     * @return
+     *      identifiers to read
+     */
+    public Set < String > getChangedUids() {
+        Set < String > uids = new HashSet< String >(created.keySet());
+        uids.addAll(updated.keySet());
+        return uids;
+    }
+
+    /**
+     * Populate values read from the store. For a snapshot, all values are considered as updated. Otherwise
+     * an item which is not found anymore has been deleted after its change has been recorded.
+     *
+     * @param values
+     *      items read from the store
+     * @return
+     *      current changes
+     */
+    public StoreChanges < T > fill(Map < String, ? extends T > values) {
+        if (snapshot) {
+            if (values != null) {
+                updated.putAll(values);
+            }
+            return this;
+        }
+        for (String uid : getChangedUids()) {
+            T value = (values == null) ? null : values.get(uid);
+            if (created.containsKey(uid)) {
+                if (value == null) {
+                    created.remove(uid);
+                } else {
+                    created.put(uid, value);
+                }
+            } else if (value == null) {
+                updated.remove(uid);
+                deleted.add(uid);
+            } else {
+                updated.put(uid, value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Tell if nothing changed.
+     *
+     * @return
+     *      if there is no change
+     */
+    public boolean isEmpty() {
+        return !snapshot && created.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+    }
+
+    /**
+     * Getter accessor for attribute 'since'.
+     *
+     * @return
+     *       current value of 'since'
+     */
+    public long getSince() {
+        return since;
+    }
+
+    /**
+     * Getter accessor for attribute 'revision'.
+     *
+     * @return
+     *       current value of 'revision'
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Getter accessor for attribute 'snapshot'.
+     *
+     * @return
+     *       current value of 'snapshot'
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Getter accessor for attribute 'created'.
+     *
+     * @return
+     *       current value of 'created'
+     */
+    public Map<String, T> getCreated() {
+        return Collections.unmodifiableMap(created);
+    }
+
+    /**
+     * Getter accessor for attribute 'updated'.
+     *
+     * @return
+     *       current value of 'updated'
+     */
+    public Map<String, T> getUpdated() {
+        return Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Getter accessor for attribute 'deleted'.
+     *
+     * @return
+     *       current value of 'deleted'
+     */
+    public Set<String> getDeleted() {
+        return Collections.unmodifiableSet(deleted);
+    }
+
+}
@@ -104,6 +104,16 @@ public abstract class KeyValueFeatureStore < VALUE > extends AbstractFeatureStor
                 getDriver().getValue(getDriver().getFeatureKey(uid)));
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        if (!exist(uid)) {
+            return null;
+        }
+        return getFeatureMapper().fromStore(
+                getDriver().getValue(getDriver().getFeatureKey(uid)));
+    }
+    
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
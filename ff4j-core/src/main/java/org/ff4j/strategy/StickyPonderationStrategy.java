@@ -0,0 +1,280 @@
+package org.ff4j.strategy;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.ff4j.core.FeatureStore;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.utils.MurmurHash3;
+
+/**
+ * Percentage rollout sticky for a key of the {@link FlippingExecutionContext} (user, session, tenant...).
+ * 
+ * Unlike {@link PonderationStrategy} the result does not change from one request to another : the key is hashed
+ * (murmur3 salted with the feature name by default) into one of 10000 buckets, same key gives same bucket on all
+ * nodes and after restarts. If the key is not present in context the feature is not toggled.
+ * 
+ * With parameter 'variants' (ex: "control:50,blue:25,green:25") buckets are split between variants by weights,
+ * {@link #getVariant(String, FlippingExecutionContext)} gives the variant of a key and the feature is toggled for
+ * every variant but the first one (control).
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class StickyPonderationStrategy extends AbstractFlipStrategy implements Serializable {
+
+    /** Serial number. */
+    private static final long serialVersionUID = 4581946547349614829L;
+    
+    /** Number of buckets, precision is 0.01%. */
+    public static final int BUCKETS = 10000;
+    
+    /** Default key in context. */
+    public static final String DEFAULT_CONTEXT_KEY = "userId";
+
+    /** Threshold. */
+    private static final String PARAM_WEIGHT = "weight";
+    
+    /** Key to read in execution context. */
+    private static final String PARAM_CONTEXT_KEY = "contextKey";
+    
+    /** Salt of the hash, feature name by default. */
+    private static final String PARAM_SALT = "salt";
+    
+    /** Variants with their weights. */
+    private static final String PARAM_VARIANTS = "variants";
+
+    /** Ratio of toggled keys. */
+    private double weight = 0.5;
+    
+    /** Number of buckets toggled. */
+    private int threshold = BUCKETS / 2;
+    
+    /** Key to read in execution context. */
+    private String contextKey = DEFAULT_CONTEXT_KEY;
+    
+    /** Salt of the hash. */
+    private String salt;
+    
+    /** Seed computed from salt. */
+    private int seed;
+    
+    /** Names of variants, first one is control. */
+    private String[] variantNames;
+    
+    /** Upper bucket (excluded) of each variant. */
+    private int[] variantThresholds;
+
+    /**
+     * Default Constructor.
+     */
+    public StickyPonderationStrategy() {}
+
+    /**
+     * Parameterized constructor.
+     * 
+     * @param weight
+     *            ratio of toggled keys between 0 and 1
+     */
+    public StickyPonderationStrategy(double weight) {
+        this(weight, DEFAULT_CONTEXT_KEY);
+    }
+    
+    /**
+     * Parameterized constructor.
+     * 
+     * @param weight
+     *            ratio of toggled keys between 0 and 1
+     * @param contextKey
+     *            key to read in execution context
+     */
+    public StickyPonderationStrategy(double weight, String contextKey) {
+        setWeight(weight);
+        this.contextKey = contextKey;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(String featureName, Map<String, String> initParams) {
+        super.init(featureName, initParams);
+        if (initParams == null) {
+            return;
+        }
+        if (initParams.containsKey(PARAM_WEIGHT)) {
+            setWeight(Double.parseDouble(initParams.get(PARAM_WEIGHT)));
+        }
+        if (initParams.containsKey(PARAM_CONTEXT_KEY)) {
+            this.contextKey = initParams.get(PARAM_CONTEXT_KEY).trim();
+        }
+        setSalt(initParams.containsKey(PARAM_SALT) ? initParams.get(PARAM_SALT) : featureName);
+        if (initParams.containsKey(PARAM_VARIANTS)) {
+            setVariants(initParams.get(PARAM_VARIANTS));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean evaluate(String featureName, FeatureStore currentStore, FlippingExecutionContext executionContext) {
+        int bucket = getBucket(featureName, executionContext);
+        if (bucket < 0) {
+            return false;
+        }
+        if (variantThresholds != null) {
+            return bucket >= variantThresholds[0];
+        }
+        return bucket < threshold;
+    }
+    
+    /**
+     * Variant of the key in execution context.
+     *
+     * @param featureName
+     *      current feature
+     * @param executionContext
+     *      current context
+     * @return
+     *      variant name, first variant (control) if key is not in context and null if no variant defined
+     */
+    public String getVariant(String featureName, FlippingExecutionContext executionContext) {
+        if (variantNames == null) {
+            return null;
+        }
+        int bucket = getBucket(featureName, executionContext);
+        int idx = 0;
+        while (bucket >= variantThresholds[idx] && idx < variantThresholds.length - 1) {
+            idx++;
+        }
+        return variantNames[idx];
+    }
+    
+    /**
+     * Compute bucket of the key in context.
+     *
+     * @param featureName
+     *      current feature, used as salt if none defined
+     * @param executionContext
+     *      current context
+     * @return
+     *      bucket between 0 and {@link #BUCKETS} excluded, -1 if key not in context
+     */
+    public int getBucket(String featureName, FlippingExecutionContext executionContext) {
+        if (executionContext == null || !executionContext.containsKey(contextKey)) {
+            return -1;
+        }
+        Object key = executionContext.getValue(contextKey, false);
+        if (key == null) {
+            return -1;
+        }
+        int currentSeed = (salt != null) ? seed : MurmurHash3.hash32(featureName, 0);
+        int hash = MurmurHash3.hash32(key.toString(), currentSeed);
+        // Map unsigned hash to [0, BUCKETS[ without modulo bias
+        return (int) (((hash & 0xffffffffL) * BUCKETS) >>> 32);
+    }
+    
+    /**
+     * Parse variants expression 'name:weight,name:weight...'.
+     *
+     * @param expression
+     *      variants expression
+     */
+    public void setVariants(String expression) {
+        String[] chunks = expression.split(",");
+        List<String> names = new ArrayList<String>();
+        List<Double> weights = new ArrayList<Double>();
+        double total = 0;
+        for (String chunk : chunks) {
+            String[] parts = chunk.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid syntax for variant <" + chunk + ">, expected 'name:weight'");
+            }
+            double variantWeight = Double.parseDouble(parts[1].trim());
+            if (variantWeight < 0) {
+                throw new IllegalArgumentException("Weight of variant <" + chunk + "> cannot be negative");
+            }
+            names.add(parts[0].trim());
+            weights.add(variantWeight);
+            total += variantWeight;
+        }
+        if (names.size() < 2 || total <= 0) {
+            throw new IllegalArgumentException("At least 2 variants with positive weights are expected in <" + expression + ">");
+        }
+        int[] thresholds = new int[names.size()];
+        double cumulated = 0;
+        for (int idx = 0; idx < thresholds.length; idx++) {
+            cumulated += weights.get(idx);
+            thresholds[idx] = (int) Math.round(cumulated * BUCKETS / total);
+        }
+        thresholds[thresholds.length - 1] = BUCKETS;
+        this.variantNames      = names.toArray(new String[names.size()]);
+        this.variantThresholds = thresholds;
+        this.initParams.put(PARAM_VARIANTS, expression);
+    }
+
+    /**
+     * Setter accessor for attribute 'weight'.
+     * 
+     * @param weight
+     *            new value for 'weight '
+     */
+    public void setWeight(double weight) {
+        if (weight < 0 || weight > 1) {
+            throw new IllegalArgumentException("The ponderation value is a percentage and should be set between 0 and 1");
+        }
+        this.weight    = weight;
+        this.threshold = (int) Math.round(weight * BUCKETS);
+    }
+    
+    /**
+     * Setter accessor for attribute 'salt'.
+     * 
+     * @param salt
+     *            new value for 'salt '
+     */
+    public void setSalt(String salt) {
+        this.salt = salt;
+        this.seed = (salt == null) ? 0 : MurmurHash3.hash32(salt, 0);
+    }
+    
+    /**
+     * Getter accessor for attribute 'contextKey'.
+     *
+     * @return
+     *       current value of 'contextKey'
+     */
+    public String getContextKey() {
+        return contextKey;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, String> getInitParams() {
+        this.initParams.put(PARAM_WEIGHT, String.valueOf(weight));
+        this.initParams.put(PARAM_CONTEXT_KEY, contextKey);
+        if (salt != null) {
+            this.initParams.put(PARAM_SALT, salt);
+        }
+        return initParams;
+    }
+
+}
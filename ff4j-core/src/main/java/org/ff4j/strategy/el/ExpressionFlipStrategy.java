@@ -13,14 +13,14 @@ import java.io.Serializable;
  * governing permissions and limitations under the License. #L%
  */
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.strategy.AbstractFlipStrategy;
 
 /**
@@ -37,10 +37,10 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
     public static final String PARAM_EXPRESSION = "expression";
 
     /** Cached init value. */
-    private static Map<String, String> mapOfValue = new HashMap<String, String>();
+    private static final Map<String, String> mapOfValue = new ConcurrentHashMap<String, String>();
 
-    /** Cached syntax trees. */
-    private static Map<String, ExpressionNode> cachedExpression = new HashMap<String, ExpressionNode>();
+    /** Cached syntax trees, parsed once per expression. */
+    private static final Map<String, ExpressionNode> cachedExpression = new ConcurrentHashMap<String, ExpressionNode>();
 
     /**
      * Default constructor using introspection.
@@ -77,39 +77,54 @@ public class ExpressionFlipStrategy extends AbstractFlipStrategy implements Seri
     /**
      * Evaluate expression, put it in cache is required.
      * 
+     * Only the features referenced in the expression are read, and only when operators AND/OR need them.
+     * 
      * @param expression
      *            target expression
      * @return expression evaluation value
      */
-    private boolean evaluateExpression(String expression, FeatureStore currentStore,
-                                       FlippingExecutionContext executionContext) {
-        if (!cachedExpression.containsKey(expression)) {
-            cachedExpression.put(expression, ExpressionParser.parseExpression(expression));
+    private boolean evaluateExpression(String expression, final FeatureStore currentStore,
+                                       final FlippingExecutionContext executionContext) {
+        ExpressionNode node = cachedExpression.get(expression);
+        if (node == null) {
+            node = ExpressionParser.parseExpression(expression);
+            cachedExpression.put(expression, node);
         }
-        return cachedExpression.get(expression).evalue(getFeaturesStatus(currentStore, executionContext));
+        // Same feature may appear several times in the expression
+        final Map<String, Boolean> bools = new HashMap<String, Boolean>();
+        return node.evalue(new ExpressionStateResolver() {
+            public boolean isActive(String featureName) {
+                Boolean status = bools.get(featureName);
+                if (status == null) {
+                    status = getFeatureStatus(featureName, currentStore, executionContext);
+                    bools.put(featureName, status);
+                }
+                return status;
+            }
+        });
     }
 
     /**
-     * Return status of all the features to calculate.
+     * Return status of a feature referenced in the expression.
      * 
+     * @param featureName
+     *            feature identifier
      * @param currentStore
      *            current store for features
-     * @return current statuses for stores
+     * @return current status, false if the feature does not exist
      */
-    private Map<String, Boolean> getFeaturesStatus(FeatureStore currentStore,
-                                                   FlippingExecutionContext executionContext) {
-        Map<String, Boolean> bools = new HashMap<String, Boolean>();
-        List<Feature> listOfFlip = new ArrayList<Feature>();
-        listOfFlip.addAll(currentStore.readAll().values());
-        for (Feature fp : listOfFlip) {
-            if (fp.isEnable() && null != fp.getFlippingStrategy() &&!(fp.getFlippingStrategy() instanceof ExpressionFlipStrategy)) {
-                bools.put(fp.getUid(), fp.getFlippingStrategy().evaluate(fp.getUid(), currentStore,
-                        executionContext));
-            } else {
-                bools.put(fp.getUid(), fp.isEnable());
-            }
+    private boolean getFeatureStatus(String featureName, FeatureStore currentStore,
+                                     FlippingExecutionContext executionContext) {
+        Feature fp;
+        try {
+            fp = currentStore.read(featureName);
+        } catch (FeatureNotFoundException fnfe) {
+            return false;
+        }
+        if (fp.isEnable() && null != fp.getFlippingStrategy() && !(fp.getFlippingStrategy() instanceof ExpressionFlipStrategy)) {
+            return fp.getFlippingStrategy().evaluate(fp.getUid(), currentStore, executionContext);
         }
-        return bools;
+        return fp.isEnable();
     }
 
 }
@@ -21,8 +21,10 @@ package org.ff4j.strategy.el;
  */
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Storage of an node in expression tree.
@@ -65,78 +67,92 @@ public class ExpressionNode {
      * 
      * @return constante will be substitue.
      */
-    public boolean evalue(Map<String, Boolean> stateMap) {
+    public boolean evalue(final Map<String, Boolean> stateMap) {
+        return evalue(new ExpressionStateResolver() {
+            public boolean isActive(String featureName) {
+                return Boolean.TRUE.equals(stateMap.get(featureName));
+            }
+        });
+    }
+
+    /**
+     * Evalue the whole expression tree, only the sheets required by operators AND/OR are resolved.
+     * 
+     * @param resolver
+     *            provide status of features on demand
+     * @return expression evaluation value
+     */
+    public boolean evalue(ExpressionStateResolver resolver) {
         if (value != null && !value.isEmpty()) {
-            return evaluateValue(stateMap);
+            return resolver.isActive(value);
         } else if (ExpressionOperator.NOT.equals(operator)) {
-            return evaluateOperatorNot(stateMap);
+            return !subNodes.get(0).evalue(resolver);
         } else if (ExpressionOperator.AND.equals(operator)) {
-            return evaluateOperatorAnd(stateMap);
+            return evaluateOperatorAnd(resolver);
         } else {
             // Only left
-            return evaluateOperatorOr(stateMap);
+            return evaluateOperatorOr(resolver);
         }
     }
 
     /**
-     * Evaluate map for substitutions.
+     * Evaluate operator AND, stop at first false.
      * 
-     * @param stateMap
-     *            map with expression states
+     * @param resolver
+     *            status of features
      * @return state of target key is present
      */
-    private boolean evaluateValue(Map<String, Boolean> stateMap) {
-        if (stateMap.containsKey(value)) {
-            return stateMap.get(value);
+    private boolean evaluateOperatorAnd(ExpressionStateResolver resolver) {
+        boolean status = true;
+        int idx = 0;
+        while (status && idx < subNodes.size()) {
+            status = subNodes.get(idx).evalue(resolver);
+            idx++;
         }
-        return false;
+        return status;
     }
 
     /**
-     * Evaluate operator not.
+     * Evaluate operator OR, stop at first true.
      * 
-     * @param stateMap
-     *            map of states
+     * @param resolver
+     *            status of features
      * @return state of target key is present
      */
-    private boolean evaluateOperatorNot(Map<String, Boolean> stateMap) {
-        return !subNodes.get(0).evalue(stateMap);
+    private boolean evaluateOperatorOr(ExpressionStateResolver resolver) {
+        boolean status = false;
+        int idx = 0;
+        while (!status && idx < subNodes.size()) {
+            status = subNodes.get(idx).evalue(resolver);
+            idx++;
+        }
+        return status;
     }
 
     /**
-     * Evaluate operator AND.
+     * List feature identifiers referenced in the expression tree.
      * 
-     * @param stateMap
-     *            map of states
-     * @return state of target key is present
+     * @return names of the sheets
      */
-    private boolean evaluateOperatorAnd(Map<String, Boolean> stateMap) {
-        boolean status = true;
-        int idx = 0;
-        while (status && idx < subNodes.size()) {
-            status = subNodes.get(idx).evalue(stateMap);
-            idx++;
-        }
-        return status;
+    public Set<String> getFeatureNames() {
+        Set<String> names = new LinkedHashSet<String>();
+        collectFeatureNames(names);
+        return names;
     }
 
     /**
-     * Evaluate operator OR.
+     * Walk through tree to collect sheets.
      * 
-     * @param stateMap
-     *            map of states
-     * @return state of target key is present
+     * @param names
+     *            target set
      */
-    private boolean evaluateOperatorOr(Map<String, Boolean> stateMap) {
-        boolean status;
-        int idx = 0;
-        // No ternaire expression, simplier
-        status = false;
-        while (!status && idx < subNodes.size()) {
-            status = subNodes.get(idx).evalue(stateMap);
-            idx++;
+    private void collectFeatureNames(Set<String> names) {
+        if (value != null && !value.isEmpty()) {
+            names.add(value);
+        }
+        for (ExpressionNode subNode : subNodes) {
+            subNode.collectFeatureNames(names);
         }
-        return status;
     }
 
     /** {@inheritDoc} */
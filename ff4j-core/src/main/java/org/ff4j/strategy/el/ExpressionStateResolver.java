@@ -0,0 +1,40 @@
+package org.ff4j.strategy.el;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Provide the status of a feature referenced in an expression, only called for the leaves actually evaluated.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public interface ExpressionStateResolver {
+
+    /**
+     * Status of the feature referenced in the expression.
+     *
+     * @param featureName
+     *      feature identifier (sheet of the expression tree)
+     * @return
+     *      if the feature is toggled on
+     */
+    boolean isActive(String featureName);
+
+}
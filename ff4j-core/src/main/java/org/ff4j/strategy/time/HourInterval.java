@@ -21,29 +21,28 @@ package org.ff4j.strategy.time;
  */
 
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 
 import org.ff4j.utils.Util;
 
 /**
- * Date Interval.
+ * Hour interval within a day, bounds are stored as minutes of day : [from, to[.
+ * 
+ * Instances are not modified during evaluation and can be shared between threads.
 *
 * @author <a href="mailto:cedrick.lunven@gmail.com">Cedrick LUNVEN</a>
 */
 public final class HourInterval {
     
-   /** Parsing expression. */
-   private static final DateFormat SDF_HOUR = new SimpleDateFormat("HH:mm");
+   /** Number of minutes in a day. */
+   public static final int MINUTES_PER_DAY = 24 * 60;
    
-   /** Lower bound of interval. */
-   private Calendar from = Calendar.getInstance();
+   /** Lower bound of interval (included), minute of day. */
+   private int from;
    
-   /** Upper bound of interval. */
-   private Calendar to = Calendar.getInstance();
+   /** Upper bound of interval (excluded), minute of day. */
+   private int to;
    
    /**
     * Default.
@@ -78,7 +77,7 @@ public final class HourInterval {
    }
    
    /**
-    * Initialize component.
+    * Initialize component, only time of day is kept.
     *
     * @param froms
     *      from date
@@ -86,17 +85,15 @@ public final class HourInterval {
     *      to date
     */
    public HourInterval(Date froms, Date tos) {
-       if (froms.before(tos)) {
-           from.setTime(froms);
-           to.setTime(tos);
-       } else {
-           from.setTime(tos);
-           to.setTime(froms);
-       }
+       Calendar cFrom = Calendar.getInstance();
+       cFrom.setTime(froms);
+       Calendar cTo = Calendar.getInstance();
+       cTo.setTime(tos);
+       initBounds(minuteOfDay(cFrom), minuteOfDay(cTo));
    }
    
    /**
-    * Initialize component.
+    * Initialize component, only time of day is kept.
     *
     * @param froms
     *      from calendar
@@ -104,7 +101,7 @@ public final class HourInterval {
     *      to calendar
     */
    public HourInterval(Calendar froms, Calendar tos) {
-       this(froms.getTime(), tos.getTime());
+       initBounds(minuteOfDay(froms), minuteOfDay(tos));
    }
    
    /**
@@ -117,19 +114,64 @@ public final class HourInterval {
     */
    public void init(String f, String t) {
        try {
-           from.setTime(SDF_HOUR.parse(f));
-           to.setTime(SDF_HOUR.parse(t));
-           // Exchang bound if required
-           if (!from.before(to)) {
-               Calendar cal = to;
-               to = from;
-               from = cal;
-           }
-       } catch (ParseException e) {
+           initBounds(parseMinuteOfDay(f), parseMinuteOfDay(t));
+       } catch (IllegalArgumentException e) {
            throw new IllegalArgumentException("Cannot parse incoming expressions <" + f + ">, <" + t + ">", e);
        }
    }
    
+   /**
+    * Set bounds, exchange them if required.
+    *
+    * @param f
+    *      first minute of day
+    * @param t
+    *      second minute of day
+    */
+   private void initBounds(int f, int t) {
+       this.from = Math.min(f, t);
+       this.to   = Math.max(f, t);
+   }
+   
+   /**
+    * Parse an expression HH:mm as a minute of day, '24:00' is accepted as end of day.
+    *
+    * @param expression
+    *      expression to be parsed
+    * @return
+    *      minute of day
+    */
+   public static int parseMinuteOfDay(String expression) {
+       Util.assertHasLength(expression);
+       String[] parts = expression.trim().split(":");
+       if (parts.length != 2) {
+           throw new IllegalArgumentException("Invalid syntax, expected HH:mm " + expression);
+       }
+       try {
+           int hours   = Integer.parseInt(parts[0].trim());
+           int minutes = Integer.parseInt(parts[1].trim());
+           int minuteOfDay = hours * 60 + minutes;
+           if (hours < 0 || minutes < 0 || minutes > 59 || minuteOfDay > MINUTES_PER_DAY) {
+               throw new IllegalArgumentException("Invalid hour, expected HH:mm between 00:00 and 24:00 " + expression);
+           }
+           return minuteOfDay;
+       } catch (NumberFormatException nfe) {
+           throw new IllegalArgumentException("Invalid syntax, expected HH:mm " + expression, nfe);
+       }
+   }
+   
+   /**
+    * Minute of day of a calendar in its own time zone.
+    *
+    * @param cal
+    *      current calendar
+    * @return
+    *      minute of day
+    */
+   public static int minuteOfDay(Calendar cal) {
+       return cal.get(Calendar.HOUR_OF_DAY) * 60 + cal.get(Calendar.MINUTE);
+   }
+   
    /**
     * Check bounds against current date
     * @return
@@ -144,50 +186,94 @@ public final class HourInterval {
     * @return
     */
    public boolean matches(Calendar cal) {
-       // Align date, compare only hours here
-       from.set(Calendar.YEAR, cal.get(Calendar.YEAR));
-       from.set(Calendar.DAY_OF_YEAR, cal.get(Calendar.DAY_OF_YEAR));
-       to.set(Calendar.YEAR, cal.get(Calendar.YEAR));
-       to.set(Calendar.DAY_OF_YEAR, cal.get(Calendar.DAY_OF_YEAR));
-       return from.before(cal) && to.after(cal);
+       return matches(minuteOfDay(cal));
+   }
+   
+   /**
+    * Check bounds against a minute of day.
+    *
+    * @param minuteOfDay
+    *      minute of day between 0 and 1439
+    * @return
+    *      if minute is within interval
+    */
+   public boolean matches(int minuteOfDay) {
+       return from <= minuteOfDay && minuteOfDay < to;
+   }
+   
+   /**
+    * Create a calendar of current day at target minute.
+    *
+    * @param minuteOfDay
+    *      minute of day
+    * @return
+    *      calendar
+    */
+   private static Calendar toCalendar(int minuteOfDay) {
+       Calendar cal = Calendar.getInstance();
+       cal.set(Calendar.HOUR_OF_DAY, 0);
+       cal.set(Calendar.MINUTE, minuteOfDay);
+       cal.set(Calendar.SECOND, 0);
+       cal.set(Calendar.MILLISECOND, 0);
+       return cal;
    }
 
    /**
-    * Getter accessor for attribute 'from'.
+    * Lower bound as calendar of current day.
     *
     * @return
     *       current value of 'from'
     */
    public Calendar getFrom() {
-       return from;
+       return toCalendar(from);
    }
 
    /**
-    * Setter accessor for attribute 'from'.
+    * Setter accessor for attribute 'from', only time of day is kept.
     * @param from
     *      new value for 'from '
     */
    public void setFrom(Calendar from) {
-       this.from = from;
+       this.from = minuteOfDay(from);
    }
 
    /**
-    * Getter accessor for attribute 'to'.
+    * Upper bound as calendar of current day.
     *
     * @return
     *       current value of 'to'
     */
    public Calendar getTo() {
-       return to;
+       return toCalendar(to);
    }
 
    /**
-    * Setter accessor for attribute 'to'.
+    * Setter accessor for attribute 'to', only time of day is kept.
     * @param to
     *      new value for 'to '
     */
    public void setTo(Calendar to) {
-       this.to = to;
+       this.to = minuteOfDay(to);
+   }
+   
+   /**
+    * Getter accessor for attribute 'from'.
+    *
+    * @return
+    *       lower bound (included) as minute of day
+    */
+   public int getFromMinute() {
+       return from;
+   }
+   
+   /**
+    * Getter accessor for attribute 'to'.
+    *
+    * @return
+    *       upper bound (excluded) as minute of day
+    */
+   public int getToMinute() {
+       return to;
    }
    
 }
@@ -20,14 +20,18 @@ package org.ff4j.strategy.time;
  * #L%
  */
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
 
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
@@ -37,13 +41,20 @@ import org.ff4j.strategy.AbstractFlipStrategy;
  * Implemenetation of an office hour strategy.
  * 
  * Expression { "monday":["08:00-12:00", "13:30-18:00"], "tuesday":[], "wednesday":[], "thursday":[],"friday":[],"saturday":[] }
+ * 
+ * Timetable is computed once at initialization as minutes of day and days since epoch, evaluation
+ * is arithmetic only (no lock, no allocation). Optional parameter 'timezone' defines the zone of
+ * the timetable (default is JVM zone).
  *
  * @author Cedrick Lunven (@clunven)
  */
 public class OfficeHourStrategy extends AbstractFlipStrategy {
     
-    /** Parsing date expression. */
-    private static final DateFormat SDF_DATE = new SimpleDateFormat("yyyy-MM-dd");
+    /** Parsing date expression (immutable and thread-safe). */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-M-d").withResolverStyle(ResolverStyle.STRICT);
+    
+    /** Milliseconds in a day. */
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
     
     /** Constants. */
     private static final String MONDAY = "monday";
@@ -72,51 +83,53 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
     /** Constants. */
     private static final String SPECIAL_OPENINGS = "specialOpenings";
     
+    /** Constants. */
+    public static final String PARAM_TIMEZONE = "timezone";
+    
     /** Contacts. */
     public static final String OVERRIDE_DATE = "overridedDate";
     
-    /** time table. */
-    private Map < Integer, List <HourInterval>> weekTimeTable = new HashMap<Integer, List<HourInterval>>();
+    /** Week days indexed from monday (0) to sunday (6), as 1970-01-01 is a thursday. */
+    private static final String[] WEEK_DAYS = {MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY};
+    
+    /** Current timetable, replaced as a whole at initialization. */
+    private volatile TimeTable timeTable = new TimeTable(new int[WEEK_DAYS.length][], new long[0], new long[0], new int[0][]);
     
-    /** openings. */
-    private Map < String, List < HourInterval>> specialTimeTable = new HashMap< String, List<HourInterval>>();
+    /** Time zone of the timetable. */
+    private volatile TimeZone timeZone = TimeZone.getDefault();
     
-    /** public holiday. */
-    private List < String > publicHolidays = new ArrayList<String>();
+    /** Source of current time. */
+    private volatile Clock clock = Clock.systemUTC();
     
     /** {@inheritDoc} */
     @Override
     public void init(String featureName, Map<String, String> initParam) {
         super.init(featureName, initParam);
         
+        // Time zone of the expressions
+        if (initParam.containsKey(PARAM_TIMEZONE)) {
+            timeZone = TimeZone.getTimeZone(initParam.get(PARAM_TIMEZONE).trim());
+        }
+        
         // Update week timetable
-        weekTimeTable.put(Calendar.MONDAY,      parseIntervalsExpression(initParam.get(MONDAY)));
-        weekTimeTable.put(Calendar.TUESDAY,     parseIntervalsExpression(initParam.get(TUESDAY)));
-        weekTimeTable.put(Calendar.WEDNESDAY,   parseIntervalsExpression(initParam.get(WEDNESDAY)));
-        weekTimeTable.put(Calendar.THURSDAY,    parseIntervalsExpression(initParam.get(THURSDAY)));
-        weekTimeTable.put(Calendar.FRIDAY,      parseIntervalsExpression(initParam.get(FRIDAY)));
-        weekTimeTable.put(Calendar.SATURDAY,    parseIntervalsExpression(initParam.get(SATURDAY)));
-        weekTimeTable.put(Calendar.SUNDAY,      parseIntervalsExpression(initParam.get(SUNDAY)));
+        int[][] week = new int[WEEK_DAYS.length][];
+        for (int day = 0; day < WEEK_DAYS.length; day++) {
+            week[day] = toRanges(parseIntervalsExpression(initParam.get(WEEK_DAYS[day])));
+        }
         
         // Update publiholidays
+        long[] holidays = new long[0];
         if (initParam.containsKey(PUBLICHOLIDAY)) {
             String[] days = initParam.get(PUBLICHOLIDAY).split(",");
-            for (String day : days) {
-               try {
-                   Calendar c = Calendar.getInstance();
-                   c.setTime(SDF_DATE.parse(day.trim()));
-                   c.set(Calendar.MILLISECOND, 0);
-                   c.set(Calendar.SECOND, 0);
-                   c.set(Calendar.MINUTE, 0);
-                   c.set(Calendar.HOUR_OF_DAY, 0);
-                   publicHolidays.add(SDF_DATE.format(c.getTime()));
-                } catch (ParseException e) {
-                   throw new IllegalArgumentException("Invalid Syntax for <" + day + "> expected 'yyyy-MM-dd'", e);
-                }
+            holidays = new long[days.length];
+            for (int idx = 0; idx < days.length; idx++) {
+                holidays[idx] = parseEpochDay(days[idx]);
             }
+            Arrays.sort(holidays);
         }
         
         // Update exclusive openings
+        TreeMap<Long, int[]> openings = new TreeMap<Long, int[]>();
         if (initParam.containsKey(SPECIAL_OPENINGS)) {
             String[] days = initParam.get(SPECIAL_OPENINGS).split(";");
             for (String day : days) {
@@ -124,19 +137,55 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
               if (partDay.length != 2) {
                   throw new IllegalArgumentException("Invalid Syntax");
               }
-                    
               // Check format at loading
-              String dateExpression = partDay[1].trim();
-              try {
-                  SDF_DATE.parse(dateExpression);
-                  String inter = partDay[0].trim();
-                  String extractIntervals = inter.substring(1, inter.length() -1);
-                  specialTimeTable.put(dateExpression,  parseIntervalsExpression(extractIntervals));
-               } catch (ParseException e) {
-                   throw new IllegalArgumentException("Invalid Syntax for '" + dateExpression + "' expected 'yyyy-MM-dd'", e);
-               }
+              long epochDay = parseEpochDay(partDay[1]);
+              String inter = partDay[0].trim();
+              String extractIntervals = inter.substring(1, inter.length() -1);
+              openings.put(epochDay, toRanges(parseIntervalsExpression(extractIntervals)));
            }
         }
+        long[] specialDays = new long[openings.size()];
+        int[][] specialRanges = new int[openings.size()][];
+        int idx = 0;
+        for (Map.Entry<Long, int[]> opening : openings.entrySet()) {
+            specialDays[idx]   = opening.getKey();
+            specialRanges[idx] = opening.getValue();
+            idx++;
+        }
+        this.timeTable = new TimeTable(week, holidays, specialDays, specialRanges);
+    }
+    
+    /**
+     * Parse a date 'yyyy-MM-dd' as a number of days since epoch.
+     *
+     * @param expression
+     *      date expression
+     * @return
+     *      days since 1970-01-01
+     */
+    private static long parseEpochDay(String expression) {
+        try {
+            return LocalDate.parse(expression.trim(), DATE_FORMAT).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid Syntax for <" + expression + "> expected 'yyyy-MM-dd'", e);
+        }
+    }
+    
+    /**
+     * Flatten intervals as [from0, to0, from1, to1...] minutes of day.
+     *
+     * @param intervals
+     *      hour intervals
+     * @return
+     *      ranges as an array
+     */
+    private static int[] toRanges(List < HourInterval > intervals) {
+        int[] ranges = new int[intervals.size() * 2];
+        for (int idx = 0; idx < intervals.size(); idx++) {
+            ranges[2 * idx]     = intervals.get(idx).getFromMinute();
+            ranges[2 * idx + 1] = intervals.get(idx).getToMinute();
+        }
+        return ranges;
     }
     
     /**
@@ -179,29 +228,135 @@ public class OfficeHourStrategy extends AbstractFlipStrategy {
         return found;
     }
     
-    /** {@inheritDoc} */
-    @Override
-    public boolean evaluate(String featureName, FeatureStore store, FlippingExecutionContext executionContext) {
-        // Check current date agains interval
-        Calendar now = Calendar.getInstance();
-        if (executionContext != null && executionContext.containsKey(OVERRIDE_DATE)) {
-            now = (Calendar) executionContext.getValue(OVERRIDE_DATE, false);
+    /**
+     * Check if minute of day is in one of the ranges.
+     *
+     * @param minuteOfDay
+     *      current minute of day
+     * @param ranges
+     *      flattened ranges [from0, to0, from1, to1...]
+     * @return
+     *      if one of the range matches
+     */
+    private static boolean matches(int minuteOfDay, int[] ranges) {
+        for (int idx = 0; idx < ranges.length; idx += 2) {
+            if (ranges[idx] <= minuteOfDay && minuteOfDay < ranges[idx + 1]) {
+                return true;
+            }
         }
+        return false;
+    }
+    
+    /**
+     * Evaluate timetable at a given instant.
+     *
+     * @param epochMillis
+     *      instant as milliseconds since epoch
+     * @param zone
+     *      time zone to compute day and time of day
+     * @return
+     *      if open
+     */
+    public boolean evaluate(long epochMillis, TimeZone zone) {
+        TimeTable current = timeTable;
+        long localMillis  = epochMillis + zone.getOffset(epochMillis);
+        long epochDay     = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int minuteOfDay   = (int) (Math.floorMod(localMillis, MILLIS_PER_DAY) / 60000L);
         
         // Priority 1 : Special Opening
-        String currentDate = SDF_DATE.format(now.getTime());
-        if (specialTimeTable.containsKey(currentDate)) {
-            // Today is in special openings, apply
-            return matches(now, specialTimeTable.get(currentDate));
+        int special = Arrays.binarySearch(current.specialDays, epochDay);
+        if (special >= 0) {
+            return matches(minuteOfDay, current.specialRanges[special]);
         }
         
         // Priority 2 : Public Holiday => CLOSED
-        if (publicHolidays.contains(currentDate)) {
+        if (Arrays.binarySearch(current.publicHolidays, epochDay) >= 0) {
             return false;
         }
         
-        // Default behavior, get current day, retrive intervals and check
-        return matches(now, weekTimeTable.get(now.get(Calendar.DAY_OF_WEEK)));
+        // Default behavior, get current day (epoch day 0 is a thursday), retrieve intervals and check
+        return matches(minuteOfDay, current.week[(int) Math.floorMod(epochDay + 3, 7L)]);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean evaluate(String featureName, FeatureStore store, FlippingExecutionContext executionContext) {
+        if (executionContext != null && executionContext.containsKey(OVERRIDE_DATE)) {
+            Calendar now = (Calendar) executionContext.getValue(OVERRIDE_DATE, false);
+            return evaluate(now.getTimeInMillis(), now.getTimeZone());
+        }
+        return evaluate(clock.millis(), timeZone);
+    }
+    
+    /**
+     * Getter accessor for attribute 'timeZone'.
+     *
+     * @return
+     *       current value of 'timeZone'
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Setter accessor for attribute 'timeZone'.
+     * @param timeZone
+     *      new value for 'timeZone '
+     */
+    public void setTimeZone(TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * Getter accessor for attribute 'clock'.
+     *
+     * @return
+     *       current value of 'clock'
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Setter accessor for attribute 'clock'.
+     * @param clock
+     *      new value for 'clock '
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Immutable timetable precomputed at initialization.
+     */
+    private static final class TimeTable {
+        
+        /** Ranges of minutes of day, indexed from monday (0) to sunday (6). */
+        private final int[][] week;
+        
+        /** Public holidays as sorted days since epoch. */
+        private final long[] publicHolidays;
+        
+        /** Special openings as sorted days since epoch. */
+        private final long[] specialDays;
+        
+        /** Ranges of minutes of day for each special opening. */
+        private final int[][] specialRanges;
+        
+        /**
+         * Constructor with all parts.
+         */
+        private TimeTable(int[][] week, long[] publicHolidays, long[] specialDays, int[][] specialRanges) {
+            for (int day = 0; day < week.length; day++) {
+                if (week[day] == null) {
+                    week[day] = new int[0];
+                }
+            }
+            this.week           = week;
+            this.publicHolidays = publicHolidays;
+            this.specialDays    = specialDays;
+            this.specialRanges  = specialRanges;
+        }
     }
 
 }
@@ -20,10 +20,15 @@ package org.ff4j.strategy.time;
  * #L%
  */
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 import java.util.Map;
+import java.util.TimeZone;
 
 import org.ff4j.core.FeatureStore;
 import org.ff4j.core.FlippingExecutionContext;
@@ -32,20 +37,40 @@ import org.ff4j.strategy.AbstractFlipStrategy;
 /**
  * The feature will be flipped after release date is reached.
  * 
+ * Release date is kept as milliseconds since epoch, evaluation is a single comparison with
+ * the {@link Clock}. Optional parameter 'timezone' defines the zone of the release date expression.
+ * 
  * @author Cedrick Lunven (@clunven)
  */
 public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
     
     public static final String DATE_PATTERN = "yyyy-MM-dd-HH:mm";
     
-    /** Pattern to create a release Date. */
+    /**
+     * Pattern to create a release Date.
+     * 
+     * @deprecated {@link SimpleDateFormat} is not thread-safe and is not used anymore by the strategy.
+     */
+    @Deprecated
     public static final SimpleDateFormat SDF = new SimpleDateFormat(DATE_PATTERN);
+    
+    /** Parsing of release date (immutable and thread-safe). */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern(DATE_PATTERN);
 
     /** Constant for release Date. */
     private static final String PARAMNAME_RELEASEDATE = "releaseDate";
+    
+    /** Constant for time zone of release date. */
+    public static final String PARAM_TIMEZONE = "timezone";
 
-    /** Release Date. */
-    private Date releaseDate = new Date();
+    /** Release Date as milliseconds since epoch. */
+    private volatile long releaseTime = System.currentTimeMillis();
+    
+    /** Time zone of release date expression. */
+    private TimeZone timeZone = TimeZone.getDefault();
+    
+    /** Source of current time. */
+    private volatile Clock clock = Clock.systemUTC();
 
     /**
      * Default constructor for introspection.
@@ -58,11 +83,7 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
      * @param date
      */
     public ReleaseDateFlipStrategy(String strDate) {
-        try {
-            this.releaseDate = SDF.parse(strDate);
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("Cannot parse release date, invalid format correct is '" + DATE_PATTERN + "'", e);
-        }
+        this.releaseTime = parseReleaseDate(strDate);
         getInitParams().put(PARAMNAME_RELEASEDATE, strDate);
     }
 
@@ -72,8 +93,8 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
      * @param releaseDate
      */
     public ReleaseDateFlipStrategy(Date releaseDate) {
-        this.releaseDate = releaseDate;
-        getInitParams().put(PARAMNAME_RELEASEDATE, SDF.format(releaseDate));
+        this.releaseTime = releaseDate.getTime();
+        getInitParams().put(PARAMNAME_RELEASEDATE, formatReleaseDate(releaseTime));
     }
 
     /** {@inheritDoc} */
@@ -81,12 +102,39 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
     public void init(String featureName, Map<String, String> initParam) {
         super.init(featureName, initParam);
         assertRequiredParameter(PARAMNAME_RELEASEDATE);
+        if (initParam.containsKey(PARAM_TIMEZONE)) {
+            this.timeZone = TimeZone.getTimeZone(initParam.get(PARAM_TIMEZONE).trim());
+        }
+        this.releaseTime = parseReleaseDate(initParam.get(PARAMNAME_RELEASEDATE));
+    }
+    
+    /**
+     * Parse release date expression in current time zone.
+     *
+     * @param strDate
+     *      date expression
+     * @return
+     *      release date as milliseconds since epoch
+     */
+    private long parseReleaseDate(String strDate) {
         try {
-            this.releaseDate = SDF.parse(initParam.get(PARAMNAME_RELEASEDATE));
-        } catch (ParseException e) {
+            return LocalDateTime.parse(strDate, DATE_FORMAT).atZone(timeZone.toZoneId()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Cannot parse release date, invalid format correct is '" + DATE_PATTERN + "'", e);
         }
     }
+    
+    /**
+     * Format release date in current time zone.
+     *
+     * @param epochMillis
+     *      release date as milliseconds since epoch
+     * @return
+     *      date expression
+     */
+    private String formatReleaseDate(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), timeZone.toZoneId()).format(DATE_FORMAT);
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -94,7 +142,7 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
         // No use of featureName
         // No use of featureStore
         // No use of executionContext
-        return new Date().after(releaseDate);
+        return clock.millis() > releaseTime;
     }
     
     /**
@@ -104,7 +152,46 @@ public class ReleaseDateFlipStrategy extends AbstractFlipStrategy {
      *            new value for 'releaseDate '
      */
     public void setReleaseDate(Date releaseDate) {
-        this.releaseDate = releaseDate;
+        this.releaseTime = releaseDate.getTime();
+    }
+    
+    /**
+     * Getter accessor for attribute 'releaseDate'.
+     *
+     * @return
+     *       current value of 'releaseDate'
+     */
+    public Date getReleaseDate() {
+        return new Date(releaseTime);
+    }
+    
+    /**
+     * Getter accessor for attribute 'timeZone'.
+     *
+     * @return
+     *       current value of 'timeZone'
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Getter accessor for attribute 'clock'.
+     *
+     * @return
+     *       current value of 'clock'
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Setter accessor for attribute 'clock'.
+     * @param clock
+     *      new value for 'clock '
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
     }
 
 }
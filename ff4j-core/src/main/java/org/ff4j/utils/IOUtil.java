@@ -34,6 +34,9 @@ public class IOUtil {
     /** Would like to use the Inet Component. */
     private static boolean useInetAddress = true;
     
+    /** Hostname resolved once per JVM. */
+    private static volatile String hostName = null;
+    
     /**
      * Static
      */
@@ -41,7 +44,7 @@ public class IOUtil {
     }
      
     /**
-     * Read hostName from JDK.
+     * Read hostName from JDK, resolved once and kept for the life of the JVM.
      * 
      * @return
      *      current hostname
@@ -49,7 +52,12 @@ public class IOUtil {
     public static String resolveHostName() {
         try {
             if (useInetAddress) {
-                return InetAddress.getLocalHost().getHostName();
+                String currentHostName = hostName;
+                if (currentHostName == null) {
+                    currentHostName = InetAddress.getLocalHost().getHostName();
+                    hostName = currentHostName;
+                }
+                return currentHostName;
             }
             throw new UnknownHostException("Do not use the Inet Adress");
         } catch (UnknownHostException e) {
@@ -63,5 +71,6 @@ public class IOUtil {
 
     public static void setUseInetAddress(boolean useInetAddress) {
         IOUtil.useInetAddress = useInetAddress;
+        IOUtil.hostName = null;
     }
 }
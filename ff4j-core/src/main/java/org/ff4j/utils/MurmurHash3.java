@@ -0,0 +1,100 @@
+package org.ff4j.utils;
+
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * MurmurHash3 (x86, 32 bits) computed over the UTF-16 chars of a string.
+ * 
+ * Non cryptographic, fast and stable across JVMs and restarts (unlike {@link String#hashCode()} it is
+ * not part of any contract that may change), used to spread identifiers into buckets.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class MurmurHash3 {
+    
+    /** Mixing constant. */
+    private static final int C1 = 0xcc9e2d51;
+    
+    /** Mixing constant. */
+    private static final int C2 = 0x1b873593;
+
+    /**
+     * Hide default constructor.
+     */
+    private MurmurHash3() {
+    }
+    
+    /**
+     * Hash chars of a sequence, two chars are packed in each 32 bits block.
+     *
+     * @param input
+     *      chars to hash
+     * @param seed
+     *      initial value
+     * @return
+     *      32 bits hash
+     */
+    public static int hash32(CharSequence input, int seed) {
+        int h1 = seed;
+        int length = input.length();
+        for (int i = 1; i < length; i += 2) {
+            int k1 = input.charAt(i - 1) | (input.charAt(i) << 16);
+            h1 = mixH1(h1, mixK1(k1));
+        }
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(input.charAt(length - 1));
+        }
+        return fmix(h1, 2 * length);
+    }
+    
+    /**
+     * Mix block.
+     */
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * C2;
+    }
+
+    /**
+     * Mix hash with block.
+     */
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = Integer.rotateLeft(h1, 13);
+        return h1 * 5 + 0xe6546b64;
+    }
+
+    /**
+     * Final avalanche.
+     */
+    private static int fmix(int h1, int length) {
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+
+}
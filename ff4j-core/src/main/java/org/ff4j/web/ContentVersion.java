@@ -0,0 +1,301 @@
+package org.ff4j.web;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.ff4j.core.Feature;
+import org.ff4j.core.FlippingStrategy;
+import org.ff4j.property.Property;
+import org.ff4j.utils.MurmurHash3;
+
+/**
+ * Version of the content of a store as exposed through the REST API: a digest
+ * of the features (or properties) used as ETag and the date of the last observed change
+ * used as Last-Modified.
+ * 
+ * The digest does not depend on the order of items, computing it is far cheaper than
+ * serializing the store and allows answering '304 Not Modified' to conditional requests.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public final class ContentVersion implements Serializable {
+
+    /** serial. */
+    private static final long serialVersionUID = -2940587123617446409L;
+
+    /** First seed for items hashes. */
+    private static final int SEED_HIGH = 0x9747b28c;
+
+    /** Second seed for items hashes. */
+    private static final int SEED_LOW = 0x5bd1e995;
+
+    /** Marker for null values, distinct from empty string. */
+    private static final String NULL = "\u0000";
+
+    /** Last versions served, per source (store), released with the source. */
+    private static final Map<Object, AtomicReference<ContentVersion>> TRACKERS = 
+            Collections.synchronizedMap(new WeakHashMap<Object, AtomicReference<ContentVersion>>());
+
+    /** Content digest. */
+    private final String digest;
+
+    /** Last modification date (ms), truncated to seconds as HTTP dates. */
+    private final long lastModified;
+
+    /**
+     * Constructor with all attributes.
+     *
+     * @param digest
+     *      content digest
+     * @param lastModified
+     *      last modification date in milliseconds
+     */
+    public ContentVersion(String digest, long lastModified) {
+        if (digest == null || digest.isEmpty()) {
+            throw new IllegalArgumentException("Digest cannot be null nor empty");
+        }
+        this.digest       = digest;
+        this.lastModified = lastModified - (lastModified % 1000);
+    }
+
+    /**
+     * Keep track of a content version: if the digest did not change the previous version
+     * (and its date) is kept, otherwise a new version dated now is recorded.
+     *
+     * @param tracker
+     *      last version known for the content
+     * @param digest
+     *      digest of current content
+     * @return
+     *      current version
+     */
+    public static ContentVersion track(AtomicReference<ContentVersion> tracker, String digest) {
+        ContentVersion previous = tracker.get();
+        while (previous == null || !previous.getDigest().equals(digest)) {
+            ContentVersion current = new ContentVersion(digest, System.currentTimeMillis());
+            if (tracker.compareAndSet(previous, current)) {
+                return current;
+            }
+            previous = tracker.get();
+        }
+        return previous;
+    }
+
+    /**
+     * Keep track of the content version of a source (a store), each source has its own tracker
+     * so that several FF4j instances in the same JVM do not share versions.
+     *
+     * @param source
+     *      owner of the content, usually the store
+     * @param digest
+     *      digest of current content
+     * @return
+     *      current version
+     */
+    public static ContentVersion track(Object source, String digest) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null");
+        }
+        AtomicReference<ContentVersion> tracker;
+        synchronized (TRACKERS) {
+            tracker = TRACKERS.get(source);
+            if (tracker == null) {
+                tracker = new AtomicReference<ContentVersion>();
+                TRACKERS.put(source, tracker);
+            }
+        }
+        return track(tracker, digest);
+    }
+
+    /**
+     * Compute digest for a set of features.
+     *
+     * @param features
+     *      features of the store
+     * @return
+     *      digest independent of the features order
+     */
+    public static String digestFeatures(Map<String, Feature> features) {
+        long sum = 0;
+        int count = 0;
+        if (features != null) {
+            for (Feature feature : features.values()) {
+                sum += ((long) hashFeature(feature, SEED_HIGH) << 32) | (hashFeature(feature, SEED_LOW) & 0xffffffffL);
+                count++;
+            }
+        }
+        return toDigest(sum, count);
+    }
+
+    /**
+     * Compute digest for a set of properties.
+     *
+     * @param properties
+     *      properties of the store
+     * @return
+     *      digest independent of the properties order
+     */
+    public static String digestProperties(Map<String, Property<?>> properties) {
+        long sum = 0;
+        int count = 0;
+        if (properties != null) {
+            for (Property<?> property : properties.values()) {
+                sum += ((long) hashProperty(property, SEED_HIGH) << 32) | (hashProperty(property, SEED_LOW) & 0xffffffffL);
+                count++;
+            }
+        }
+        return toDigest(sum, count);
+    }
+
+    /**
+     * Hash all fields of a feature exposed through the API.
+     *
+     * @param feature
+     *      current feature
+     * @param seed
+     *      hash seed
+     * @return
+     *      hash for the feature
+     */
+    private static int hashFeature(Feature feature, int seed) {
+        int h = mix(seed, feature.getUid());
+        h = mix(h, feature.isEnable() ? "1" : "0");
+        h = mix(h, feature.getDescription());
+        h = mix(h, feature.getGroup());
+        h = 31 * h + hashAll(feature.getPermissions(), seed);
+        FlippingStrategy strategy = feature.getFlippingStrategy();
+        if (strategy != null) {
+            h = mix(h, strategy.getClass().getName());
+            h = 31 * h + hashEntries(strategy.getInitParams(), seed);
+        }
+        Map<String, Property<?>> custom = feature.getCustomProperties();
+        if (custom != null) {
+            int props = 0;
+            for (Property<?> property : custom.values()) {
+                props += hashProperty(property, seed);
+            }
+            h = 31 * h + props;
+        }
+        return h;
+    }
+
+    /**
+     * Hash all fields of a property exposed through the API.
+     *
+     * @param property
+     *      current property
+     * @param seed
+     *      hash seed
+     * @return
+     *      hash for the property
+     */
+    private static int hashProperty(Property<?> property, int seed) {
+        int h = mix(seed, property.getName());
+        h = mix(h, property.getType());
+        h = mix(h, property.asString());
+        h = mix(h, property.getDescription());
+        h = mix(h, property.isReadOnly() ? "1" : "0");
+        return 31 * h + hashAll(property.getFixedValues(), seed);
+    }
+
+    /**
+     * Order independent hash of a collection.
+     */
+    private static int hashAll(Collection<?> values, int seed) {
+        int h = 0;
+        if (values != null) {
+            for (Object value : values) {
+                h += mix(seed, value == null ? null : value.toString());
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Order independent hash of map entries.
+     */
+    private static int hashEntries(Map<String, String> entries, int seed) {
+        int h = 0;
+        if (entries != null) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                h += mix(mix(seed, entry.getKey()), entry.getValue());
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Chain hash with a value.
+     */
+    private static int mix(int h, String value) {
+        return MurmurHash3.hash32(value == null ? NULL : value, h);
+    }
+
+    /**
+     * Format digest.
+     */
+    private static String toDigest(long sum, int count) {
+        return Integer.toHexString(count) + "-" + Long.toHexString(sum);
+    }
+
+    /**
+     * Getter accessor for attribute 'digest'.
+     *
+     * @return
+     *       current value of 'digest'
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Getter accessor for attribute 'lastModified'.
+     *
+     * @return
+     *       current value of 'lastModified'
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Weak entity tag header value, compression of the payload does not alter it.
+     *
+     * @return
+     *      value for 'ETag' header
+     */
+    public String getETag() {
+        return "W/\"" + digest + "\"";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return getETag() + " (" + lastModified + ")";
+    }
+
+}
@@ -84,6 +84,9 @@ public class FF4jWebConstants {
     /** relative path for cache. */
     public static final String RESOURCE_CACHE = "cache";
     
+    /** relative path for changes since a revision. */
+    public static final String RESOURCE_CHANGES = "changes";
+    
     /** relative path for cache. */
     public static final String STORE_CLEAR = "clear";
     
@@ -108,6 +111,9 @@ public class FF4jWebConstants {
     /** filter for resource. */
     public static final String PARAM_END = "end";
     
+    /** last revision known by client. */
+    public static final String PARAM_SINCE = "since";
+    
     /** nb of points in the curve. */
     public static final String PARAM_NBPOINTS = "nbpoints";
 
@@ -49,3 +49,18 @@ CREATE TABLE CONFIGURATION.AUDIT (
  "EVT_KEYS" VARCHAR(255),
  PRIMARY KEY("EVT_UUID", "EVT_TIME")
 );
+
+CREATE TABLE CONFIGURATION.REVISIONS (
+ "STORE_TYPE" VARCHAR(20) NOT NULL,
+ "REVISION" BIGINT NOT NULL,
+ PRIMARY KEY("STORE_TYPE")
+);
+
+CREATE TABLE CONFIGURATION.CHANGES (
+ "STORE_TYPE" VARCHAR(20) NOT NULL,
+ "ITEM_UID" VARCHAR(100) NOT NULL,
+ "REVISION" BIGINT NOT NULL,
+ "CREATED_REVISION" BIGINT NOT NULL,
+ "DELETED" INTEGER NOT NULL,
+ PRIMARY KEY("STORE_TYPE", "ITEM_UID")
+);
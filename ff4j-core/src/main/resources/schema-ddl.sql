@@ -53,3 +53,18 @@ CREATE TABLE FF4J_AUDIT (
   PRIMARY KEY("EVT_UUID", "EVT_TIME")
 );
 
+CREATE TABLE FF4J_REVISIONS (
+  "STORE_TYPE"   VARCHAR(20)  NOT NULL,
+  "REVISION"     BIGINT       NOT NULL,
+  PRIMARY KEY("STORE_TYPE")
+);
+
+CREATE TABLE FF4J_CHANGES (
+  "STORE_TYPE"       VARCHAR(20)  NOT NULL,
+  "ITEM_UID"         VARCHAR(100) NOT NULL,
+  "REVISION"         BIGINT       NOT NULL,
+  "CREATED_REVISION" BIGINT       NOT NULL,
+  "DELETED"          INTEGER      NOT NULL,
+  PRIMARY KEY("STORE_TYPE", "ITEM_UID")
+);
+
@@ -1,3 +1,5 @@
+DROP TABLE FF4J_CHANGES;
+DROP TABLE FF4J_REVISIONS;
 DROP TABLE FF4J_AUDIT;
 DROP TABLE FF4J_PROPERTIES;
 DROP TABLE FF4J_CUSTOM_PROPERTIES;
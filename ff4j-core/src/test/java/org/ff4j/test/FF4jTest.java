@@ -34,10 +34,12 @@ import org.ff4j.FF4j;
 import org.ff4j.audit.Event;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventPublisher;
+import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.proxy.PropertyStoreAuditProxy;
 import org.ff4j.audit.repository.InMemoryEventRepository;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureCheckResult;
 import org.ff4j.core.FlippingExecutionContext;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.property.Property;
@@ -410,6 +412,60 @@ public class FF4jTest extends AbstractFf4jTest {
         ff4j.getFeatureStore();
     }
     
+    @Test
+    public void testCheckAll() {
+        // Given
+        FF4j ff4j = new FF4j();
+        ff4j.createFeature("f1", true);
+        ff4j.createFeature("f2", false);
+        Feature f3 = new Feature("f3", true);
+        f3.setFlippingStrategy(new ExpressionFlipStrategy("f3", "f1 & f2"));
+        ff4j.createFeature(f3);
+        // When
+        FeatureCheckResult result = ff4j.checkAll(Arrays.asList("f1", "f2", "f3", "f1"), new FlippingExecutionContext());
+        // Then
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals(Arrays.asList("f1", "f2", "f3"), result.getFeatureNames());
+        Assert.assertTrue(result.isEnable("f1"));
+        Assert.assertFalse(result.isEnable("f2"));
+        Assert.assertFalse(result.isEnable("f3"));
+        Assert.assertEquals(Util.set("f1"), result.getEnabledFeatures());
+        Assert.assertEquals(ff4j.check("f1"), result.toMap().get("f1"));
+    }
+    
+    @Test(expected = FeatureNotFoundException.class)
+    public void testCheckAllFeatureNotFound() {
+        FF4j ff4j = new FF4j();
+        ff4j.createFeature("f1", true);
+        ff4j.checkAll(Arrays.asList("f1", "i-dont-exist"));
+    }
+    
+    @Test
+    public void testCheckAllAutoCreate() {
+        FF4j ff4j = new FF4j().autoCreate();
+        FeatureCheckResult result = ff4j.checkAll(Arrays.asList("new1", "new2"));
+        Assert.assertTrue(result.contains("new1"));
+        Assert.assertFalse(result.isEnable("new2"));
+        Assert.assertTrue(ff4j.exist("new2"));
+    }
+    
+    @Test
+    public void testCheckAllAuditInSingleBatch() {
+        // Given
+        InMemoryEventRepository repo = new InMemoryEventRepository();
+        FF4j ff4j = new FF4j();
+        ff4j.createFeature("f1", true);
+        ff4j.createFeature("f2", true);
+        ff4j.setEventRepository(repo);
+        ff4j.setEventPublisher(new EventPublisher(repo));
+        ff4j.audit(true);
+        // When
+        ff4j.checkAll(Arrays.asList("f1", "f2"));
+        // Then
+        Assert.assertEquals(2, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+        ff4j.stop();
+    }
+    
     @Test
     public void getConcreteFeatureStore() {
         FF4j ff4j = new FF4j();
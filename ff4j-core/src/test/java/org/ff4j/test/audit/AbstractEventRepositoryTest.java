@@ -31,10 +31,12 @@ import static org.ff4j.audit.EventConstants.SOURCE_WEBAPI;
 import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.audit.EventQueryDefinition;
@@ -126,6 +128,23 @@ public abstract class AbstractEventRepositoryTest {
         Assert.assertFalse(repo.saveEvent(null));
     }
     
+    @Test
+    public void testSaveEvents() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        ArrayList<Event> events = new ArrayList<Event>();
+        for (int i = 0; i < 10; i++) {
+            events.add(generateFeatureUsageEvent("f" + (i % 3)));
+        }
+        Assert.assertTrue(repo.saveEvents(events));
+        Thread.sleep(100);
+        Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(new EventQueryDefinition(start-20, System.currentTimeMillis())));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveEventsNull() {
+        repo.saveEvents(null);
+    }
+    
     @Test
     public void testSaveAuditTrail() throws InterruptedException {
         long start = System.currentTimeMillis();
@@ -327,6 +346,68 @@ public abstract class AbstractEventRepositoryTest {
         Assert.assertEquals(5, es.size());
     }
     
+    /** TDD. */
+    @Test
+    public void testAverageDuration() throws InterruptedException {
+        EventSeries es = new EventSeries();
+        Assert.assertEquals(0, es.getAverageDuration(), 0);
+        Event e1 = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE);
+        e1.setDuration(1);
+        Event e2 = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE);
+        e2.setDuration(2);
+        es.add(e1);
+        es.add(e2);
+        Assert.assertEquals(1.5, es.getAverageDuration(), 0.001);
+    }
+    
+    /** TDD. */
+    @Test
+    public void testStreamFeatureUsageEventsPaging() throws InterruptedException {
+        // Given
+        long start = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < 10; i++) {
+            repo.saveEvent(generateFeatureUsageEvent("f1", start + (i * 10)));
+        }
+        Thread.sleep(100);
+        // When
+        EventQueryDefinition testQuery = new EventQueryDefinition(start - 1, System.currentTimeMillis()).page(1, 3);
+        EventSeries es = repo.searchFeatureUsageEvents(testQuery);
+        // Then
+        Assert.assertEquals(3, es.size());
+        Assert.assertEquals(start + 30, es.first().getTimestamp());
+        Assert.assertEquals(start + 50, es.last().getTimestamp());
+        
+        // When, callback stops after 2 events
+        final List < Event > streamed = new ArrayList<Event>();
+        repo.streamFeatureUsageEvents(new EventQueryDefinition(start - 1, System.currentTimeMillis()), new EventCallback() {
+            public boolean onEvent(Event evt) {
+                streamed.add(evt);
+                return streamed.size() < 2;
+            }
+        });
+        // Then
+        Assert.assertEquals(2, streamed.size());
+        Assert.assertEquals(start, streamed.get(0).getTimestamp());
+    }
+    
+    /** TDD. */
+    @Test
+    public void testStreamAuditTrailPaging() throws InterruptedException {
+        // Given
+        long start = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < 5; i++) {
+            Event evt = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE);
+            evt.setTimestamp(start + (i * 10));
+            repo.saveEvent(evt);
+        }
+        Thread.sleep(100);
+        // When
+        EventSeries page = repo.getAuditTrail(new EventQueryDefinition(start - 1, System.currentTimeMillis()).page(2, 2));
+        // Then
+        Assert.assertEquals(1, page.size());
+        Assert.assertEquals(start + 40, page.first().getTimestamp());
+    }
+
     /** TDD. */
     @Test
     public void testGetEventByUID() throws InterruptedException {
@@ -1,10 +1,18 @@
 package org.ff4j.test.audit;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /*
  * #%L
@@ -30,6 +38,7 @@ import org.ff4j.FF4j;
 import org.ff4j.audit.Event;
 import org.ff4j.audit.EventBuilder;
 import org.ff4j.audit.EventConstants;
+import org.ff4j.audit.EventIdGenerator;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
@@ -68,6 +77,52 @@ public class AuditBeanTest {
         Assert.assertEquals("a", eb.build().getUser());
     }
     
+    @Test
+    public void testEventBuiderExplicitUser() {
+        FF4j ff4j = new FF4j();
+        ff4j.setAuthorizationsManager(
+                new DefinedPermissionSecurityManager("a", Util.set("1", "2")));
+        Assert.assertEquals("b", new EventBuilder(ff4j).user("b").build().getUser());
+    }
+    
+    @Test
+    public void testEventBuiderDeferredUser() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        FF4j ff4j = new FF4j();
+        ff4j.setAuthorizationsManager(new DefinedPermissionSecurityManager("a", Util.set("1")) {
+            public String getUserName(Object reference) {
+                lookups.incrementAndGet();
+                return super.getUserName(reference);
+            }
+        });
+        Event evt = new EventBuilder(ff4j).name("FeatureX").build();
+        Assert.assertEquals(0, lookups.get());
+        // Resolved before serialization
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new ObjectOutputStream(bos).writeObject(evt);
+        Event copy = (Event) new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())).readObject();
+        Assert.assertEquals("a", copy.getUser());
+        Assert.assertEquals("a", evt.getUser());
+        Assert.assertEquals(1, lookups.get());
+    }
+    
+    @Test
+    public void testEventIdTimeOrdered() {
+        Set<String> ids = new HashSet<String>();
+        UUID previous = null;
+        for (int i = 0; i < 1000; i++) {
+            UUID current = UUID.fromString(EventIdGenerator.nextId(1000L));
+            Assert.assertTrue(ids.add(current.toString()));
+            if (previous != null) {
+                Assert.assertTrue(current.getMostSignificantBits() > previous.getMostSignificantBits());
+            }
+            previous = current;
+        }
+        EventIdGenerator.setTimeOrdered(false);
+        Assert.assertNotNull(UUID.fromString(new Event().getUuid()));
+        EventIdGenerator.setTimeOrdered(true);
+    }
+    
     @Test
     public void testAverageDuration() {
         EventSeries es = new EventSeries();
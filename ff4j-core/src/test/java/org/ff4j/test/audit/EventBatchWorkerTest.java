@@ -0,0 +1,130 @@
+package org.ff4j.test.audit;
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventBatchWorker;
+import org.ff4j.audit.EventOverflowPolicy;
+import org.ff4j.audit.EventPublisher;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Asynchronous publication of events through {@link EventBatchWorker}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class EventBatchWorkerTest {
+
+    @Test
+    public void testAsynchronousPublisherFlushOnStop() {
+        // Given
+        EventRepository er = new InMemoryEventRepository();
+        EventPublisher publisher = new EventPublisher(er, 1000, 10, 50, EventOverflowPolicy.DROP);
+        Assert.assertTrue(publisher.isAsynchronous());
+        // When
+        for (int i = 0; i < 100; i++) {
+            publisher.publish(new Event(SOURCE_JAVA, TARGET_FEATURE, "F1", ACTION_CHECK_OK));
+        }
+        publisher.stop();
+        // Then
+        Assert.assertEquals(100, publisher.getFlushedEventCount());
+        Assert.assertEquals(0, publisher.getDroppedEventCount());
+        Assert.assertEquals(100, er.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+    }
+
+    @Test
+    public void testDropWhenBufferFull() {
+        // Given, worker not started
+        EventBatchWorker worker = new EventBatchWorker(new InMemoryEventRepository(), 10, 5, 50, EventOverflowPolicy.DROP);
+        // When
+        for (int i = 0; i < 15; i++) {
+            worker.offer(new Event(SOURCE_JAVA, TARGET_FEATURE, "F1", ACTION_CHECK_OK));
+        }
+        // Then
+        Assert.assertEquals(10, worker.getPendingCount());
+        Assert.assertEquals(5, worker.getDroppedCount());
+    }
+
+    @Test
+    public void testSampleWhenBufferFull() {
+        // Given, worker not started, keep 1 event every 2
+        EventBatchWorker worker = new EventBatchWorker(new InMemoryEventRepository(), 10, 5, 50, EventOverflowPolicy.SAMPLE, 2);
+        Event last = null;
+        // When
+        for (int i = 0; i < 20; i++) {
+            last = new Event(SOURCE_JAVA, TARGET_FEATURE, "F" + i, ACTION_CHECK_OK);
+            Assert.assertEquals(i < 10 || i % 2 == 1, worker.offer(last));
+        }
+        // Then, buffer still full and every overflowing event counted once
+        Assert.assertEquals(10, worker.getPendingCount());
+        Assert.assertEquals(10, worker.getDroppedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+        new EventBatchWorker(new InMemoryEventRepository(), 10, 0, 50, EventOverflowPolicy.DROP);
+    }
+
+    @Test
+    public void testOfferAfterStopIsDropped() {
+        // Given
+        EventBatchWorker worker = new EventBatchWorker(new InMemoryEventRepository(), 10, 5, 50, EventOverflowPolicy.DROP);
+        worker.stop();
+        // When
+        Assert.assertFalse(worker.offer(new Event(SOURCE_JAVA, TARGET_FEATURE, "F1", ACTION_CHECK_OK)));
+        // Then
+        Assert.assertEquals(0, worker.getPendingCount());
+        Assert.assertEquals(1, worker.getDroppedCount());
+    }
+
+    @Test
+    public void testSetRepositoryOnAsynchronousPublisher() {
+        // Given
+        EventRepository er1 = new InMemoryEventRepository();
+        EventRepository er2 = new InMemoryEventRepository();
+        EventPublisher publisher = new EventPublisher(er1, 1000, 10, 50, EventOverflowPolicy.DROP);
+        // When
+        publisher.setRepository(er2);
+        publisher.publish(new Event(SOURCE_JAVA, TARGET_FEATURE, "F1", ACTION_CHECK_OK));
+        publisher.stop();
+        // Then
+        Assert.assertSame(er2, publisher.getBatchWorker().getRepository());
+        Assert.assertEquals(0, er1.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+        Assert.assertEquals(1, er2.getFeatureUsageTotalHitCount(new EventQueryDefinition()));
+    }
+
+    @Test
+    public void testSynchronousPublisherCounters() {
+        EventPublisher publisher = new EventPublisher();
+        Assert.assertFalse(publisher.isAsynchronous());
+        Assert.assertEquals(0, publisher.getDroppedEventCount());
+        Assert.assertEquals(0, publisher.getFlushedEventCount());
+        publisher.stop();
+    }
+}
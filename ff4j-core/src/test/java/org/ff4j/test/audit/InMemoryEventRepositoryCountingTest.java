@@ -0,0 +1,134 @@
+package org.ff4j.test.audit;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ACTION_CREATE;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.SOURCE_WEB;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.TimeSeriesChart;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.audit.repository.FeatureUsageCounters;
+import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for InMemory Event repository in counting mode.
+ * 
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryEventRepositoryCountingTest extends AbstractEventRepositoryTest {
+    
+    /** {@inheritDoc} */
+    @Override
+    protected EventRepository initRepository() {
+        return new InMemoryEventRepository(new FeatureUsageCounters());
+    }
+    
+    /** Raw check events are not kept in counting mode. */
+    @Test
+    @Override
+    public void testSearchFeatureUsageEvents() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        for(int i = 0;i<8;i++) {
+            repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK));
+            repo.saveEvent(new Event(SOURCE_WEB, TARGET_FEATURE, "f2", ACTION_CHECK_OK));
+        }
+        EventQueryDefinition testQuery = new EventQueryDefinition(start - 20, System.currentTimeMillis());
+        Assert.assertTrue(repo.searchFeatureUsageEvents(testQuery).isEmpty());
+        Map<String, MutableHitCount> hits = repo.getFeatureUsageHitCount(testQuery);
+        Assert.assertEquals(8, hits.get("f1").get());
+        Assert.assertEquals(8, hits.get("f2").get());
+        testQuery.addFilterSource(SOURCE_WEB);
+        Assert.assertNull(repo.getFeatureUsageHitCount(testQuery).get("f1"));
+    }
+    
+    /** Raw check events are not kept in counting mode, nothing to stream. */
+    @Test
+    @Override
+    public void testStreamFeatureUsageEventsPaging() throws InterruptedException {
+        long start = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < 10; i++) {
+            repo.saveEvent(generateFeatureUsageEvent("f1", start + (i * 10)));
+        }
+        EventQueryDefinition testQuery = new EventQueryDefinition(start - 1, System.currentTimeMillis()).page(1, 3);
+        Assert.assertTrue(repo.searchFeatureUsageEvents(testQuery).isEmpty());
+        Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(testQuery));
+    }
+    
+    /** Counters are removed, audit trail is still stored as events. */
+    @Test
+    @Override
+    public void testPurgeEvents() throws InterruptedException {
+        long topStart = System.currentTimeMillis();
+        Event evtAudit = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CREATE);
+        repo.saveEvent(evtAudit);
+        repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f2", ACTION_CHECK_OK));
+        EventQueryDefinition testQuery = new EventQueryDefinition(topStart - 100, System.currentTimeMillis());
+        Assert.assertEquals(1, repo.getFeatureUsageTotalHitCount(testQuery));
+        Assert.assertNotNull(repo.getEventByUUID(evtAudit.getUuid(), System.currentTimeMillis()));
+        // When
+        repo.purgeFeatureUsage(testQuery);
+        // Then
+        Assert.assertEquals(0, repo.getFeatureUsageTotalHitCount(testQuery));
+        repo.purgeAuditTrail(testQuery);
+        Assert.assertNull(repo.getEventByUUID(evtAudit.getUuid(), System.currentTimeMillis()));
+    }
+    
+    @Test
+    public void testCountersPerBucket() {
+        // Events of 2 days ago, 2 different hours
+        long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        repo.saveEvent(generateFeatureUsageEvent("f1", twoDaysAgo));
+        repo.saveEvent(generateFeatureUsageEvent("f1", twoDaysAgo + TimeUnit.HOURS.toMillis(3)));
+        repo.saveEvent(generateFeatureUsageEvent("f2", twoDaysAgo + TimeUnit.HOURS.toMillis(3)));
+        // Whole period
+        EventQueryDefinition q = new EventQueryDefinition(twoDaysAgo - TimeUnit.DAYS.toMillis(1), System.currentTimeMillis());
+        Assert.assertEquals(3, repo.getFeatureUsageTotalHitCount(q));
+        // Only first event (bounds rounded to minute)
+        EventQueryDefinition q2 = new EventQueryDefinition(twoDaysAgo, twoDaysAgo + TimeUnit.HOURS.toMillis(1));
+        Assert.assertEquals(1, repo.getFeatureUsageTotalHitCount(q2));
+        // History per hour
+        TimeSeriesChart tsc = repo.getFeatureUsageHistory(q, TimeUnit.HOURS);
+        Assert.assertEquals(2, tsc.getSeries().size());
+    }
+    
+    @Test
+    public void testCountersBeyondMinutesRetention() {
+        // Minute bucket of 2 days ago purged when current minute is created
+        long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        repo.saveEvent(generateFeatureUsageEvent("f1", twoDaysAgo));
+        repo.saveEvent(generateFeatureUsageEvent("f1", System.currentTimeMillis()));
+        // Unaligned bounds use the enclosing hour
+        EventQueryDefinition q = new EventQueryDefinition(twoDaysAgo, twoDaysAgo + TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(1, repo.getFeatureUsageTotalHitCount(q));
+    }
+    
+}
@@ -20,8 +20,19 @@ package org.ff4j.test.audit;
  * #L%
  */
 
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.repository.EventRepository;
 import org.ff4j.audit.repository.InMemoryEventRepository;
+import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Test for publisher and InMemory Event repository.
@@ -36,4 +47,63 @@ public class InMemoryEventRepositoryTest extends AbstractEventRepositoryTest {
         return new InMemoryEventRepository(60);
     }
     
+    @Test
+    public void testCapacityByHour() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        long start = System.currentTimeMillis() - (System.currentTimeMillis() % hour) - (2 * hour);
+        for (int i = 0; i < 70; i++) {
+            repo.saveEvent(generateFeatureUsageEvent("f1", start + i));
+        }
+        // Next hour is a new chunk
+        Assert.assertTrue(repo.saveEvent(generateFeatureUsageEvent("f1", start + hour)));
+        EventQueryDefinition q = new EventQueryDefinition(start, start + (2 * hour) - 1);
+        Assert.assertEquals(61, repo.getFeatureUsageTotalHitCount(q));
+    }
+    
+    @Test
+    public void testRetentionExpiresChunks() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        EventRepository repoRetention = new InMemoryEventRepository(60, 2 * hour);
+        long start = System.currentTimeMillis() - (System.currentTimeMillis() % hour) - (5 * hour);
+        for (int i = 0; i < 5; i++) {
+            repoRetention.saveEvent(generateFeatureUsageEvent("f1", start + (i * hour)));
+        }
+        EventQueryDefinition q = new EventQueryDefinition(start, start + (5 * hour));
+        Assert.assertEquals(3, repoRetention.getFeatureUsageTotalHitCount(q));
+        Assert.assertEquals(3, repoRetention.searchFeatureUsageEvents(q).size());
+    }
+    
+    @Test
+    public void testEventsRebuiltFromChunks() {
+        long start = System.currentTimeMillis() - 1000;
+        Event standard = generateFeatureUsageEvent("f1", start);
+        standard.setUser("john");
+        standard.setDuration(12);
+        Event custom = generateFeatureUsageEvent("f2", start + 10);
+        custom.setUuid("my-event");
+        custom.setValue("on");
+        custom.getCustomKeys().put("key", "value");
+        // Unordered
+        repo.saveEvent(custom);
+        repo.saveEvent(standard);
+        
+        EventSeries es = repo.searchFeatureUsageEvents(new EventQueryDefinition(start - 10, start + 20));
+        Assert.assertEquals(2, es.size());
+        Event first = es.iterator().next();
+        Assert.assertEquals(standard.getUuid(), first.getUuid());
+        Assert.assertEquals("john", first.getUser());
+        Assert.assertEquals(12, first.getDuration());
+        Assert.assertEquals(SOURCE_JAVA, first.getSource());
+        Assert.assertEquals(TARGET_FEATURE, first.getType());
+        Assert.assertEquals(ACTION_CHECK_OK, first.getAction());
+        Assert.assertEquals(standard.getHostName(), first.getHostName());
+        
+        Event found = repo.getEventByUUID("my-event", start + 10);
+        Assert.assertNotNull(found);
+        Assert.assertEquals("value", found.getCustomKeys().get("key"));
+        Assert.assertEquals("on", found.getValue());
+        Assert.assertNotNull(repo.getEventByUUID(standard.getUuid(), null));
+        Assert.assertEquals(1, repo.getUserHitCount(new EventQueryDefinition(start - 10, start + 20)).get("john").get());
+    }
+    
 }
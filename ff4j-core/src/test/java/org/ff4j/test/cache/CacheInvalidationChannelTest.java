@@ -0,0 +1,142 @@
+package org.ff4j.test.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.cache.FF4JCacheManager;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.cache.InMemoryCacheInvalidationChannel;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Cache proxies sharing the same store are notified of modifications.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationChannelTest {
+    
+    /** Shared store. */
+    private FeatureStore fs;
+    
+    /** Shared store. */
+    private PropertyStore ps;
+    
+    /** Cache of node 1. */
+    private FF4JCacheManager cache1;
+    
+    /** Cache of node 2. */
+    private FF4JCacheManager cache2;
+    
+    /** Node 1. */
+    private FF4jCacheProxy node1;
+    
+    /** Node 2. */
+    private FF4jCacheProxy node2;
+    
+    @Before
+    public void initProxies() {
+        fs     = new InMemoryFeatureStore("ff4j.xml");
+        ps     = new InMemoryPropertyStore("ff4j.xml");
+        cache1 = new InMemoryCacheManager();
+        cache2 = new InMemoryCacheManager();
+        node1  = new FF4jCacheProxy(fs, ps, cache1);
+        node2  = new FF4jCacheProxy(fs, ps, cache2);
+        InMemoryCacheInvalidationChannel channel = new InMemoryCacheInvalidationChannel();
+        node1.setInvalidationChannel(channel);
+        node2.setInvalidationChannel(channel);
+    }
+    
+    @Test
+    public void testEvictOnOtherNode() {
+        // Given, both nodes have the feature in cache
+        node1.read("first");
+        node2.read("first");
+        node2.read("second");
+        Assert.assertNotNull(cache2.getFeature("first"));
+        // When
+        node1.disable("first");
+        // Then, only changed entry is evicted on node2
+        Assert.assertNull(cache2.getFeature("first"));
+        Assert.assertNotNull(cache2.getFeature("second"));
+    }
+    
+    @Test
+    public void testRefreshOnOtherNode() {
+        node2.setRefreshOnInvalidation(true);
+        node1.create(new Feature("newFeature", true));
+        Assert.assertNotNull(cache2.getFeature("newFeature"));
+        node1.delete("newFeature");
+        Assert.assertNull(cache2.getFeature("newFeature"));
+    }
+    
+    @Test
+    public void testPropertyOnOtherNode() {
+        node2.readProperty("a");
+        Assert.assertNotNull(cache2.getProperty("a"));
+        node1.updateProperty("a", "AMER");
+        Assert.assertNull(cache2.getProperty("a"));
+        // Publisher keeps its own value
+        Assert.assertNotNull(cache1.getProperty("a"));
+    }
+    
+    @Test
+    public void testFullInvalidationAfterReconnect() {
+        // Given, a channel which lost its connection
+        ReconnectingChannel channel = new ReconnectingChannel();
+        node2.setInvalidationChannel(channel);
+        node2.read("first");
+        node2.readProperty("a");
+        // When
+        channel.reconnect();
+        // Then, every entry is evicted
+        Assert.assertNull(cache2.getFeature("first"));
+        Assert.assertNull(cache2.getProperty("a"));
+    }
+    
+    @Test
+    public void testUnsubscribe() {
+        node2.read("first");
+        node2.setInvalidationChannel(null);
+        node1.disable("first");
+        Assert.assertNotNull(cache2.getFeature("first"));
+    }
+    
+    /**
+     * Channel simulating a reconnection to its broker.
+     */
+    private static final class ReconnectingChannel extends InMemoryCacheInvalidationChannel {
+        
+        /**
+         * Messages may have been lost while disconnected.
+         */
+        private void reconnect() {
+            notifyFullInvalidation();
+        }
+    }
+    
+}
@@ -1,13 +1,16 @@
 package org.ff4j.test.cache;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.ff4j.FF4j;
 import org.ff4j.cache.FF4JCacheManager;
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.core.Feature;
+import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.property.Property;
 import org.ff4j.property.PropertyLogLevel;
 import org.ff4j.property.PropertyLogLevel.LogLevel;
@@ -129,4 +132,46 @@ public class CacheProxyTest {
         
     }
 
+    @Test
+    public void testNegativeCache() {
+        final AtomicInteger targetReads = new AtomicInteger(0);
+        InMemoryFeatureStore target = new InMemoryFeatureStore() {
+            public Feature readIfExists(String uid) {
+                targetReads.incrementAndGet();
+                return super.readIfExists(uid);
+            }
+        };
+        FF4jCacheProxy proxy = new FF4jCacheProxy(target, new InMemoryPropertyStore(), new InMemoryCacheManager());
+        // Miss is remembered
+        Assert.assertNull(proxy.readIfExists("f1"));
+        Assert.assertNull(proxy.readIfExists("f1"));
+        Assert.assertFalse(proxy.exist("f1"));
+        Assert.assertTrue(proxy.readMany(Arrays.asList("f1")).isEmpty());
+        try {
+            proxy.read("f1");
+            Assert.fail();
+        } catch (FeatureNotFoundException fnfe) {
+            // Expected
+        }
+        Assert.assertEquals(1, targetReads.get());
+        // Creation invalidates negative cache
+        proxy.create(new Feature("f1", true));
+        Assert.assertNotNull(proxy.readIfExists("f1"));
+        Assert.assertTrue(proxy.exist("f1"));
+        // Negative cache can be disabled
+        proxy.setNegativeCache(null);
+        Assert.assertNull(proxy.readIfExists("f2"));
+        Assert.assertNull(proxy.readIfExists("f2"));
+        Assert.assertEquals(3, targetReads.get());
+    }
+    
+    @Test
+    public void testNegativeCacheWithFF4j() {
+        FF4j myFF4J = new FF4j().cache(new InMemoryCacheManager());
+        Assert.assertFalse(myFF4J.exist("f1"));
+        myFF4J.createFeature(new Feature("f1", true));
+        Assert.assertTrue(myFF4J.check("f1"));
+        Assert.assertEquals(0, myFF4J.getCacheProxy().getNegativeCache().size());
+    }
+
 }
@@ -20,11 +20,19 @@ package org.ff4j.test.cache;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ff4j.cache.CacheInvalidationListener;
+import org.ff4j.cache.ConcurrentCacheManager;
 import org.ff4j.cache.FF4JCacheManager;
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.cache.InMemoryCacheManager;
 import org.ff4j.cache.Store2CachePollingScheduler;
+import org.ff4j.cache.Store2CachePollingWorker;
+import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.property.PropertyString;
 import org.ff4j.property.store.InMemoryPropertyStore;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.store.InMemoryFeatureStore;
@@ -65,6 +73,72 @@ public class CacheProxyWithPollingTest {
     }
     
     
+    @Test
+    public void testPollingOnlyReloadChanges() {
+        FeatureStore  fs     = new InMemoryFeatureStore("ff4j.xml");
+        PropertyStore ps     = new InMemoryPropertyStore("ff4j.xml");
+        FF4JCacheManager cm  = new InMemoryCacheManager();
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, ps, cm);
+        worker.run();
+        Feature cachedFirst = cm.getFeature("first");
+        Assert.assertNotNull(cachedFirst);
+        
+        // When
+        fs.delete("AwesomeFeature");
+        Feature updated = new Feature("second", true);
+        fs.update(updated);
+        worker.run();
+        
+        // Then
+        Assert.assertNull(cm.getFeature("AwesomeFeature"));
+        Assert.assertTrue(cm.getFeature("second").isEnable());
+        Assert.assertSame(cachedFirst, cm.getFeature("first"));
+        Assert.assertEquals(ps.readAllProperties().size(), cm.listCachedPropertyNames().size());
+    }
+    
+    @Test
+    public void testSnapshotPollingDoesNotReadCache() {
+        // Given, stores without revisions : each poll is a snapshot
+        InMemoryFeatureStore  fs = new InMemoryFeatureStore("ff4j.xml");
+        InMemoryPropertyStore ps = new InMemoryPropertyStore("ff4j.xml");
+        fs.setRevisionLog(null);
+        ps.setRevisionLog(null);
+        ConcurrentCacheManager cm = new ConcurrentCacheManager();
+        Store2CachePollingWorker worker = new Store2CachePollingWorker(fs, ps, cm);
+        final List < String > refreshed = new ArrayList<String>();
+        worker.setRefreshListener(new CacheInvalidationListener() {
+            public String getListenerId() {
+                return "test";
+            }
+            public void onFeatureInvalidated(String featureUid) {
+                refreshed.add(featureUid);
+            }
+            public void onPropertyInvalidated(String propertyName) {
+                refreshed.add(propertyName);
+            }
+        });
+        worker.run();
+        Assert.assertFalse(refreshed.isEmpty());
+        
+        // When, nothing changed
+        refreshed.clear();
+        worker.run();
+        // Then
+        Assert.assertTrue(refreshed.isEmpty());
+        
+        // When, one feature and one property changed
+        Feature second = fs.read("second");
+        fs.update(new Feature("second", !second.isEnable(), second.getDescription(), second.getGroup(), second.getPermissions()));
+        ps.updateProperty(new PropertyString("e", "updated"));
+        worker.run();
+        // Then, only changed items are reloaded and cache is never read
+        Assert.assertEquals(2, refreshed.size());
+        Assert.assertTrue(refreshed.contains("second"));
+        Assert.assertTrue(refreshed.contains("e"));
+        Assert.assertEquals(0, cm.getHitCount());
+        Assert.assertEquals(0, cm.getMissCount());
+    }
+    
     @Test(expected = IllegalStateException.class)
     public void testStartCacheProxy() {
         FF4jCacheProxy proxy = new FF4jCacheProxy();
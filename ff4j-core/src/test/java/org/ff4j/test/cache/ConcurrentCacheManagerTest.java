@@ -0,0 +1,134 @@
+package org.ff4j.test.cache;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.cache.CacheClock;
+import org.ff4j.cache.ConcurrentCacheManager;
+import org.ff4j.cache.FF4jCacheProxy;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.test.store.CoreFeatureStoreTestSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link ConcurrentCacheManager} class.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ConcurrentCacheManagerTest extends CoreFeatureStoreTestSupport {
+
+    /** Clock moved by hand. */
+    private static class ManualClock implements CacheClock {
+        private long now = 0;
+        public long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FeatureStore initStore() {
+        return new FF4jCacheProxy(
+                new InMemoryFeatureStore("ff4j.xml"),
+                new InMemoryPropertyStore("ff4j.xml"),
+                new ConcurrentCacheManager());
+    }
+
+    @Test
+    public void testInitializations() {
+        ConcurrentCacheManager ccm = new ConcurrentCacheManager();
+        Assert.assertNotNull(ccm.getFeatureNativeCache());
+        Assert.assertNotNull(ccm.getPropertyNativeCache());
+        Assert.assertEquals("InMemoryConcurrent", ccm.getCacheProviderName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutNullisIlegal() {
+        new ConcurrentCacheManager().putFeature(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutNullPropertyisIlegal() {
+        new ConcurrentCacheManager().putProperty(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutNullFeatureId() {
+        Feature f = new Feature("a");
+        f.setUid(null);
+        new ConcurrentCacheManager().putFeature(f);
+    }
+
+    @Test
+    public void testHitAndMissCounters() {
+        ConcurrentCacheManager ccm = new ConcurrentCacheManager(10, 60, new ManualClock());
+        ccm.putFeature(new Feature("f1"));
+        ccm.putProperty(new PropertyString("p1", "v1"));
+        Assert.assertNotNull(ccm.getFeature("f1"));
+        Assert.assertNotNull(ccm.getProperty("p1"));
+        Assert.assertNull(ccm.getFeature("f2"));
+        Assert.assertEquals(2, ccm.getHitCount());
+        Assert.assertEquals(1, ccm.getMissCount());
+        ccm.evictFeature("f1");
+        Assert.assertNull(ccm.getFeature("f1"));
+        Assert.assertTrue(ccm.listCachedPropertyNames().contains("p1"));
+    }
+
+    @Test
+    public void testTimeToLive() {
+        ManualClock clock = new ManualClock();
+        ConcurrentCacheManager ccm = new ConcurrentCacheManager(10, 60, clock);
+        ccm.putFeature(new Feature("f1"));
+        ccm.putFeature(new Feature("f2"), 5);
+        clock.now = 10000;
+        Assert.assertNotNull(ccm.getFeature("f1"));
+        Assert.assertNull(ccm.getFeature("f2"));
+        Assert.assertEquals(1, ccm.getEvictionCount());
+        clock.now = 61000;
+        Assert.assertNull(ccm.getFeature("f1"));
+    }
+
+    @Test
+    public void testBoundedSizeEvictLeastRecentlyUsed() {
+        ManualClock clock = new ManualClock();
+        ConcurrentCacheManager ccm = new ConcurrentCacheManager(3, 60, clock);
+        ccm.putFeature(new Feature("f1"));
+        clock.now++;
+        ccm.putFeature(new Feature("f2"));
+        clock.now++;
+        ccm.putFeature(new Feature("f3"));
+        clock.now++;
+        // f1 becomes most recently used
+        Assert.assertNotNull(ccm.getFeature("f1"));
+        clock.now++;
+        ccm.putFeature(new Feature("f4"));
+        Assert.assertTrue(ccm.getFeaturesCache().size() <= 3);
+        Assert.assertNull(ccm.getFeature("f2"));
+        Assert.assertNotNull(ccm.getFeature("f1"));
+        Assert.assertNotNull(ccm.getFeature("f4"));
+        Assert.assertTrue(ccm.getEvictionCount() > 0);
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.ff4j.test.property;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ff4j.FF4j;
+import org.ff4j.cache.InMemoryCacheInvalidationChannel;
+import org.ff4j.cache.InMemoryCacheManager;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.exception.InvalidPropertyTypeException;
+import org.ff4j.exception.PropertyNotFoundException;
+import org.ff4j.property.PropertyDouble;
+import org.ff4j.property.PropertyHandle;
+import org.ff4j.property.PropertyHandleListener;
+import org.ff4j.property.PropertyInt;
+import org.ff4j.property.PropertyString;
+import org.ff4j.property.store.InMemoryPropertyStore;
+import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Typed handles on properties are refreshed when properties change.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class PropertyHandleTest {
+    
+    /** Current ff4j. */
+    private FF4j ff4j;
+    
+    /** Changes received by listener. */
+    private List < String > changes;
+    
+    /** Record changes. */
+    private PropertyHandleListener < Integer > recorder = new PropertyHandleListener<Integer>() {
+        public void onPropertyChange(String propertyName, Integer oldValue, Integer newValue) {
+            changes.add(propertyName + ":" + oldValue + "->" + newValue);
+        }
+    };
+    
+    @Before
+    public void initFF4j() {
+        ff4j = new FF4j();
+        ff4j.createProperty(new PropertyInt("max.conn", 10));
+        ff4j.createProperty(new PropertyDouble("ratio", 0.5));
+        ff4j.createProperty(new PropertyString("label", "hello"));
+        ff4j.createProperty(new PropertyString("timeout", "1000"));
+        ff4j.createProperty(new PropertyString("enabled", "true"));
+        changes = new ArrayList<String>();
+    }
+    
+    @Test
+    public void testTypedHandles() {
+        Assert.assertEquals(Integer.valueOf(10), ff4j.intProperty("max.conn").get());
+        Assert.assertEquals(Long.valueOf(1000), ff4j.longProperty("timeout").get());
+        Assert.assertEquals(0.5, ff4j.doubleProperty("ratio").get(), 0.0001);
+        Assert.assertEquals("hello", ff4j.stringProperty("label").get());
+        Assert.assertTrue(ff4j.booleanProperty("enabled").get());
+    }
+    
+    @Test
+    public void testHandleIsShared() {
+        PropertyHandle<Integer> h1 = ff4j.intProperty("max.conn");
+        Assert.assertSame(h1, ff4j.intProperty("max.conn"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testHandleWithAnotherType() {
+        ff4j.intProperty("max.conn");
+        ff4j.stringProperty("max.conn");
+    }
+    
+    @Test(expected = PropertyNotFoundException.class)
+    public void testHandleUnknownProperty() {
+        ff4j.intProperty("i-do-not-exist");
+    }
+    
+    @Test(expected = InvalidPropertyTypeException.class)
+    public void testHandleInvalidType() {
+        ff4j.intProperty("label");
+    }
+    
+    @Test
+    public void testRefreshOnWrite() {
+        PropertyHandle<Integer> handle = ff4j.intProperty("max.conn").addListener(recorder);
+        ff4j.deleteProperty("max.conn");
+        // Last known value is kept
+        Assert.assertEquals(Integer.valueOf(10), handle.get());
+        ff4j.createProperty(new PropertyInt("max.conn", 20));
+        Assert.assertEquals(Integer.valueOf(20), handle.get());
+        // Updated outside of ff4j
+        ff4j.getPropertiesStore().updateProperty("max.conn", "30");
+        ff4j.refreshPropertyHandles();
+        Assert.assertEquals(Integer.valueOf(30), handle.get());
+        // Same value, no notification
+        ff4j.refreshPropertyHandles();
+        Assert.assertEquals(2, changes.size());
+        Assert.assertEquals("max.conn:10->20", changes.get(0));
+    }
+    
+    @Test
+    public void testRefreshThroughCache() {
+        ff4j.cache(new InMemoryCacheManager());
+        PropertyHandle<Integer> handle = ff4j.intProperty("max.conn").addListener(recorder);
+        ff4j.getPropertiesStore().updateProperty("max.conn", "15");
+        Assert.assertEquals(Integer.valueOf(15), handle.get());
+        Assert.assertEquals("max.conn:10->15", changes.get(0));
+        // Invalid value is ignored
+        ff4j.getPropertiesStore().updateProperty(new PropertyString("max.conn", "abc"));
+        Assert.assertEquals(Integer.valueOf(15), handle.get());
+        handle.removeListener(recorder);
+        ff4j.getPropertiesStore().updateProperty(new PropertyInt("max.conn", 16));
+        Assert.assertEquals(Integer.valueOf(16), handle.get());
+        Assert.assertEquals(1, changes.size());
+    }
+    
+    @Test
+    public void testRefreshFromOtherNode() {
+        // Given 2 nodes sharing the same stores
+        FeatureStore fs  = new InMemoryFeatureStore();
+        PropertyStore ps = new InMemoryPropertyStore();
+        ps.createProperty(new PropertyInt("max.conn", 10));
+        InMemoryCacheInvalidationChannel channel = new InMemoryCacheInvalidationChannel();
+        FF4j node1 = new FF4j();
+        node1.setFeatureStore(fs);
+        node1.setPropertiesStore(ps);
+        node1.cache(new InMemoryCacheManager());
+        node1.getCacheProxy().setInvalidationChannel(channel);
+        FF4j node2 = new FF4j();
+        node2.setFeatureStore(fs);
+        node2.setPropertiesStore(ps);
+        node2.cache(new InMemoryCacheManager());
+        node2.getCacheProxy().setInvalidationChannel(channel);
+        PropertyHandle<Integer> handle = node2.intProperty("max.conn").addListener(recorder);
+        // When
+        node1.getPropertiesStore().updateProperty("max.conn", "25");
+        // Then
+        Assert.assertEquals(Integer.valueOf(25), handle.get());
+        Assert.assertEquals("max.conn:10->25", changes.get(0));
+    }
+    
+}
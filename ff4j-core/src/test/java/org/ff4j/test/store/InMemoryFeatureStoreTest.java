@@ -12,6 +12,7 @@ package org.ff4j.test.store;
  */
 
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
@@ -102,4 +103,64 @@ public class InMemoryFeatureStoreTest extends CoreFeatureStoreTestSupport {
         Assert.assertFalse(f.readAll().isEmpty());
     }
     
+    @Test
+    public void testReadAllIsSnapshot() {
+        InMemoryFeatureStore imfs = new InMemoryFeatureStore();
+        imfs.create(new Feature("f1", true, "desc", "g1"));
+        Map<String, Feature> before = imfs.readAll();
+        imfs.create(new Feature("f2", true, "desc", "g1"));
+        // Previous snapshot not altered, new one visible
+        Assert.assertEquals(1, before.size());
+        Assert.assertEquals(2, imfs.readAll().size());
+        Assert.assertEquals(2, imfs.readGroup("g1").size());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadGroupIsImmutable() {
+        InMemoryFeatureStore imfs = new InMemoryFeatureStore();
+        imfs.create(new Feature("f1", true, "desc", "g1"));
+        imfs.readGroup("g1").remove("f1");
+    }
+    
+    @Test
+    public void testGroupIndexMaintained() {
+        InMemoryFeatureStore imfs = new InMemoryFeatureStore();
+        imfs.create(new Feature("f1", true, "desc", "g1"));
+        imfs.create(new Feature("f2", true, "desc", "g1"));
+        imfs.addToGroup("f1", "g2");
+        Assert.assertEquals(1, imfs.readGroup("g1").size());
+        Assert.assertTrue(imfs.readGroup("g2").containsKey("f1"));
+        imfs.removeFromGroup("f2", "g1");
+        Assert.assertFalse(imfs.existGroup("g1"));
+        imfs.delete("f1");
+        Assert.assertTrue(imfs.readAllGroups().isEmpty());
+    }
+    
+    @Test
+    public void testPublishedSnapshotsAreNotModified() {
+        // Given
+        InMemoryFeatureStore imfs = new InMemoryFeatureStore();
+        imfs.create(new Feature("f1", false, "desc", "g1"));
+        imfs.create(new Feature("f2", false, "desc", "g1"));
+        Map<String, Feature> all = imfs.readAll();
+        Map<String, Feature> group = imfs.readGroup("g1");
+        Feature f1 = imfs.read("f1");
+        // When
+        imfs.enable("f1");
+        imfs.enableGroup("g1");
+        imfs.grantRoleOnFeature("f1", "ADMIN");
+        imfs.addToGroup("f2", "g2");
+        // Then, previous snapshots are unchanged
+        Assert.assertFalse(all.get("f1").isEnable());
+        Assert.assertFalse(group.get("f2").isEnable());
+        Assert.assertFalse(f1.isEnable());
+        Assert.assertTrue(f1.getPermissions().isEmpty());
+        Assert.assertEquals("g1", all.get("f2").getGroup());
+        // New snapshots reflect changes
+        Assert.assertTrue(imfs.readAll().get("f1").isEnable());
+        Assert.assertTrue(imfs.read("f1").getPermissions().contains("ADMIN"));
+        Assert.assertEquals("g2", imfs.read("f2").getGroup());
+        Assert.assertEquals(1, imfs.readGroup("g1").size());
+    }
+    
 }
@@ -0,0 +1,128 @@
+package org.ff4j.test.store;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ff4j.store.InMemoryRevisionLog;
+import org.ff4j.store.RevisionLog;
+import org.ff4j.store.StoreChanges;
+import org.ff4j.utils.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Changes recorded by {@link InMemoryRevisionLog}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class InMemoryRevisionLogTest {
+
+    @Test
+    public void testSnapshotWhenRevisionUnknown() {
+        // Given
+        RevisionLog log = new InMemoryRevisionLog();
+        // When
+        StoreChanges<String> older = log.changesSince(StoreChanges.NO_REVISION);
+        StoreChanges<String> newer = log.changesSince(log.getRevision() + 1);
+        // Then
+        Assert.assertTrue(older.isSnapshot());
+        Assert.assertTrue(newer.isSnapshot());
+        Assert.assertEquals(log.getRevision(), older.getRevision());
+    }
+
+    @Test
+    public void testChangesSinceRevision() {
+        // Given
+        RevisionLog log = new InMemoryRevisionLog();
+        log.logCreate(Arrays.asList("a", "b", "c"));
+        long revision = log.getRevision();
+        // When
+        log.logUpdate(Collections.singleton("a"));
+        log.logDelete(Collections.singleton("b"));
+        log.logCreate(Collections.singleton("d"));
+        StoreChanges<String> changes = log.changesSince(revision);
+        // Then
+        Assert.assertFalse(changes.isSnapshot());
+        Assert.assertEquals(revision + 3, changes.getRevision());
+        Assert.assertEquals(Util.set("a"), changes.getUpdated().keySet());
+        Assert.assertEquals(Util.set("d"), changes.getCreated().keySet());
+        Assert.assertEquals(Util.set("b"), changes.getDeleted());
+        Assert.assertTrue(log.changesSince(changes.getRevision()).isEmpty());
+    }
+
+    @Test
+    public void testOnlyLastChangeIsKept() {
+        // Given
+        RevisionLog log = new InMemoryRevisionLog();
+        log.logCreate(Collections.singleton("a"));
+        long revision = log.getRevision();
+        // When, item created and deleted after revision is reported as deleted
+        log.logUpdate(Arrays.asList("a", "a"));
+        log.logCreate(Collections.singleton("tmp"));
+        log.logDelete(Collections.singleton("tmp"));
+        log.logUpdate(Collections.singleton("a"));
+        StoreChanges<String> changes = log.changesSince(revision);
+        // Then
+        Assert.assertEquals(Util.set("a"), changes.getChangedUids());
+        Assert.assertEquals(Util.set("tmp"), changes.getDeleted());
+        // Only the last change of 'a' is after this revision
+        Assert.assertEquals(Util.set("a"), log.changesSince(revision + 3).getUpdated().keySet());
+    }
+
+    @Test
+    public void testFillValues() {
+        // Given
+        RevisionLog log = new InMemoryRevisionLog();
+        long revision = log.getRevision();
+        log.logCreate(Arrays.asList("a", "b"));
+        StoreChanges<String> changes = log.changesSince(revision);
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("a", "valueA");
+        // When, 'b' has been deleted before values are read
+        changes.fill(values);
+        // Then
+        Assert.assertEquals("valueA", changes.getCreated().get("a"));
+        Assert.assertFalse(changes.getCreated().containsKey("b"));
+        Assert.assertTrue(changes.getDeleted().isEmpty());
+    }
+
+    @Test
+    public void testFillSnapshot() {
+        // Given
+        StoreChanges<String> changes = new StoreChanges<String>(StoreChanges.NO_REVISION, StoreChanges.NO_REVISION, true);
+        Map<String, String> values = new HashMap<String, String>();
+        values.put("a", "valueA");
+        // When
+        changes.fill(values);
+        // Then
+        Assert.assertEquals(values, changes.getUpdated());
+        Assert.assertFalse(changes.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotRecordOnSnapshot() {
+        new StoreChanges<String>(0, 0, true).record("a", 0, false);
+    }
+}
@@ -1,5 +1,9 @@
 package org.ff4j.test.store;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.ff4j.audit.EventQueryDefinition;
 
 /*
@@ -13,12 +17,14 @@ import org.ff4j.audit.EventQueryDefinition;
  * governing permissions and limitations under the License. #L%
  */
 
+import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.store.JdbcFeatureStore;
 import org.ff4j.store.JdbcQueryBuilder;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
@@ -73,6 +79,16 @@ public class JdbcFeatureStoreCoreTest extends CoreFeatureStoreTestSupport {
         testedStore.read("dont-exist");
     }
     
+    @Test
+    public void testPagedQuery() {
+        JdbcQueryBuilder builder = new JdbcQueryBuilder();
+        String query = builder.getSelectFeatureUsageQuery(new EventQueryDefinition());
+        Assert.assertEquals(query, builder.getPagedQuery(query, 0, -1));
+        Assert.assertEquals(query + " OFFSET 10 ROWS FETCH NEXT 5 ROWS ONLY", builder.getPagedQuery(query, 10, 5));
+        Assert.assertEquals(query + " OFFSET 10 ROWS", builder.getPagedQuery(query, 10, -1));
+        Assert.assertEquals(query + " OFFSET 0 ROWS FETCH NEXT 5 ROWS ONLY", builder.getPagedQuery(query, 0, 5));
+    }
+    
     @Test
     public void testQueryBuilder() {
         JdbcQueryBuilder builder = new JdbcQueryBuilder();
@@ -98,6 +114,21 @@ public class JdbcFeatureStoreCoreTest extends CoreFeatureStoreTestSupport {
         builder.buildWhereClause(e1, true, false);
     }
     
+    @Test
+    public void testReadManyOverSeveralInClauses() {
+        // Given more identifiers than a single IN clause can hold
+        List<String> uids = new ArrayList<String>();
+        for (int i = 0; i < JdbcFeatureStore.MAX_IN_CLAUSE_SIZE; i++) {
+            uids.add("unknown-" + i);
+        }
+        uids.add(F1);
+        // When
+        Map<String, Feature> features = testedStore.readMany(uids);
+        // Then, feature of the second chunk is found
+        Assert.assertEquals(1, features.size());
+        Assert.assertTrue(features.containsKey(F1));
+    }
+    
     @Test(expected = GroupNotFoundException.class)
     public void readGroupDoesNotExist() {
         testedStore.readGroup("dont-exist");
@@ -96,12 +96,16 @@ public class JdbcFeatureStoreSchemaTest {
         Assert.assertFalse(isTableExist(ds, qb.getTableNameFeatures()));
         Assert.assertFalse(isTableExist(ds, qb.getTableNameRoles()));
         Assert.assertFalse(isTableExist(ds, qb.getTableNameCustomProperties()));
+        Assert.assertFalse(isTableExist(ds, qb.getTableNameRevisions()));
+        Assert.assertFalse(isTableExist(ds, qb.getTableNameChanges()));
         // When
         testedStore.createSchema();
         // then
         Assert.assertTrue(isTableExist(ds, qb.getTableNameFeatures()));
         Assert.assertTrue(isTableExist(ds, qb.getTableNameRoles()));
         Assert.assertTrue(isTableExist(ds, qb.getTableNameCustomProperties()));
+        Assert.assertTrue(isTableExist(ds, qb.getTableNameRevisions()));
+        Assert.assertTrue(isTableExist(ds, qb.getTableNameChanges()));
         // When (no error)
         testedStore.createSchema();
     }
@@ -20,10 +20,20 @@ package org.ff4j.test.strategy;
  * #L%
  */
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.ff4j.FF4j;
 import org.ff4j.core.FlippingExecutionContext;
@@ -223,5 +233,78 @@ public class OfficeHourStrategyTest extends AbstractFf4jTest {
      }
      
      
+     @Test
+     public void testIntervalBounds() {
+         HourInterval hi = new HourInterval("08:30-12:00");
+         Assert.assertEquals(510, hi.getFromMinute());
+         Assert.assertEquals(720, hi.getToMinute());
+         Assert.assertFalse(hi.matches(509));
+         Assert.assertTrue(hi.matches(510));
+         Assert.assertTrue(hi.matches(719));
+         Assert.assertFalse(hi.matches(720));
+         Assert.assertEquals(HourInterval.MINUTES_PER_DAY, HourInterval.parseMinuteOfDay("24:00"));
+     }
+     
+     @Test(expected = IllegalArgumentException.class)
+     public void testIntervalInvalidHour() {
+         new HourInterval("08:00-25:00");
+     }
+     
+     @Test
+     public void testOfficeHourClockAndZone() {
+         OfficeHourStrategy ohs = new OfficeHourStrategy();
+         Map < String, String > initParams = new HashMap<String, String>();
+         initParams.put("monday", "08:00-12:00");
+         initParams.put("timezone", "Europe/Paris");
+         ohs.init("f1", initParams);
+         Assert.assertEquals(TimeZone.getTimeZone("Europe/Paris"), ohs.getTimeZone());
+         // Monday 2015-03-09 07:30 UTC is 08:30 in Paris
+         ohs.setClock(Clock.fixed(Instant.parse("2015-03-09T07:30:00Z"), ZoneOffset.UTC));
+         Assert.assertTrue(ohs.evaluate("f1", null, null));
+         // 11:30 UTC is 12:30 in Paris
+         ohs.setClock(Clock.fixed(Instant.parse("2015-03-09T11:30:00Z"), ZoneOffset.UTC));
+         Assert.assertFalse(ohs.evaluate("f1", null, null));
+         // Timetable now expressed in UTC
+         ohs.setTimeZone(TimeZone.getTimeZone("UTC"));
+         ohs.setClock(Clock.fixed(Instant.parse("2015-03-09T09:00:00Z"), ZoneOffset.UTC));
+         Assert.assertTrue(ohs.evaluate("f1", null, null));
+     }
+     
+     @Test
+     public void testOfficeHourConcurrentEvaluation() throws Exception {
+         final OfficeHourStrategy ohs = new OfficeHourStrategy();
+         Map < String, String > initParams = new HashMap<String, String>();
+         initParams.put("monday", "08:00-12:00,13:30-18:00");
+         initParams.put("timezone", "UTC");
+         ohs.init("f1", initParams);
+         final TimeZone utc = TimeZone.getTimeZone("UTC");
+         // Monday 2015-03-09 00:00 UTC
+         final long monday = Instant.parse("2015-03-09T00:00:00Z").toEpochMilli();
+         ExecutorService executor = Executors.newFixedThreadPool(64);
+         try {
+             List < Future < Integer >> results = new ArrayList<Future<Integer>>();
+             for (int t = 0; t < 64; t++) {
+                 final int offset = t;
+                 results.add(executor.submit(new Callable<Integer>() {
+                     public Integer call() {
+                         int errors = 0;
+                         for (int i = 0; i < 10000; i++) {
+                             int minute = (i * 7 + offset) % HourInterval.MINUTES_PER_DAY;
+                             boolean expected = (minute >= 480 && minute < 720) || (minute >= 810 && minute < 1080);
+                             if (expected != ohs.evaluate(monday + minute * 60000L, utc)) {
+                                 errors++;
+                             }
+                         }
+                         return errors;
+                     }
+                 }));
+             }
+             for (Future < Integer > result : results) {
+                 Assert.assertEquals(0, result.get().intValue());
+             }
+         } finally {
+             executor.shutdown();
+         }
+     }
+     
 }
-
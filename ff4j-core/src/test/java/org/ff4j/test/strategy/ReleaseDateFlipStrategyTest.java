@@ -1,6 +1,9 @@
 package org.ff4j.test.strategy;
 
 import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -79,4 +82,18 @@ public class ReleaseDateFlipStrategyTest extends AbstractFf4jTest {
         rds2.init("f1", params);
     }
 
+    @Test
+    public void testReleaseDateWithClockAndZone() {
+        ReleaseDateFlipStrategy rds = new ReleaseDateFlipStrategy();
+        Map < String, String > params = new HashMap<String, String>();
+        params.put("releaseDate", "2016-01-01-12:00");
+        params.put("timezone", "UTC");
+        rds.init("f1", params);
+        Assert.assertEquals(Instant.parse("2016-01-01T12:00:00Z").toEpochMilli(), rds.getReleaseDate().getTime());
+        rds.setClock(Clock.fixed(Instant.parse("2016-01-01T11:59:00Z"), ZoneOffset.UTC));
+        Assert.assertFalse(rds.evaluate("f1", null, null));
+        rds.setClock(Clock.fixed(Instant.parse("2016-01-01T12:01:00Z"), ZoneOffset.UTC));
+        Assert.assertTrue(rds.evaluate("f1", null, null));
+    }
+
 }
@@ -0,0 +1,140 @@
+package org.ff4j.test.strategy;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.strategy.StickyPonderationStrategy;
+import org.ff4j.utils.MurmurHash3;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit testing of {@link StickyPonderationStrategy}.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class StickyPonderationStrategyTest {
+    
+    private FlippingExecutionContext user(String userId) {
+        FlippingExecutionContext ctx = new FlippingExecutionContext();
+        ctx.putString(StickyPonderationStrategy.DEFAULT_CONTEXT_KEY, userId);
+        return ctx;
+    }
+    
+    @Test
+    public void testHashIsStable() {
+        Assert.assertEquals(MurmurHash3.hash32("user-42", 0), MurmurHash3.hash32("user-42", 0));
+        Assert.assertNotEquals(MurmurHash3.hash32("user-42", 0), MurmurHash3.hash32("user-42", 1));
+        Assert.assertNotEquals(MurmurHash3.hash32("user-42", 0), MurmurHash3.hash32("user-43", 0));
+        Assert.assertEquals(0, MurmurHash3.hash32("", 0));
+    }
+    
+    @Test
+    public void testStickyForSameKey() {
+        StickyPonderationStrategy s1 = new StickyPonderationStrategy(0.5);
+        StickyPonderationStrategy s2 = new StickyPonderationStrategy(0.5);
+        for (int i = 0; i < 1000; i++) {
+            FlippingExecutionContext ctx = user("user-" + i);
+            boolean first = s1.evaluate("f1", null, ctx);
+            Assert.assertEquals(first, s1.evaluate("f1", null, ctx));
+            Assert.assertEquals(first, s2.evaluate("f1", null, ctx));
+        }
+    }
+    
+    @Test
+    public void testDistribution() {
+        StickyPonderationStrategy sps = new StickyPonderationStrategy(0.2);
+        int toggled = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (sps.evaluate("f1", null, user("user-" + i))) {
+                toggled++;
+            }
+        }
+        Assert.assertTrue("toggled " + toggled, toggled > 19000 && toggled < 21000);
+    }
+    
+    @Test
+    public void testBounds() {
+        StickyPonderationStrategy none = new StickyPonderationStrategy(0);
+        StickyPonderationStrategy all  = new StickyPonderationStrategy(1);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertFalse(none.evaluate("f1", null, user("user-" + i)));
+            Assert.assertTrue(all.evaluate("f1", null, user("user-" + i)));
+        }
+        // No key in context, not toggled
+        Assert.assertFalse(all.evaluate("f1", null, null));
+        Assert.assertFalse(all.evaluate("f1", null, new FlippingExecutionContext()));
+    }
+    
+    @Test
+    public void testSaltPerFeature() {
+        StickyPonderationStrategy sps = new StickyPonderationStrategy(0.5);
+        int same = 0;
+        for (int i = 0; i < 1000; i++) {
+            FlippingExecutionContext ctx = user("user-" + i);
+            if (sps.getBucket("f1", ctx) == sps.getBucket("f2", ctx)) {
+                same++;
+            }
+        }
+        // Different features do not share the same buckets
+        Assert.assertTrue(same < 10);
+        sps.setSalt("campaign");
+        FlippingExecutionContext ctx = user("user-1");
+        Assert.assertEquals(sps.getBucket("f1", ctx), sps.getBucket("f2", ctx));
+    }
+    
+    @Test
+    public void testInitParamsAndVariants() {
+        StickyPonderationStrategy sps = new StickyPonderationStrategy();
+        Map<String, String> params = new HashMap<String, String>();
+        params.put("contextKey", "tenant");
+        params.put("variants", "control:50,blue:25,green:25");
+        sps.init("f1", params);
+        Assert.assertEquals("tenant", sps.getContextKey());
+        Assert.assertEquals("f1", sps.getInitParams().get("salt"));
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (int i = 0; i < 40000; i++) {
+            FlippingExecutionContext ctx = new FlippingExecutionContext();
+            ctx.putString("tenant", "tenant-" + i);
+            String variant = sps.getVariant("f1", ctx);
+            Assert.assertEquals(!"control".equals(variant), sps.evaluate("f1", null, ctx));
+            counts.put(variant, counts.containsKey(variant) ? counts.get(variant) + 1 : 1);
+        }
+        Assert.assertTrue(Math.abs(counts.get("control") - 20000) < 1000);
+        Assert.assertTrue(Math.abs(counts.get("blue") - 10000) < 1000);
+        Assert.assertTrue(Math.abs(counts.get("green") - 10000) < 1000);
+        Assert.assertEquals("control", sps.getVariant("f1", new FlippingExecutionContext()));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVariants() {
+        new StickyPonderationStrategy().setVariants("control:100");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWeight() {
+        new StickyPonderationStrategy(1.5);
+    }
+
+}
@@ -11,8 +11,14 @@ package org.ff4j.test.strategy.el;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
 import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.store.InMemoryFeatureStore;
 import org.ff4j.strategy.el.ExpressionFlipStrategy;
 import org.ff4j.test.AssertFf4j;
 import org.junit.Assert;
@@ -67,4 +73,39 @@ public class ExpressionFlipStategyTest {
         Assert.assertFalse(efs.evaluate("D", ff4j.getFeatureStore(), fex));
     }
 
+    @Test
+    public void testEvaluateOnlyReferencedFeatures() {
+        final List<String> reads = new ArrayList<String>();
+        InMemoryFeatureStore store = new InMemoryFeatureStore("test-expressionFlipStategy-ok.xml") {
+            @Override
+            public Feature read(String uid) {
+                reads.add(uid);
+                return super.read(uid);
+            }
+            @Override
+            public Map<String, Feature> readAll() {
+                throw new IllegalStateException("Expression should not scan the store");
+            }
+        };
+        ExpressionFlipStrategy efs = new ExpressionFlipStrategy();
+        FlippingExecutionContext fex = new FlippingExecutionContext();
+
+        // A is enabled, OR stops at first sheet
+        fex.putString(ExpressionFlipStrategy.PARAM_EXPRESSION, "A | B | C");
+        Assert.assertTrue(efs.evaluate("D", store, fex));
+        Assert.assertEquals(1, reads.size());
+
+        // B is disabled, AND stops at first sheet
+        reads.clear();
+        fex.putString(ExpressionFlipStrategy.PARAM_EXPRESSION, "B & A & C");
+        Assert.assertFalse(efs.evaluate("D", store, fex));
+        Assert.assertEquals(1, reads.size());
+
+        // Unknown feature is considered as disabled
+        reads.clear();
+        fex.putString(ExpressionFlipStrategy.PARAM_EXPRESSION, "!TOTO & A");
+        Assert.assertTrue(efs.evaluate("D", store, fex));
+        Assert.assertEquals(2, reads.size());
+    }
+
 }
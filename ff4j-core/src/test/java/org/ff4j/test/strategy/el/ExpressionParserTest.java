@@ -72,6 +72,13 @@ public class ExpressionParserTest extends TestCase {
         en.setValue("sheet");
     }
 
+    @Test
+    public void testFeatureNames() {
+        ExpressionNode n = ExpressionParser.parseExpression("(A|B)&(C|D)");
+        Assert.assertEquals(4, n.getFeatureNames().size());
+        Assert.assertTrue(n.getFeatureNames().contains("D"));
+    }
+
     @Test
     public void testBlank() {
         Map<String, Boolean> state = new HashMap<String, Boolean>();
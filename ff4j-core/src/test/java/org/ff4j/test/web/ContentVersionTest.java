@@ -0,0 +1,122 @@
+package org.ff4j.test.web;
+
+/*
+ * #%L
+ * ff4j-core
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.property.Property;
+import org.ff4j.property.PropertyString;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.strategy.PonderationStrategy;
+import org.ff4j.web.ContentVersion;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Digest of store contents used as ETag by the REST API.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class ContentVersionTest {
+
+    @Test
+    public void testDigestIndependentOfOrder() {
+        FeatureStore store = new InMemoryFeatureStore("ff4j.xml");
+        Map<String, Feature> features = store.readAll();
+        Map<String, Feature> reversed = new LinkedHashMap<String, Feature>();
+        Feature[] all = features.values().toArray(new Feature[0]);
+        for (int i = all.length - 1; i >= 0; i--) {
+            reversed.put(all[i].getUid(), all[i]);
+        }
+        Assert.assertEquals(ContentVersion.digestFeatures(features), ContentVersion.digestFeatures(reversed));
+        Assert.assertEquals(ContentVersion.digestFeatures(features), ContentVersion.digestFeatures(store.readAll()));
+    }
+
+    @Test
+    public void testDigestChangesWithContent() {
+        FeatureStore store = new InMemoryFeatureStore("ff4j.xml");
+        String initial = ContentVersion.digestFeatures(store.readAll());
+        // Toggle
+        store.disable("AwesomeFeature");
+        String toggled = ContentVersion.digestFeatures(store.readAll());
+        Assert.assertNotEquals(initial, toggled);
+        // Strategy
+        Feature f = store.read("AwesomeFeature");
+        f.setFlippingStrategy(new PonderationStrategy(0.5));
+        store.update(f);
+        String withStrategy = ContentVersion.digestFeatures(store.readAll());
+        Assert.assertNotEquals(toggled, withStrategy);
+        // Back to previous state
+        f.setFlippingStrategy(null);
+        store.update(f);
+        Assert.assertEquals(toggled, ContentVersion.digestFeatures(store.readAll()));
+        Assert.assertNotEquals(ContentVersion.digestFeatures(null), initial);
+    }
+
+    @Test
+    public void testDigestProperties() {
+        Map<String, Property<?>> props = new LinkedHashMap<String, Property<?>>();
+        props.put("a", new PropertyString("a", "v1"));
+        String first = ContentVersion.digestProperties(props);
+        props.put("a", new PropertyString("a", "v2"));
+        Assert.assertNotEquals(first, ContentVersion.digestProperties(props));
+        props.put("a", new PropertyString("a", "v1"));
+        Assert.assertEquals(first, ContentVersion.digestProperties(props));
+    }
+
+    @Test
+    public void testTrackKeepsDateWhenUnchanged() {
+        AtomicReference<ContentVersion> tracker = new AtomicReference<ContentVersion>(new ContentVersion("d1", 1500L));
+        ContentVersion same = ContentVersion.track(tracker, "d1");
+        Assert.assertEquals(1000L, same.getLastModified());
+        Assert.assertEquals("W/\"d1\"", same.getETag());
+        ContentVersion changed = ContentVersion.track(tracker, "d2");
+        Assert.assertEquals("d2", changed.getDigest());
+        Assert.assertTrue(changed.getLastModified() > 1000L);
+        Assert.assertSame(changed, tracker.get());
+    }
+
+    @Test
+    public void testTrackPerSource() {
+        FeatureStore store1 = new InMemoryFeatureStore();
+        FeatureStore store2 = new InMemoryFeatureStore();
+        ContentVersion v1 = ContentVersion.track(store1, "d1");
+        Assert.assertSame(v1, ContentVersion.track(store1, "d1"));
+        // Another store does not share the version of the first one
+        ContentVersion v2 = ContentVersion.track(store2, "d2");
+        Assert.assertEquals("d2", v2.getDigest());
+        Assert.assertSame(v1, ContentVersion.track(store1, "d1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrackNullSource() {
+        ContentVersion.track((Object) null, "d1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDigest() {
+        new ContentVersion("", 0);
+    }
+}
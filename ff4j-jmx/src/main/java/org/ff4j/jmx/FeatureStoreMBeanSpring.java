@@ -6,6 +6,7 @@ import java.util.Set;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.store.StoreChanges;
 import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedOperationParameter;
 import org.springframework.jmx.export.annotation.ManagedOperationParameters;
@@ -82,6 +83,30 @@ public class FeatureStoreMBeanSpring implements FeatureStore {
         return internalStore.read(feature_UID);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String featureUid) {
+        return internalStore.readIfExists(featureUid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        return internalStore.readMany(featureUids);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getFeaturesRevision() {
+        return internalStore.getFeaturesRevision();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StoreChanges<Feature> featureChangesSince(long revision) {
+        return internalStore.featureChangesSince(revision);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
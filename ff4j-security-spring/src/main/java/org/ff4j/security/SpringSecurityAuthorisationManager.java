@@ -47,7 +47,19 @@ public class SpringSecurityAuthorisationManager extends AbstractAuthorizationMan
 
     /** {@inheritDoc} */
     public String getCurrentUserName() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return getUserName(getCurrentUserReference());
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Object getCurrentUserReference() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String getUserName(Object reference) {
+        Authentication auth = (Authentication) reference;
         if (!(auth instanceof AnonymousAuthenticationToken)) {
             return auth.getName();
         }
@@ -2,7 +2,9 @@ package org.ff4j.spring.boot.web.api.resources;
 
 import static org.ff4j.services.constants.FeatureConstants.RESOURCE_CLEAR_CACHE;
 import static org.ff4j.services.constants.FeatureConstants.RESOURCE_FF4J_STORE;
+import static org.ff4j.web.FF4jWebConstants.PARAM_SINCE;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_CACHE;
+import static org.ff4j.web.FF4jWebConstants.RESOURCE_CHANGES;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_FEATURES;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_GROUPS;
 import static org.ff4j.web.FF4jWebConstants.STORE_CLEAR;
@@ -11,17 +13,23 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 
 import java.util.Collection;
+import java.util.Map;
 
+import org.ff4j.core.Feature;
 import org.ff4j.services.FeatureStoreServices;
 import org.ff4j.services.domain.CacheApiBean;
 import org.ff4j.services.domain.FeatureApiBean;
+import org.ff4j.services.domain.FeatureChangesApiBean;
 import org.ff4j.services.domain.FeatureStoreApiBean;
 import org.ff4j.services.domain.GroupDescApiBean;
+import org.ff4j.web.ContentVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /*
  * #%L
@@ -68,9 +76,24 @@ public class FeatureStoreResource {
 
     @RequestMapping(value = "/" + RESOURCE_FEATURES, method = GET, produces = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Displays all the <b>Features</b>", response = FeatureApiBean.class)
-    @ApiResponses(@ApiResponse(code = 200, message = "get all features"))
-    public Collection<FeatureApiBean> getAllFeatures() {
-        return featureStoreService.getAllFeatures();
+    @ApiResponses({@ApiResponse(code = 200, message = "get all features"),
+            @ApiResponse(code = 304, message = "features did not change since provided ETag or date")})
+    public Collection<FeatureApiBean> getAllFeatures(WebRequest webRequest) {
+        // Digest and body come from the same read of the store
+        Map<String, Feature> featureMap = featureStoreService.readAllFeatures();
+        ContentVersion version = featureStoreService.getFeaturesVersion(featureMap);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            // 304, headers already set
+            return null;
+        }
+        return featureStoreService.getAllFeatures(featureMap);
+    }
+
+    @RequestMapping(value = "/" + RESOURCE_CHANGES, method = GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Display <b>Features</b> changed since a revision", response = FeatureChangesApiBean.class)
+    @ApiResponses(@ApiResponse(code = 200, message = "changes since revision, whole content if 'snapshot' is true"))
+    public FeatureChangesApiBean getFeatureChanges(@RequestParam(value = PARAM_SINCE, defaultValue = "-1") long since) {
+        return featureStoreService.getFeatureChanges(since);
     }
 
     @RequestMapping(value = "/" + RESOURCE_GROUPS, method = GET, produces = APPLICATION_JSON_VALUE)
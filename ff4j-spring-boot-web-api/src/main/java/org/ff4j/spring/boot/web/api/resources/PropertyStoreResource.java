@@ -23,20 +23,28 @@ package org.ff4j.spring.boot.web.api.resources;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.ff4j.property.Property;
 import org.ff4j.services.PropertyStoreServices;
 import org.ff4j.services.constants.FeatureConstants;
 import org.ff4j.services.domain.CacheApiBean;
 import org.ff4j.services.domain.PropertyApiBean;
+import org.ff4j.services.domain.PropertyChangesApiBean;
 import org.ff4j.services.domain.PropertyStoreApiBean;
+import org.ff4j.web.ContentVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.ff4j.services.constants.FeatureConstants.RESOURCE_FF4J_PROPERTY_STORE;
+import static org.ff4j.web.FF4jWebConstants.PARAM_SINCE;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_CACHE;
+import static org.ff4j.web.FF4jWebConstants.RESOURCE_CHANGES;
 import static org.ff4j.web.FF4jWebConstants.STORE_CLEAR;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -62,9 +70,24 @@ public class PropertyStoreResource {
 
     @RequestMapping(value = FeatureConstants.RESOURCE_PROPERTIES, method = GET, produces = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Display all the <b>Properties</b>", response = PropertyApiBean.class)
-    @ApiResponses(@ApiResponse(code = 200, message = "get all Properties"))
-    public List<PropertyApiBean> getAllProperties() {
-        return propertyStoreServices.getAllProperties();
+    @ApiResponses({@ApiResponse(code = 200, message = "get all Properties"),
+            @ApiResponse(code = 304, message = "properties did not change since provided ETag or date")})
+    public List<PropertyApiBean> getAllProperties(WebRequest webRequest) {
+        // Digest and body come from the same read of the store
+        Map<String, Property<?>> propertyMap = propertyStoreServices.readAllProperties();
+        ContentVersion version = propertyStoreServices.getPropertiesVersion(propertyMap);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            // 304, headers already set
+            return null;
+        }
+        return propertyStoreServices.getAllProperties(propertyMap);
+    }
+
+    @RequestMapping(value = "/" + RESOURCE_CHANGES, method = GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Display <b>Properties</b> changed since a revision", response = PropertyChangesApiBean.class)
+    @ApiResponses(@ApiResponse(code = 200, message = "changes since revision, whole content if 'snapshot' is true"))
+    public PropertyChangesApiBean getPropertyChanges(@RequestParam(value = PARAM_SINCE, defaultValue = "-1") long since) {
+        return propertyStoreServices.getPropertyChanges(since);
     }
 
     @SuppressWarnings("rawtypes")
@@ -0,0 +1,94 @@
+/*
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2013-2016 the original author or authors.
+ */
+
+package org.ff4j.spring.boot.web.api;
+
+/*
+ * #%L
+ * ff4j-spring-boot-web-api
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.embedded.LocalServerPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The api does not compress by itself, compression is enabled in the container with 'server.compression.*'.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json",
+        "server.compression.min-response-size=1"})
+public class ContainerCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FF4j ff4j;
+
+    @Test
+    public void testFeaturesAreCompressedByContainer() throws IOException {
+        if (!ff4j.exist("login")) {
+            ff4j.createFeature(new Feature("login", true, "the login page"));
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/api/ff4j/store/features").openConnection();
+        connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        try {
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+            assertThat(connection.getHeaderField(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            GZIPInputStream gzis = new GZIPInputStream(connection.getInputStream());
+            try {
+                assertThat(StreamUtils.copyToString(gzis, StandardCharsets.UTF_8)).contains("the login page");
+            } finally {
+                gzis.close();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -28,16 +28,21 @@ import cucumber.api.java.en.When;
 import org.ff4j.core.Feature;
 import org.ff4j.services.domain.FeatureApiBean;
 import org.ff4j.spring.boot.web.api.resources.AbstractStepDef;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * @author <a href="mailto:paul58914080@gmail.com">Paul Williams</a>
  */
 public class FeatureStepDef extends AbstractStepDef {
 
+    private String etag;
+
     @Before
     @Override
     public void init() {
@@ -107,4 +112,17 @@ public class FeatureStepDef extends AbstractStepDef {
     public void the_response_body_has_content_to_be(String expectedResponse) throws Throwable {
         assertContent(expectedResponse);
     }
+
+    @When("^the user requests again \"([^\"]*)\" with the received ETag$")
+    public void the_user_requests_again_with_the_received_etag(String path) throws Throwable {
+        constructRequestBuilder(path, "GET", "application/json");
+        requestBuilder.header(HttpHeaders.IF_NONE_MATCH, etag);
+    }
+
+    @Then("^the user gets the response with response code \"([^\"]*)\" and an ETag$")
+    public void the_user_gets_the_response_with_response_code_and_an_etag(int expectedStatusCode) throws Throwable {
+        assertStatus(expectedStatusCode);
+        etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotEmpty();
+    }
 }
@@ -443,3 +443,13 @@ Feature: This feature enables in providing the user with RESTful api's where in
       "permissions" : ["ROLE_USER", "ROLE_ADMIN"]
     }
     """
+
+  # Read all the features with conditional requests
+  Scenario: When the features did not change since the ETag received by the user, the user gets a not modified response
+    Given the following features exists in the feature store
+      | uid   | enable | description    | group | permissions          |
+      | login | true   | the login page | user  | ROLE_ADMIN,ROLE_USER |
+    When the user requests for a feature by "/api/ff4j/store/features" by "GET" http method and content type as "application/json"
+    Then the user gets the response with response code "200" and an ETag
+    When the user requests again "/api/ff4j/store/features" with the received ETag
+    Then the user gets the response with response code "304"
@@ -27,9 +27,11 @@ import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.core.Feature;
 import org.ff4j.services.domain.CacheApiBean;
 import org.ff4j.services.domain.FeatureApiBean;
+import org.ff4j.services.domain.FeatureChangesApiBean;
 import org.ff4j.services.domain.FeatureStoreApiBean;
 import org.ff4j.services.domain.GroupDescApiBean;
 import org.ff4j.services.exceptions.FeatureStoreNotCached;
+import org.ff4j.web.ContentVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -50,8 +52,11 @@ public class FeatureStoreServices {
     }
 
     public Collection<FeatureApiBean> getAllFeatures() {
+        return getAllFeatures(ff4j.getFeatureStore().readAll());
+    }
+
+    public Collection<FeatureApiBean> getAllFeatures(Map<String, Feature> featureMap) {
         List<FeatureApiBean> features;
-        Map<String, Feature> featureMap = ff4j.getFeatureStore().readAll();
         if (CollectionUtils.isEmpty(featureMap)) {
             features = new ArrayList<FeatureApiBean>(0);
         } else {
@@ -63,6 +68,18 @@ public class FeatureStoreServices {
         return features;
     }
 
+    public Map<String, Feature> readAllFeatures() {
+        return ff4j.getFeatureStore().readAll();
+    }
+
+    public ContentVersion getFeaturesVersion(Map<String, Feature> featureMap) {
+        return ContentVersion.track(ff4j.getFeatureStore(), ContentVersion.digestFeatures(featureMap));
+    }
+
+    public FeatureChangesApiBean getFeatureChanges(long since) {
+        return new FeatureChangesApiBean(ff4j.getFeatureStore().featureChangesSince(since));
+    }
+
     public Collection<GroupDescApiBean> getAllGroups() {
         Map<String, GroupDescApiBean> groups = new HashMap<String, GroupDescApiBean>();
         Map<String, Feature> featureMap = ff4j.getFeatureStore().readAll();
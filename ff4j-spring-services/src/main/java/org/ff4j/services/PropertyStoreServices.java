@@ -29,8 +29,10 @@ import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.property.Property;
 import org.ff4j.services.domain.CacheApiBean;
 import org.ff4j.services.domain.PropertyApiBean;
+import org.ff4j.services.domain.PropertyChangesApiBean;
 import org.ff4j.services.domain.PropertyStoreApiBean;
 import org.ff4j.services.exceptions.PropertyStoreNotCached;
+import org.ff4j.web.ContentVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -48,10 +50,21 @@ public class PropertyStoreServices {
         return new PropertyStoreApiBean(ff4j.getPropertiesStore());
     }
 
-    @SuppressWarnings("rawtypes")
+    public Map<String, Property<?>> readAllProperties() {
+        return ff4j.getPropertiesStore().readAllProperties();
+    }
+
+    public ContentVersion getPropertiesVersion(Map<String, Property<?>> propertyMap) {
+        return ContentVersion.track(ff4j.getPropertiesStore(), ContentVersion.digestProperties(propertyMap));
+    }
+
     public List<PropertyApiBean> getAllProperties() {
+        return getAllProperties(ff4j.getPropertiesStore().readAllProperties());
+    }
+
+    @SuppressWarnings("rawtypes")
+    public List<PropertyApiBean> getAllProperties(Map<String, Property<?>> propertyMap) {
         List<PropertyApiBean> properties;
-        Map<String, Property<?>> propertyMap = ff4j.getPropertiesStore().readAllProperties();
         if (CollectionUtils.isEmpty(propertyMap)) {
             properties = new ArrayList<PropertyApiBean>(0);
         } else {
@@ -63,6 +76,10 @@ public class PropertyStoreServices {
         return properties;
     }
 
+    public PropertyChangesApiBean getPropertyChanges(long since) {
+        return new PropertyChangesApiBean(ff4j.getPropertiesStore().propertyChangesSince(since));
+    }
+
     public void deleteAllProperties() {
         ff4j.getPropertiesStore().clear();
     }
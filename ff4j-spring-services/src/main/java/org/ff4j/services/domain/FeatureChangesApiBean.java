@@ -0,0 +1,116 @@
+package org.ff4j.services.domain;
+
+/*
+ * #%L
+ * ff4j-spring-services
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.ff4j.core.Feature;
+import org.ff4j.store.StoreChanges;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author <a href="mailto:paul58914080@gmail.com">Paul Williams</a>
+ */
+public class FeatureChangesApiBean implements Serializable {
+
+    private static final long serialVersionUID = 2418745260382415871L;
+
+    private long since;
+
+    private long revision;
+
+    private boolean snapshot;
+
+    private List<FeatureApiBean> created = new ArrayList<FeatureApiBean>();
+
+    private List<FeatureApiBean> updated = new ArrayList<FeatureApiBean>();
+
+    private Set<String> deleted = new HashSet<String>();
+
+    public FeatureChangesApiBean() {
+        super();
+    }
+
+    public FeatureChangesApiBean(StoreChanges<Feature> changes) {
+        since = changes.getSince();
+        revision = changes.getRevision();
+        snapshot = changes.isSnapshot();
+        for (Feature item : changes.getCreated().values()) {
+            created.add(new FeatureApiBean(item));
+        }
+        for (Feature item : changes.getUpdated().values()) {
+            updated.add(new FeatureApiBean(item));
+        }
+        deleted.addAll(changes.getDeleted());
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public List<FeatureApiBean> getCreated() {
+        return created;
+    }
+
+    public List<FeatureApiBean> getUpdated() {
+        return updated;
+    }
+
+    public Set<String> getDeleted() {
+        return deleted;
+    }
+
+    public void setSince(long since) {
+        this.since = since;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public void setCreated(List<FeatureApiBean> created) {
+        this.created = created;
+    }
+
+    public void setUpdated(List<FeatureApiBean> updated) {
+        this.updated = updated;
+    }
+
+    public void setDeleted(Set<String> deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -102,6 +102,36 @@ public class CassandraConstants {
     /** sql column name for table FF4J_AUDIT. */
     public static final String COL_EVENT_KEYS = "KEYS";
     
+    /** column Family : feature usage counters by day, feature, dimension and minute. */
+    public static final String COLUMN_FAMILY_AUDIT_HITS = "audit_hits";
+    
+    /** column Family : feature usage counters by day and feature. */
+    public static final String COLUMN_FAMILY_AUDIT_HITS_FEATURES = "audit_hits_features";
+    
+    /** column name for counters (FEATURE, HOST, SOURCE or USER). */
+    public static final String COL_HITS_DIMENSION = "DIMENSION";
+    
+    /** column name for counters, start of minute. */
+    public static final String COL_HITS_SLOT = "SLOT";
+    
+    /** column name for counters, value of dimension (hostname, source, user). */
+    public static final String COL_HITS_DIMVALUE = "DIMVALUE";
+    
+    /** column name for counters. */
+    public static final String COL_HITS_COUNT = "HITS";
+    
+    /** dimension of counters : feature usage over time. */
+    public static final String HITS_FEATURE = "FEATURE";
+    
+    /** dimension of counters. */
+    public static final String HITS_HOST = "HOST";
+    
+    /** dimension of counters. */
+    public static final String HITS_SOURCE = "SOURCE";
+    
+    /** dimension of counters. */
+    public static final String HITS_USER = "USER";
+    
     // -----  Features ---------
     
     /** column Family. */
@@ -2,6 +2,8 @@ package org.ff4j.cassandra;
 
 import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
 import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_AUDIT;
+import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_AUDIT_HITS;
+import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_AUDIT_HITS_FEATURES;
 
 /*
  * #%L
@@ -37,6 +39,10 @@ import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_TYPE;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_UID;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_USER;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_VALUE;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_COUNT;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_DIMENSION;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_DIMVALUE;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_SLOT;
 import static org.ff4j.cassandra.CassandraConstants.COL_FEAT_CUSTOMPROPERTIES;
 import static org.ff4j.cassandra.CassandraConstants.COL_FEAT_DESCRIPTION;
 import static org.ff4j.cassandra.CassandraConstants.COL_FEAT_ENABLE;
@@ -426,4 +432,86 @@ public class CassandraQueryBuilder {
         return "TRUNCATE TABLE " + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT;
     }
     
+    // ----- Audit counters
+    
+    /**
+     * Counters of feature usage, a partition holds a feature for a day.
+     *
+     * @return
+     *      cql query
+     */
+    public String cqlCreateColumnFamilyHits() {
+        return "CREATE TABLE " + connection.getKeySpace() + "." + 
+                COLUMN_FAMILY_AUDIT_HITS + " ( " + 
+                COL_EVENT_DATE      + " varchar, "   + 
+                COL_EVENT_NAME      + " varchar, "   +
+                COL_HITS_DIMENSION  + " varchar, "   +
+                COL_HITS_SLOT       + " timestamp, " +
+                COL_HITS_DIMVALUE   + " varchar, "   +
+                COL_HITS_COUNT      + " counter, "   +
+                "PRIMARY KEY ((" + COL_EVENT_DATE + ", " + COL_EVENT_NAME + "), " 
+                        + COL_HITS_DIMENSION + ", " + COL_HITS_SLOT + ", " + COL_HITS_DIMVALUE + "))";
+    }
+    
+    /**
+     * Counters of feature usage by day, used to list features of a day.
+     *
+     * @return
+     *      cql query
+     */
+    public String cqlCreateColumnFamilyHitsFeatures() {
+        return "CREATE TABLE " + connection.getKeySpace() + "." + 
+                COLUMN_FAMILY_AUDIT_HITS_FEATURES + " ( " + 
+                COL_EVENT_DATE      + " varchar, "   + 
+                COL_EVENT_NAME      + " varchar, "   +
+                COL_HITS_COUNT      + " counter, "   +
+                "PRIMARY KEY (" + COL_EVENT_DATE + ", " + COL_EVENT_NAME + "))";
+    }
+    
+    /**
+     * Increment of a hit counter, the first bind marker is the (bigint) increment.
+     *
+     * @return
+     *      cql query
+     */
+    public String cqlIncrementHits() {
+        return "UPDATE " + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT_HITS + 
+                " SET "   + COL_HITS_COUNT + " = " + COL_HITS_COUNT + " + ?" +
+                " WHERE " + COL_EVENT_DATE + " = ? AND " + COL_EVENT_NAME + " = ?" + 
+                " AND "   + COL_HITS_DIMENSION + " = ? AND " + COL_HITS_SLOT + " = ? AND " + COL_HITS_DIMVALUE + " = ?";
+    }
+    
+    /**
+     * Increment of the feature counter of a day, the first bind marker is the (bigint) increment.
+     *
+     * @return
+     *      cql query
+     */
+    public String cqlIncrementFeatureHits() {
+        return "UPDATE " + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT_HITS_FEATURES + 
+                " SET "   + COL_HITS_COUNT + " = " + COL_HITS_COUNT + " + ?" +
+                " WHERE " + COL_EVENT_DATE + " = ? AND " + COL_EVENT_NAME + " = ?";
+    }
+    
+    public String cqlReadHits() {
+        return "SELECT " + COL_HITS_SLOT + ", " + COL_HITS_DIMVALUE + ", " + COL_HITS_COUNT + 
+               " FROM "  + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT_HITS + 
+               " WHERE " + COL_EVENT_DATE + " = ? AND " + COL_EVENT_NAME + " = ? AND " + COL_HITS_DIMENSION + " = ?" +
+               " AND "   + COL_HITS_SLOT + " >= ? AND " + COL_HITS_SLOT + " <= ?";
+    }
+    
+    public String cqlReadFeatureHits() {
+        return "SELECT " + COL_EVENT_NAME + 
+               " FROM "  + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT_HITS_FEATURES + 
+               " WHERE " + COL_EVENT_DATE + " = ?";
+    }
+    
+    public String cqlTruncateHits() {
+        return "TRUNCATE TABLE " + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT_HITS;
+    }
+    
+    public String cqlTruncateHitsFeatures() {
+        return "TRUNCATE TABLE " + connection.getKeySpace() + "." + COLUMN_FAMILY_AUDIT_HITS_FEATURES;
+    }
+    
 }
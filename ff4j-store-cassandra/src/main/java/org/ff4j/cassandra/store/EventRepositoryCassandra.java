@@ -1,5 +1,6 @@
 package org.ff4j.cassandra.store;
 
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
 import static org.ff4j.audit.EventConstants.ACTION_CLEAR;
 import static org.ff4j.audit.EventConstants.ACTION_CREATE;
 import static org.ff4j.audit.EventConstants.ACTION_DELETE;
@@ -8,16 +9,34 @@ import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_OFF;
 import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_ON;
 import static org.ff4j.audit.EventConstants.ACTION_UPDATE;
 import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_AUDIT;
+import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_AUDIT_HITS;
+import static org.ff4j.cassandra.CassandraConstants.COLUMN_FAMILY_AUDIT_HITS_FEATURES;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_HOSTNAME;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_NAME;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_SOURCE;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_USER;
 import static org.ff4j.cassandra.CassandraConstants.COL_EVENT_ACTION;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_COUNT;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_DIMVALUE;
+import static org.ff4j.cassandra.CassandraConstants.COL_HITS_SLOT;
+import static org.ff4j.cassandra.CassandraConstants.HITS_FEATURE;
+import static org.ff4j.cassandra.CassandraConstants.HITS_HOST;
+import static org.ff4j.cassandra.CassandraConstants.HITS_SOURCE;
+import static org.ff4j.cassandra.CassandraConstants.HITS_USER;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /*
@@ -41,9 +60,12 @@ import java.util.concurrent.TimeUnit;
  */
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.PagedEventCallback;
+import org.ff4j.audit.chart.Serie;
 import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.AbstractEventRepository;
 import org.ff4j.cassandra.CassandraConnection;
@@ -53,13 +75,22 @@ import org.ff4j.utils.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
 
 /**
  * Implementation of audit into Cassandra DB
  *
- * @Abstract as note implemented yet.
+ * Feature usage events also increment counters partitioned by day and feature (table 'audit_hits',
+ * one row per dimension, minute and value). Hit counts and history read these partitions when the query
+ * only filters on time and feature names, otherwise (host, source, action filters) events are scanned.
+ * Counters have a minute precision and do not expire with the TTL.
  * 
  * @author Cedrick LUNVEN (@clunven)
  */
@@ -68,6 +99,15 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
     /** logger for this store. */
     private static Logger LOGGER = LoggerFactory.getLogger(EventRepositoryCassandra.class);
     
+    /** Number of rows fetched at once by the driver. */
+    private static final int FETCH_SIZE = 500;
+    
+    /** Maximum number of asynchronous writes in flight when saving events. */
+    private static final int MAX_CONCURRENT_WRITES = 32;
+    
+    /** Maximum number of counters in a (single partition) counter batch. */
+    private static final int MAX_COUNTERS_PER_BATCH = 50;
+    
     /** TTL to working with ' expiring columns' if positive number in SECONDS. */
     private int ttl = -1;
     
@@ -77,6 +117,9 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
     /** Connection to store Cassandra. */
     private CassandraConnection conn;
     
+    /** Prepared statements by CQL query. */
+    private final ConcurrentMap < String, PreparedStatement > statements = new ConcurrentHashMap<String, PreparedStatement>();
+    
     /**
      * Default constructor.
      */
@@ -100,6 +143,14 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
            conn.getSession().execute(getBuilder().cqlCreateColumnFamilyAudit());
            LOGGER.debug("Column Family '{}' created", COLUMN_FAMILY_AUDIT);
        }
+       if (!conn.isColumnFamilyExist(COLUMN_FAMILY_AUDIT_HITS)) {
+           conn.getSession().execute(getBuilder().cqlCreateColumnFamilyHits());
+           LOGGER.debug("Column Family '{}' created", COLUMN_FAMILY_AUDIT_HITS);
+       }
+       if (!conn.isColumnFamilyExist(COLUMN_FAMILY_AUDIT_HITS_FEATURES)) {
+           conn.getSession().execute(getBuilder().cqlCreateColumnFamilyHitsFeatures());
+           LOGGER.debug("Column Family '{}' created", COLUMN_FAMILY_AUDIT_HITS_FEATURES);
+       }
     }
     
     /** {@inheritDoc} */
@@ -107,109 +158,378 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
     public boolean saveEvent(Event e) {
         Util.assertEvent(e);
         LOGGER.debug("Event Logged {}", e.toJson());
-        conn.getSession().execute(getBuilder().cqlCreateEvent(ttl),
-                e.getUuid(), KDF.format(e.getDate()), e.getTimestamp(),
+        conn.getSession().execute(bindCreateEvent(e));
+        if (ACTION_CHECK_OK.equals(e.getAction())) {
+            executeAll(bindHits(Collections.singletonList(e)));
+        }
+        return true;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+        // Each event is its own partition : asynchronous inserts rather than a multi-partition batch
+        List < Statement > inserts  = new ArrayList<Statement>(events.size());
+        List < Event >     hitEvents = new ArrayList<Event>(events.size());
+        for (Event e : events) {
+            Util.assertEvent(e);
+            inserts.add(bindCreateEvent(e));
+            if (ACTION_CHECK_OK.equals(e.getAction())) {
+                hitEvents.add(e);
+            }
+        }
+        executeAll(inserts);
+        if (!hitEvents.isEmpty()) {
+            executeAll(bindHits(hitEvents));
+        }
+        LOGGER.debug("{} events logged", events.size());
+        return true;
+    }
+    
+    /**
+     * Execute statements asynchronously, at most {@link #MAX_CONCURRENT_WRITES} at once.
+     *
+     * @param statements
+     *      statements to execute
+     */
+    private void executeAll(List < ? extends Statement > statements) {
+        LinkedList < ResultSetFuture > inFlight = new LinkedList<ResultSetFuture>();
+        for (Statement statement : statements) {
+            if (inFlight.size() >= MAX_CONCURRENT_WRITES) {
+                inFlight.removeFirst().getUninterruptibly();
+            }
+            inFlight.add(conn.getSession().executeAsync(statement));
+        }
+        for (ResultSetFuture future : inFlight) {
+            future.getUninterruptibly();
+        }
+    }
+    
+    /**
+     * Bind insert statement (depends on TTL), the time column is a timestamp (Date codec).
+     *
+     * @param e
+     *      current event
+     * @return
+     *      statement to insert the event
+     */
+    private BoundStatement bindCreateEvent(Event e) {
+        return prepare(getBuilder().cqlCreateEvent(ttl)).bind(
+                e.getUuid(), KDF.format(e.getDate()), e.getDate(),
                 e.getType(), e.getName(), e.getAction(),
                 e.getHostName(), e.getSource(), e.getDuration(),
                 e.getUser(), e.getValue(), e.getCustomKeys());
-        return true;
-    }   
+    }
+    
+    /**
+     * Increments of counters for feature usage events. Increments are summed by counter and
+     * grouped by partition (day and feature, or day for the features of the day), each batch
+     * targets a single partition and holds at most {@link #MAX_COUNTERS_PER_BATCH} counters.
+     *
+     * @param events
+     *      feature usage events
+     * @return
+     *      single partition counter batches
+     */
+    private List < Statement > bindHits(Collection<Event> events) {
+        // Partition (day, feature) -> counter (dimension, slot, value) -> increment
+        Map < List < String >, Map < List < Object >, MutableHitCount > > hits = 
+                new LinkedHashMap<List<String>, Map<List<Object>, MutableHitCount>>();
+        // Partition (day) -> feature -> increment
+        Map < String, Map < String, MutableHitCount > > featureHits = 
+                new LinkedHashMap<String, Map<String, MutableHitCount>>();
+        for (Event e : events) {
+            String day  = KDF.format(e.getDate());
+            Date   slot = new Date(e.getTimestamp() - (e.getTimestamp() % TimeUnit.MINUTES.toMillis(1)));
+            List < String > partition = Arrays.asList(day, e.getName());
+            Map < List < Object >, MutableHitCount > counters = hits.get(partition);
+            if (counters == null) {
+                counters = new LinkedHashMap<List<Object>, MutableHitCount>();
+                hits.put(partition, counters);
+            }
+            incrementHit(counters, Arrays.<Object>asList(HITS_FEATURE, slot, ""));
+            incrementHit(counters, Arrays.<Object>asList(HITS_HOST,    slot, nullToEmpty(e.getHostName())));
+            incrementHit(counters, Arrays.<Object>asList(HITS_SOURCE,  slot, nullToEmpty(e.getSource())));
+            incrementHit(counters, Arrays.<Object>asList(HITS_USER,    slot, nullToEmpty(e.getUser())));
+            Map < String, MutableHitCount > dayFeatures = featureHits.get(day);
+            if (dayFeatures == null) {
+                dayFeatures = new LinkedHashMap<String, MutableHitCount>();
+                featureHits.put(day, dayFeatures);
+            }
+            incrementHit(dayFeatures, e.getName());
+        }
+        List < Statement > batches = new ArrayList<Statement>();
+        PreparedStatement psHits = prepare(getBuilder().cqlIncrementHits());
+        for (Map.Entry < List < String >, Map < List < Object >, MutableHitCount > > partition : hits.entrySet()) {
+            String day  = partition.getKey().get(0);
+            String name = partition.getKey().get(1);
+            BatchStatement batch = null;
+            for (Map.Entry < List < Object >, MutableHitCount > counter : partition.getValue().entrySet()) {
+                if (batch == null || batch.size() >= MAX_COUNTERS_PER_BATCH) {
+                    batch = new BatchStatement(BatchStatement.Type.COUNTER);
+                    batches.add(batch);
+                }
+                List < Object > key = counter.getKey();
+                batch.add(psHits.bind((long) counter.getValue().get(), day, name, key.get(0), key.get(1), key.get(2)));
+            }
+        }
+        PreparedStatement psFeatureHits = prepare(getBuilder().cqlIncrementFeatureHits());
+        for (Map.Entry < String, Map < String, MutableHitCount > > partition : featureHits.entrySet()) {
+            BatchStatement batch = null;
+            for (Map.Entry < String, MutableHitCount > counter : partition.getValue().entrySet()) {
+                if (batch == null || batch.size() >= MAX_COUNTERS_PER_BATCH) {
+                    batch = new BatchStatement(BatchStatement.Type.COUNTER);
+                    batches.add(batch);
+                }
+                batch.add(psFeatureHits.bind((long) counter.getValue().get(), partition.getKey(), counter.getKey()));
+            }
+        }
+        return batches;
+    }
+    
+    /**
+     * Increment a counter, created if needed.
+     */
+    private static < K > void incrementHit(Map < K, MutableHitCount > counters, K key) {
+        MutableHitCount count = counters.get(key);
+        if (count == null) {
+            counters.put(key, new MutableHitCount(1));
+        } else {
+            count.inc();
+        }
+    }
+    
+    /**
+     * Clustering columns cannot be null.
+     */
+    private static String nullToEmpty(String value) {
+        return (value == null) ? "" : value;
+    }
+    
+    /**
+     * Prepare statement once per query.
+     *
+     * @param cql
+     *      cql query with bind markers
+     * @return
+     *      prepared statement
+     */
+    private PreparedStatement prepare(String cql) {
+        PreparedStatement ps = statements.get(cql);
+        if (ps == null) {
+            ps = conn.getSession().prepare(cql);
+            PreparedStatement existing = statements.putIfAbsent(cql, ps);
+            if (existing != null) {
+                ps = existing;
+            }
+        }
+        return ps;
+    }
 
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
-        ResultSet rs = conn.getSession().execute(getBuilder().cqlGetEventById(), uuid);
+        ResultSet rs = conn.getSession().execute(prepare(getBuilder().cqlGetEventById()).bind(uuid));
         return CassandraMapper.mapEvent(rs.one());
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
-        String cqlQuery = getBuilder().cqlFeatureUsageHitCount(query);
-        LOGGER.debug("Query " + cqlQuery);
-        ResultSet rs = conn.getSession().execute(cqlQuery);
-        Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
-        for (Row row : rs.all()) {
-            String featureName = row.getString(COL_EVENT_NAME);
-            if (hitCount.containsKey(featureName)) {
-                hitCount.get(featureName).inc();
-            } else {
-                hitCount.put(featureName, new MutableHitCount(1));
-            }
+        if (!isCountersQuery(query)) {
+            return scanHitCount(getBuilder().cqlFeatureUsageHitCount(query), COL_EVENT_NAME);
         }
-        return hitCount;
+        return readHitCount(query, HITS_FEATURE);
     }
     
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getUserHitCount(EventQueryDefinition query) {
-        String cqlQuery = getBuilder().cqlUserHitCount(query);
-        LOGGER.debug("Query " + cqlQuery);
-        ResultSet rs = conn.getSession().execute(cqlQuery);
-        Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
-        for (Row row : rs.all()) {
-            String user = row.getString(COL_EVENT_USER);
-            if (hitCount.containsKey(user)) {
-                hitCount.get(user).inc();
-            } else {
-                hitCount.put(user, new MutableHitCount(1));
-            }
+        if (!isCountersQuery(query)) {
+            return scanHitCount(getBuilder().cqlUserHitCount(query), COL_EVENT_USER);
         }
-        return hitCount;
+        return readHitCount(query, HITS_USER);
     }
     
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getHostHitCount(EventQueryDefinition query) {
-        String cqlQuery = getBuilder().cqlHostHitCount(query);
-        LOGGER.debug("Query " + cqlQuery);
-        ResultSet rs = conn.getSession().execute(cqlQuery);
-        Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
-        for (Row row : rs.all()) {
-            String hostName = row.getString(COL_EVENT_HOSTNAME);
-            if (hitCount.containsKey(hostName)) {
-                hitCount.get(hostName).inc();
-            } else {
-                hitCount.put(hostName, new MutableHitCount(1));
-            }
+        if (!isCountersQuery(query)) {
+            return scanHitCount(getBuilder().cqlHostHitCount(query), COL_EVENT_HOSTNAME);
         }
-        return hitCount;
+        return readHitCount(query, HITS_HOST);
     }    
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getSourceHitCount(EventQueryDefinition query) {
-        String cqlQuery = getBuilder().cqlSourceHitCount(query);
-        LOGGER.debug("Query " + cqlQuery);
-        ResultSet rs = conn.getSession().execute(cqlQuery);
+        if (!isCountersQuery(query)) {
+            return scanHitCount(getBuilder().cqlSourceHitCount(query), COL_EVENT_SOURCE);
+        }
+        return readHitCount(query, HITS_SOURCE);
+    }
+    
+    /**
+     * Counters only hold feature usage by name, other filters require to scan events.
+     *
+     * @param query
+     *      current query
+     * @return
+     *      if counters can serve the query
+     */
+    private boolean isCountersQuery(EventQueryDefinition query) {
+        for (String action : query.getActionFilters()) {
+            if (!ACTION_CHECK_OK.equals(action)) {
+                return false;
+            }
+        }
+        return query.getHostFilters().isEmpty() && query.getSourceFilters().isEmpty();
+    }
+    
+    /**
+     * Sum counters of a dimension, partitions of each day and feature are read.
+     *
+     * @param query
+     *      current query
+     * @param dimension
+     *      counted dimension
+     * @return
+     *      hit counts by value of dimension (feature name for {@link org.ff4j.cassandra.CassandraConstants#HITS_FEATURE})
+     */
+    private Map<String, MutableHitCount> readHitCount(EventQueryDefinition query, String dimension) {
         Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
-        for (Row row : rs.all()) {
-            String source = row.getString(COL_EVENT_SOURCE);
-            if (hitCount.containsKey(source)) {
-                hitCount.get(source).inc();
-            } else {
-                hitCount.put(source, new MutableHitCount(1));
+        for (String day : getCandidateDays(query.getFrom(), query.getTo())) {
+            for (String featureName : getFeatureNames(day, query)) {
+                for (Row row : readHits(query, day, featureName, dimension)) {
+                    String key = HITS_FEATURE.equals(dimension) ? featureName : row.getString(COL_HITS_DIMVALUE);
+                    if (HITS_USER.equals(dimension) && !Util.hasLength(key)) {
+                        key = "anonymous";
+                    }
+                    if (Util.hasLength(key)) {
+                        incrementHitCount(hitCount, key, (int) row.getLong(COL_HITS_COUNT));
+                    }
+                }
             }
         }
         return hitCount;
     }
+    
+    /**
+     * Read counters of a partition (day and feature) in the time range of the query.
+     *
+     * @param query
+     *      current query
+     * @param day
+     *      current day
+     * @param featureName
+     *      current feature
+     * @param dimension
+     *      expected dimension
+     * @return
+     *      rows with slot, value and hits
+     */
+    private ResultSet readHits(EventQueryDefinition query, String day, String featureName, String dimension) {
+        long from = query.getFrom() - (query.getFrom() % TimeUnit.MINUTES.toMillis(1));
+        Statement stmt = prepare(getBuilder().cqlReadHits()).bind(day, featureName, dimension, new Date(from), new Date(query.getTo()));
+        return conn.getSession().execute(stmt.setFetchSize(FETCH_SIZE));
+    }
+    
+    /**
+     * Features used during a day, from the query filter or the counters.
+     *
+     * @param day
+     *      current day
+     * @param query
+     *      current query
+     * @return
+     *      feature names
+     */
+    private Collection < String > getFeatureNames(String day, EventQueryDefinition query) {
+        if (!query.getNamesFilter().isEmpty()) {
+            return query.getNamesFilter();
+        }
+        List < String > names = new ArrayList<String>();
+        for (Row row : conn.getSession().execute(prepare(getBuilder().cqlReadFeatureHits()).bind(day))) {
+            names.add(row.getString(COL_EVENT_NAME));
+        }
+        return names;
+    }
+    
+    /**
+     * Count events read page after page (filters not available in counters).
+     *
+     * @param cqlQuery
+     *      current query
+     * @param column
+     *      counted column
+     * @return
+     *      hit counts by value of column
+     */
+    private Map<String, MutableHitCount> scanHitCount(String cqlQuery, String column) {
+        LOGGER.debug("Query " + cqlQuery);
+        Map < String, MutableHitCount > hitCount = new HashMap<String, MutableHitCount>();
+        for (Row row : executePaged(cqlQuery)) {
+            incrementHitCount(hitCount, row.getString(column), 1);
+        }
+        return hitCount;
+    }
+    
+    /**
+     * Increment hit count of key.
+     */
+    private static void incrementHitCount(Map < String, MutableHitCount > hitCount, String key, int hits) {
+        if (hitCount.containsKey(key)) {
+            hitCount.get(key).incBy(hits);
+        } else {
+            hitCount.put(key, new MutableHitCount(hits));
+        }
+    }
 
     /** {@inheritDoc} */
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition query) {
+        EventSeries es = createEventSeries(query);
+        streamAuditTrail(query, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamAuditTrail(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
         String cqlQuery = getBuilder().cqlAuditTrail(query);
         LOGGER.debug("Query " + cqlQuery);
-        ResultSet rs = conn.getSession().execute(cqlQuery);
-        EventSeries es = new EventSeries();
+        // Audit actions are filtered while reading, pagination is applied on filtered rows
+        EventCallback pagedCallback = new PagedEventCallback(callback, query);
         Set < String > candidates = Util.set(ACTION_DISCONNECT, 
                 ACTION_TOGGLE_ON, ACTION_TOGGLE_OFF,
                 ACTION_CREATE, ACTION_DELETE,
                 ACTION_UPDATE, ACTION_CLEAR);
-        for (Row row : rs.all()) {
-            if (candidates.contains(row.getString(COL_EVENT_ACTION)))
-            es.add(CassandraMapper.mapEvent(row));
+        for (Row row : executePaged(cqlQuery)) {
+            if (candidates.contains(row.getString(COL_EVENT_ACTION)) 
+                    && !pagedCallback.onEvent(CassandraMapper.mapEvent(row))) {
+                return;
+            }
         }
-        return es;
+    }
+    
+    /**
+     * Execute query with driver paging, rows are fetched by pages while iterating on the result.
+     *
+     * @param cqlQuery
+     *      current query
+     * @return
+     *      lazy result set
+     */
+    private ResultSet executePaged(String cqlQuery) {
+        Statement stmt = new SimpleStatement(cqlQuery).setFetchSize(FETCH_SIZE);
+        return conn.getSession().execute(stmt);
     }
 
     /** {@inheritDoc} */
@@ -223,31 +543,73 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
     public void purgeAuditTrail(EventQueryDefinition query) {
         LOGGER.warn("All audit will be purged, cannot filter");
         conn.getSession().execute(getBuilder().cqlTruncateAudit());
+        conn.getSession().execute(getBuilder().cqlTruncateHits());
+        conn.getSession().execute(getBuilder().cqlTruncateHitsFeatures());
     }
     
     /** {@inheritDoc} */
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
+        EventSeries es = createEventSeries(query);
+        streamFeatureUsageEvents(query, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamFeatureUsageEvents(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
+        readFeatureUsageEvents(query, new PagedEventCallback(callback, query));
+    }
+    
+    /**
+     * Read feature usage page after page (driver paging) until callback stops, the table
+     * is keyed by event id : rows are not sorted by timestamp.
+     *
+     * @param query
+     *      current query
+     * @param callback
+     *      target callback
+     */
+    private void readFeatureUsageEvents(EventQueryDefinition query, EventCallback callback) {
         String cqlQuery = getBuilder().cqlAuditFeatureUsage(query);
         LOGGER.debug("Query " + cqlQuery);
-        ResultSet rs = conn.getSession().execute(cqlQuery);
-        EventSeries es = new EventSeries();
-        for (Row row : rs.all()) {
-            es.add(CassandraMapper.mapEvent(row));
+        for (Row row : executePaged(cqlQuery)) {
+            if (!callback.onEvent(CassandraMapper.mapEvent(row))) {
+                return;
+            }
         }
-        return es;
-    }  
+    }
 
     /** {@inheritDoc} */
     @Override
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
-        TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-        // Search All events
-        Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
-        // Dispatch events into time slots
-        while (iterEvent.hasNext()) {
-            tsc.addEvent(iterEvent.next());
+        final TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        if (!isCountersQuery(query) || units.compareTo(TimeUnit.MINUTES) < 0) {
+            // Dispatch all events into time slots while reading them
+            readFeatureUsageEvents(query, new EventCallback() {
+                public boolean onEvent(Event evt) {
+                    tsc.addEvent(evt);
+                    return true;
+                }
+            });
+            return tsc;
+        }
+        // Counters by minute are added to the slot of the chart
+        for (String day : getCandidateDays(query.getFrom(), query.getTo())) {
+            for (String featureName : getFeatureNames(day, query)) {
+                for (Row row : readHits(query, day, featureName, HITS_FEATURE)) {
+                    if (!tsc.getSeries().containsKey(featureName)) {
+                        tsc.createNewSerie(featureName);
+                    }
+                    Serie < Map<String , MutableHitCount > > serie = tsc.getSeries().get(featureName);
+                    MutableHitCount hits = serie.getValue().get(tsc.getSdf().format(row.getTimestamp(COL_HITS_SLOT)));
+                    if (hits != null) {
+                        hits.incBy((int) row.getLong(COL_HITS_COUNT));
+                    }
+                }
+            }
         }
         return tsc;
     }      
@@ -310,6 +672,8 @@ public class EventRepositoryCassandra extends AbstractEventRepository {
      */
     public void setConn(CassandraConnection conn) {
         this.conn = conn;
+        // Statements are prepared on a session
+        this.statements.clear();
     }
    
 }
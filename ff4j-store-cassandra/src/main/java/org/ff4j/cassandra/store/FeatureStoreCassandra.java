@@ -161,6 +161,14 @@ public class FeatureStoreCassandra extends AbstractFeatureStore {
         return CassandraMapper.mapFeature(rs.one());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertHasLength(uid);
+        Row row = conn.getSession().execute(getBuilder().cqlReadFeature(), uid).one();
+        return (row == null) ? null : CassandraMapper.mapFeature(row);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -84,6 +84,10 @@ public class CassandraTest {
         // Create dedicated 
         Assert.assertNotNull(cqb.cqlUserHitCount(eqd));
         Assert.assertNotNull(cqb.cqlCreateEvent(20));
+        // Counters
+        Assert.assertTrue(cqb.cqlCreateColumnFamilyHits().contains("counter"));
+        Assert.assertTrue(cqb.cqlIncrementHits().startsWith("UPDATE"));
+        Assert.assertTrue(cqb.cqlReadHits().contains(CassandraConstants.COL_HITS_SLOT + " >= ?"));
     }
     
     /** TDD. */
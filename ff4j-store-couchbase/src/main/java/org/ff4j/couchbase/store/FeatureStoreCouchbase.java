@@ -121,6 +121,14 @@ public class FeatureStoreCouchbase extends AbstractFeatureStore {
         return FEATURE_MAPPER.fromStore(getFeatureBucket().get(uid));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertHasLength(uid);
+        // Null document when the key does not exist
+        return FEATURE_MAPPER.fromStore(getFeatureBucket().get(uid));
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -85,6 +85,14 @@ public class FeatureStoreEhCache extends AbstractFeatureStore {
        return (Feature) getCache().get(uid).getObjectValue();
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertParamHasLength(uid, "Feature identifier");
+        Element e = getCache().get(uid);
+        return (e == null) ? null : (Feature) e.getObjectValue();
+    }
+    
     /** {@inheritDoc} */
     @Override
     public void update(Feature fp) {
@@ -20,6 +20,8 @@ package org.ff4j.elastic;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,7 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.RangeQueryBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 import org.ff4j.audit.Event;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventQueryDefinition;
@@ -37,6 +40,7 @@ import org.ff4j.core.Feature;
 import org.ff4j.property.Property;
 
 import io.searchbox.client.JestResult;
+import io.searchbox.core.Bulk;
 import io.searchbox.core.Delete;
 import io.searchbox.core.Index;
 import io.searchbox.core.Search;
@@ -279,6 +283,16 @@ public class ElasticQueryBuilder {
 				.build();
 	}
 
+	public Bulk queryCreateEvents(Collection<Event> events) {
+		List<Index> indexActions = new ArrayList<Index>(events.size());
+		for (Event event : events) {
+			indexActions.add(new Index.Builder(event).build());
+		}
+		// Single _bulk request, index refreshed once
+		return new Bulk.Builder().defaultIndex(connection.getIndexName()).defaultType(ElasticConstants.TYPE_EVENT)
+				.addAction(indexActions).refresh(true).build();
+	}
+
 	public Search queryGetEventById(String uuid) {
 		SearchSourceBuilder source = new SearchSourceBuilder();
 		source.query(QueryBuilders.matchQuery("uuid", uuid));
@@ -287,6 +301,25 @@ public class ElasticQueryBuilder {
 	}
 
 	public Search queryGetEventQueryDefinition(EventQueryDefinition query, String action) {
+		// Warning : default size is set to 10 results, that's why it's
+		// overridden
+		return queryGetEventQueryDefinition(query, action, 0, 100);
+	}
+
+	/**
+	 * Search events ordered by timestamp, one page at a time.
+	 *
+	 * @param query
+	 *            current query
+	 * @param action
+	 *            optional action filter
+	 * @param from
+	 *            index of first hit
+	 * @param size
+	 *            number of hits
+	 * @return search query
+	 */
+	public Search queryGetEventQueryDefinition(EventQueryDefinition query, String action, int from, int size) {
 		BoolQueryBuilder booleanQuery = new BoolQueryBuilder();
 
 		// Optional constant for action filter
@@ -311,9 +344,9 @@ public class ElasticQueryBuilder {
 		addOptionalFilters(booleanQuery, query.getNamesFilter(), "name");
 		addOptionalFilters(booleanQuery, query.getSourceFilters(), "source");
 
-		// Warning : default size is set to 10 results, that's why it's
-		// overridden
-		SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().size(100);
+		SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder() //
+				.from(from).size(size) //
+				.sort("timestamp", SortOrder.ASC);
 		Search searchQuery = new Search.Builder(searchSourceBuilder.query(booleanQuery.toString()).toString()) //
 				.addIndex(connection.getIndexName()) //
 				.addType(ElasticConstants.TYPE_EVENT) //
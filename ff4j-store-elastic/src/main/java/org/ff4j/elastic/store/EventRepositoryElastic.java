@@ -29,18 +29,20 @@ import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_OFF;
 import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_ON;
 import static org.ff4j.audit.EventConstants.ACTION_UPDATE;
 
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.PagedEventCallback;
 import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.AbstractEventRepository;
 import org.ff4j.elastic.ElasticConnection;
@@ -53,6 +55,14 @@ import io.searchbox.core.SearchResult.Hit;
 
 public class EventRepositoryElastic extends AbstractEventRepository {
 
+	/** Number of events read at once when streaming. */
+	private static final int PAGE_SIZE = 500;
+
+	/** Actions of the audit trail. */
+	private static final Set<String> AUDIT_ACTIONS = Util.set(ACTION_DISCONNECT, //
+			ACTION_TOGGLE_ON, ACTION_TOGGLE_OFF, ACTION_CREATE, //
+			ACTION_DELETE, ACTION_UPDATE, ACTION_CLEAR);
+
 	private ElasticConnection connection;
 
 	/** Connection to ElasticSearch query builder */
@@ -69,6 +79,21 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 		return (result != null && result.isSucceeded());
 	}
 
+	@Override
+	public boolean saveEvents(Collection<Event> events) {
+		if (events == null) {
+			throw new IllegalArgumentException("Events cannot be null");
+		}
+		if (events.isEmpty()) {
+			return true;
+		}
+		for (Event event : events) {
+			Util.assertEvent(event);
+		}
+		JestResult result = getConnection().execute(getBuilder().queryCreateEvents(events));
+		return (result != null && result.isSucceeded());
+	}
+
 	@Override
 	public Event getEventByUUID(String uuid, Long timestamp) {
 		return getConnection().execute(getBuilder().queryGetEventById(uuid)).getSourceAsObject(Event.class);
@@ -94,28 +119,67 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 	@Override
 	public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
 		// Create the interval depending on units
-		TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-		// Search All events
-		Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
-		// Dispatch events into time slots
-		while (iterEvent.hasNext()) {
-			tsc.addEvent(iterEvent.next());
-		}
+		final TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+		// Dispatch all events into time slots, page after page
+		streamEvents(query, EventConstants.ACTION_CHECK_OK, 0, -1, new EventCallback() {
+			public boolean onEvent(Event evt) {
+				tsc.addEvent(evt);
+				return true;
+			}
+		});
 		return tsc;
 	}
 
 	@Override
 	public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {
-		JestResult result = getConnection()
-				.execute(getBuilder().queryGetEventQueryDefinition(query, EventConstants.ACTION_CHECK_OK));
-		List<Event> events = result.getSourceAsObjectList(Event.class);
-		EventSeries es = new EventSeries();
-		for (Event event : events) {
-			es.add(event);
-		}
+		EventSeries es = createEventSeries(query);
+		streamFeatureUsageEvents(query, es);
 		return es;
 	}
 
+	@Override
+	public void streamFeatureUsageEvents(EventQueryDefinition query, EventCallback callback) {
+		Util.assertNotNull(query, callback);
+		// All filters are applied by the index, pagination is delegated
+		streamEvents(query, EventConstants.ACTION_CHECK_OK, query.getOffset(), query.getLimit(), callback);
+	}
+
+	/**
+	 * Read events ordered by timestamp page after page (from/size) until callback stops.
+	 *
+	 * @param query
+	 *            current query
+	 * @param action
+	 *            optional action filter
+	 * @param offset
+	 *            number of events to skip
+	 * @param limit
+	 *            maximum number of events, -1 is infinite
+	 * @param callback
+	 *            target callback
+	 */
+	private void streamEvents(EventQueryDefinition query, String action, long offset, int limit, EventCallback callback) {
+		long from = offset;
+		long remaining = limit;
+		while (remaining != 0) {
+			int size = (remaining > 0) ? (int) Math.min(PAGE_SIZE, remaining) : PAGE_SIZE;
+			JestResult result = getConnection().execute(getBuilder().queryGetEventQueryDefinition(query, action, (int) from, size));
+			List<Event> events = result.getSourceAsObjectList(Event.class);
+			for (Event event : events) {
+				if (!callback.onEvent(event)) {
+					return;
+				}
+			}
+			if (events.size() < size) {
+				return;
+			}
+			from += size;
+			if (remaining > 0) {
+				remaining -= size;
+			}
+		}
+	}
+
 	@Override
 	public void purgeFeatureUsage(EventQueryDefinition query) {
 		this.purgeAuditTrail(query);
@@ -174,19 +238,23 @@ public class EventRepositoryElastic extends AbstractEventRepository {
 
 	@Override
 	public EventSeries getAuditTrail(EventQueryDefinition query) {
-		JestResult result = getConnection().execute(getBuilder().queryGetEventQueryDefinition(query));
-		List<Event> events = result.getSourceAsObjectList(Event.class);
-		EventSeries es = new EventSeries();
-		Set<String> candidates = Util.set(ACTION_DISCONNECT, //
-				ACTION_TOGGLE_ON, ACTION_TOGGLE_OFF, ACTION_CREATE, //
-				ACTION_DELETE, ACTION_UPDATE, ACTION_CLEAR);
-		for (Event event : events) {
-			if (candidates.contains(event.getAction()))
-				es.add(event);
-		}
+		EventSeries es = createEventSeries(query);
+		streamAuditTrail(query, es);
 		return es;
 	}
 
+	@Override
+	public void streamAuditTrail(EventQueryDefinition query, EventCallback callback) {
+		Util.assertNotNull(query, callback);
+		// Audit actions are filtered while reading, pagination is applied on filtered events
+		final EventCallback pagedCallback = new PagedEventCallback(callback, query);
+		streamEvents(query, null, 0, -1, new EventCallback() {
+			public boolean onEvent(Event evt) {
+				return !AUDIT_ACTIONS.contains(evt.getAction()) || pagedCallback.onEvent(evt);
+			}
+		});
+	}
+
 	@Override
 	public void purgeAuditTrail(EventQueryDefinition query) {
 		SearchResult result = getConnection().search(getBuilder().queryReadAllEvents(), true);
@@ -109,6 +109,15 @@ public class FeatureStoreElastic extends AbstractFeatureStore {
                 getBuilder().queryGetFeatureById(uid)).getFirstHit(Feature.class).source;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertHasLength(uid);
+        Hit<Feature, Void> hit = getConnection().search(
+                getBuilder().queryGetFeatureById(uid)).getFirstHit(Feature.class);
+        return (hit == null) ? null : hit.source;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
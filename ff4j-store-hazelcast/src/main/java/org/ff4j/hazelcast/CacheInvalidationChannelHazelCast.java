@@ -0,0 +1,96 @@
+package org.ff4j.hazelcast;
+
+/*
+ * #%L
+ * ff4j-store-hazelcast
+ * %%
+ * Copyright (C) 2013 - 2017 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.cache.AbstractCacheInvalidationChannel;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+
+/**
+ * Broadcast cache invalidations between nodes with an HazelCast topic.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationChannelHazelCast extends AbstractCacheInvalidationChannel {
+    
+    /** Default topic name. */
+    public static final String DEFAULT_TOPIC_NAME = "ff4j-cache-invalidation";
+    
+    /** HazelCast topic. */
+    private final ITopic < String > topic;
+    
+    /** Registration of listener on topic. */
+    private final String registrationId;
+    
+    /**
+     * Use default topic.
+     *
+     * @param hazelcastInstance
+     *      current HazelCast instance
+     */
+    public CacheInvalidationChannelHazelCast(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, DEFAULT_TOPIC_NAME);
+    }
+    
+    /**
+     * Constructor with topic name.
+     *
+     * @param hazelcastInstance
+     *      current HazelCast instance
+     * @param topicName
+     *      name of topic
+     */
+    public CacheInvalidationChannelHazelCast(HazelcastInstance hazelcastInstance, String topicName) {
+        this.topic = hazelcastInstance.getTopic(topicName);
+        this.registrationId = topic.addMessageListener(new MessageListener<String>() {
+            public void onMessage(Message<String> message) {
+                CacheInvalidationChannelHazelCast.this.onMessage(message.getMessageObject());
+            }
+        });
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    protected void sendMessage(String message) {
+        topic.publish(message);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        topic.removeMessageListener(registrationId);
+        super.close();
+    }
+
+    /**
+     * Getter accessor for attribute 'topic'.
+     *
+     * @return
+     *       current value of 'topic'
+     */
+    public ITopic<String> getTopic() {
+        return topic;
+    }
+    
+}
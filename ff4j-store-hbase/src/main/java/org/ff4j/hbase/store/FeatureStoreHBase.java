@@ -157,6 +157,20 @@ public class FeatureStoreHBase extends AbstractFeatureStore {
             throw new FeatureAccessException("Cannot check feature existence", e);
         }
     }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertHasLength(uid);
+        try (Connection hbConn = ConnectionFactory.createConnection(conn.getConfig())) {
+            try(Table table = hbConn.getTable(FEATURES_TABLENAME)) {
+                Result result = table.get(new Get(Bytes.toBytes(uid)));
+                return result.isEmpty() ? null : MAPPER.fromStore(result);
+            }
+        } catch (IOException e) {
+            throw new FeatureAccessException("Cannot read feature", e);
+        }
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -75,6 +75,13 @@ public class FeatureStoreJCache extends AbstractFeatureStore {
         return getCacheManager().getFeature(uid);
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertParamHasLength(uid, "Feature identifier");
+        return getCacheManager().getFeature(uid);
+    }
+    
     /** {@inheritDoc} */
     @Override
     public void update(Feature fp) {
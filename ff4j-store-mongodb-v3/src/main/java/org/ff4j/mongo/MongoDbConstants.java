@@ -31,6 +31,15 @@ public class MongoDbConstants {
     /** Default event name. */
     public static final String DEFAULT_PROPERTY_COLLECTION = "ff4j_property";
     
+    /** Default collection for revisions and changes of stores. */
+    public static final String DEFAULT_CHANGES_COLLECTION = "ff4j_changes";
+
+    /** Changes of features. */
+    public static final String STORE_FEATURES = "FEATURES";
+
+    /** Changes of properties. */
+    public static final String STORE_PROPERTIES = "PROPERTIES";
+    
     /** Default mon dg name (use ff4j). */
     public static final String DEFAULT_DBNAME = "ff4j";
     
@@ -76,6 +85,18 @@ public class MongoDbConstants {
     /** Custom Properties. */
     public static final String MONGO_SET = "$set";
 
+    /** Operator to match a list of values. */
+    public static final String MONGO_IN = "$in";
+
+    /** Event collection attribute : date of event, used by the retention (TTL) index. */
+    public static final String EVENT_DATE = "eventDate";
+    
+    /** Aggregation attribute : number of events in group. */
+    public static final String EVENT_COUNT = "count";
+    
+    /** Aggregation attribute : start of time slot. */
+    public static final String EVENT_SLOT = "slot";
+
     
     /** Constructor. */
     private MongoDbConstants() {}
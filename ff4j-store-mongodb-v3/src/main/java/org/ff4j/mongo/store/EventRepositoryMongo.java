@@ -1,7 +1,12 @@
 package org.ff4j.mongo.store;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 /*
  * #%L
@@ -23,26 +28,59 @@ import java.util.HashSet;
  * #L%
  */
 
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.ACTION_CLEAR;
+import static org.ff4j.audit.EventConstants.ACTION_CONNECT;
+import static org.ff4j.audit.EventConstants.ACTION_CREATE;
+import static org.ff4j.audit.EventConstants.ACTION_DELETE;
+import static org.ff4j.audit.EventConstants.ACTION_DISCONNECT;
+import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_OFF;
+import static org.ff4j.audit.EventConstants.ACTION_TOGGLE_ON;
+import static org.ff4j.audit.EventConstants.ACTION_UPDATE;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_ACTION;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_HOST;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_ID;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_NAME;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_SOURCE;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_TIME;
+import static org.ff4j.audit.EventConstants.ATTRIBUTE_USER;
+import static org.ff4j.mongo.MongoDbConstants.EVENT_COUNT;
+import static org.ff4j.mongo.MongoDbConstants.EVENT_DATE;
+import static org.ff4j.mongo.MongoDbConstants.EVENT_SLOT;
+import static org.ff4j.mongo.MongoDbConstants.FEATURE_UUID;
+import static org.ff4j.mongo.MongoDbConstants.MONGO_IN;
+
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.bson.Document;
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.chart.Serie;
 import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.AbstractEventRepository;
 import org.ff4j.mongo.MongoDbConstants;
 import org.ff4j.mongo.mapper.MongoEventMapper;
+import org.ff4j.utils.Util;
 
 import com.mongodb.MongoClient;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
 
 /**
  * Implementation of EventRepository for Mongo.
  *
+ * Hit counts and history are computed by the server with aggregation pipelines ($match on the time range
+ * then $group), only counters are read. Indexes are created by {@link #createSchema()}, with a retention
+ * a TTL index removes the events older than the retention.
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
 public class EventRepositoryMongo extends AbstractEventRepository {
@@ -50,6 +88,19 @@ public class EventRepositoryMongo extends AbstractEventRepository {
     /** Event Mapping. */
     private static final MongoEventMapper EMAPPER = new MongoEventMapper();
     
+    /** Number of documents fetched at once by the cursor. */
+    private static final int BATCH_SIZE = 500;
+    
+    /** Actions of the audit trail. */
+    private static final String[] AUDIT_ACTIONS = { ACTION_CONNECT, ACTION_DISCONNECT, ACTION_TOGGLE_ON, 
+            ACTION_TOGGLE_OFF, ACTION_CREATE, ACTION_DELETE, ACTION_UPDATE, ACTION_CLEAR };
+    
+    /** Key of events without user in user hit counts. */
+    private static final String ANONYMOUS = "anonymous";
+    
+    /** Retention of events (ms), TTL index is created if positive. */
+    private long retention = 0;
+    
     /** MongoDB collection. */
     private MongoCollection<Document> eventsCollection;
     
@@ -134,13 +185,23 @@ public class EventRepositoryMongo extends AbstractEventRepository {
     /** {@inheritDoc} */
     @Override
     public void createSchema() {
-        if (!mongoClient.getDatabase(dbName)
-                .listCollectionNames()
-                .into(new HashSet<String>())
-                .contains(collectionName)) {
-            mongoClient.getDatabase(dbName).createCollection(collectionName);
+        if (mongoClient != null) {
+            if (!mongoClient.getDatabase(dbName)
+                    .listCollectionNames()
+                    .into(new HashSet<String>())
+                    .contains(collectionName)) {
+                mongoClient.getDatabase(dbName).createCollection(collectionName);
+            }
+            eventsCollection = mongoClient.getDatabase(dbName).getCollection(collectionName);
+        }
+        // Queries and aggregations filter on action and time range
+        eventsCollection.createIndex(new Document(ATTRIBUTE_ACTION, 1).append(ATTRIBUTE_TIME, 1));
+        eventsCollection.createIndex(new Document(ATTRIBUTE_NAME, 1).append(ATTRIBUTE_TIME, 1));
+        eventsCollection.createIndex(new Document(ATTRIBUTE_ID, 1));
+        if (retention > 0) {
+            eventsCollection.createIndex(new Document(EVENT_DATE, 1), 
+                    new IndexOptions().expireAfter(TimeUnit.MILLISECONDS.toSeconds(retention), TimeUnit.SECONDS));
         }
-        eventsCollection = mongoClient.getDatabase(dbName).getCollection(collectionName);
     }
     
     
@@ -150,66 +211,273 @@ public class EventRepositoryMongo extends AbstractEventRepository {
         if (e == null) {
             throw new IllegalArgumentException("Event cannot be null nor empty");
         }
-        eventsCollection.insertOne(EMAPPER.toStore(e));
+        eventsCollection.insertOne(toDocument(e));
         return true;
     }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+        List < Document > documents = new ArrayList<Document>(events.size());
+        for (Event evt : events) {
+            if (evt == null) {
+                throw new IllegalArgumentException("Event cannot be null nor empty");
+            }
+            documents.add(toDocument(evt));
+        }
+        // Unordered : one failing document does not stop the others
+        eventsCollection.insertMany(documents, new InsertManyOptions().ordered(false));
+        return true;
+    }
+    
+    /**
+     * Map event with its date (TTL indexes only apply on dates).
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      document to insert
+     */
+    private Document toDocument(Event evt) {
+        return EMAPPER.toStore(evt).append(EVENT_DATE, new Date(evt.getTimestamp()));
+    }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getFeatureUsageHitCount(EventQueryDefinition query) {
-        return new HashMap<String, MutableHitCount>();
+        return getHitCount(query, ATTRIBUTE_NAME, null);
     }
 
     /** {@inheritDoc} */
     @Override
-    public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit tu) {
-        return new TimeSeriesChart();
+    public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
+        TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        // Slots are computed in UTC, the labels of the chart are in local time : hours (days) are grouped by hours
+        long width = TimeUnit.HOURS.toMillis(1);
+        if (units.compareTo(TimeUnit.SECONDS) <= 0) {
+            width = TimeUnit.SECONDS.toMillis(1);
+        } else if (units == TimeUnit.MINUTES) {
+            width = TimeUnit.MINUTES.toMillis(1);
+        }
+        Document slot = new Document("$subtract", Arrays.asList("$" + ATTRIBUTE_TIME, 
+                new Document("$mod", Arrays.asList("$" + ATTRIBUTE_TIME, width))));
+        List < Document > pipeline = Arrays.asList(
+                new Document("$match", buildEventsFilter(query, ACTION_CHECK_OK)),
+                new Document("$group", new Document(FEATURE_UUID, 
+                        new Document(ATTRIBUTE_NAME, "$" + ATTRIBUTE_NAME).append(EVENT_SLOT, slot))
+                        .append(EVENT_COUNT, new Document("$sum", 1))));
+        for (Document group : getEventCollection().aggregate(pipeline)) {
+            Document id   = (Document) group.get(FEATURE_UUID);
+            String name   = id.getString(ATTRIBUTE_NAME);
+            if (name != null) {
+                if (!tsc.getSeries().containsKey(name)) {
+                    tsc.createNewSerie(name);
+                }
+                String slotName = tsc.getSdf().format(new Date(((Number) id.get(EVENT_SLOT)).longValue()));
+                Serie < Map<String , MutableHitCount > > serie = tsc.getSeries().get(name);
+                MutableHitCount hits = serie.getValue().get(slotName);
+                if (hits != null) {
+                    hits.incBy(((Number) group.get(EVENT_COUNT)).intValue());
+                }
+            }
+        }
+        return tsc;
+    }
+    
+    /**
+     * Count feature usage events by value of an attribute with an aggregation.
+     *
+     * @param query
+     *      current query
+     * @param attribute
+     *      attribute to group events
+     * @param keyIfMissing
+     *      key for events without value for the attribute, these events are ignored if null
+     * @return
+     *      hit counts by value
+     */
+    private Map<String, MutableHitCount> getHitCount(EventQueryDefinition query, String attribute, String keyIfMissing) {
+        List < Document > pipeline = Arrays.asList(
+                new Document("$match", buildEventsFilter(query, ACTION_CHECK_OK)),
+                new Document("$group", new Document(FEATURE_UUID, "$" + attribute)
+                        .append(EVENT_COUNT, new Document("$sum", 1))));
+        Map<String, MutableHitCount> hitCount = new HashMap<String, MutableHitCount>();
+        for (Document group : getEventCollection().aggregate(pipeline)) {
+            String key = group.getString(FEATURE_UUID);
+            if (!Util.hasLength(key)) {
+                key = keyIfMissing;
+            }
+            if (key != null) {
+                hitCount.put(key, new MutableHitCount(((Number) group.get(EVENT_COUNT)).intValue()));
+            }
+        }
+        return hitCount;
     }
 
     /** {@inheritDoc} */
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition query) {        
-        return new EventSeries();
+        EventSeries es = createEventSeries(query);
+        streamFeatureUsageEvents(query, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamFeatureUsageEvents(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
+        streamEvents(buildEventsFilter(query, ACTION_CHECK_OK), query.getOffset(), query.getLimit(), callback);
     }
 
     /** {@inheritDoc} */
     @Override
     public void purgeFeatureUsage(EventQueryDefinition query) {
+        Util.assertNotNull(query);
+        getEventCollection().deleteMany(buildEventsFilter(query, ACTION_CHECK_OK));
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getHostHitCount(EventQueryDefinition query) {
-        return new HashMap<String, MutableHitCount>();
+        return getHitCount(query, ATTRIBUTE_HOST, null);
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getUserHitCount(EventQueryDefinition query) {
-        return new HashMap<String, MutableHitCount>();
+        return getHitCount(query, ATTRIBUTE_USER, ANONYMOUS);
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, MutableHitCount> getSourceHitCount(EventQueryDefinition query) {
-        return new HashMap<String, MutableHitCount>();
+        return getHitCount(query, ATTRIBUTE_SOURCE, null);
     }
 
     /** {@inheritDoc} */
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition query) {
-        return new EventSeries();
+        EventSeries es = createEventSeries(query);
+        streamAuditTrail(query, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamAuditTrail(EventQueryDefinition query, EventCallback callback) {
+        Util.assertNotNull(query, callback);
+        streamEvents(buildEventsFilter(query, AUDIT_ACTIONS), query.getOffset(), query.getLimit(), callback);
+    }
+    
+    /**
+     * Read events ordered by timestamp with a cursor, skip and limit are done by the server.
+     *
+     * @param filter
+     *      query filter
+     * @param offset
+     *      number of events to skip
+     * @param limit
+     *      maximum number of events, -1 is infinite
+     * @param callback
+     *      target callback
+     */
+    private void streamEvents(Document filter, long offset, int limit, EventCallback callback) {
+        FindIterable < Document > results = getEventCollection().find(filter)
+                .sort(new Document(ATTRIBUTE_TIME, 1))
+                .skip((int) offset)
+                .batchSize(BATCH_SIZE);
+        if (limit > 0) {
+            results.limit(limit);
+        }
+        MongoCursor < Document > cursor = results.iterator();
+        try {
+            while (cursor.hasNext()) {
+                if (!callback.onEvent(EMAPPER.fromStore(cursor.next()))) {
+                    return;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+    
+    /**
+     * Convert query into filter.
+     *
+     * @param query
+     *      current query
+     * @param defaultActions
+     *      actions expected when the query has no action filter
+     * @return
+     *      filter document
+     */
+    private Document buildEventsFilter(EventQueryDefinition query, String... defaultActions) {
+        Document filter = new Document(ATTRIBUTE_TIME, 
+                new Document("$gt", query.getFrom()).append("$lt", query.getTo()));
+        if (query.getActionFilters().isEmpty()) {
+            filter.append(ATTRIBUTE_ACTION, new Document(MONGO_IN, Arrays.asList(defaultActions)));
+        } else {
+            filter.append(ATTRIBUTE_ACTION, new Document(MONGO_IN, new ArrayList<String>(query.getActionFilters())));
+        }
+        if (!query.getHostFilters().isEmpty()) {
+            filter.append(ATTRIBUTE_HOST, new Document(MONGO_IN, new ArrayList<String>(query.getHostFilters())));
+        }
+        if (!query.getNamesFilter().isEmpty()) {
+            filter.append(ATTRIBUTE_NAME, new Document(MONGO_IN, new ArrayList<String>(query.getNamesFilter())));
+        }
+        if (!query.getSourceFilters().isEmpty()) {
+            filter.append(ATTRIBUTE_SOURCE, new Document(MONGO_IN, new ArrayList<String>(query.getSourceFilters())));
+        }
+        return filter;
     }
 
     /** {@inheritDoc} */
     @Override
     public void purgeAuditTrail(EventQueryDefinition query) {
+        Util.assertNotNull(query);
+        getEventCollection().deleteMany(buildEventsFilter(query, AUDIT_ACTIONS));
     }
 
     /** {@inheritDoc} */
     @Override
     public Event getEventByUUID(String uuid, Long timestamp) {
-        return null;
+        Util.assertHasLength(uuid);
+        Document filter = new Document(ATTRIBUTE_ID, uuid);
+        if (timestamp != null) {
+            // Timestamp is a hint (same day), not the exact time of the event
+            long day = TimeUnit.DAYS.toMillis(1);
+            filter.append(ATTRIBUTE_TIME, new Document("$gte", timestamp.longValue() - day)
+                    .append("$lte", timestamp.longValue() + day));
+        }
+        Document evt = getEventCollection().find(filter).first();
+        return (evt == null) ? null : EMAPPER.fromStore(evt);
+    }
+    
+    /**
+     * Getter accessor for attribute 'retention'.
+     *
+     * @return
+     *       current value of 'retention'
+     */
+    public long getRetention() {
+        return retention;
+    }
+
+    /**
+     * Setter accessor for attribute 'retention', applied by {@link #createSchema()}. An existing 
+     * TTL index with another value must be dropped first.
+     * 
+     * @param retention
+     *       retention of events in milliseconds, no expiration if not positive
+     */
+    public void setRetention(long retention) {
+        this.retention = retention;
     }
     
 }
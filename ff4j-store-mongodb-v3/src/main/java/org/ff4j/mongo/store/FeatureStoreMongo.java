@@ -2,8 +2,13 @@ package org.ff4j.mongo.store;
 
 import static org.ff4j.mongo.MongoDbConstants.MONGO_SET;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,6 +22,7 @@ import org.ff4j.mongo.MongoDbConstants;
 import org.ff4j.mongo.mapper.FeatureDocumentBuilder;
 import org.ff4j.mongo.mapper.MongoFeatureMapper;
 import org.ff4j.store.AbstractFeatureStore;
+import org.ff4j.store.RevisionLog;
 import org.ff4j.utils.Util;
 
 import com.mongodb.MongoClient;
@@ -184,6 +190,7 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         Document target = BUILDER.getFeatUid(uid);
         Object enabledd = BUILDER.getEnable(enable);
         getFeaturesCollection().updateOne(target, new Document(MONGO_SET, enabledd));
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -216,6 +223,7 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
             throw new FeatureAlreadyExistException(fp.getUid());
         }
         getFeaturesCollection().insertOne(FMAPPER.toStore(fp));
+        logCreate(fp.getUid());
     }
 
     /** {@inheritDoc} */
@@ -228,6 +236,7 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
             throw new FeatureNotFoundException(uid);
         }
         getFeaturesCollection().deleteOne(BUILDER.getFeatUid(uid));
+        logDelete(uid);
     }
 
     /** {@inheritDoc} */
@@ -243,6 +252,7 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
             throw new FeatureNotFoundException(uid);
         }
         getFeaturesCollection().updateOne(BUILDER.getFeatUid(uid), new Document("$addToSet", BUILDER.getRoles(roleName)));
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -258,6 +268,33 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
             throw new FeatureNotFoundException(uid);
         }
         getFeaturesCollection().updateOne(BUILDER.getFeatUid(uid), new Document("$pull", BUILDER.getRoles(roleName)));
+        logUpdate(uid);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        Map<String, Feature> features = new LinkedHashMap<String, Feature>();
+        if (featureUids.isEmpty()) {
+            return features;
+        }
+        Set<String> uids = new LinkedHashSet<String>(featureUids);
+        for (String uid : uids) {
+            Util.assertHasLength(uid);
+        }
+        // Single query with $in, documents come back in any order
+        Map<String, Feature> found = new HashMap<String, Feature>();
+        for (Document document : getFeaturesCollection().find(BUILDER.getFeatUids(uids))) {
+            Feature feature = FMAPPER.fromStore(document);
+            found.put(feature.getUid(), feature);
+        }
+        for (String uid : uids) {
+            if (found.containsKey(uid)) {
+                features.put(uid, found.get(uid));
+            }
+        }
+        return features;
     }
 
     /** {@inheritDoc} */
@@ -279,6 +316,7 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         }
         read(fp.getUid());
         getFeaturesCollection().updateOne(BUILDER.getFeatUid(fp.getUid()), new Document(MONGO_SET, FMAPPER.toStore(fp)));
+        logUpdate(fp.getUid());
     }
 
     /** {@inheritDoc} */
@@ -328,10 +366,13 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         if (!existGroup(groupName)) {
             throw new GroupNotFoundException(groupName);
         }
+        List<String> uids = new ArrayList<String>();
         for (Document document : getFeaturesCollection().find(BUILDER.getGroupName(groupName))) {
             Object enabled = BUILDER.getEnable(true);
             getFeaturesCollection().updateOne(document, new Document(MONGO_SET, enabled));
+            uids.add(document.getString(MongoDbConstants.FEATURE_UUID));
         }
+        logUpdate(uids);
     }
 
     /** {@inheritDoc} */
@@ -343,10 +384,13 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         if (!existGroup(groupName)) {
             throw new GroupNotFoundException(groupName);
         }
+        List<String> uids = new ArrayList<String>();
         for (Document document: getFeaturesCollection().find(BUILDER.getGroupName(groupName))) {
             Object enabled = BUILDER.getEnable(false);
             getFeaturesCollection().updateOne(document, new Document(MONGO_SET, enabled));
+            uids.add(document.getString(MongoDbConstants.FEATURE_UUID));
         }
+        logUpdate(uids);
     }
 
     /** {@inheritDoc} */
@@ -364,6 +408,7 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         Document target = BUILDER.getFeatUid(uid);
         Document nGroupName = BUILDER.getGroupName(groupName);
         getFeaturesCollection().updateOne(target, new Document(MONGO_SET, nGroupName));
+        logUpdate(uid);
     }
 
     /** {@inheritDoc} */
@@ -384,12 +429,21 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         Document target = BUILDER.getFeatUid(uid);
         Document nGroupName = BUILDER.getGroupName("");
         getFeaturesCollection().updateOne(target, new Document(MONGO_SET, nGroupName));
+        logUpdate(uid);
     }
     
     /** {@inheritDoc} */
     @Override
     public void clear() {
+        // Identifiers to be logged as deleted
+        List<String> uids = new ArrayList<String>();
+        if (getRevisionLog() != null) {
+            for (Document document : getFeaturesCollection().find().projection(new Document(MongoDbConstants.FEATURE_UUID, 1))) {
+                uids.add(document.getString(MongoDbConstants.FEATURE_UUID));
+            }
+        }
         getFeaturesCollection().deleteMany(new Document());
+        logDelete(uids);
     }
 
     /** {@inheritDoc} */
@@ -420,5 +474,20 @@ public class FeatureStoreMongo extends AbstractFeatureStore {
         }
         return featuresCollection;
     }
+    
+    /**
+     * Changes are shared through collection 'ff4j_changes' of the same database.
+     *
+     * @return
+     *      revision log for this store
+     */
+    @Override
+    public RevisionLog getRevisionLog() {
+        if (super.getRevisionLog() == null && mongoClient != null) {
+            setRevisionLog(new MongoRevisionLog(mongoClient.getDatabase(dbName)
+                    .getCollection(MongoDbConstants.DEFAULT_CHANGES_COLLECTION), MongoDbConstants.STORE_FEATURES));
+        }
+        return super.getRevisionLog();
+    }
 
 }
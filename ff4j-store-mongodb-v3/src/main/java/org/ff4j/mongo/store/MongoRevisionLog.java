@@ -0,0 +1,199 @@
+package org.ff4j.mongo.store;
+
+/*
+ * #%L
+ * ff4j-store-mongodb-v3
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.mongo.MongoDbConstants.FEATURE_UUID;
+import static org.ff4j.mongo.MongoDbConstants.MONGO_SET;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+import org.bson.Document;
+import org.ff4j.store.RevisionLog;
+import org.ff4j.store.StoreChanges;
+import org.ff4j.utils.Util;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+
+/**
+ * Revision log shared by all nodes through a MongoDB collection.
+ *
+ * The collection holds one counter document per store (initialized with the creation time of the log in ms)
+ * and one document per item with the revision of its last change.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class MongoRevisionLog implements RevisionLog {
+
+    /** Prefix of counter identifier. */
+    private static final String COUNTER_PREFIX = "REVISION_";
+
+    /** Counter attribute. */
+    private static final String ORIGIN = "origin";
+
+    /** Counter attribute. */
+    private static final String REVISION = "revision";
+
+    /** Change attribute. */
+    private static final String STORE = "store";
+
+    /** Change attribute. */
+    private static final String UID = "uid";
+
+    /** Change attribute. */
+    private static final String CREATED = "created";
+
+    /** Change attribute. */
+    private static final String DELETED = "deleted";
+
+    /** Collection of changes. */
+    private final MongoCollection<Document> changesCollection;
+
+    /** Store name. */
+    private final String storeName;
+
+    /** Identifier of counter. */
+    private final String counterId;
+
+    /** Counter and index have been initialized. */
+    private volatile boolean initialized = false;
+
+    /**
+     * Constructor with collection and store name.
+     *
+     * @param changesCollection
+     *      collection to store changes
+     * @param storeName
+     *      store name
+     */
+    public MongoRevisionLog(MongoCollection<Document> changesCollection, String storeName) {
+        Util.assertNotNull(changesCollection);
+        Util.assertHasLength(storeName);
+        this.changesCollection = changesCollection;
+        this.storeName         = storeName;
+        this.counterId         = COUNTER_PREFIX + storeName;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getRevision() {
+        initialize();
+        Document counter = changesCollection.find(new Document(FEATURE_UUID, counterId)).first();
+        if (counter == null) {
+            initialized = false;
+            return StoreChanges.NO_REVISION;
+        }
+        return counter.getLong(REVISION);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logCreate(Collection<String> uids) {
+        log(uids, true, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logUpdate(Collection<String> uids) {
+        log(uids, false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logDelete(Collection<String> uids) {
+        log(uids, false, true);
+    }
+
+    /**
+     * Record last change of items with a new revision.
+     */
+    private void log(Collection<String> uids, boolean create, boolean delete) {
+        if (uids == null || uids.isEmpty()) {
+            return;
+        }
+        initialize();
+        Document counter = changesCollection.findOneAndUpdate(
+                new Document(FEATURE_UUID, counterId),
+                new Document("$inc", new Document(REVISION, 1L)),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+        if (counter == null) {
+            // Collection has been dropped, next call will start a new log
+            initialized = false;
+            return;
+        }
+        long revision = counter.getLong(REVISION);
+        for (String uid : new LinkedHashSet<String>(uids)) {
+            Document values = new Document(STORE, storeName)
+                    .append(UID, uid)
+                    .append(REVISION, revision)
+                    .append(DELETED, delete);
+            Document update;
+            if (create) {
+                update = new Document(MONGO_SET, values.append(CREATED, revision));
+            } else {
+                update = new Document(MONGO_SET, values).append("$setOnInsert", new Document(CREATED, 0L));
+            }
+            changesCollection.updateOne(new Document(FEATURE_UUID, storeName + ":" + uid), update, new UpdateOptions().upsert(true));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public < T > StoreChanges<T> changesSince(long since) {
+        initialize();
+        Document counter = changesCollection.find(new Document(FEATURE_UUID, counterId)).first();
+        if (counter == null) {
+            initialized = false;
+            return new StoreChanges<T>(since, StoreChanges.NO_REVISION, true);
+        }
+        long origin   = counter.getLong(ORIGIN);
+        long revision = counter.getLong(REVISION);
+        if (since < origin || since > revision) {
+            return new StoreChanges<T>(since, revision, true);
+        }
+        StoreChanges<T> result = new StoreChanges<T>(since, revision, false);
+        // Items changed after 'since' and up to the revision read above
+        Document query = new Document(STORE, storeName)
+                .append(REVISION, new Document("$gt", since).append("$lte", revision));
+        for (Document change : changesCollection.find(query)) {
+            result.record(change.getString(UID), change.getLong(CREATED), change.getBoolean(DELETED));
+        }
+        return result;
+    }
+
+    /**
+     * Create counter and index if they do not exist yet.
+     */
+    private void initialize() {
+        if (!initialized) {
+            long now = System.currentTimeMillis();
+            changesCollection.updateOne(new Document(FEATURE_UUID, counterId),
+                    new Document("$setOnInsert", new Document(ORIGIN, now).append(REVISION, now)),
+                    new UpdateOptions().upsert(true));
+            changesCollection.createIndex(new Document(STORE, 1).append(REVISION, 1));
+            initialized = true;
+        }
+    }
+
+}
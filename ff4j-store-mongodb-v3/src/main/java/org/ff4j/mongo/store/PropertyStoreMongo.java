@@ -35,6 +35,7 @@ import org.ff4j.mongo.mapper.MongoPropertyMapper;
 import org.ff4j.mongo.mapper.PropertyDocumentBuilder;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.AbstractPropertyStore;
+import org.ff4j.store.RevisionLog;
 import org.ff4j.utils.Util;
 
 import com.mongodb.MongoClient;
@@ -168,6 +169,7 @@ public class PropertyStoreMongo extends AbstractPropertyStore {
             throw new PropertyAlreadyExistException(prop.getName());
         }
         getPropertiesCollection().insertOne(PMAPPER.toStore(prop));
+        logCreate(prop.getName());
     }
 
     /** {@inheritDoc} */
@@ -181,11 +183,15 @@ public class PropertyStoreMongo extends AbstractPropertyStore {
     public void deleteProperty(String name) {
         assertPropertyExist(name);
         getPropertiesCollection().deleteOne(BUILDER.getName(name));
+        logDelete(name);
     }
     
     /** {@inheritDoc} */
     public void clear() {
+        // Names to be logged as deleted
+        Set<String> names = (getRevisionLog() != null) ? listPropertyNames() : new HashSet<String>();
         getPropertiesCollection().deleteMany(new Document());
+        logDelete(names);
     }
 
     /** {@inheritDoc} */
@@ -195,6 +201,7 @@ public class PropertyStoreMongo extends AbstractPropertyStore {
         Document query = BUILDER.getName(name);
         Document update = BUILDER.getValue(newValue);
         getPropertiesCollection().updateOne(query, new Document(MONGO_SET, update));
+        logUpdate(name);
     }
 
     /** {@inheritDoc} */
@@ -250,4 +257,19 @@ public class PropertyStoreMongo extends AbstractPropertyStore {
         return propertiesCollection;
     }
     
+    /**
+     * Changes are shared through collection 'ff4j_changes' of the same database.
+     *
+     * @return
+     *      revision log for this store
+     */
+    @Override
+    public RevisionLog getRevisionLog() {
+        if (super.getRevisionLog() == null && mongoClient != null) {
+            setRevisionLog(new MongoRevisionLog(mongoClient.getDatabase(dbName)
+                    .getCollection(MongoDbConstants.DEFAULT_CHANGES_COLLECTION), MongoDbConstants.STORE_PROPERTIES));
+        }
+        return super.getRevisionLog();
+    }
+    
 }
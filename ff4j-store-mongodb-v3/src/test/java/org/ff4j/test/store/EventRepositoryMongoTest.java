@@ -0,0 +1,62 @@
+package org.ff4j.test.store;
+
+import static org.ff4j.audit.EventConstants.ACTION_CHECK_OK;
+import static org.ff4j.audit.EventConstants.SOURCE_JAVA;
+import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
+
+import java.util.Map;
+
+import org.ff4j.audit.Event;
+import org.ff4j.audit.EventQueryDefinition;
+import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.repository.EventRepository;
+import org.ff4j.mongo.store.EventRepositoryMongo;
+import org.ff4j.test.audit.EventRepositoryTestSupport;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.fakemongo.junit.FongoRule;
+
+/**
+ * Unit testing of {@link EventRepositoryMongo} with Fongo.
+ *
+ * @author Cedrick LUNVEN (@clunven)
+ */
+public class EventRepositoryMongoTest extends EventRepositoryTestSupport {
+
+    /**
+     * DataBase.
+     */
+    @Rule
+    public FongoRule fongoRule = new FongoRule(false);
+
+    /** {@inheritDoc} */
+    @Override
+    protected EventRepository initRepository() {
+        EventRepositoryMongo mongoRepository = new EventRepositoryMongo(fongoRule.getDatabase());
+        mongoRepository.createSchema();
+        return mongoRepository;
+    }
+    
+    /** TDD. */
+    @Test
+    public void testUserHitCountAnonymous() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        // Given
+        Event e1 = new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK);
+        e1.setUser("JOHN");
+        repo.saveEvent(e1);
+        repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f1", ACTION_CHECK_OK));
+        repo.saveEvent(new Event(SOURCE_JAVA, TARGET_FEATURE, "f2", ACTION_CHECK_OK));
+        Thread.sleep(100);
+        // When
+        EventQueryDefinition testQuery = new EventQueryDefinition(start - 20, System.currentTimeMillis());
+        Map<String, MutableHitCount> mapOfHit = repo.getUserHitCount(testQuery);
+        // Then, events without user are counted as 'anonymous' like in memory
+        Assert.assertEquals(2, mapOfHit.size());
+        Assert.assertEquals(1, mapOfHit.get("JOHN").get());
+        Assert.assertEquals(2, mapOfHit.get("anonymous").get());
+    }
+
+}
@@ -16,8 +16,11 @@ import static org.ff4j.store.mongodb.FeatureStoreMongoConstants.MONGO_SET;
  * governing permissions and limitations under the License. #L%
  */
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -228,6 +231,32 @@ public class FeatureStoreMongoDB extends AbstractFeatureStore {
         getFeaturesCollection().update(BUILDER.getFeatUid(uid), new BasicDBObject("$pull", BUILDER.getRoles(roleName)));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        Map<String, Feature> features = new LinkedHashMap<String, Feature>();
+        if (featureUids.isEmpty()) {
+            return features;
+        }
+        Set<String> uids = new LinkedHashSet<String>(featureUids);
+        for (String uid : uids) {
+            Util.assertHasLength(uid);
+        }
+        // Single query with $in, documents come back in any order
+        Map<String, Feature> found = new HashMap<String, Feature>();
+        for (DBObject document : getFeaturesCollection().find(BUILDER.getFeatUids(uids))) {
+            Feature feature = MAPPER.mapFeature(document);
+            found.put(feature.getUid(), feature);
+        }
+        for (String uid : uids) {
+            if (found.containsKey(uid)) {
+                features.put(uid, found.get(uid));
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -20,6 +20,7 @@ package org.ff4j.store.mongodb;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.Set;
 
 import com.mongodb.BasicDBList;
@@ -52,6 +53,20 @@ public final class FeatureDBObjectBuilder {
         return new BasicDBObjectBuilder().add(UUID, value).get();
     }
 
+    /**
+     * Mongo internal object matching several identifiers.
+     *
+     * @param values
+     *      target values
+     * @return
+     *      internal mong object
+     */
+    public DBObject getFeatUids(Collection<String> values) {
+        BasicDBList uids = new BasicDBList();
+        uids.addAll(values);
+        return new BasicDBObjectBuilder().push(UUID).add(MONGO_IN, uids).get();
+    }
+
     /**
      * Chain add to build object.
      * 
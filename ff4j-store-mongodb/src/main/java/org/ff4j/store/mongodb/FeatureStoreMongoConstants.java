@@ -67,6 +67,9 @@ public class FeatureStoreMongoConstants {
     public static final String ROLES = "roles";
 
     public static final String MONGO_SET = "$set";
+
+    /** Operator to match a list of values. */
+    public static final String MONGO_IN = "$in";
     
     /** Default mon dg name (use ff4j). */
     public static final String DEFAULT_DBNAME = "ff4j";
@@ -140,6 +140,13 @@ public class FeatureStoreNeo4J extends AbstractFeatureStore {
     @Override
     public Feature read(String featId) {
         assertFeatureExist(featId);
+        return readIfExists(featId);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String featId) {
+        Util.assertHasLength(featId);
         Feature targetFeature = null;
         Transaction tx = graphDb.beginTx();
         Map<String, Object> queryParameters = new HashMap<>();
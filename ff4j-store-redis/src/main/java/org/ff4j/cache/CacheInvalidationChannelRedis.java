@@ -0,0 +1,210 @@
+package org.ff4j.cache;
+
+/*
+ * #%L
+ * ff4j-cache-redis
+ * %%
+ * Copyright (C) 2013 - 2014 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.ff4j.redis.RedisConnection;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+import static org.ff4j.redis.RedisContants.KEY_CACHE_INVALIDATION;
+
+/**
+ * Broadcast cache invalidations between nodes with REDIS pub/sub.
+ * 
+ * A daemon thread holds the subscription (blocking in Jedis) and reconnects if the connection is lost. Local
+ * listeners are fully invalidated at each subscription as messages sent meanwhile have been missed.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class CacheInvalidationChannelRedis extends AbstractCacheInvalidationChannel {
+    
+    /** Delay before trying to subscribe again (ms). */
+    private static final long RECONNECT_DELAY = 1000L;
+    
+    /** Wrapping of redis connection (isolation). */
+    private RedisConnection redisConnection;
+    
+    /** Name of the redis channel. */
+    private String channelName = KEY_CACHE_INVALIDATION;
+    
+    /** Subscriber. */
+    private final JedisPubSub pubSub = new JedisPubSub() {
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onMessage(String channel, String message) {
+            CacheInvalidationChannelRedis.this.onMessage(message);
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onPMessage(String pattern, String channel, String message) {
+            CacheInvalidationChannelRedis.this.onMessage(message);
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            // Messages published while not subscribed are lost, local caches may be stale
+            CacheInvalidationChannelRedis.this.notifyFullInvalidation();
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onUnsubscribe(String channel, int subscribedChannels) {
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onPUnsubscribe(String pattern, int subscribedChannels) {
+        }
+        
+        /** {@inheritDoc} */
+        @Override
+        public void onPSubscribe(String pattern, int subscribedChannels) {
+        }
+    };
+    
+    /** Thread holding the subscription. */
+    private Thread subscriberThread;
+    
+    /** Flag to stop subscription. */
+    private volatile boolean running = false;
+    
+    /**
+     * Default constructor (localhost, default port).
+     */
+    public CacheInvalidationChannelRedis() {
+        this(new RedisConnection());
+    }
+    
+    /**
+     * Constructor with connection.
+     *
+     * @param pRedisConnection
+     *      current connection to redis
+     */
+    public CacheInvalidationChannelRedis(RedisConnection pRedisConnection) {
+        this(pRedisConnection, KEY_CACHE_INVALIDATION);
+    }
+    
+    /**
+     * Constructor with connection and channel name.
+     *
+     * @param pRedisConnection
+     *      current connection to redis
+     * @param channelName
+     *      name of redis channel
+     */
+    public CacheInvalidationChannelRedis(RedisConnection pRedisConnection, String channelName) {
+        this.redisConnection = pRedisConnection;
+        this.channelName     = channelName;
+        start();
+    }
+    
+    /**
+     * Start subscriber thread.
+     */
+    private synchronized void start() {
+        running = true;
+        subscriberThread = new Thread(new Runnable() {
+            public void run() {
+                while (running) {
+                    Jedis jedis = null;
+                    try {
+                        jedis = redisConnection.getJedis();
+                        // Blocking until unsubscribe or connection lost
+                        jedis.subscribe(pubSub, channelName);
+                    } catch (RuntimeException re) {
+                        sleepBeforeReconnect();
+                    } finally {
+                        if (jedis != null) {
+                            jedis.close();
+                        }
+                    }
+                }
+            }
+        }, "FF4j_CacheInvalidationRedis");
+        subscriberThread.setDaemon(true);
+        subscriberThread.start();
+    }
+    
+    /**
+     * Wait before next subscription.
+     */
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException ie) {
+            running = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    protected void sendMessage(String message) {
+        Jedis jedis = null;
+        try {
+            jedis = redisConnection.getJedis();
+            jedis.publish(channelName, message);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (pubSub.isSubscribed()) {
+            pubSub.unsubscribe();
+        }
+        if (subscriberThread != null) {
+            subscriberThread.interrupt();
+        }
+        super.close();
+    }
+
+    /**
+     * Getter accessor for attribute 'channelName'.
+     *
+     * @return
+     *       current value of 'channelName'
+     */
+    public String getChannelName() {
+        return channelName;
+    }
+
+    /**
+     * Getter accessor for attribute 'redisConnection'.
+     *
+     * @return
+     *       current value of 'redisConnection'
+     */
+    public RedisConnection getRedisConnection() {
+        return redisConnection;
+    }
+    
+}
@@ -45,6 +45,21 @@ public class RedisContants {
     /** prefix of keys. */
     public static final String KEY_EVENT_AUDIT = "AUDITRAIL";
 
+    /** pub/sub channel for cache invalidations. */
+    public static final String KEY_CACHE_INVALIDATION = "FF4J_CACHE_INVALIDATION";
+
+    /** prefix of revision counters, suffixed by store name. */
+    public static final String KEY_REVISION = "FF4J_REVISION_";
+
+    /** prefix of change logs, suffixed by store name. */
+    public static final String KEY_CHANGES = "FF4J_CHANGES_";
+
+    /** Change log of features. */
+    public static final String STORE_FEATURES = "FEATURES";
+
+    /** Change log of properties. */
+    public static final String STORE_PROPERTIES = "PROPERTIES";
+
     /** default ttl. */
     public static int DEFAULT_TTL = 900000000;
 
@@ -0,0 +1,232 @@
+package org.ff4j.redis;
+
+/*
+ * #%L
+ * ff4j-store-redis
+ * %%
+ * Copyright (C) 2013 - 2016 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.redis.RedisContants.KEY_CHANGES;
+import static org.ff4j.redis.RedisContants.KEY_REVISION;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.ff4j.store.RevisionLog;
+import org.ff4j.store.StoreChanges;
+import org.ff4j.utils.Util;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * Revision log shared by all nodes through REDIS.
+ *
+ * <ul>
+ * <li>FF4J_REVISION_[STORE] : revision counter, initialized with the creation time (ms) of the log.</li>
+ * <li>FF4J_REVISION_[STORE]_ORIGIN : first revision of the log.</li>
+ * <li>FF4J_CHANGES_[STORE] : sorted set of items, score is the revision of their last change.</li>
+ * <li>FF4J_CHANGES_[STORE]_STATE : hash of items with 'createdRevision:deleted'.</li>
+ * </ul>
+ *
+ * Changes are written with a LUA script so that a revision is never visible before its items.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class RedisRevisionLog implements RevisionLog {
+
+    /** Increment revision and record last change of each item (ARGV : create, delete, uids...). */
+    private static final String SCRIPT_LOG =
+              "local rev = redis.call('INCR', KEYS[1]) "
+            + "for i = 3, #ARGV do "
+            + "  local created = '0' "
+            + "  if ARGV[1] == '1' then "
+            + "    created = string.format('%d', rev) "
+            + "  else "
+            + "    local previous = redis.call('HGET', KEYS[3], ARGV[i]) "
+            + "    if previous then created = string.match(previous, '^(%d+)') end "
+            + "  end "
+            + "  redis.call('ZADD', KEYS[2], rev, ARGV[i]) "
+            + "  redis.call('HSET', KEYS[3], ARGV[i], created .. ':' .. ARGV[2]) "
+            + "end "
+            + "return rev";
+
+    /** Wrapping of redis connection. */
+    private final RedisConnection redisConnection;
+
+    /** Revision counter. */
+    private final String keyRevision;
+
+    /** First revision. */
+    private final String keyOrigin;
+
+    /** Items by revision. */
+    private final String keyChanges;
+
+    /** State of items. */
+    private final String keyState;
+
+    /** Counters have been initialized. */
+    private volatile boolean initialized = false;
+
+    /**
+     * Constructor with connection and store name.
+     *
+     * @param redisConnection
+     *      redis connection
+     * @param storeName
+     *      name of store ({@link RedisContants#STORE_FEATURES} or {@link RedisContants#STORE_PROPERTIES})
+     */
+    public RedisRevisionLog(RedisConnection redisConnection, String storeName) {
+        Util.assertNotNull(redisConnection);
+        Util.assertHasLength(storeName);
+        this.redisConnection = redisConnection;
+        this.keyRevision     = KEY_REVISION + storeName;
+        this.keyOrigin       = KEY_REVISION + storeName + "_ORIGIN";
+        this.keyChanges      = KEY_CHANGES + storeName;
+        this.keyState        = KEY_CHANGES + storeName + "_STATE";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getRevision() {
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            initialize(jedis);
+            return Long.parseLong(jedis.get(keyRevision));
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logCreate(Collection<String> uids) {
+        log(uids, true, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logUpdate(Collection<String> uids) {
+        log(uids, false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void logDelete(Collection<String> uids) {
+        log(uids, false, true);
+    }
+
+    /**
+     * Record last change of items with a new revision.
+     */
+    private void log(Collection<String> uids, boolean create, boolean delete) {
+        if (uids == null || uids.isEmpty()) {
+            return;
+        }
+        List < String > args = new ArrayList<String>();
+        args.add(create ? "1" : "0");
+        args.add(delete ? "1" : "0");
+        args.addAll(new LinkedHashSet<String>(uids));
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            initialize(jedis);
+            jedis.eval(SCRIPT_LOG, Arrays.asList(keyRevision, keyChanges, keyState), args);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public < T > StoreChanges<T> changesSince(long since) {
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            initialize(jedis);
+            List < String > counters = jedis.mget(keyOrigin, keyRevision);
+            if (counters.get(0) == null || counters.get(1) == null) {
+                // Keys have been removed (flush), start a new log
+                initialized = false;
+                return new StoreChanges<T>(since, StoreChanges.NO_REVISION, true);
+            }
+            long origin   = Long.parseLong(counters.get(0));
+            long revision = Long.parseLong(counters.get(1));
+            if (since < origin || since > revision) {
+                return new StoreChanges<T>(since, revision, true);
+            }
+            StoreChanges<T> result = new StoreChanges<T>(since, revision, false);
+            // Items changed after 'since' and up to the revision read above
+            Set < String > uids = jedis.zrangeByScore(keyChanges, "(" + since, String.valueOf(revision));
+            if (uids == null || uids.isEmpty()) {
+                return result;
+            }
+            String[] fields = uids.toArray(new String[uids.size()]);
+            List < String > states = jedis.hmget(keyState, fields);
+            for (int i = 0; i < fields.length; i++) {
+                String state = states.get(i);
+                if (state != null) {
+                    String[] chunks = state.split(":");
+                    result.record(fields[i], Long.parseLong(chunks[0]), "1".equals(chunks[1]));
+                }
+            }
+            return result;
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
+    /**
+     * Create counters if they do not exist yet.
+     *
+     * @param jedis
+     *      current connection
+     */
+    private void initialize(Jedis jedis) {
+        if (!initialized) {
+            jedis.setnx(keyOrigin, String.valueOf(System.currentTimeMillis()));
+            jedis.setnx(keyRevision, jedis.get(keyOrigin));
+            initialized = true;
+        }
+    }
+
+    /**
+     * Safe acces to Jedis, avoid JNPE.
+     *
+     * @return
+     *      access jedis
+     */
+    private Jedis getJedis() {
+        Jedis jedis = redisConnection.getJedis();
+        if (jedis == null) {
+            throw new IllegalArgumentException("Cannot found any jedis connection, please build connection");
+        }
+        return jedis;
+    }
+
+}
@@ -26,17 +26,24 @@ import org.ff4j.exception.FeatureAlreadyExistException;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.redis.RedisConnection;
+import org.ff4j.redis.RedisRevisionLog;
 import org.ff4j.utils.Util;
 import org.ff4j.utils.json.FeatureJsonParser;
 import redis.clients.jedis.Jedis;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.ff4j.redis.RedisContants.KEY_FEATURE;
 import static org.ff4j.redis.RedisContants.KEY_FEATURE_MAP;
+import static org.ff4j.redis.RedisContants.STORE_FEATURES;
 
 /**
  * {@link FeatureStore} to persist data into
@@ -153,6 +160,7 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
             jedis = getJedis();
             jedis.set(KEY_FEATURE + fp.getUid(), fp.toJson());
             jedis.persist(KEY_FEATURE + fp.getUid());
+            logUpdate(fp.getUid());
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -198,6 +206,7 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
             jedis.sadd(KEY_FEATURE_MAP, id);
             jedis.set(KEY_FEATURE + id, fp.toJson());
             jedis.persist(KEY_FEATURE + id);
+            logCreate(id);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -205,6 +214,56 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Util.assertParamHasNotNull(featureUids, "featureUids");
+        if (featureUids.isEmpty()) {
+            return new LinkedHashMap<String, Feature>();
+        }
+        Jedis jedis = null;
+        try {
+            jedis = getJedis();
+            return readFeatures(jedis, featureUids);
+        } finally {
+            if (jedis != null) {
+                jedis.close();
+            }
+        }
+    }
+
+    /**
+     * Read a set of features with a single MGET on an already borrowed connection.
+     *
+     * @param jedis
+     *      current redis connection
+     * @param featureUids
+     *      feature identifiers
+     * @return
+     *      features found, unknown identifiers are ignored
+     */
+    private Map<String, Feature> readFeatures(Jedis jedis, Collection<String> featureUids) {
+        Map<String, Feature> features = new LinkedHashMap<String, Feature>();
+        if (featureUids.isEmpty()) {
+            return features;
+        }
+        List<String> uids = new ArrayList<String>(new LinkedHashSet<String>(featureUids));
+        String[] keys = new String[uids.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Util.assertHasLength(uids.get(i));
+            keys[i] = KEY_FEATURE + uids.get(i);
+        }
+        // Single round trip, missing keys are returned as null
+        List<String> jsonFeatures = jedis.mget(keys);
+        for (int i = 0; i < keys.length; i++) {
+            String json = jsonFeatures.get(i);
+            if (json != null) {
+                features.put(uids.get(i), FeatureJsonParser.parseFeature(json));
+            }
+        }
+        return features;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
@@ -212,15 +271,12 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
         try {
             jedis = getJedis();
 
+            // 2 round trips whatever the number of features : SMEMBERS + MGET
             Set<String> features = jedis.smembers(KEY_FEATURE_MAP);
-
-            Map<String, Feature> featuresMap = new HashMap<>();
-            if (features != null) {
-                for (String key : features) {
-                    featuresMap.put(key, read(key));
-                }
+            if (features == null) {
+                return new HashMap<String, Feature>();
             }
-            return featuresMap;
+            return readFeatures(jedis, features);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -239,6 +295,7 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
             // Store the feature in the mapping bucket.
             jedis.srem(KEY_FEATURE_MAP, fpId);
             jedis.del(KEY_FEATURE + fpId);
+            logDelete(fpId);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -392,6 +449,21 @@ public class FeatureStoreRedis extends AbstractFeatureStore {
      */
     public void setRedisConnection(RedisConnection redisConnection) {
         this.redisConnection = redisConnection;
+        setRevisionLog(null);
+    }
+    
+    /**
+     * Changes are shared through REDIS, all nodes see the same revisions.
+     *
+     * @return
+     *      revision log for this store
+     */
+    @Override
+    public RevisionLog getRevisionLog() {
+        if (super.getRevisionLog() == null && redisConnection != null) {
+            setRevisionLog(new RedisRevisionLog(redisConnection, STORE_FEATURES));
+        }
+        return super.getRevisionLog();
     }
     
     /**
@@ -4,16 +4,20 @@ import org.ff4j.exception.PropertyAlreadyExistException;
 import org.ff4j.property.Property;
 import org.ff4j.property.store.AbstractPropertyStore;
 import org.ff4j.redis.RedisConnection;
+import org.ff4j.redis.RedisRevisionLog;
 import org.ff4j.utils.Util;
 import org.ff4j.utils.json.PropertyJsonParser;
 import redis.clients.jedis.Jedis;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.ff4j.redis.RedisContants.KEY_PROPERTY;
 import static org.ff4j.redis.RedisContants.KEY_PROPERTY_MAP;
+import static org.ff4j.redis.RedisContants.STORE_PROPERTIES;
 
 /*
  * #%L
@@ -134,6 +138,7 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
             jedis.sadd(KEY_PROPERTY_MAP, name);
             jedis.set(KEY_PROPERTY + name, prop.toJson());
             jedis.persist(KEY_PROPERTY + name);
+            logCreate(name);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -167,6 +172,7 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
             jedis = getJedis();
             jedis.srem(KEY_PROPERTY_MAP, name);
             jedis.del(KEY_PROPERTY + name);
+            logDelete(name);
         } finally {
             if (jedis != null) {
                 jedis.close();
@@ -182,10 +188,22 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
         Jedis jedis = null;
         try {
             jedis = getJedis();
+            // 2 round trips whatever the number of properties : SMEMBERS + MGET
             Set<String> properties = jedis.smembers(KEY_PROPERTY_MAP);
-            if (properties != null) {
-                for (String key : properties) {
-                    mapP.put(key, readProperty(key));
+            if (properties == null || properties.isEmpty()) {
+                return mapP;
+            }
+            List<String> names = new ArrayList<String>(properties);
+            String[] keys = new String[names.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = KEY_PROPERTY + names.get(i);
+            }
+            List<String> jsonProperties = jedis.mget(keys);
+            for (int i = 0; i < keys.length; i++) {
+                String json = jsonProperties.get(i);
+                // Key may have been deleted between the two calls
+                if (json != null) {
+                    mapP.put(names.get(i), PropertyJsonParser.parseProperty(json));
                 }
             }
             return mapP;
@@ -246,6 +264,20 @@ public class PropertyStoreRedis extends AbstractPropertyStore {
      */
     public void setRedisConnection(RedisConnection redisConnection) {
         this.redisConnection = redisConnection;
+        setRevisionLog(null);
+    }
+
+    /**
+     * Changes are shared through REDIS, all nodes see the same revisions.
+     *
+     * @return revision log for this store
+     */
+    @Override
+    public RevisionLog getRevisionLog() {
+        if (super.getRevisionLog() == null && redisConnection != null) {
+            setRevisionLog(new RedisRevisionLog(redisConnection, STORE_PROPERTIES));
+        }
+        return super.getRevisionLog();
     }
 
     /**
@@ -26,9 +26,12 @@ import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_NAME;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_SOURCE;
 import static org.ff4j.store.JdbcStoreConstants.COL_EVENT_USER;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -36,9 +39,11 @@ import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventQueryDefinition;
 import org.ff4j.audit.EventSeries;
 import org.ff4j.audit.MutableHitCount;
+import org.ff4j.audit.PagedEventCallback;
 import org.ff4j.audit.chart.TimeSeriesChart;
 import org.ff4j.audit.repository.AbstractEventRepository;
 import org.ff4j.audit.repository.EventRepository;
@@ -51,6 +56,7 @@ import org.ff4j.utils.MappingUtil;
 import org.ff4j.utils.Util;
 import org.springframework.beans.factory.annotation.Required;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 
 /**
  * Implementation of {@link EventRepository} to leverage on Spring Security.
@@ -97,11 +103,41 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
     @Override
     public boolean saveEvent(Event evt) {
         Util.assertEvent(evt);
-        return getJdbcTemplate().update(getQueryBuilder().sqlSaveAudit(),
+        return getJdbcTemplate().update(getQueryBuilder().sqlSaveAudit(), toSqlParameters(evt)) > 0;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean saveEvents(Collection<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+        List < Object[] > batchArgs = new ArrayList<Object[]>(events.size());
+        for (Event evt : events) {
+            Util.assertEvent(evt);
+            batchArgs.add(toSqlParameters(evt));
+        }
+        getJdbcTemplate().batchUpdate(getQueryBuilder().sqlSaveAudit(), batchArgs);
+        return true;
+    }
+    
+    /**
+     * Parameters of statement {@link JdbcQueryBuilder#sqlSaveAudit()}.
+     *
+     * @param evt
+     *      current event
+     * @return
+     *      values in the order of columns
+     */
+    private Object[] toSqlParameters(Event evt) {
+        return new Object[] {
                 evt.getUuid(), new java.sql.Timestamp(evt.getTimestamp()), evt.getType(),
                 evt.getName(), evt.getAction(),  evt.getHostName(), evt.getSource(),
                 evt.getDuration(),  evt.getUser(), evt.getValue(), 
-                MappingUtil.fromMap(evt.getCustomKeys())) > 0;
+                MappingUtil.fromMap(evt.getCustomKeys())};
     }
 
     /** {@inheritDoc} */
@@ -165,38 +201,80 @@ public class EventRepositorySpringJdbc extends AbstractEventRepository {
     @Override
     public TimeSeriesChart getFeatureUsageHistory(EventQueryDefinition query, TimeUnit units) {
         // Create the interval depending on units
-        TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
-        // Search All events
-        Iterator<Event> iterEvent = searchFeatureUsageEvents(query).iterator();
-        // Dispatch events into time slots
-        while (iterEvent.hasNext()) {
-            tsc.addEvent(iterEvent.next());
-        }
+        final TimeSeriesChart tsc = new TimeSeriesChart(query.getFrom(), query.getTo(), units);
+        // Dispatch all events into time slots while reading them
+        streamEvents(getQueryBuilder().getSelectFeatureUsageQuery(query), query.getFrom(), query.getTo(), 0, -1, new EventCallback() {
+            public boolean onEvent(Event evt) {
+                tsc.addEvent(evt);
+                return true;
+            }
+        });
         return tsc;
     }
     
     /** {@inheritDoc} */
     @Override
     public EventSeries searchFeatureUsageEvents(EventQueryDefinition qDef) {
-        return searchEvents(
-                getQueryBuilder().getSelectFeatureUsageQuery(qDef), 
-                qDef.getFrom(), qDef.getTo());
+        EventSeries es = createEventSeries(qDef);
+        streamFeatureUsageEvents(qDef, es);
+        return es;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public void streamFeatureUsageEvents(EventQueryDefinition qDef, EventCallback callback) {
+        Util.assertNotNull(qDef, callback);
+        streamEvents(getQueryBuilder().getSelectFeatureUsageQuery(qDef), 
+                qDef.getFrom(), qDef.getTo(), qDef.getOffset(), qDef.getLimit(), callback);
     }
 
     /** {@inheritDoc} */
     @Override
     public EventSeries getAuditTrail(EventQueryDefinition qDef) {
-        return searchEvents(
-                getQueryBuilder().getSelectAuditTrailQuery(qDef), 
-                qDef.getFrom(), qDef.getTo());
+        EventSeries es = createEventSeries(qDef);
+        streamAuditTrail(qDef, es);
+        return es;
     }
     
     /** {@inheritDoc} */
-    private EventSeries searchEvents(String sqlQuery, long from, long to) {
-        EventSeries es = new EventSeries();
-        es.addAll(getJdbcTemplate().query(sqlQuery, EVENT_ROWMAPPER, 
-                new Timestamp(from), new Timestamp(to)));
-        return es;
+    @Override
+    public void streamAuditTrail(EventQueryDefinition qDef, EventCallback callback) {
+        Util.assertNotNull(qDef, callback);
+        streamEvents(getQueryBuilder().getSelectAuditTrailQuery(qDef), 
+                qDef.getFrom(), qDef.getTo(), qDef.getOffset(), qDef.getLimit(), callback);
+    }
+    
+    /**
+     * Read events with the cursor of the resultset and provide them to the callback.
+     *
+     * @param sqlQuery
+     *      query ordered by time
+     * @param from
+     *      lower bound
+     * @param to
+     *      upper bound
+     * @param offset
+     *      number of rows to skip
+     * @param limit
+     *      maximum number of rows to read, -1 is infinite
+     * @param callback
+     *      target callback
+     */
+    private void streamEvents(String sqlQuery, long from, long to, long offset, int limit, EventCallback callback) {
+        // Rows before the page are skipped by the database, not read and dropped
+        String pagedQuery = getQueryBuilder().getPagedQuery(sqlQuery, offset, limit);
+        final PagedEventCallback pagedCallback = new PagedEventCallback(callback, 0, limit);
+        getJdbcTemplate().query(pagedQuery, new Object[] {new Timestamp(from), new Timestamp(to)}, new ResultSetExtractor<Void>() {
+            public Void extractData(ResultSet rs) throws SQLException {
+                int rowNum = 0;
+                while (rs.next()) {
+                    if (!pagedCallback.onEvent(EVENT_ROWMAPPER.mapRow(rs, rowNum++))) {
+                        break;
+                    }
+                }
+                return null;
+            }
+        });
     }
 
     /** {@inheritDoc} */
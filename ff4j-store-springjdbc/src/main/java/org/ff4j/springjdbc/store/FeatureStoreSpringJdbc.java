@@ -120,6 +120,20 @@ public class FeatureStoreSpringJdbc extends AbstractFeatureStore {
         }
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertHasLength(uid);
+        List<Feature> features = getJdbcTemplate().query(getQueryBuilder().getFeature(), FMAPPER, uid);
+        if (features.isEmpty()) {
+            return null;
+        }
+        Feature feature = features.get(0);
+        readProperties(feature);
+        readPermissions(feature);
+        return feature;
+    }
+    
     /**
      * Query children properties.
      *
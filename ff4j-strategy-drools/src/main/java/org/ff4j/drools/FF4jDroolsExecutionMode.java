@@ -0,0 +1,35 @@
+package org.ff4j.drools;
+
+/*
+ * #%L
+ * ff4j-strategy-drools
+ * %%
+ * Copyright (C) 2013 - 2015 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * How {@link FF4jDroolsService} runs the rules for each evaluation.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public enum FF4jDroolsExecutionMode {
+
+    /** A stateless session executes each request in its own working memory. */
+    STATELESS,
+
+    /** Stateful sessions are borrowed from a bounded pool, one request at a time per session (default). */
+    POOLED;
+}
@@ -67,6 +67,21 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
     /** key to be used in map initParam. */
     private static final String KEY_RULES_FILES = "ruleFiles";
     
+    /** key to be used in map initParam, POOLED (default) or STATELESS. */
+    private static final String KEY_EXECUTION_MODE = "executionMode";
+    
+    /** key to be used in map initParam, number of sessions in POOLED mode. */
+    private static final String KEY_POOL_SIZE = "poolSize";
+    
+    /** key to be used in map initParam, time to live of cached results in milliseconds (cache disabled if absent). */
+    private static final String KEY_CACHE_TTL = "cacheTtl";
+    
+    /** key to be used in map initParam, context attributes part of cache key separated by comma. */
+    private static final String KEY_CACHE_ATTRIBUTES = "cacheAttributes";
+    
+    /** key to be used in map initParam, maximum number of cached results. */
+    private static final String KEY_CACHE_SIZE = "cacheSize";
+    
     /** (If initialized with the kmodule.xml file) State as the kSession name. */
     private String basename;
 
@@ -152,18 +167,43 @@ public class FF4jDroolsFlippingStrategy extends AbstractFlipStrategy {
         
         if (!FF4jDroolsService.isInitialized()) {
             
+            FF4jDroolsExecutionMode mode = FF4jDroolsExecutionMode.POOLED;
+            if (initParams.containsKey(KEY_EXECUTION_MODE)) {
+                mode = FF4jDroolsExecutionMode.valueOf(initParams.get(KEY_EXECUTION_MODE).trim().toUpperCase());
+            }
+            int poolSize = FF4jDroolsService.DEFAULT_POOL_SIZE;
+            if (initParams.containsKey(KEY_POOL_SIZE)) {
+                poolSize = Integer.parseInt(initParams.get(KEY_POOL_SIZE).trim());
+            }
+            
             if (initParams.containsKey(KEY_BASE_NAME)) {
                 this.basename = initParams.get(KEY_BASE_NAME);
-                FF4jDroolsService.initFromBaseName(basename);
+                FF4jDroolsService.initFromBaseName(basename, mode, poolSize);
             
             } else if (initParams.containsKey(KEY_RULES_FILES)) {
                 String exp = initParams.get(KEY_RULES_FILES);
                 this.ruleFiles = new HashSet <> (Arrays.asList(exp.split(",")));
-                FF4jDroolsService.initFromRulesFiles(ruleFiles);
+                FF4jDroolsService.initFromRulesFiles(ruleFiles, mode, poolSize);
             
             } else {
                 throw new IllegalArgumentException("Init param '" + KEY_BASE_NAME + "' is required to fetch Drools settings");
             }
+            
+            // Optional cache of results
+            if (initParams.containsKey(KEY_CACHE_TTL)) {
+                Set<String> attributes = new HashSet<>();
+                if (initParams.containsKey(KEY_CACHE_ATTRIBUTES)) {
+                    for (String attribute : initParams.get(KEY_CACHE_ATTRIBUTES).split(",")) {
+                        attributes.add(attribute.trim());
+                    }
+                }
+                int cacheSize = FF4jDroolsService.DEFAULT_CACHE_SIZE;
+                if (initParams.containsKey(KEY_CACHE_SIZE)) {
+                    cacheSize = Integer.parseInt(initParams.get(KEY_CACHE_SIZE).trim());
+                }
+                FF4jDroolsService.getInstance().enableResultCache(attributes, 
+                        Long.parseLong(initParams.get(KEY_CACHE_TTL).trim()), cacheSize);
+            }
         }
     }
 
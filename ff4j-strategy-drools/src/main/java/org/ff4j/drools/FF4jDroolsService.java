@@ -24,16 +24,31 @@ package org.ff4j.drools;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
 
 import org.drools.core.ClockType;
+import org.ff4j.cache.CoarseCacheClock;
+import org.ff4j.cache.ConcurrentCache;
+import org.ff4j.core.FlippingExecutionContext;
+import org.kie.api.KieBase;
 import org.kie.api.KieServices;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
 import org.kie.api.conf.EventProcessingOption;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.StatelessKieSession;
 import org.kie.api.runtime.conf.ClockTypeOption;
 import org.kie.api.runtime.rule.FactHandle;
 import org.kie.internal.KnowledgeBaseFactory;
@@ -45,6 +60,10 @@ import org.slf4j.LoggerFactory;
  * Singleton pattern to instanciate drool Session once and be reused for each feature.
  * 
  * <p>It can be initialized in 2 ways, from kbase name or a list of drl files.
+ * 
+ * <p>Evaluations can run concurrently : with {@link FF4jDroolsExecutionMode#POOLED} (default) a stateful session is used
+ * by a single request at a time, with {@link FF4jDroolsExecutionMode#STATELESS} each request gets its own working memory.
+ * Results can be cached by feature name and selected context attributes with {@link #enableResultCache(Set, long, int)}.
  *
  * @author Cedrick Lunven (@clunven)</a>
  */
@@ -53,27 +72,48 @@ public final class FF4jDroolsService implements Serializable {
     /** Serial. */
     private static final long serialVersionUID = -4732368029311891671L;
     
+    /** Default number of sessions in pool. */
+    public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    
+    /** Default maximum number of results kept in cache. */
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+    
+    /** Name of the global expected in rules. */
+    private static final String GLOBAL_STORE = "store";
+    
     /** logger provide by drools. */
     private static final Logger LOGGER = LoggerFactory.getLogger(FF4jDroolsFlippingStrategy.class);
 
-    /** Protected instance. */
-    private static FF4jDroolsService _instance;
+    /** Protected instance, published once initialized and read without lock. */
+    private static volatile FF4jDroolsService _instance;
     
     /** Drools services first level. */
     private KieServices kieServices;
 
     /** Container for sessions. */
     private KieContainer kieContainer;
-
-    /** Working Session. */
-    private KieSession ksession;
+    
+    /** How rules are executed. */
+    private FF4jDroolsExecutionMode executionMode = FF4jDroolsExecutionMode.POOLED;
+    
+    /** Session used with {@link FF4jDroolsExecutionMode#STATELESS}, safe to share between threads. */
+    private transient StatelessKieSession statelessSession;
+    
+    /** Sessions used with {@link FF4jDroolsExecutionMode#POOLED}, each used by a single thread at a time. */
+    private transient BlockingQueue<KieSession> sessionPool;
 
     /**  base name coming from strategy. */
     private String basename;
-
+    
     /** drl files coming from strategy. */
     private Set<String> ruleFiles = new HashSet<>();
     
+    /** Results of evaluation if cache is enabled, key is feature name and selected context attributes. */
+    private transient volatile ConcurrentCache<Boolean> resultCache;
+    
+    /** Context attributes part of the cache key. */
+    private Set<String> cacheAttributes = Collections.emptySet();
+    
     /**
      * Implementation of singleton pattern (Hide Constructor).
      */
@@ -86,8 +126,9 @@ public final class FF4jDroolsService implements Serializable {
      * @return
      *      singleton already created.
      */
-    public static synchronized boolean isInitialized() {
-        return _instance != null && _instance.ksession != null;
+    public static boolean isInitialized() {
+        FF4jDroolsService service = _instance;
+        return service != null && (service.statelessSession != null || service.sessionPool != null);
     }
     
     /**
@@ -95,12 +136,13 @@ public final class FF4jDroolsService implements Serializable {
      *
      * @return
      */
-    public static synchronized FF4jDroolsService getInstance() {
-        if (!isInitialized()) {
+    public static FF4jDroolsService getInstance() {
+        FF4jDroolsService service = _instance;
+        if (service == null || (service.statelessSession == null && service.sessionPool == null)) {
             throw new IllegalStateException("The service has not been initialized yet, "
                     + "please init with initFromBaseName() or initFromRulesFiles()");
         }
-        return _instance;
+        return service;
     }
     
     /**
@@ -115,18 +157,36 @@ public final class FF4jDroolsService implements Serializable {
      * </kmodule>
      */
     public static synchronized void initFromBaseName(String baseName) {
+        initFromBaseName(baseName, FF4jDroolsExecutionMode.POOLED, DEFAULT_POOL_SIZE);
+    }
+    
+    /**
+     * Initialization from 'kmodule.xml' with expected execution mode.
+     *
+     * @param baseName
+     *      kSession name
+     * @param mode
+     *      execution mode
+     * @param poolSize
+     *      number of sessions if mode is {@link FF4jDroolsExecutionMode#POOLED}
+     */
+    public static synchronized void initFromBaseName(final String baseName, FF4jDroolsExecutionMode mode, int poolSize) {
         if (isInitialized()) {
             throw new IllegalStateException("This Factory has already be initialized once");
         }
-        _instance               = new FF4jDroolsService();
-        _instance.basename      = baseName; 
-        _instance.kieServices   = KieServices.Factory.get();
-        _instance.kieContainer  = _instance.kieServices.newKieClasspathContainer();
-        _instance.ksession      = _instance.kieContainer.newKieSession(baseName);
-        
-        if (_instance.ksession == null) {
+        final FF4jDroolsService service = new FF4jDroolsService();
+        service.basename      = baseName; 
+        service.kieServices   = KieServices.Factory.get();
+        service.kieContainer  = service.kieServices.newKieClasspathContainer();
+        KieSessionModel sessionModel = service.kieContainer.getKieSessionModel(baseName);
+        if (sessionModel == null) {
             throw new IllegalArgumentException("Cannot find kName " + baseName + " , check kmodule.xml file.");
         }
+        final KieBase kieBase = service.kieContainer.getKieBase(sessionModel.getKieBaseModel().getName());
+        service.initSessions(mode, poolSize, 
+                () -> kieBase.newStatelessKieSession(),
+                () -> service.kieContainer.newKieSession(baseName));
+        _instance = service;
     }
     
     /**
@@ -136,22 +196,68 @@ public final class FF4jDroolsService implements Serializable {
      *      DRL files
      */
     public static synchronized void initFromRulesFiles(Set < String > ruleFiles) {
+        initFromRulesFiles(ruleFiles, FF4jDroolsExecutionMode.POOLED, DEFAULT_POOL_SIZE);
+    }
+    
+    /**
+     * Initialisation from rules files with expected execution mode.
+     *
+     * @param ruleFiles
+     *      DRL files
+     * @param mode
+     *      execution mode
+     * @param poolSize
+     *      number of sessions if mode is {@link FF4jDroolsExecutionMode#POOLED}
+     */
+    public static synchronized void initFromRulesFiles(Set < String > ruleFiles, FF4jDroolsExecutionMode mode, int poolSize) {
         if (isInitialized()) {
             throw new IllegalStateException("This Factory has already be initialized once");
         }
-        _instance               = new FF4jDroolsService();
-        _instance.ruleFiles     = ruleFiles; 
+        FF4jDroolsService service = new FF4jDroolsService();
+        service.ruleFiles     = ruleFiles; 
         
         KieHelper helper = new KieHelper();
-        KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        final KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
         sessionConfig.setOption(ClockTypeOption.get(ClockType.PSEUDO_CLOCK.getId()));
-        //ruleFiles.stream().forEach(drlFile -> helper.addContent(loadResourceAsString(drlFile), ResourceType.determineResourceType(drlFile)));
         for (String drlFile : ruleFiles) {
             String fileContent    = loadResourceAsString(drlFile);            
             ResourceType typeFile = ResourceType.determineResourceType(drlFile);
             helper.addContent(fileContent, typeFile);
         }
-        _instance.ksession = helper.build(EventProcessingOption.STREAM).newKieSession(sessionConfig, null);
+        final KieBase kieBase = helper.build(EventProcessingOption.STREAM);
+        service.kieServices   = KieServices.Factory.get();
+        service.initSessions(mode, poolSize, 
+                () -> kieBase.newStatelessKieSession(sessionConfig),
+                () -> kieBase.newKieSession(sessionConfig, null));
+        _instance = service;
+    }
+    
+    /**
+     * Create sessions relative to execution mode.
+     *
+     * @param mode
+     *      execution mode
+     * @param poolSize
+     *      size of pool
+     * @param statelessFactory
+     *      create stateless session
+     * @param statefulFactory
+     *      create stateful session
+     */
+    private void initSessions(FF4jDroolsExecutionMode mode, int poolSize, 
+            Supplier<StatelessKieSession> statelessFactory, Supplier<KieSession> statefulFactory) {
+        this.executionMode = (mode == null) ? FF4jDroolsExecutionMode.POOLED : mode;
+        if (FF4jDroolsExecutionMode.POOLED == executionMode) {
+            if (poolSize < 1) {
+                throw new IllegalArgumentException("Pool size must be positive");
+            }
+            this.sessionPool = new ArrayBlockingQueue<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                sessionPool.add(statefulFactory.get());
+            }
+        } else {
+            this.statelessSession = statelessFactory.get();
+        }
     }
     
     /** {@inheritDoc} */
@@ -162,22 +268,132 @@ public final class FF4jDroolsService implements Serializable {
          * 
          * FF4J expects the fact {@link FF4JDroolsRequest} to be modified by the target rules. By default the status is 'false'.
          */
-        _instance.ksession.setGlobal("store", request.getFeatureStore());
-
-        // FactHandle drHandler = ksession.insert(droolsRequest);
-        FactHandle requestHandle = _instance.ksession.insert(request);
-
-        // Execute the rules
-        ksession.fireAllRules();
-
-        // clean session, note that retract() is deprecated
-        _instance.ksession.delete(requestHandle);
-        //_instance.ksession.dispose();
-
-        LOGGER.debug("Evaluating feature " + request.getFeatureName() + " to " + request.isToggled());        
+        ConcurrentCache<Boolean> cache = resultCache;
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = getCacheKey(request);
+            Boolean cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (FF4jDroolsExecutionMode.POOLED == executionMode) {
+            evaluatePooled(request);
+        } else {
+            evaluateStateless(request);
+        }
+        LOGGER.debug("Evaluating feature " + request.getFeatureName() + " to " + request.isToggled());
+        if (cache != null) {
+            // Expired then least recently used results are evicted when the cache is full
+            cache.put(cacheKey, request.isToggled());
+        }
         return request.isToggled();
     }
     
+    /**
+     * Each execution works in its own working memory, global is set for this execution only.
+     *
+     * @param request
+     *      current request
+     */
+    private void evaluateStateless(FF4jDroolsRequest request) {
+        KieCommands commands = kieServices.getCommands();
+        List<Command<?>> batch = new ArrayList<>(3);
+        batch.add(commands.newSetGlobal(GLOBAL_STORE, request.getFeatureStore()));
+        batch.add(commands.newInsert(request));
+        batch.add(commands.newFireAllRules());
+        statelessSession.execute(commands.newBatchExecution(batch));
+    }
+    
+    /**
+     * Borrow a session from the pool, insert fact, fire rules and clean the session before giving it back.
+     *
+     * @param request
+     *      current request
+     */
+    private void evaluatePooled(FF4jDroolsRequest request) {
+        KieSession ksession;
+        try {
+            ksession = sessionPool.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Drools session", ie);
+        }
+        FactHandle requestHandle = null;
+        try {
+            ksession.setGlobal(GLOBAL_STORE, request.getFeatureStore());
+            requestHandle = ksession.insert(request);
+            ksession.fireAllRules();
+        } finally {
+            try {
+                // clean session even if rules failed, note that retract() is deprecated
+                if (requestHandle != null) {
+                    ksession.delete(requestHandle);
+                }
+            } finally {
+                sessionPool.offer(ksession);
+            }
+        }
+    }
+    
+    /**
+     * Enable cache of results.
+     * 
+     * Rules are expected to depend only on feature name and the selected attributes of the context.
+     *
+     * @param attributes
+     *      context attributes part of the key
+     * @param ttlMillis
+     *      time to live of a result in milliseconds, rounded up to the second
+     * @param maxSize
+     *      maximum number of results kept
+     */
+    public synchronized void enableResultCache(Set<String> attributes, long ttlMillis, int maxSize) {
+        if (ttlMillis < 1 || maxSize < 1) {
+            throw new IllegalArgumentException("Cache time to live and size must be positive");
+        }
+        long ttlSeconds = (ttlMillis + 999) / 1000;
+        this.cacheAttributes = (attributes == null) ? Collections.<String>emptySet() : new LinkedHashSet<>(attributes);
+        this.resultCache     = new ConcurrentCache<>(maxSize, ttlSeconds, CoarseCacheClock.getInstance());
+    }
+    
+    /**
+     * Disable and clear cache of results.
+     */
+    public synchronized void disableResultCache() {
+        this.resultCache = null;
+    }
+    
+    /**
+     * Remove all cached results.
+     */
+    public void clearResultCache() {
+        ConcurrentCache<Boolean> cache = resultCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+    
+    /**
+     * Build cache key from feature name and selected attributes.
+     *
+     * @param request
+     *      current request
+     * @return
+     *      cache key
+     */
+    private String getCacheKey(FF4jDroolsRequest request) {
+        StringBuilder key = new StringBuilder(request.getFeatureName());
+        FlippingExecutionContext ctx = request.getExecutionContext();
+        for (String attribute : cacheAttributes) {
+            key.append('|').append(attribute).append('=');
+            if (ctx != null) {
+                key.append(ctx.getValue(attribute, false));
+            }
+        }
+        return key.toString();
+    }
+    
     /**
      * Load classpath resource as String (here DRL)
      * 
@@ -240,5 +456,51 @@ public final class FF4jDroolsService implements Serializable {
     public Set<String> getRuleFiles() {
         return ruleFiles;
     }
+    
+    /**
+     * Getter accessor for attribute 'executionMode'.
+     *
+     * @return
+     *       current value of 'executionMode'
+     */
+    public FF4jDroolsExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+    
+    /**
+     * Number of sessions available in pool (not used by an evaluation).
+     *
+     * @return
+     *       available sessions, 0 if mode is not {@link FF4jDroolsExecutionMode#POOLED}
+     */
+    int getAvailableSessionCount() {
+        return (sessionPool == null) ? 0 : sessionPool.size();
+    }
+    
+    /**
+     * Number of facts left in the available sessions of the pool, expected to be 0 between evaluations.
+     *
+     * @return
+     *       facts count
+     */
+    long getPooledFactCount() {
+        long count = 0;
+        if (sessionPool != null) {
+            for (KieSession ksession : sessionPool) {
+                count += ksession.getFactCount();
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Check if result cache is enabled.
+     *
+     * @return
+     *       if results are cached
+     */
+    public boolean isResultCacheEnabled() {
+        return resultCache != null;
+    }
 
 }
@@ -0,0 +1,161 @@
+package org.ff4j.drools;
+
+/*
+ * #%L
+ * ff4j-strategy-drools
+ * %%
+ * Copyright (C) 2013 - 2015 FF4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.ff4j.FF4j;
+import org.ff4j.core.Feature;
+import org.ff4j.core.FeatureStore;
+import org.ff4j.core.FlippingExecutionContext;
+import org.ff4j.store.InMemoryFeatureStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluate the drools strategy from several threads, facts of different requests must not mix.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FF4jDroolsConcurrentEvaluation {
+    
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        // Given
+        final FF4j ff4j = new FF4j();
+        Feature f1 = new Feature("f1", true);
+        f1.setFlippingStrategy(new FF4jDroolsFlippingStrategy("ff4jDroolsStrategy"));
+        ff4j.createFeature(f1);
+        Feature f2 = new Feature("f2", true);
+        f2.setFlippingStrategy(new FF4jDroolsFlippingStrategy("ff4jDroolsStrategy"));
+        ff4j.createFeature(f2);
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 32; t++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() {
+                        int errors = 0;
+                        for (int i = 0; i < 200; i++) {
+                            // Only 'f1' is toggled by rules
+                            if (!ff4j.check("f1") || ff4j.check("f2")) {
+                                errors++;
+                            }
+                        }
+                        return errors;
+                    }
+                }));
+            }
+            // Then
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(0, result.get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testResultCache() {
+        // Given, rules expect a store as global
+        new FF4jDroolsFlippingStrategy("ff4jDroolsStrategy");
+        FeatureStore store = new InMemoryFeatureStore();
+        FF4jDroolsService service = FF4jDroolsService.getInstance();
+        service.enableResultCache(Collections.singleton("country"), 60000, 10);
+        try {
+            Assert.assertTrue(service.isResultCacheEnabled());
+            FlippingExecutionContext ctx = new FlippingExecutionContext();
+            ctx.putString("country", "FR");
+            FF4jDroolsRequest first  = new FF4jDroolsRequest("f1", store, ctx);
+            FF4jDroolsRequest second = new FF4jDroolsRequest("f1", store, ctx);
+            // When
+            Assert.assertTrue(service.evaluate(first));
+            Assert.assertTrue(service.evaluate(second));
+            // Then, rule fired once (it flags the request as evaluated), second result served from cache
+            Assert.assertEquals(1, countFiredRequests(first, second));
+            Assert.assertTrue(first.isEvaluated());
+            Assert.assertFalse(second.isEvaluated());
+            Assert.assertFalse(service.evaluate(new FF4jDroolsRequest("f2", store, ctx)));
+            // When, other attribute value
+            FF4jDroolsRequest other = new FF4jDroolsRequest("f1", store, new FlippingExecutionContext());
+            Assert.assertTrue(service.evaluate(other));
+            // Then, rule fired again
+            Assert.assertTrue(other.isEvaluated());
+        } finally {
+            service.disableResultCache();
+        }
+        Assert.assertFalse(service.isResultCacheEnabled());
+    }
+    
+    @Test
+    public void testPooledSessionsAreCleaned() {
+        // Given, default mode
+        new FF4jDroolsFlippingStrategy("ff4jDroolsStrategy");
+        FeatureStore store = new InMemoryFeatureStore();
+        FF4jDroolsService service = FF4jDroolsService.getInstance();
+        Assert.assertEquals(FF4jDroolsExecutionMode.POOLED, service.getExecutionMode());
+        int poolSize = service.getAvailableSessionCount();
+        Assert.assertTrue(poolSize > 0);
+        // When
+        Assert.assertTrue(service.evaluate(new FF4jDroolsRequest("f1", store, new FlippingExecutionContext())));
+        // Then, session is back in pool without any fact
+        Assert.assertEquals(poolSize, service.getAvailableSessionCount());
+        Assert.assertEquals(0, service.getPooledFactCount());
+        // When, rule fails
+        try {
+            service.evaluate(new FF4jDroolsRequest("fError", store, new FlippingExecutionContext()));
+            Assert.fail("Rule failure is expected");
+        } catch (RuntimeException re) {
+            // expected
+        }
+        // Then, session is back in pool and the request has been removed
+        Assert.assertEquals(poolSize, service.getAvailableSessionCount());
+        Assert.assertEquals(0, service.getPooledFactCount());
+        Assert.assertTrue(service.evaluate(new FF4jDroolsRequest("f1", store, new FlippingExecutionContext())));
+    }
+    
+    /**
+     * Count requests updated by the rules.
+     *
+     * @param requests
+     *      evaluated requests
+     * @return
+     *      number of requests flagged as evaluated
+     */
+    private int countFiredRequests(FF4jDroolsRequest... requests) {
+        int fired = 0;
+        for (FF4jDroolsRequest request : requests) {
+            if (request.isEvaluated()) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+        
+}
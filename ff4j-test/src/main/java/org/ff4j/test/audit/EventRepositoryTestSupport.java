@@ -9,6 +9,7 @@ import static org.ff4j.audit.EventConstants.SOURCE_WEBAPI;
 import static org.ff4j.audit.EventConstants.TARGET_FEATURE;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -34,6 +35,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.ff4j.FF4j;
 import org.ff4j.audit.Event;
+import org.ff4j.audit.EventCallback;
 import org.ff4j.audit.EventConstants;
 import org.ff4j.audit.EventPublisher;
 import org.ff4j.audit.EventQueryDefinition;
@@ -175,6 +177,24 @@ public abstract class EventRepositoryTestSupport {
 		Assert.assertFalse(repo.saveEvent(null));
 	}
 
+	/** TDD. */
+	@Test
+	public void testSaveEvents() throws InterruptedException {
+		long start = System.currentTimeMillis();
+		// Given
+		ArrayList<Event> events = new ArrayList<Event>();
+		for (int i = 0; i < 10; i++) {
+			events.add(generateFeatureUsageEvent("f" + (i % 3)));
+		}
+		// When
+		Assert.assertTrue(repo.saveEvents(events));
+		// Wait for the events to be effectively store
+		Thread.sleep(100);
+		// Then
+		EventQueryDefinition eqd = new EventQueryDefinition(start - 20, System.currentTimeMillis());
+		Assert.assertEquals(10, repo.getFeatureUsageTotalHitCount(eqd));
+	}
+
 	/** TDD. */
 	@Test
 	public void testSaveAuditTrail() throws InterruptedException {
@@ -383,6 +403,32 @@ public abstract class EventRepositoryTestSupport {
 		Assert.assertNotNull(evt);
 	}
 
+	/** TDD. */
+	@Test
+	public void testStreamFeatureUsageEventsPaging() throws InterruptedException {
+		// Given
+		long start = System.currentTimeMillis() - 1000;
+		for (int i = 0; i < 10; i++) {
+			repo.saveEvent(generateFeatureUsageEvent("f1", start + (i * 10)));
+		}
+		Thread.sleep(100);
+		// When
+		EventQueryDefinition testQuery = new EventQueryDefinition(start - 1, System.currentTimeMillis()).page(1, 3);
+		// Then
+		Assert.assertEquals(3, repo.searchFeatureUsageEvents(testQuery).size());
+
+		// When, callback stops after 2 events
+		final List<Event> streamed = new ArrayList<Event>();
+		repo.streamFeatureUsageEvents(new EventQueryDefinition(start - 1, System.currentTimeMillis()), new EventCallback() {
+			public boolean onEvent(Event evt) {
+				streamed.add(evt);
+				return streamed.size() < 2;
+			}
+		});
+		// Then
+		Assert.assertEquals(2, streamed.size());
+	}
+
 	/** TDD. */
 	@Test
 	public void testPurgeEvents() throws InterruptedException {
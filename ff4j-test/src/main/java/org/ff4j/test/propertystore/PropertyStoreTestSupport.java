@@ -36,6 +36,8 @@ import org.ff4j.property.PropertyLogLevel;
 import org.ff4j.property.PropertyLogLevel.LogLevel;
 import org.ff4j.property.store.PropertyStore;
 import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.store.StoreChanges;
+import org.ff4j.utils.Util;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -360,6 +362,33 @@ public abstract class PropertyStoreTestSupport {
         Assert.assertTrue(mapsOf.containsKey("b"));
     }
     
+    /** TDD. */
+    @Test
+    public void propertyChangesSince() {
+        // Given
+        Assert.assertNotNull(testedStore);
+        long revision = testedStore.getPropertiesRevision();
+        // When
+        testedStore.updateProperty("a", "EAST");
+        testedStore.createProperty(new PropertyString("delta", "value"));
+        testedStore.deleteProperty("b");
+        StoreChanges<Property<?>> changes = testedStore.propertyChangesSince(revision);
+        // Then
+        if (revision == StoreChanges.NO_REVISION) {
+            // Revisions not tracked, whole content is returned
+            Assert.assertTrue(changes.isSnapshot());
+            Assert.assertEquals(testedStore.listPropertyNames(), changes.getUpdated().keySet());
+        } else {
+            Assert.assertFalse(changes.isSnapshot());
+            Assert.assertTrue(changes.getRevision() > revision);
+            Property<?> a = changes.getUpdated().containsKey("a") ? changes.getUpdated().get("a") : changes.getCreated().get("a");
+            Assert.assertEquals("EAST", a.asString());
+            Assert.assertTrue(changes.getCreated().containsKey("delta"));
+            Assert.assertEquals(Util.set("b"), changes.getDeleted());
+            Assert.assertTrue(testedStore.propertyChangesSince(changes.getRevision()).isEmpty());
+        }
+    }
+    
     /** TDD. */
     @Test
     public void clear() {
@@ -41,6 +41,7 @@ import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.property.PropertyInt;
 import org.ff4j.property.PropertyString;
 import org.ff4j.store.InMemoryFeatureStore;
+import org.ff4j.store.StoreChanges;
 import org.ff4j.strategy.PonderationStrategy;
 import org.ff4j.test.AssertFf4j;
 import org.ff4j.utils.Util;
@@ -127,6 +128,68 @@ public abstract class FeatureStoreTestSupport {
 		assertFf4j.assertThatFeatureIsInGroup(F4, G1);
 	}
 
+	/**
+	 * TDD.
+	 */
+	@Test
+	public void testReadManyFeatures() {
+		// Given
+		assertFf4j.assertThatFeatureExist(F1);
+		assertFf4j.assertThatFeatureExist(F4);
+		assertFf4j.assertThatFeatureDoesNotExist(F_DOESNOTEXIST);
+		// When
+		Map<String, Feature> features = testedStore.readMany(Arrays.asList(F4, F_DOESNOTEXIST, F1));
+		// Then, unknown features are ignored
+		Assert.assertEquals(2, features.size());
+		Assert.assertTrue(features.get(F1).isEnable());
+		Assert.assertEquals(F4, features.get(F4).getUid());
+		Assert.assertTrue(features.get(F4).getPermissions().contains(ROLE_ADMIN));
+		Assert.assertEquals(G1, features.get(F4).getGroup());
+	}
+
+	/**
+	 * TDD.
+	 */
+	@Test
+	public void testReadIfExists() {
+		// Given
+		assertFf4j.assertThatFeatureExist(F1);
+		assertFf4j.assertThatFeatureDoesNotExist(F_DOESNOTEXIST);
+		// When, Then : no exception for unknown feature
+		Assert.assertEquals(F1, testedStore.readIfExists(F1).getUid());
+		Assert.assertNull(testedStore.readIfExists(F_DOESNOTEXIST));
+	}
+
+	/**
+	 * TDD.
+	 */
+	@Test
+	public void testFeatureChangesSince() {
+		// Given
+		assertFf4j.assertThatFeatureExist(F1);
+		assertFf4j.assertThatFeatureExist(F4);
+		assertFf4j.assertThatFeatureDoesNotExist(FEATURE_NEW);
+		long revision = testedStore.getFeaturesRevision();
+		// When
+		testedStore.disable(F1);
+		testedStore.create(new Feature(FEATURE_NEW, true));
+		testedStore.delete(F4);
+		StoreChanges<Feature> changes = testedStore.featureChangesSince(revision);
+		// Then
+		if (revision == StoreChanges.NO_REVISION) {
+			// Revisions not tracked, whole content is returned
+			Assert.assertTrue(changes.isSnapshot());
+			Assert.assertEquals(testedStore.readAll().keySet(), changes.getUpdated().keySet());
+		} else {
+			Assert.assertFalse(changes.isSnapshot());
+			Assert.assertTrue(changes.getRevision() > revision);
+			Assert.assertFalse(changes.getUpdated().get(F1).isEnable());
+			Assert.assertTrue(changes.getCreated().containsKey(FEATURE_NEW));
+			Assert.assertEquals(Util.set(F4), changes.getDeleted());
+			Assert.assertTrue(testedStore.featureChangesSince(changes.getRevision()).isEmpty());
+		}
+	}
+
 	/**
 	 * TDD.
 	 */
@@ -29,6 +29,7 @@ import java.util.Set;
 
 import org.ff4j.core.Feature;
 import org.ff4j.core.FeatureStore;
+import org.ff4j.store.StoreChanges;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +72,30 @@ public class MockFeatureStore implements FeatureStore {
         return null;
     }
 
+    /** {@inheritDoc} */
+    public Feature readIfExists(String featureUid) {
+        return read(featureUid);
+    }
+
+    /** {@inheritDoc} */
+    public Map<String, Feature> readMany(Collection<String> featureUids) {
+        Map < String, Feature> map = new HashMap<String, Feature>();
+        if (featureUids.contains("first")) {
+            map.put("first", new Feature("first"));
+        }
+        return map;
+    }
+
+    /** {@inheritDoc} */
+    public long getFeaturesRevision() {
+        return StoreChanges.NO_REVISION;
+    }
+
+    /** {@inheritDoc} */
+    public StoreChanges<Feature> featureChangesSince(long revision) {
+        return new StoreChanges<Feature>(revision, StoreChanges.NO_REVISION, true).fill(readAll());
+    }
+
     /** {@inheritDoc} */
     public Map<String, Feature> readAll() {
         Map < String, Feature> map = new HashMap<String, Feature>();
@@ -30,6 +30,7 @@ import java.util.Set;
 import org.ff4j.property.Property;
 import org.ff4j.property.PropertyString;
 import org.ff4j.property.store.PropertyStore;
+import org.ff4j.store.StoreChanges;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,6 +84,16 @@ public class MockPropertyStore implements PropertyStore {
     	LOGGER.debug("MOCK [enable]");
     }
 
+    /** {@inheritDoc} */
+    public long getPropertiesRevision() {
+        return StoreChanges.NO_REVISION;
+    }
+
+    /** {@inheritDoc} */
+    public StoreChanges<Property<?>> propertyChangesSince(long revision) {
+        return new StoreChanges<Property<?>>(revision, StoreChanges.NO_REVISION, true).fill(readAllProperties());
+    }
+
     /** {@inheritDoc} */
     public Map<String, Property<?>> readAllProperties() {
         Map < String, Property<?>> map = new HashMap<String, Property<?>>();
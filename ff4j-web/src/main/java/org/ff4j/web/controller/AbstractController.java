@@ -288,6 +288,16 @@ public abstract class AbstractController {
         }  catch(ParseException pe) {
             // Nothing to raise, use default values.
         }
+        // Browse results page by page
+        String pageNumber = req.getParameter("pagenumber");
+        String pageSize   = req.getParameter("pagesize");
+        if (Util.hasLength(pageNumber) && Util.hasLength(pageSize)) {
+            try {
+                edf.page(Integer.parseInt(pageNumber), Integer.parseInt(pageSize));
+            } catch(IllegalArgumentException iae) {
+                // Invalid page, whole result is displayed
+            }
+        }
         return edf;
     }
 
@@ -35,6 +35,7 @@ import org.ff4j.web.api.security.FF4jSecurityContextFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.sun.jersey.api.container.filter.GZIPContentEncodingFilter;
 import com.sun.jersey.api.container.filter.LoggingFilter;
 import com.sun.jersey.api.core.PackagesResourceConfig;
 import com.sun.jersey.api.core.ResourceConfig;
@@ -83,6 +84,10 @@ public abstract class FF4JApiApplication extends PackagesResourceConfig {
         getSingletons().add(new JacksonJsonProvider());
         getSingletons().add(new FF4jJacksonMapper());
         
+        // Compress responses when client sends 'Accept-Encoding: gzip'
+        getProperties().put(ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS, 
+                GZIPContentEncodingFilter.class.getCanonicalName());
+        
         // Authorization, JSR250
         if (conf.isAutorize()) {
             getProperties().put(ResourceConfig.PROPERTY_RESOURCE_FILTER_FACTORIES,
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 
@@ -50,10 +51,13 @@ import org.ff4j.exception.FeatureAlreadyExistException;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.store.AbstractFeatureStore;
+import org.ff4j.store.InMemoryFeatureStore;
 import org.ff4j.utils.Util;
 import org.ff4j.web.api.resources.domain.FeatureApiBean;
 import org.ff4j.web.api.resources.domain.GroupDescApiBean;
 import org.ff4j.web.api.security.ClientHttpJersey1Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
@@ -63,6 +67,10 @@ import com.sun.jersey.api.client.WebResource;
 /**
  * Implementation of store using {@link HttpClient} connection.
  * 
+ * With {@link #setNearCacheMaxStaleness(long)} features are read from a local copy loaded with a single call 
+ * and refreshed through conditional GET (ETag) once older than the max staleness. Callers get copies of the
+ * local features, and the last copy is still served if the remote store cannot be reached.
+ * 
  * @author <a href="mailto:cedrick.lunven@gmail.com">Cedrick LUNVEN</a>
  */
 public class FeatureStoreHttp extends AbstractFeatureStore {
@@ -91,6 +99,24 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
 
     /** Target jersey resource. */
     private WebResource groupsWebRsc = null;
+    
+    /** Logger for this class. */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    
+    /** Maximum age of local copy in milliseconds before checking remote store, near cache disabled if 0. */
+    private volatile long nearCacheMaxStaleness = 0;
+    
+    /** Local copy of remote features (near cache). */
+    private volatile InMemoryFeatureStore nearCache = null;
+    
+    /** Last time local copy has been checked against remote store. */
+    private volatile long nearCacheSyncTime = 0;
+    
+    /** Version (ETag) of remote features for local copy. */
+    private volatile String nearCacheETag = null;
+    
+    /** Only one thread synchronizes local copy. */
+    private final Object nearCacheLock = new Object();
 
     /**
      * Default construtor
@@ -186,6 +212,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (uid == null || uid.isEmpty()) {
             throw new IllegalArgumentException(FEATURE_IDENTIFIER_CANNOT_BE_NULL_NOR_EMPTY);
         }
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return new Feature(local.read(uid));
+        }
         ClientResponse cRes = getStore().path(uid).get(ClientResponse.class);
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
@@ -193,6 +223,24 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         return parseFeature(cRes.getEntity(String.class));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        if (uid == null || uid.isEmpty()) {
+            throw new IllegalArgumentException(FEATURE_IDENTIFIER_CANNOT_BE_NULL_NOR_EMPTY);
+        }
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            Feature f = local.readIfExists(uid);
+            return (f == null) ? null : new Feature(f);
+        }
+        ClientResponse cRes = getStore().path(uid).get(ClientResponse.class);
+        if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
+            return null;
+        }
+        return parseFeature(cRes.getEntity(String.class));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void enable(String uid) {
@@ -203,6 +251,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -215,6 +264,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -223,6 +273,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (uid == null || uid.isEmpty()) {
             throw new IllegalArgumentException(FEATURE_IDENTIFIER_CANNOT_BE_NULL_NOR_EMPTY);
         }
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return local.exist(uid);
+        }
         ClientResponse cRes = getStore().path(uid).get(ClientResponse.class);
         if (Status.OK.getStatusCode() == cRes.getStatus()) {
             return true;
@@ -250,16 +304,32 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.CREATED.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot create feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return copyOf(local.readAll());
+        }
         ClientResponse cRes = getStore().get(ClientResponse.class);
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot read features, an HTTP error " + cRes.getStatus() + OCCURED);
         }
-        String resEntity = cRes.getEntity(String.class);
+        return toMap(cRes.getEntity(String.class));
+    }
+
+    /**
+     * Parse JSON array of features.
+     *
+     * @param resEntity
+     *      response body
+     * @return
+     *      features indexed by uid
+     */
+    private Map<String, Feature> toMap(String resEntity) {
         Feature[] fArray = parseFeatureArray(resEntity);
         Map<String, Feature> features = new HashMap<String, Feature>();
         for (Feature feature : fArray) {
@@ -267,6 +337,92 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         }
         return features;
     }
+    
+    /**
+     * Access local copy of remote features, synchronized if older than max staleness.
+     *
+     * @return
+     *      local copy or null if near cache is disabled
+     */
+    private InMemoryFeatureStore getNearCache() {
+        if (nearCacheMaxStaleness <= 0) {
+            return null;
+        }
+        InMemoryFeatureStore local = nearCache;
+        if (local == null || System.currentTimeMillis() - nearCacheSyncTime > nearCacheMaxStaleness) {
+            synchronized (nearCacheLock) {
+                local = nearCache;
+                if (local == null || System.currentTimeMillis() - nearCacheSyncTime > nearCacheMaxStaleness) {
+                    try {
+                        local = syncNearCache();
+                    } catch (RuntimeException re) {
+                        if (local == null) {
+                            throw re;
+                        }
+                        // Remote store unavailable : serve last good copy and retry after max staleness
+                        log.error("Cannot synchronize near cache, last copy of features is used", re);
+                        nearCacheSyncTime = System.currentTimeMillis();
+                    }
+                }
+            }
+        }
+        return local;
+    }
+    
+    /**
+     * Load all features with a single call, remote store answers '304 Not Modified' if version did not change.
+     *
+     * @return
+     *      up to date local copy
+     */
+    public InMemoryFeatureStore syncNearCache() {
+        synchronized (nearCacheLock) {
+            WebResource.Builder request = getStore().accept(MediaType.APPLICATION_JSON_TYPE);
+            if (null != authorization) {
+                request.header(HEADER_AUTHORIZATION, authorization);
+            }
+            if (nearCache != null && nearCacheETag != null) {
+                request.header(HttpHeaders.IF_NONE_MATCH, nearCacheETag);
+            }
+            ClientResponse cRes = request.get(ClientResponse.class);
+            long now = System.currentTimeMillis();
+            if (Status.NOT_MODIFIED.getStatusCode() == cRes.getStatus()) {
+                nearCacheSyncTime = now;
+                return nearCache;
+            }
+            if (Status.OK.getStatusCode() != cRes.getStatus()) {
+                throw new FeatureAccessException("Cannot read features, an HTTP error " + cRes.getStatus() + OCCURED);
+            }
+            InMemoryFeatureStore local = new InMemoryFeatureStore(toMap(cRes.getEntity(String.class)));
+            nearCacheETag     = cRes.getHeaders().getFirst(HttpHeaders.ETAG);
+            nearCache         = local;
+            nearCacheSyncTime = now;
+            return local;
+        }
+    }
+    
+    /**
+     * Copy features of the local copy, callers cannot alter the near cache.
+     *
+     * @param features
+     *      features of the local copy
+     * @return
+     *      copies indexed by uid
+     */
+    private Map<String, Feature> copyOf(Map<String, Feature> features) {
+        Map<String, Feature> copies = new HashMap<String, Feature>();
+        for (Feature feature : features.values()) {
+            copies.put(feature.getUid(), new Feature(feature));
+        }
+        return copies;
+    }
+    
+    /**
+     * Local copy will be checked against remote store on next read (after a write operation).
+     */
+    private void invalidateNearCache() {
+        nearCacheSyncTime = 0;
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -281,6 +437,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot delete feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -296,6 +453,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot update feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -314,6 +472,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -332,6 +491,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot remove role on feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -350,6 +510,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot add feature to group, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -371,6 +532,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot remove feature from group, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -386,6 +548,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -401,6 +564,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -409,6 +573,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (groupName == null || groupName.isEmpty()) {
             throw new IllegalArgumentException(GROUPNAME_CANNOT_BE_NULL_NOR_EMPTY);
         }
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return copyOf(local.readGroup(groupName));
+        }
         ClientResponse cRes = getGroups().path(groupName).get(ClientResponse.class);
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new GroupNotFoundException(groupName);
@@ -416,13 +584,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
-        String resEntity = cRes.getEntity(String.class);
-        Feature[] fArray = parseFeatureArray(resEntity);
-        Map<String, Feature> features = new HashMap<String, Feature>();
-        for (Feature feature : fArray) {
-            features.put(feature.getUid(), feature);
-        }
-        return features;
+        return toMap(cRes.getEntity(String.class));
     }
 
     /** {@inheritDoc} */
@@ -431,6 +593,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (groupName == null || groupName.isEmpty()) {
             throw new IllegalArgumentException(GROUPNAME_CANNOT_BE_NULL_NOR_EMPTY);
         }
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return local.existGroup(groupName);
+        }
         ClientResponse cRes = getGroups().path(groupName).get(ClientResponse.class);
         if (Status.OK.getStatusCode() == cRes.getStatus()) {
             return true;
@@ -444,6 +610,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     /** {@inheritDoc} */
     @Override
     public Set<String> readAllGroups() {
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return new HashSet<String>(local.readAllGroups());
+        }
         ClientResponse cRes = getGroups().get(ClientResponse.class);
         List<GroupDescApiBean> groupApiBeans = cRes.getEntity(new GenericType<List<GroupDescApiBean>>() {});
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
@@ -468,6 +638,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot clear feature store - " + cRes.getStatus());
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -482,6 +653,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot create schema for feature store - " + cRes.getStatus());
         }
+        invalidateNearCache();
     }
 
     /**
@@ -502,5 +674,32 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     public void setUrl(String url) {
         this.url = url;
     }
+    
+    /**
+     * Getter accessor for attribute 'nearCacheMaxStaleness'.
+     *
+     * @return
+     *       current value of 'nearCacheMaxStaleness'
+     */
+    public long getNearCacheMaxStaleness() {
+        return nearCacheMaxStaleness;
+    }
+
+    /**
+     * Enable near cache : all features are loaded with a single call and read locally, the local copy is checked
+     * against remote store (conditional GET) when older than 'nearCacheMaxStaleness' milliseconds. 
+     * Value 0 disables the near cache.
+     * 
+     * @param nearCacheMaxStaleness
+     * 		new value for 'nearCacheMaxStaleness '
+     */
+    public void setNearCacheMaxStaleness(long nearCacheMaxStaleness) {
+        synchronized (nearCacheLock) {
+            this.nearCacheMaxStaleness = nearCacheMaxStaleness;
+            this.nearCache             = null;
+            this.nearCacheETag         = null;
+            this.nearCacheSyncTime     = 0;
+        }
+    }
 
 }
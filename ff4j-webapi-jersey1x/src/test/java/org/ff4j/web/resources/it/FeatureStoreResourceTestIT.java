@@ -1,5 +1,9 @@
 package org.ff4j.web.resources.it;
 
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response.Status;
 
 import org.junit.Assert;
@@ -48,4 +52,59 @@ public class FeatureStoreResourceTestIT extends AbstractWebResourceTestIT {
         Assert.assertTrue(resEntity.contains(InMemoryFeatureStore.class.getCanonicalName()));
     }
 
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetFeaturesNotModified() {
+        // Given
+        ClientResponse resHttp = resourceFeatures().get(ClientResponse.class);
+        Assert.assertEquals(Status.OK.getStatusCode(), resHttp.getStatus());
+        String etag = resHttp.getHeaders().getFirst(HttpHeaders.ETAG);
+        Assert.assertNotNull(etag);
+        // When
+        ClientResponse resNotModified = resourceFeatures().header(HttpHeaders.IF_NONE_MATCH, etag).get(ClientResponse.class);
+        // Then
+        Assert.assertEquals(Status.NOT_MODIFIED.getStatusCode(), resNotModified.getStatus());
+        Assert.assertEquals(etag, resNotModified.getHeaders().getFirst(HttpHeaders.ETAG));
+        
+        // When the store changes, the ETag changes
+        String uid = ff4j.getFeatureStore().readAll().keySet().iterator().next();
+        boolean enabled = ff4j.getFeatureStore().read(uid).isEnable();
+        try {
+            if (enabled) {
+                ff4j.disable(uid);
+            } else {
+                ff4j.enable(uid);
+            }
+            ClientResponse resModified = resourceFeatures().header(HttpHeaders.IF_NONE_MATCH, etag).get(ClientResponse.class);
+            Assert.assertEquals(Status.OK.getStatusCode(), resModified.getStatus());
+            Assert.assertFalse(etag.equals(resModified.getHeaders().getFirst(HttpHeaders.ETAG)));
+        } finally {
+            if (enabled) {
+                ff4j.enable(uid);
+            } else {
+                ff4j.disable(uid);
+            }
+        }
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetFeaturesGzip() throws IOException {
+        // When
+        ClientResponse resHttp = resourceFeatures().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get(ClientResponse.class);
+        // Then
+        Assert.assertEquals(Status.OK.getStatusCode(), resHttp.getStatus());
+        Assert.assertEquals("gzip", resHttp.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        GZIPInputStream gzis = new GZIPInputStream(resHttp.getEntityInputStream());
+        try {
+            Assert.assertTrue(gzis.read() != -1);
+        } finally {
+            gzis.close();
+        }
+    }
+
 }
@@ -29,7 +29,10 @@ import org.ff4j.web.api.resources.FF4jResource;
 import org.ff4j.web.api.security.FF4jAuthenticationFilter;
 import org.ff4j.web.api.security.FF4jAuthorizationFilter;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.message.DeflateEncoder;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.filter.EncodingFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,6 +100,9 @@ public abstract class FF4jApiApplicationJersey2x extends ResourceConfig {
         register(JerseyApplicationEventListener.class);
         register(JerseyRequestEventListener.class);
         
+        // Compress responses when client sends 'Accept-Encoding'
+        EncodingFilter.enableFor(this, GZipEncoder.class, DeflateEncoder.class);
+        
         if (apiConfig != null) {
             if (apiConfig.isAutorize()) {
                 enableAuthenticationFilter();
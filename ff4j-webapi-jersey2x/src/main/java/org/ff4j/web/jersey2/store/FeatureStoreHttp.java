@@ -42,7 +42,9 @@ import java.util.Set;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -53,6 +55,7 @@ import org.ff4j.exception.FeatureAlreadyExistException;
 import org.ff4j.exception.FeatureNotFoundException;
 import org.ff4j.exception.GroupNotFoundException;
 import org.ff4j.store.AbstractFeatureStore;
+import org.ff4j.store.InMemoryFeatureStore;
 import org.ff4j.utils.Util;
 import org.ff4j.web.api.resources.domain.FeatureApiBean;
 import org.ff4j.web.api.utils.ClientHttpUtils;
@@ -62,6 +65,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Implementation of store using {@link HttpClient} connection.
  * 
+ * With {@link #setNearCacheMaxStaleness(long)} features are read from a local copy loaded with a single call 
+ * and refreshed through conditional GET (ETag) once older than the max staleness. Callers get copies of the
+ * local features, and the last copy is still served if the remote store cannot be reached.
+ * 
  * @author <a href="mailto:cedrick.lunven@gmail.com">Cedrick LUNVEN</a>
  */
 public class FeatureStoreHttp extends AbstractFeatureStore {
@@ -89,6 +96,21 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
 
     /** Target jersey resource. */
     private WebTarget groupsWebRsc = null;
+    
+    /** Maximum age of local copy in milliseconds before checking remote store, near cache disabled if 0. */
+    private volatile long nearCacheMaxStaleness = 0;
+    
+    /** Local copy of remote features (near cache). */
+    private volatile InMemoryFeatureStore nearCache = null;
+    
+    /** Last time local copy has been checked against remote store. */
+    private volatile long nearCacheSyncTime = 0;
+    
+    /** Version (ETag) of remote features for local copy. */
+    private volatile String nearCacheETag = null;
+    
+    /** Only one thread synchronizes local copy. */
+    private final Object nearCacheLock = new Object();
 
     /**
      * Default construtor
@@ -170,9 +192,12 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     @Override
     public Feature read(String uid) {
         Util.assertHasLength(uid);
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return new Feature(local.read(uid));
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(
                 getStore().path(uid), authorizationHeaderValue);
-        log.info(String.valueOf(getStore().path(uid)));
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         } else if (Status.OK.getStatusCode() != cRes.getStatus()) {
@@ -181,6 +206,25 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         return parseFeature(cRes.readEntity(String.class));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Feature readIfExists(String uid) {
+        Util.assertHasLength(uid);
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            Feature f = local.readIfExists(uid);
+            return (f == null) ? null : new Feature(f);
+        }
+        Response cRes = ClientHttpUtils.invokeGetMethod(
+                getStore().path(uid), authorizationHeaderValue);
+        if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
+            return null;
+        } else if (Status.OK.getStatusCode() != cRes.getStatus()) {
+            throw new FeatureAccessException("Error when reaching API code:[" + cRes.getStatus() + "] MSG:" + cRes.getStatusInfo());
+        }
+        return parseFeature(cRes.readEntity(String.class));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void enable(String uid) {
@@ -190,6 +234,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -201,12 +246,17 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new FeatureNotFoundException(uid);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean exist(String uid) {
         Util.assertHasLength(uid);
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return local.exist(uid);
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getStore().path(uid), authorizationHeaderValue);
         if (Status.OK.getStatusCode() == cRes.getStatus()) {
             return true;
@@ -238,17 +288,33 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.CREATED.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot create feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
     @Override
     public Map<String, Feature> readAll() {
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return copyOf(local.readAll());
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getStore(), authorizationHeaderValue);
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot read features, an HTTP error " + cRes.getStatus() + OCCURED);
         }
        
-        String resEntity = (String) cRes.readEntity(String.class);
+        return toMap(cRes.readEntity(String.class));
+    }
+    
+    /**
+     * Parse JSON array of features.
+     *
+     * @param resEntity
+     *      response body
+     * @return
+     *      features indexed by uid
+     */
+    private Map<String, Feature> toMap(String resEntity) {
         Feature[] fArray = parseFeatureArray(resEntity);
         Map<String, Feature> features = new HashMap<String, Feature>();
         for (Feature feature : fArray) {
@@ -256,6 +322,90 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         }
         return features;
     }
+    
+    /**
+     * Access local copy of remote features, synchronized if older than max staleness.
+     *
+     * @return
+     *      local copy or null if near cache is disabled
+     */
+    private InMemoryFeatureStore getNearCache() {
+        if (nearCacheMaxStaleness <= 0) {
+            return null;
+        }
+        InMemoryFeatureStore local = nearCache;
+        if (local == null || System.currentTimeMillis() - nearCacheSyncTime > nearCacheMaxStaleness) {
+            synchronized (nearCacheLock) {
+                local = nearCache;
+                if (local == null || System.currentTimeMillis() - nearCacheSyncTime > nearCacheMaxStaleness) {
+                    try {
+                        local = syncNearCache();
+                    } catch (RuntimeException re) {
+                        if (local == null) {
+                            throw re;
+                        }
+                        // Remote store unavailable : serve last good copy and retry after max staleness
+                        log.error("Cannot synchronize near cache, last copy of features is used", re);
+                        nearCacheSyncTime = System.currentTimeMillis();
+                    }
+                }
+            }
+        }
+        return local;
+    }
+    
+    /**
+     * Load all features with a single call, remote store answers '304 Not Modified' if version did not change.
+     *
+     * @return
+     *      up to date local copy
+     */
+    public InMemoryFeatureStore syncNearCache() {
+        synchronized (nearCacheLock) {
+            Invocation.Builder request = ClientHttpUtils.createRequest(getStore(), authorizationHeaderValue, MediaType.APPLICATION_JSON_TYPE);
+            if (nearCache != null && nearCacheETag != null) {
+                request.header(HttpHeaders.IF_NONE_MATCH, nearCacheETag);
+            }
+            Response cRes = request.get();
+            long now = System.currentTimeMillis();
+            if (Status.NOT_MODIFIED.getStatusCode() == cRes.getStatus()) {
+                nearCacheSyncTime = now;
+                return nearCache;
+            }
+            if (Status.OK.getStatusCode() != cRes.getStatus()) {
+                throw new FeatureAccessException("Cannot read features, an HTTP error " + cRes.getStatus() + OCCURED);
+            }
+            InMemoryFeatureStore local = new InMemoryFeatureStore(toMap(cRes.readEntity(String.class)));
+            nearCacheETag     = cRes.getHeaderString(HttpHeaders.ETAG);
+            nearCache         = local;
+            nearCacheSyncTime = now;
+            log.debug("Near cache synchronized with {} features", local.readAll().size());
+            return local;
+        }
+    }
+    
+    /**
+     * Copy features of the local copy, callers cannot alter the near cache.
+     *
+     * @param features
+     *      features of the local copy
+     * @return
+     *      copies indexed by uid
+     */
+    private Map<String, Feature> copyOf(Map<String, Feature> features) {
+        Map<String, Feature> copies = new HashMap<String, Feature>();
+        for (Feature feature : features.values()) {
+            copies.put(feature.getUid(), new Feature(feature));
+        }
+        return copies;
+    }
+    
+    /**
+     * Local copy will be checked against remote store on next read (after a write operation).
+     */
+    private void invalidateNearCache() {
+        nearCacheSyncTime = 0;
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -269,6 +419,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot delete feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -286,6 +437,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot update feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -300,6 +452,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -314,6 +467,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot remove role on feature, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -330,7 +484,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot add feature to group, an HTTP error " + cRes.getStatus() + OCCURED);
         }
-        
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -350,6 +504,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot remove feature from group, an HTTP error " + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -365,6 +520,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
@@ -381,11 +537,16 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.NO_CONTENT.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
+        invalidateNearCache();
     }
 
     /** {@inheritDoc} */
     public Map<String, Feature> readGroup(String groupName) {
         Util.assertHasLength(groupName);
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return copyOf(local.readGroup(groupName));
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getGroups().path(groupName), authorizationHeaderValue);
         if (Status.NOT_FOUND.getStatusCode() == cRes.getStatus()) {
             throw new GroupNotFoundException(groupName);
@@ -393,19 +554,17 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException(CANNOT_GRANT_ROLE_ON_FEATURE_AN_HTTP_ERROR + cRes.getStatus() + OCCURED);
         }
-        String resEntity = cRes.readEntity(String.class);
-        Feature[] fArray = parseFeatureArray(resEntity);
-        Map<String, Feature> features = new HashMap<String, Feature>();
-        for (Feature feature : fArray) {
-            features.put(feature.getUid(), feature);
-        }
-        return features;
+        return toMap(cRes.readEntity(String.class));
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean existGroup(String groupName) {
         Util.assertHasLength(groupName);
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return local.existGroup(groupName);
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getGroups().path(groupName), authorizationHeaderValue);
         if (Status.OK.getStatusCode() == cRes.getStatus()) {
             return true;
@@ -420,6 +579,10 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
     @SuppressWarnings("unchecked")
     @Override
     public Set<String> readAllGroups() {
+        InMemoryFeatureStore local = getNearCache();
+        if (local != null) {
+            return new HashSet<String>(local.readAllGroups());
+        }
         Response cRes = ClientHttpUtils.invokeGetMethod(getGroups(), authorizationHeaderValue);
         List < Map < String, String>> groupList = cRes.readEntity(List.class);
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
@@ -443,6 +606,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot clear feature store - " + cRes.getStatus());
         }
+        invalidateNearCache();
     }
     
     /** {@inheritDoc} */
@@ -456,6 +620,7 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
         if (Status.OK.getStatusCode() != cRes.getStatus()) {
             throw new FeatureAccessException("Cannot create feature store - " + cRes.getStatus());
         }
+        invalidateNearCache();
     }
     
     /**
@@ -473,6 +638,33 @@ public class FeatureStoreHttp extends AbstractFeatureStore {
      */
     public void setUrl(String url) {
         this.url = url;
-    }   
+    }
+    
+    /**
+     * Getter accessor for attribute 'nearCacheMaxStaleness'.
+     *
+     * @return
+     *       current value of 'nearCacheMaxStaleness'
+     */
+    public long getNearCacheMaxStaleness() {
+        return nearCacheMaxStaleness;
+    }
+
+    /**
+     * Enable near cache : all features are loaded with a single call and read locally, the local copy is checked
+     * against remote store (conditional GET) when older than 'nearCacheMaxStaleness' milliseconds. 
+     * Value 0 disables the near cache.
+     * 
+     * @param nearCacheMaxStaleness
+     *      new value for 'nearCacheMaxStaleness '
+     */
+    public void setNearCacheMaxStaleness(long nearCacheMaxStaleness) {
+        synchronized (nearCacheLock) {
+            this.nearCacheMaxStaleness = nearCacheMaxStaleness;
+            this.nearCache             = null;
+            this.nearCacheETag         = null;
+            this.nearCacheSyncTime     = 0;
+        }
+    }
 
 }
@@ -1,6 +1,11 @@
 package org.ff4j.web.api.test.it;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
@@ -48,4 +53,62 @@ public class FeatureStoreResource2TestIT extends AbstractWebResourceTestIT {
         Assert.assertTrue(resEntity.contains(InMemoryFeatureStore.class.getCanonicalName()));
     }
 
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetFeaturesNotModified() {
+        // Given
+        Response httpResponse = resourceFeatures().request().get();
+        Assert.assertEquals(Status.OK.getStatusCode(), httpResponse.getStatus());
+        String etag = httpResponse.getHeaderString(HttpHeaders.ETAG);
+        Assert.assertNotNull(etag);
+        httpResponse.close();
+        // When
+        Response resNotModified = resourceFeatures().request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        // Then
+        Assert.assertEquals(Status.NOT_MODIFIED.getStatusCode(), resNotModified.getStatus());
+        Assert.assertEquals(etag, resNotModified.getHeaderString(HttpHeaders.ETAG));
+        resNotModified.close();
+        
+        // When the store changes, the ETag changes
+        String uid = ff4j.getFeatureStore().readAll().keySet().iterator().next();
+        boolean enabled = ff4j.getFeatureStore().read(uid).isEnable();
+        try {
+            if (enabled) {
+                ff4j.disable(uid);
+            } else {
+                ff4j.enable(uid);
+            }
+            Response resModified = resourceFeatures().request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+            Assert.assertEquals(Status.OK.getStatusCode(), resModified.getStatus());
+            Assert.assertFalse(etag.equals(resModified.getHeaderString(HttpHeaders.ETAG)));
+            resModified.close();
+        } finally {
+            if (enabled) {
+                ff4j.enable(uid);
+            } else {
+                ff4j.disable(uid);
+            }
+        }
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testGetFeaturesGzip() throws IOException {
+        // When
+        Response httpResponse = resourceFeatures().request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+        // Then
+        Assert.assertEquals(Status.OK.getStatusCode(), httpResponse.getStatus());
+        Assert.assertEquals("gzip", httpResponse.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        GZIPInputStream gzis = new GZIPInputStream(httpResponse.readEntity(InputStream.class));
+        try {
+            Assert.assertTrue(gzis.read() != -1);
+        } finally {
+            gzis.close();
+        }
+    }
+
 }
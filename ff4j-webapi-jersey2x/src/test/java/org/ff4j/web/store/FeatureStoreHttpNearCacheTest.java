@@ -0,0 +1,79 @@
+package org.ff4j.web.store;
+
+/*
+ * #%L
+ * ff4j-web
+ * %%
+ * Copyright (C) 2013 - 2014 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.ff4j.test.TestsFf4jConstants.F1;
+
+import org.ff4j.core.FeatureStore;
+import org.ff4j.web.jersey2.store.FeatureStoreHttp;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Same tests as {@link FeatureStoreHttpTest} with near cache enabled : writes must invalidate the local copy.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+public class FeatureStoreHttpNearCacheTest extends FeatureStoreHttpTest {
+    
+    /** {@inheritDoc} */
+    @Override
+    protected FeatureStore initStore() {
+        FeatureStoreHttp fst = new FeatureStoreHttp("http://localhost:9998/ff4j");
+        fst.setNearCacheMaxStaleness(60000);
+        return fst;
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testReadsServedFromNearCache() {
+        // Given
+        FeatureStoreHttp httpStore = (FeatureStoreHttp) testedStore;
+        Assert.assertEquals(60000, httpStore.getNearCacheMaxStaleness());
+        httpStore.enable(F1);
+        Assert.assertTrue(httpStore.read(F1).isEnable());
+        // When, remote store changed by another client
+        new FeatureStoreHttp("http://localhost:9998/ff4j").disable(F1);
+        // Then, local copy is used until next synchronization
+        Assert.assertTrue(httpStore.read(F1).isEnable());
+        httpStore.syncNearCache();
+        Assert.assertFalse(httpStore.read(F1).isEnable());
+    }
+    
+    /**
+     * TDD.
+     */
+    @Test
+    public void testNearCacheReturnsCopies() {
+        // Given
+        FeatureStoreHttp httpStore = (FeatureStoreHttp) testedStore;
+        httpStore.enable(F1);
+        // When, caller alters returned features
+        httpStore.read(F1).disable();
+        httpStore.readAll().get(F1).disable();
+        // Then, local copy is unchanged
+        Assert.assertTrue(httpStore.read(F1).isEnable());
+        Assert.assertTrue(httpStore.readAll().get(F1).isEnable());
+    }
+
+}
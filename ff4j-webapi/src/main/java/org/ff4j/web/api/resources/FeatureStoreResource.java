@@ -1,6 +1,8 @@
 package org.ff4j.web.api.resources;
 
+import static org.ff4j.web.FF4jWebConstants.PARAM_SINCE;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_CACHE;
+import static org.ff4j.web.FF4jWebConstants.RESOURCE_CHANGES;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_FEATURES;
 import static org.ff4j.web.FF4jWebConstants.RESOURCE_GROUPS;
 import static org.ff4j.web.FF4jWebConstants.STORE_CLEAR;
@@ -27,23 +29,30 @@ import static org.ff4j.web.FF4jWebConstants.STORE_CREATESCHEMA;
  */
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.core.Feature;
+import org.ff4j.web.ContentVersion;
 import org.ff4j.web.FF4jWebConstants;
 import org.ff4j.web.api.resources.domain.CacheApiBean;
 import org.ff4j.web.api.resources.domain.FeatureApiBean;
+import org.ff4j.web.api.resources.domain.FeatureChangesApiBean;
 import org.ff4j.web.api.resources.domain.FeatureStoreApiBean;
 import org.ff4j.web.api.resources.domain.GroupDescApiBean;
 import org.ff4j.web.api.resources.domain.PropertyStoreApiBean;
@@ -86,14 +95,41 @@ public class FeatureStoreResource extends AbstractResource {
     @Path("/" + RESOURCE_FEATURES)
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value= "Display information regarding <b>Features</b>", response=FeatureApiBean.class)
-    @ApiResponses(@ApiResponse(code = 200, message= "get all features"))
-    public List < FeatureApiBean> readFeatures() {
-        Feature[] storeContent = getFeatureStore().readAll().values().toArray(new Feature[0]);
-        List < FeatureApiBean > apiBean = new ArrayList<FeatureApiBean>();
-        for (Feature feature : storeContent) {
+    @ApiResponses({
+        @ApiResponse(code = 200, message= "get all features"),
+        @ApiResponse(code = 304, message= "features did not change since provided ETag or date")})
+    public Response readFeatures() {
+        Map < String, Feature > storeContent = getFeatureStore().readAll();
+        ContentVersion version = ContentVersion.track(getFeatureStore(), ContentVersion.digestFeatures(storeContent));
+        EntityTag etag = new EntityTag(version.getDigest(), true);
+        Date lastModified = new Date(version.getLastModified());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+        if (notModified != null) {
+            return notModified.tag(etag).lastModified(lastModified).build();
+        }
+        List < FeatureApiBean > apiBean = new ArrayList<FeatureApiBean>(storeContent.size());
+        for (Feature feature : storeContent.values()) {
             apiBean.add(new FeatureApiBean(feature));
         }
-        return apiBean;
+        return Response.ok(new GenericEntity< List < FeatureApiBean > >(apiBean) {})
+                       .tag(etag).lastModified(lastModified).build();
+    }
+
+    /**
+     * Features changed since the revision known by client.
+     * 
+     * @param since
+     *      revision returned by previous call, nothing to get a snapshot
+     * @return
+     *      changes since the revision
+     */
+    @GET
+    @Path("/" + RESOURCE_CHANGES)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value= "Display <b>Features</b> changed since a revision", response=FeatureChangesApiBean.class)
+    @ApiResponses(@ApiResponse(code = 200, message= "changes since revision, whole content if 'snapshot' is true"))
+    public FeatureChangesApiBean readChanges(@QueryParam(PARAM_SINCE) @DefaultValue("-1") long since) {
+        return new FeatureChangesApiBean(getFeatureStore().featureChangesSince(since));
     }
 
     /**
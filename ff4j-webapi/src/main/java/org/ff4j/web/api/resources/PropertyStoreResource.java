@@ -1,22 +1,30 @@
 package org.ff4j.web.api.resources;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.ff4j.cache.FF4jCacheProxy;
 import org.ff4j.property.Property;
+import org.ff4j.web.ContentVersion;
 import org.ff4j.web.FF4jWebConstants;
 import org.ff4j.web.api.resources.domain.CacheApiBean;
 import org.ff4j.web.api.resources.domain.FeatureStoreApiBean;
 import org.ff4j.web.api.resources.domain.PropertyApiBean;
+import org.ff4j.web.api.resources.domain.PropertyChangesApiBean;
 import org.ff4j.web.api.resources.domain.PropertyStoreApiBean;
 
 import io.swagger.annotations.Api;
@@ -73,14 +81,41 @@ public class PropertyStoreResource  extends AbstractResource {
     @Path("/" + RESOURCE_PROPERTIES)
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value= "Display information regarding <b>Properties</b>", response=PropertyApiBean.class)
-    @ApiResponses(@ApiResponse(code = 200, message= "get all Properties"))
-    public List < PropertyApiBean> readProperties() {
-        List < PropertyApiBean > apiBean = new ArrayList<PropertyApiBean>();
-        getPropertyStore().readAllProperties();
-        for (Property<?> prop : getPropertyStore().readAllProperties().values()) {
+    @ApiResponses({
+        @ApiResponse(code = 200, message= "get all Properties"),
+        @ApiResponse(code = 304, message= "properties did not change since provided ETag or date")})
+    public Response readProperties() {
+        Map < String, Property<?> > storeContent = getPropertyStore().readAllProperties();
+        ContentVersion version = ContentVersion.track(getPropertyStore(), ContentVersion.digestProperties(storeContent));
+        EntityTag etag = new EntityTag(version.getDigest(), true);
+        Date lastModified = new Date(version.getLastModified());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+        if (notModified != null) {
+            return notModified.tag(etag).lastModified(lastModified).build();
+        }
+        List < PropertyApiBean > apiBean = new ArrayList<PropertyApiBean>(storeContent.size());
+        for (Property<?> prop : storeContent.values()) {
             apiBean.add(new PropertyApiBean(prop));
         }
-        return apiBean;
+        return Response.ok(new GenericEntity< List < PropertyApiBean > >(apiBean) {})
+                       .tag(etag).lastModified(lastModified).build();
+    }
+    
+    /**
+     * Properties changed since the revision known by client.
+     * 
+     * @param since
+     *      revision returned by previous call, nothing to get a snapshot
+     * @return
+     *      changes since the revision
+     */
+    @GET
+    @Path("/" + RESOURCE_CHANGES)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value= "Display <b>Properties</b> changed since a revision", response=PropertyChangesApiBean.class)
+    @ApiResponses(@ApiResponse(code = 200, message= "changes since revision, whole content if 'snapshot' is true"))
+    public PropertyChangesApiBean readChanges(@QueryParam(PARAM_SINCE) @DefaultValue("-1") long since) {
+        return new PropertyChangesApiBean(getPropertyStore().propertyChangesSince(since));
     }
     
     @POST
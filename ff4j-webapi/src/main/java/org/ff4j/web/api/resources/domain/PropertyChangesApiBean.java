@@ -0,0 +1,214 @@
+package org.ff4j.web.api.resources.domain;
+
+/*
+ * #%L
+ * ff4j-web
+ * %%
+ * Copyright (C) 2013 - 2014 Ff4J
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ff4j.property.Property;
+import org.ff4j.store.StoreChanges;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Properties changed since a revision known by the client.
+ *
+ * @author Cedrick Lunven (@clunven)
+ */
+@ApiModel( value = "propertyChangesApiBean", description = "properties changed since a revision" )
+public class PropertyChangesApiBean {
+
+    /** revision provided by client. */
+    @JsonProperty("since")
+    @ApiModelProperty( value = "revision provided by client", required = true )
+    private long since;
+    
+    /** current revision of store. */
+    @JsonProperty("revision")
+    @ApiModelProperty( value = "current revision of store, to be provided in next call", required = true )
+    private long revision;
+    
+    /** if the whole content is returned. */
+    @JsonProperty("snapshot")
+    @ApiModelProperty( value = "if true 'updated' holds the whole store content and client must replace its own", required = true )
+    private boolean snapshot;
+    
+    /** created items. */
+    @JsonProperty("created")
+    @ApiModelProperty( value = "items created since revision", required = true )
+    private List < PropertyApiBean > created = new ArrayList<PropertyApiBean>();
+    
+    /** updated items. */
+    @JsonProperty("updated")
+    @ApiModelProperty( value = "items updated since revision", required = true )
+    private List < PropertyApiBean > updated = new ArrayList<PropertyApiBean>();
+    
+    /** deleted items. */
+    @JsonProperty("deleted")
+    @ApiModelProperty( value = "identifiers of items deleted since revision", required = true )
+    private Set < String > deleted = new HashSet<String>();
+    
+    /**
+     * Default constructor.
+     */
+    public PropertyChangesApiBean() {
+    }
+    
+    /**
+     * Constructor from store changes.
+     *
+     * @param changes
+     *      changes read from store
+     */
+    public PropertyChangesApiBean(StoreChanges< Property<?> > changes) {
+        this.since    = changes.getSince();
+        this.revision = changes.getRevision();
+        this.snapshot = changes.isSnapshot();
+        for (Map.Entry< String, Property<?> > entry : changes.getCreated().entrySet()) {
+            created.add(new PropertyApiBean(entry.getValue()));
+        }
+        for (Map.Entry< String, Property<?> > entry : changes.getUpdated().entrySet()) {
+            updated.add(new PropertyApiBean(entry.getValue()));
+        }
+        deleted.addAll(changes.getDeleted());
+    }
+
+    /**
+     * Getter accessor for attribute 'since'.
+     *
+     * @return
+     *       current value of 'since'
+     */
+    public long getSince() {
+        return since;
+    }
+
+    /**
+     * Setter accessor for attribute 'since'.
+     * @param since
+     *      new value for 'since '
+     */
+    public void setSince(long since) {
+        this.since = since;
+    }
+
+    /**
+     * Getter accessor for attribute 'revision'.
+     *
+     * @return
+     *       current value of 'revision'
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Setter accessor for attribute 'revision'.
+     * @param revision
+     *      new value for 'revision '
+     */
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * Getter accessor for attribute 'snapshot'.
+     *
+     * @return
+     *       current value of 'snapshot'
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Setter accessor for attribute 'snapshot'.
+     * @param snapshot
+     *      new value for 'snapshot '
+     */
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Getter accessor for attribute 'created'.
+     *
+     * @return
+     *       current value of 'created'
+     */
+    public List<PropertyApiBean> getCreated() {
+        return created;
+    }
+
+    /**
+     * Setter accessor for attribute 'created'.
+     * @param created
+     *      new value for 'created '
+     */
+    public void setCreated(List<PropertyApiBean> created) {
+        this.created = created;
+    }
+
+    /**
+     * Getter accessor for attribute 'updated'.
+     *
+     * @return
+     *       current value of 'updated'
+     */
+    public List<PropertyApiBean> getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Setter accessor for attribute 'updated'.
+     * @param updated
+     *      new value for 'updated '
+     */
+    public void setUpdated(List<PropertyApiBean> updated) {
+        this.updated = updated;
+    }
+
+    /**
+     * Getter accessor for attribute 'deleted'.
+     *
+     * @return
+     *       current value of 'deleted'
+     */
+    public Set<String> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Setter accessor for attribute 'deleted'.
+     * @param deleted
+     *      new value for 'deleted '
+     */
+    public void setDeleted(Set<String> deleted) {
+        this.deleted = deleted;
+    }
+
+}